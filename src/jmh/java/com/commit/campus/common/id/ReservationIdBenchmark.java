@@ -0,0 +1,51 @@
+package com.commit.campus.common.id;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 예약 ID 생성
+ * - legacy: 이전 ReservationServiceImpl.createReservationId (매번 포매터 생성 + String.format, 문자열 결과)
+ * - snowflake: SnowflakeIdGenerator.nextId (CAS 한 번, 객체 생성 없음)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReservationIdBenchmark {
+
+    private SnowflakeIdGenerator generator;
+    private LocalDateTime reservationDate;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        generator = new SnowflakeIdGenerator(1, System::currentTimeMillis);
+        reservationDate = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public String legacyCreateReservationId() {
+        DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("yyMMddHHmmss");
+        String formattedDate = reservationDate.format(dateFormat);
+        String indexCode = String.format("%06d", index++);
+        return formattedDate + indexCode;
+    }
+
+    @Benchmark
+    public long snowflakeNextId() {
+        return generator.nextId();
+    }
+
+    // 여러 요청 스레드가 같은 생성기를 공유하는 경우
+    @Benchmark
+    @Threads(4)
+    public long snowflakeNextIdContended() {
+        return generator.nextId();
+    }
+}
@@ -0,0 +1,95 @@
+package com.commit.campus.common.redis;
+
+import com.commit.campus.dto.ReservationDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 예약 요청(hold) 해시 -> ReservationDTO 변환
+ * - legacy: 이전 ReservationServiceImpl.mapToReservationDTO (전체 필드명, ISO 문자열 날짜 파싱)
+ * - compact: ReservationHoldCodec.decode (한 글자 필드명, epoch day / epoch millis)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReservationHoldCodecBenchmark {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String CONFIRMATION_STATUS = "confirmation";
+
+    private Map<String, String> legacyFields;
+    private Map<String, String> compactFields;
+    private ReservationDTO reservationDTO;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime reservationDate = LocalDateTime.of(2026, 10, 17, 9, 30, 15);
+        LocalDate entryDate = LocalDate.of(2026, 11, 2);
+        LocalDate leavingDate = entryDate.plusDays(2);
+
+        legacyFields = new HashMap<>();
+        legacyFields.put("reservationId", "261017093015000001");
+        legacyFields.put("userId", "42");
+        legacyFields.put("campId", "1001");
+        legacyFields.put("campFacsId", "3");
+        legacyFields.put("reservationDate", reservationDate.toString());
+        legacyFields.put("entryDate", DATE_FORMAT.format(entryDate));
+        legacyFields.put("leavingDate", DATE_FORMAT.format(leavingDate));
+        legacyFields.put("gearRentalStatus", "N");
+        legacyFields.put("campFacsType", "2");
+
+        reservationDTO = ReservationDTO.builder()
+                .userId(42L)
+                .campId(1001L)
+                .campFacsId(3L)
+                .campFacsType(2)
+                .reservationDate(reservationDate)
+                .entryDate(entryDate)
+                .leavingDate(leavingDate)
+                .gearRentalStatus("N")
+                .build();
+        compactFields = ReservationHoldCodec.encode(1234567890123L, reservationDTO);
+    }
+
+    @Benchmark
+    public ReservationDTO legacyMapToReservationDTO() {
+        Map<String, String> reservationInfo = legacyFields;
+        return ReservationDTO.builder()
+                .reservationId(Long.valueOf(reservationInfo.get("reservationId")))
+                .userId(Long.valueOf(reservationInfo.get("userId")))
+                .campId(Long.valueOf(reservationInfo.get("campId")))
+                .campFacsId(Long.valueOf(reservationInfo.get("campFacsId")))
+                .reservationDate(LocalDateTime.parse(reservationInfo.get("reservationDate")))
+                .entryDate(LocalDate.parse(reservationInfo.get("entryDate"), DATE_FORMAT))
+                .leavingDate(LocalDate.parse(reservationInfo.get("leavingDate"), DATE_FORMAT))
+                .reservationStatus(CONFIRMATION_STATUS)
+                .gearRentalStatus(reservationInfo.get("gearRentalStatus"))
+                .campFacsType(Integer.valueOf(reservationInfo.get("campFacsType")))
+                .build();
+    }
+
+    @Benchmark
+    public ReservationDTO compactDecode() {
+        return ReservationHoldCodec.decode(compactFields);
+    }
+
+    // 이전 형식으로 저장된 요청을 TTL 동안 읽는 경로
+    @Benchmark
+    public ReservationDTO compactDecodeLegacyFields() {
+        return ReservationHoldCodec.decode(legacyFields);
+    }
+
+    @Benchmark
+    public Map<String, String> compactEncode() {
+        return ReservationHoldCodec.encode(1234567890123L, reservationDTO);
+    }
+}
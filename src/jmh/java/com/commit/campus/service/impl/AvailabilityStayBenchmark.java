@@ -0,0 +1,146 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.entity.Availability;
+import com.commit.campus.entity.Camping;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 숙박 기간(입실일 ~ 퇴실일) 재고 조회/변경
+ * - 날짜별 행 찾기: 이전 checkAvailabilityDate (날짜마다 목록 전체를 문자열로 포맷해 비교) vs epoch day 인덱스
+ * - 날짜별 수량 변경: 이전 updateAvailabilityCount (switch + toBuilder 사본) vs withSiteAvailChange (optimistic 모드)
+ *   vs AvailabilityIndex 메모리 배열 갱신 (lock/sql 모드의 DB 변경은 조건부 UPDATE 한 번이라 여기서 제외)
+ * - 이전 구현의 log.info 호출은 빼고 조회/변경 자체만 측정한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AvailabilityStayBenchmark {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int CAMP_FACS_TYPE = 2;
+    private static final int WINDOW_DAYS = 180;
+
+    @Param({"2", "7", "30"})
+    private int stayDays;
+
+    private LocalDate entryDate;
+    private LocalDate leavingDate;
+    private List<Availability> availabilityList;
+    private AvailabilityIndex.CampAvailability campAvailability;
+
+    @Setup
+    public void setUp() {
+        LocalDate today = LocalDate.now();
+        entryDate = today.plusDays(10);
+        leavingDate = entryDate.plusDays(stayDays - 1);
+
+        availabilityList = new ArrayList<>(stayDays);
+        for (int day = 0; day < stayDays; day++) {
+            availabilityList.add(Availability.builder()
+                    .availId((long) day)
+                    .campId(1001L)
+                    .date(entryDate.plusDays(day))
+                    .generalSiteAvail(30)
+                    .carSiteAvail(30)
+                    .glampingSiteAvail(10)
+                    .caravanSiteAvail(5)
+                    .build());
+        }
+
+        Camping camping = new Camping();
+        camping.setCampId(1001L);
+        camping.setGeneralSiteCnt(30);
+        camping.setCarSiteCnt(30);
+        camping.setGlampingSiteCnt(10);
+        camping.setCaravanSiteCnt(5);
+        campAvailability = AvailabilityIndex.CampAvailability.build(camping, availabilityList, today, WINDOW_DAYS, System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public void legacyCheckAvailabilityDate(Blackhole blackhole) {
+        LocalDate currentDate = entryDate;
+        while (!currentDate.isAfter(leavingDate)) {
+            String currentDateStr = DATE_FORMAT.format(currentDate);
+            Availability availability = availabilityList.stream()
+                    .filter(avail -> DATE_FORMAT.format(avail.getDate()).equals(currentDateStr))
+                    .findFirst()
+                    .orElse(null);
+            blackhole.consume(availability);
+            currentDate = currentDate.plusDays(1);
+        }
+    }
+
+    // 목록은 날짜순 (findByCampIdAndDateBetween ... ORDER BY date), 빠진 날짜는 null
+    @Benchmark
+    public Availability[] epochDayLookup() {
+        long startEpochDay = entryDate.toEpochDay();
+        Availability[] byDay = new Availability[stayDays];
+        for (Availability availability : availabilityList) {
+            int day = (int) (availability.getDate().toEpochDay() - startEpochDay);
+            if (day >= 0 && day < stayDays) {
+                byDay[day] = availability;
+            }
+        }
+        return byDay;
+    }
+
+    @Benchmark
+    public void legacyUpdateAvailabilityCount(Blackhole blackhole) {
+        for (Availability availability : availabilityList) {
+            switch (CAMP_FACS_TYPE) {
+                case 1:
+                    availability = availability.toBuilder()
+                            .generalSiteAvail(availability.getGeneralSiteAvail() - 1)
+                            .build();
+                    break;
+                case 2:
+                    availability = availability.toBuilder()
+                            .carSiteAvail(availability.getCarSiteAvail() - 1)
+                            .build();
+                    break;
+                case 3:
+                    availability = availability.toBuilder()
+                            .glampingSiteAvail(availability.getGlampingSiteAvail() - 1)
+                            .build();
+                    break;
+                case 4:
+                    availability = availability.toBuilder()
+                            .caravanSiteAvail(availability.getCaravanSiteAvail() - 1)
+                            .build();
+                    break;
+                default:
+                    throw new IllegalArgumentException("잘못된 시설 유형입니다. : " + CAMP_FACS_TYPE);
+            }
+            blackhole.consume(availability);
+        }
+    }
+
+    @Benchmark
+    public List<Availability> withSiteAvailChange() {
+        return availabilityList.stream()
+                .map(availability -> availability.withSiteAvailChange(CAMP_FACS_TYPE, -1))
+                .toList();
+    }
+
+    // 차감 후 바로 복구해 반복 측정 중 수량이 변하지 않도록 함
+    @Benchmark
+    public void indexApplyChange() {
+        campAvailability.add(CAMP_FACS_TYPE, entryDate, leavingDate, -1);
+        campAvailability.add(CAMP_FACS_TYPE, entryDate, leavingDate, 1);
+    }
+
+    @Benchmark
+    public boolean indexIsAvailable() {
+        return campAvailability.isAvailable(CAMP_FACS_TYPE, entryDate, leavingDate);
+    }
+}
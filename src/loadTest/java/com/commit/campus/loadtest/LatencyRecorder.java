@@ -0,0 +1,42 @@
+package com.commit.campus.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+// 단계별 응답 시간 기록 (나노초), 종료 후 정렬해 백분위 계산
+class LatencyRecorder {
+
+    private final String name;
+    private long[] samples = new long[1024];
+    private int count;
+
+    LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    synchronized void record(long startNanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = System.nanoTime() - startNanos;
+    }
+
+    synchronized String summary() {
+        if (count == 0) {
+            return String.format("%-8s 0건", name);
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return String.format("%-8s %7d건  p50 %8.2fms  p99 %8.2fms  p99.9 %8.2fms  max %8.2fms",
+                name, count, millis(sorted, 0.50), millis(sorted, 0.99), millis(sorted, 0.999), toMillis(sorted[count - 1]));
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, index)]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
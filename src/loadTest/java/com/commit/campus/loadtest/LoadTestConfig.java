@@ -0,0 +1,108 @@
+package com.commit.campus.loadtest;
+
+import com.commit.campus.common.config.AsyncConfig;
+import com.commit.campus.common.config.DataSourceConfig;
+import com.commit.campus.common.id.SnowflakeIdGenerator;
+import com.commit.campus.common.lock.LocalStripedLockManager;
+import com.commit.campus.common.lock.LockMetrics;
+import com.commit.campus.common.lock.RedisLockManager;
+import com.commit.campus.entity.Reservation;
+import com.commit.campus.repository.ReservationRepository;
+import com.commit.campus.service.impl.AvailabilityIndex;
+import com.commit.campus.service.impl.AvailabilitySyncWriter;
+import com.commit.campus.service.impl.LockingInventoryServiceImpl;
+import com.commit.campus.service.impl.OptimisticInventoryServiceImpl;
+import com.commit.campus.service.impl.PartitionedInventoryServiceImpl;
+import com.commit.campus.service.impl.RedisInventoryServiceImpl;
+import com.commit.campus.service.impl.ReservationCacheSyncListener;
+import com.commit.campus.service.impl.ReservationHoldTracker;
+import com.commit.campus.service.impl.ReservationOutboxRelay;
+import com.commit.campus.service.impl.ReservationServiceImpl;
+import com.commit.campus.service.impl.ReservationStreamWriter;
+import com.commit.campus.service.impl.ReservationWaitlistServiceImpl;
+import com.commit.campus.service.impl.SqlInventoryServiceImpl;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/*
+ * 부하 테스트용 최소 컨텍스트
+ * - 웹/보안/외부 API 설정 없이 예약 처리에 필요한 빈만 실제 구현 그대로 등록한다.
+ * - Redis는 프로세스 내 서버(jedis-mock), DB는 H2(MySQL 모드)에 연결한다.
+ * - @Scheduled 작업(만료 점검, outbox 릴레이)은 켜지 않고 하네스가 필요할 때 직접 호출한다.
+ */
+@SpringBootConfiguration
+@ImportAutoConfiguration({
+        DataSourceAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        TransactionAutoConfiguration.class,
+        JdbcTemplateAutoConfiguration.class})
+@EntityScan(basePackageClasses = Reservation.class)
+@EnableJpaRepositories(basePackageClasses = ReservationRepository.class)
+@Import({
+        AsyncConfig.class,
+        DataSourceConfig.class,
+        LockMetrics.class,
+        RedisLockManager.class,
+        LocalStripedLockManager.class,
+        SnowflakeIdGenerator.class,
+        LockingInventoryServiceImpl.class,
+        SqlInventoryServiceImpl.class,
+        OptimisticInventoryServiceImpl.class,
+        RedisInventoryServiceImpl.class,
+        PartitionedInventoryServiceImpl.class,
+        AvailabilitySyncWriter.class,
+        AvailabilityIndex.class,
+        ReservationHoldTracker.class,
+        ReservationStreamWriter.class,
+        ReservationOutboxRelay.class,
+        ReservationCacheSyncListener.class,
+        ReservationWaitlistServiceImpl.class,
+        ReservationServiceImpl.class})
+public class LoadTestConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public RedisClient redisClient(@Value("${loadtest.redis.host}") String host, @Value("${loadtest.redis.port}") int port) {
+        RedisClient redisClient = RedisClient.create(RedisURI.create(host, port));
+        // 프로세스 내 서버는 HELLO(RESP3)를 지원하지 않음
+        redisClient.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP2).build());
+        return redisClient;
+    }
+
+    @Bean(destroyMethod = "close")
+    public StatefulRedisConnection<String, String> redisConnection(RedisClient redisClient) {
+        return redisClient.connect();
+    }
+
+    @Bean
+    public RedisAsyncCommands<String, String> redisAsyncCommands(StatefulRedisConnection<String, String> connection) {
+        return connection.async();
+    }
+
+    @Bean
+    public RedisCommands<String, String> redisSyncCommands(StatefulRedisConnection<String, String> connection) {
+        return connection.sync();
+    }
+
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}
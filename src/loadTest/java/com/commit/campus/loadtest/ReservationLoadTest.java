@@ -0,0 +1,344 @@
+package com.commit.campus.loadtest;
+
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.entity.Camping;
+import com.commit.campus.repository.CampingRepository;
+import com.commit.campus.service.ReservationService;
+import com.commit.campus.service.impl.ReservationOutboxRelay;
+import com.github.fppt.jedismock.RedisServer;
+import io.lettuce.core.api.sync.RedisCommands;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 예약 동시성 부하 테스트
+ * - 소수의 인기 캠핑장(글램핑)에 createReservation → confirmReservation → (일부) cancelReservation 흐름을 동시에 실행한다.
+ * - 일부 요청은 같은 예약을 동시에 두 번 확정해 예약 단위 락과 중복 확정 방지를 함께 검증한다.
+ * - 종료 후 처리량, 단계별 p50/p99/p99.9, 락 거부율과 불변식 위반(초과 예약, 음수 재고, 재고-예약 불일치, Redis 상태 불일치)을 출력한다.
+ * - 위반이 하나라도 있으면 종료 코드 1
+ *
+ * 옵션 (--이름=값): flows, concurrency, camps, sites, days, max-nights, cancel-ratio, duplicate-confirm-ratio,
+ *                  inventory-mode (lock | sql | redis | optimistic | partitioned), lock-type (redis | local), pool-size
+ */
+@Slf4j
+public class ReservationLoadTest {
+
+    private static final ZoneId ZONE_ID = ZoneId.of("Asia/Seoul");
+    private static final int CAMP_FACS_TYPE = 3;   // 글램핑
+    private static final long CAMP_FACS_ID = 3L;
+    private static final String CONFIRMATION_STATUS = "confirmation";
+
+    private enum Outcome { CONFIRMED, LOCK_REJECTED, SOLD_OUT, ALREADY_HANDLED, FAILED }
+
+    private final Map<String, String> options;
+    private final int flows;
+    private final int concurrency;
+    private final int campCount;
+    private final int sites;
+    private final int days;
+    private final int maxNights;
+    private final double cancelRatio;
+    private final double duplicateConfirmRatio;
+
+    private final LatencyRecorder createLatency = new LatencyRecorder("create");
+    private final LatencyRecorder confirmLatency = new LatencyRecorder("confirm");
+    private final LatencyRecorder cancelLatency = new LatencyRecorder("cancel");
+
+    private final LongAdder confirmed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder lockRejected = new LongAdder();
+    private final LongAdder lockedAttempts = new LongAdder();
+    private final LongAdder soldOut = new LongAdder();
+    private final LongAdder duplicateRejected = new LongAdder();
+    private final LongAdder doubleConfirmed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private ReservationService reservationService;
+    private List<Long> campIds;
+    private LocalDate today;
+
+    ReservationLoadTest(Map<String, String> options) {
+        this.options = options;
+        this.flows = intOption("flows", 5000);
+        this.concurrency = intOption("concurrency", 64);
+        this.campCount = intOption("camps", 5);
+        this.sites = intOption("sites", 3);
+        this.days = intOption("days", 14);
+        this.maxNights = intOption("max-nights", 3);
+        this.cancelRatio = Double.parseDouble(options.getOrDefault("cancel-ratio", "0.3"));
+        this.duplicateConfirmRatio = Double.parseDouble(options.getOrDefault("duplicate-confirm-ratio", "0.05"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+
+        int violations = new ReservationLoadTest(options).run();
+        System.exit(violations > 0 ? 1 : 0);
+    }
+
+    int run() throws Exception {
+        RedisServer redisServer = RedisServer.newRedisServer();
+        redisServer.start();
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LoadTestConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=loadtest",
+                        "--loadtest.redis.host=" + redisServer.getHost(),
+                        "--loadtest.redis.port=" + redisServer.getBindPort(),
+                        "--reservation.inventory.mode=" + options.getOrDefault("inventory-mode", "lock"),
+                        "--reservation.lock.type=" + options.getOrDefault("lock-type", "redis"),
+                        "--spring.datasource.hikari.maximum-pool-size=" + options.getOrDefault("pool-size", "80"))) {
+
+            reservationService = context.getBean(ReservationService.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            today = LocalDate.now(ZONE_ID);
+            seed(context.getBean(CampingRepository.class), jdbcTemplate);
+
+            long elapsedNanos = drive();
+
+            // 비동기 반영(redis 모드의 availability 동기화, 커밋 직후 실패한 outbox 이벤트)을 마친 뒤 검증
+            awaitIdle((ThreadPoolTaskExecutor) context.getBean("availabilitySyncExecutor"));
+            context.getBean(ReservationOutboxRelay.class).relay();
+
+            @SuppressWarnings("unchecked")
+            RedisCommands<String, String> redisCommands = context.getBean(RedisCommands.class);
+            return report(elapsedNanos, jdbcTemplate, redisCommands);
+        } finally {
+            redisServer.stop();
+        }
+    }
+
+    private void seed(CampingRepository campingRepository, JdbcTemplate jdbcTemplate) {
+        // 예약 테이블의 사용자/시설 FK는 부하 테스트 대상이 아님
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+
+        campIds = new ArrayList<>();
+        for (int i = 0; i < campCount; i++) {
+            Camping camping = new Camping();
+            camping.setCampName("load-test-" + i);
+            camping.setGlampingSiteCnt(sites);
+            campIds.add(campingRepository.save(camping).getCampId());
+        }
+        log.info("캠핑장 {}곳(글램핑 {}개씩), 예약 {}건, 동시 실행 {}", campCount, sites, flows, concurrency);
+    }
+
+    private long drive() throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        ExecutorService duplicates = Executors.newFixedThreadPool(Math.max(1, concurrency / 4));
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(flows);
+
+        for (int i = 0; i < flows; i++) {
+            workers.execute(() -> {
+                try {
+                    startLatch.await();
+                    runFlow(duplicates);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    log.warn("예상하지 못한 실패", e);
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        long startNanos = System.nanoTime();
+        startLatch.countDown();
+        doneLatch.await();
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        workers.shutdown();
+        duplicates.shutdown();
+        return elapsedNanos;
+    }
+
+    private void runFlow(ExecutorService duplicates) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate entryDate = today.plusDays(random.nextInt(days - maxNights + 1));
+
+        ReservationDTO reservationDTO = ReservationDTO.builder()
+                .userId(random.nextLong(1, 10_000))
+                .campId(campIds.get(random.nextInt(campIds.size())))
+                .campFacsId(CAMP_FACS_ID)
+                .campFacsType(CAMP_FACS_TYPE)
+                .reservationDate(LocalDateTime.now(ZONE_ID))
+                .entryDate(entryDate)
+                .leavingDate(entryDate.plusDays(random.nextInt(maxNights)))
+                .gearRentalStatus("N")
+                .build();
+
+        long startNanos = System.nanoTime();
+        String reservationId = reservationService.createReservation(reservationDTO);
+        createLatency.record(startNanos);
+
+        CompletableFuture<Outcome> duplicate = random.nextDouble() < duplicateConfirmRatio
+                ? CompletableFuture.supplyAsync(() -> confirm(reservationId), duplicates)
+                : CompletableFuture.completedFuture(null);
+        Outcome outcome = confirm(reservationId);
+        Outcome duplicateOutcome = duplicate.join();
+
+        if (outcome == Outcome.CONFIRMED && duplicateOutcome == Outcome.CONFIRMED) {
+            doubleConfirmed.increment();
+        }
+        if ((outcome == Outcome.CONFIRMED || duplicateOutcome == Outcome.CONFIRMED) && random.nextDouble() < cancelRatio) {
+            cancel(reservationId);
+        }
+    }
+
+    private Outcome confirm(String reservationId) {
+        lockedAttempts.increment();
+        long startNanos = System.nanoTime();
+        try {
+            reservationService.confirmReservation(reservationId);
+            confirmed.increment();
+            return Outcome.CONFIRMED;
+        } catch (ConcurrentModificationException e) {
+            lockRejected.increment();
+            return Outcome.LOCK_REJECTED;
+        } catch (IllegalStateException e) {
+            if (e.getMessage() != null && e.getMessage().contains("마감")) {
+                soldOut.increment();
+                return Outcome.SOLD_OUT;
+            }
+            duplicateRejected.increment();
+            return Outcome.ALREADY_HANDLED;
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("예약 확정 실패: reservationId={}", reservationId, e);
+            return Outcome.FAILED;
+        } finally {
+            confirmLatency.record(startNanos);
+        }
+    }
+
+    private void cancel(String reservationId) {
+        lockedAttempts.increment();
+        long startNanos = System.nanoTime();
+        try {
+            reservationService.cancelReservation(reservationId);
+            cancelled.increment();
+        } catch (ConcurrentModificationException e) {
+            lockRejected.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("예약 취소 실패: reservationId={}", reservationId, e);
+        } finally {
+            cancelLatency.record(startNanos);
+        }
+    }
+
+    private int report(long elapsedNanos, JdbcTemplate jdbcTemplate, RedisCommands<String, String> redisCommands) {
+        // 확정 상태로 저장된 예약을 (캠핑장, 날짜)별로 집계
+        Map<String, Integer> booked = new HashMap<>();
+        List<Map<String, Object>> confirmedRows = jdbcTemplate.queryForList(
+                "SELECT camp_id, entry_date, leaving_date FROM reservation WHERE reservation_status = ?", CONFIRMATION_STATUS);
+        for (Map<String, Object> row : confirmedRows) {
+            LocalDate leavingDate = toLocalDate(row.get("leaving_date"));
+            for (LocalDate date = toLocalDate(row.get("entry_date")); !date.isAfter(leavingDate); date = date.plusDays(1)) {
+                booked.merge(row.get("camp_id") + "|" + date, 1, Integer::sum);
+            }
+        }
+
+        Map<String, Integer> remaining = new HashMap<>();
+        jdbcTemplate.query("SELECT camp_id, date, glamping_site_avail FROM availability", rs -> {
+            remaining.put(rs.getLong("camp_id") + "|" + rs.getDate("date").toLocalDate(), rs.getInt("glamping_site_avail"));
+        });
+
+        int overbooked = 0;
+        int inventoryDrift = 0;
+        for (Long campId : campIds) {
+            for (LocalDate date = today; date.isBefore(today.plusDays(days)); date = date.plusDays(1)) {
+                String key = campId + "|" + date;
+                int bookedCount = booked.getOrDefault(key, 0);
+                if (bookedCount > sites) {
+                    overbooked++;
+                }
+                if (remaining.getOrDefault(key, sites) != sites - bookedCount) {
+                    inventoryDrift++;
+                }
+            }
+        }
+
+        Integer negativeRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM availability " +
+                "WHERE general_site_avail < 0 OR car_site_avail < 0 OR glamping_site_avail < 0 OR caravan_site_avail < 0", Integer.class);
+        int negative = negativeRows == null ? 0 : negativeRows;
+
+        // 확정/취소 성공 수와 DB에 남은 확정 예약 수, DB 상태와 Redis 해시 상태 비교
+        long expectedConfirmed = confirmed.sum() - doubleConfirmed.sum() - cancelled.sum();
+        int persistenceMismatch = confirmedRows.size() == expectedConfirmed ? 0 : 1;
+
+        int cacheDrift = 0;
+        for (Map<String, Object> row : jdbcTemplate.queryForList("SELECT reservation_id, reservation_status FROM reservation")) {
+            String cachedStatus = redisCommands.hget("reservationInfo:" + row.get("reservation_id"), "s");
+            if (cachedStatus != null && !cachedStatus.equals(row.get("reservation_status"))) {
+                cacheDrift++;
+            }
+        }
+        Integer outboxBacklog = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservation_outbox", Integer.class);
+
+        double seconds = elapsedNanos / 1e9;
+        long lockedCount = lockedAttempts.sum();
+        System.out.println();
+        System.out.printf("== 예약 부하 테스트 (재고 %s, 락 %s) ==%n",
+                options.getOrDefault("inventory-mode", "lock"), options.getOrDefault("lock-type", "redis"));
+        System.out.printf("소요 %.2fs, 처리량 %.0f 흐름/s%n", seconds, flows / seconds);
+        System.out.println(createLatency.summary());
+        System.out.println(confirmLatency.summary());
+        System.out.println(cancelLatency.summary());
+        System.out.printf("확정 %d, 취소 %d, 마감 %d, 중복 확정 거부 %d, 실패 %d%n",
+                confirmed.sum(), cancelled.sum(), soldOut.sum(), duplicateRejected.sum(), failed.sum());
+        System.out.printf("락 거부 %d / %d (%.2f%%)%n", lockRejected.sum(), lockedCount,
+                lockedCount == 0 ? 0.0 : lockRejected.sum() * 100.0 / lockedCount);
+        System.out.printf("outbox 잔여 %d건%n", outboxBacklog == null ? 0 : outboxBacklog);
+        System.out.println("-- 불변식 위반 --");
+        System.out.printf("초과 예약 (캠핑장, 날짜) %d%n", overbooked);
+        System.out.printf("음수 재고 행 %d%n", negative);
+        System.out.printf("재고-확정 예약 불일치 (캠핑장, 날짜) %d%n", inventoryDrift);
+        System.out.printf("같은 예약 이중 확정 %d%n", doubleConfirmed.sum());
+        System.out.printf("확정 예약 수 불일치 %d (DB %d, 기대 %d)%n", persistenceMismatch, confirmedRows.size(), expectedConfirmed);
+        System.out.printf("Redis 상태 불일치 %d%n", cacheDrift);
+
+        return overbooked + negative + inventoryDrift + (int) doubleConfirmed.sum() + persistenceMismatch + cacheDrift;
+    }
+
+    private static void awaitIdle(ThreadPoolTaskExecutor executor) throws InterruptedException {
+        while (executor.getActiveCount() > 0 || !executor.getThreadPoolExecutor().getQueue().isEmpty()) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) value;
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+}
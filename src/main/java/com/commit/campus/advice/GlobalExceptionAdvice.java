@@ -1,10 +1,14 @@
 package com.commit.campus.advice;
 
 import com.commit.campus.common.exceptions.ErrorType;
+import com.commit.campus.common.exceptions.IdempotencyKeyMismatchException;
+import com.commit.campus.common.exceptions.IdempotentRequestInProgressException;
 import com.commit.campus.common.exceptions.NotAuthorizedException;
 import com.commit.campus.common.exceptions.ReviewAlreadyExistsException;
 import com.commit.campus.common.exceptions.ReviewNotFoundException;
+import com.commit.campus.common.exceptions.TooManyRequestsException;
 import com.commit.campus.view.ErrorView;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -37,4 +41,29 @@ public class GlobalExceptionAdvice {
                 .body(new ErrorView(ErrorType.REVIEW_NOT_FOUND, exception.getMessage()));
     }
 
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorView> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException exception) {
+
+        return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(new ErrorView(ErrorType.IDEMPOTENCY_KEY_MISMATCH, exception.getMessage()));
+    }
+
+    @ExceptionHandler(IdempotentRequestInProgressException.class)
+    public ResponseEntity<ErrorView> handleIdempotentRequestInProgress(IdempotentRequestInProgressException exception) {
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorView(ErrorType.REQUEST_IN_PROGRESS, exception.getMessage()));
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorView> handleTooManyRequests(TooManyRequestsException exception) {
+
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(new ErrorView(ErrorType.TOO_MANY_REQUESTS, exception.getMessage()));
+    }
+
 }
@@ -0,0 +1,8 @@
+package com.commit.campus.common.admission;
+
+// 캠핑장별 동시 처리 자리, close 시 반환
+public interface AdmissionPermit extends AutoCloseable {
+
+    @Override
+    void close();
+}
@@ -0,0 +1,212 @@
+package com.commit.campus.common.admission;
+
+import com.commit.campus.common.exceptions.TooManyRequestsException;
+import com.commit.campus.common.redis.LuaScript;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.LongFunction;
+
+/*
+ * 캠핑장별 예약 요청 입장 제어
+ * - 토큰 버킷: admission:bucket:{campId} 해시 하나를 모든 서버가 공유한다 (초당 rate-per-second개 충전, 최대 burst개).
+ * - 로컬 빠른 경로: Redis에서 토큰을 local-batch개씩 받아 두고 소진할 때까지 Redis를 거치지 않는다.
+ *   받아 둔 토큰은 1초 안에 쓰지 않으면 버린다 (한 서버가 쌓아 두었다가 한꺼번에 쓰지 않도록).
+ *   거절되면 다시 충전될 때까지는 Redis에 묻지 않고 바로 거절한다.
+ * - 동시 처리 상한: 서버마다 캠핑장별로 max-concurrent-per-camp개까지만 동시에 처리한다.
+ *   확정/취소처럼 이미 받은 예약 요청의 후속 처리(enter)는 토큰 없이 동시 처리 상한만 적용한다.
+ * - 초과하면 TooManyRequestsException → 429 + Retry-After
+ * - Redis 장애 시에는 토큰 버킷을 건너뛰고 통과시킨다 (동시 처리 상한은 계속 적용).
+ * - 거절 메트릭: reservation.admission.rejected (reason=rate|concurrency)
+ *   캠핑장 수만큼 시계열이 늘지 않도록 campId는 태그로 남기지 않고 debug 로그로만 남긴다.
+ */
+@Slf4j
+@Component
+public class CampAdmissionManager {
+
+    static final String BUCKET_KEY_PREFIX = "admission:bucket:";
+
+    private static final long PREFETCH_TTL_MILLIS = 1000;
+    private static final AdmissionPermit NO_OP_PERMIT = () -> { };
+
+    // KEYS: 버킷, ARGV: 초당 충전량, 용량, 현재 시각(ms), 요청 토큰 수, 키 만료(ms) → {받은 토큰 수, 다음 토큰까지 대기(ms)}
+    private static final LuaScript TAKE_SCRIPT = new LuaScript(
+            "local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts') " +
+            "local rate = tonumber(ARGV[1]) " +
+            "local capacity = tonumber(ARGV[2]) " +
+            "local now = tonumber(ARGV[3]) " +
+            "local tokens = tonumber(bucket[1]) " +
+            "local ts = tonumber(bucket[2]) " +
+            "if tokens == nil or ts == nil then tokens = capacity ts = now end " +
+            "if now > ts then tokens = math.min(capacity, tokens + (now - ts) * rate / 1000) else now = ts end " +
+            "local granted = math.min(tonumber(ARGV[4]), math.floor(tokens)) " +
+            "tokens = tokens - granted " +
+            "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now)) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[5]) " +
+            "if granted > 0 then return {granted, 0} end " +
+            "return {0, math.ceil((1 - tokens) * 1000 / rate)}");
+
+    private final RedisCommands<String, String> redisCommands;
+    private final Counter rateRejectedCounter;
+    private final Counter concurrencyRejectedCounter;
+    private final boolean enabled;
+    private final double ratePerSecond;
+    private final long burst;
+    private final long localBatch;
+    private final int maxConcurrentPerCamp;
+
+    private final ConcurrentMap<Long, LocalBucket> localBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Semaphore> concurrencySlots = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CampAdmissionManager(RedisCommands<String, String> redisCommands,
+                                MeterRegistry meterRegistry,
+                                @Value("${reservation.admission.enabled:true}") boolean enabled,
+                                @Value("${reservation.admission.rate-per-second:50}") double ratePerSecond,
+                                @Value("${reservation.admission.burst:100}") long burst,
+                                @Value("${reservation.admission.local-batch:5}") long localBatch,
+                                @Value("${reservation.admission.max-concurrent-per-camp:32}") int maxConcurrentPerCamp) {
+        this.redisCommands = redisCommands;
+        this.rateRejectedCounter = rejectedCounter(meterRegistry, "rate");
+        this.concurrencyRejectedCounter = rejectedCounter(meterRegistry, "concurrency");
+        this.enabled = enabled;
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.localBatch = Math.max(1, Math.min(localBatch, burst));
+        this.maxConcurrentPerCamp = maxConcurrentPerCamp;
+    }
+
+    // 통과하면 처리가 끝날 때 닫아야 하는 허가를 돌려준다 (try-with-resources)
+    public AdmissionPermit admit(long campId) {
+        if (!enabled) {
+            return NO_OP_PERMIT;
+        }
+
+        Semaphore slots = acquireSlot(campId);
+        try {
+            long retryAfterMillis = takeToken(campId);
+            if (retryAfterMillis > 0) {
+                reject(campId, rateRejectedCounter, retryAfterMillis);
+            }
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+        return slots::release;
+    }
+
+    // 여러 캠핑장에 걸친 요청(단체 예약)은 캠핑장마다 한 번씩 통과해야 하며, 하나라도 거절되면 받은 허가를 모두 돌려줌
+    public AdmissionPermit admitAll(Collection<Long> campIds) {
+        return acquireAll(campIds, this::admit);
+    }
+
+    // 후속 처리(확정/취소): 토큰 버킷은 쓰지 않고 캠핑장별 동시 처리 상한만 적용
+    public AdmissionPermit enter(long campId) {
+        if (!enabled) {
+            return NO_OP_PERMIT;
+        }
+        return acquireSlot(campId)::release;
+    }
+
+    public AdmissionPermit enterAll(Collection<Long> campIds) {
+        return acquireAll(campIds, this::enter);
+    }
+
+    private Semaphore acquireSlot(long campId) {
+        Semaphore slots = concurrencySlots.computeIfAbsent(campId, id -> new Semaphore(maxConcurrentPerCamp));
+        if (!slots.tryAcquire()) {
+            reject(campId, concurrencyRejectedCounter, 1000);
+        }
+        return slots;
+    }
+
+    // 캠핑장 ID 순서로 받아 서버 간 교착을 피하고, 하나라도 거절되면 받은 허가를 모두 돌려줌
+    private static AdmissionPermit acquireAll(Collection<Long> campIds, LongFunction<AdmissionPermit> acquire) {
+        List<AdmissionPermit> permits = new ArrayList<>();
+        try {
+            for (long campId : new TreeSet<>(campIds)) {
+                permits.add(acquire.apply(campId));
+            }
+        } catch (RuntimeException e) {
+            permits.forEach(AdmissionPermit::close);
+            throw e;
+        }
+        return () -> permits.forEach(AdmissionPermit::close);
+    }
+
+    // 토큰을 얻으면 0, 아니면 다음 토큰까지 남은 시간(ms)
+    private long takeToken(long campId) {
+        LocalBucket localBucket = localBuckets.computeIfAbsent(campId, id -> new LocalBucket());
+
+        // 같은 캠핑장 요청은 이 서버에서 Redis 왕복 하나를 공유한다 (그동안 받은 토큰을 뒤따르는 요청이 사용)
+        synchronized (localBucket) {
+            long now = System.currentTimeMillis();
+            if (now < localBucket.deniedUntil) {
+                return localBucket.deniedUntil - now;
+            }
+            if (localBucket.tokens > 0 && now < localBucket.tokensExpireAt) {
+                localBucket.tokens--;
+                return 0;
+            }
+
+            List<Long> result;
+            try {
+                result = TAKE_SCRIPT.execute(redisCommands, ScriptOutputType.MULTI,
+                        new String[]{BUCKET_KEY_PREFIX + campId},
+                        String.valueOf(ratePerSecond), String.valueOf(burst), String.valueOf(now),
+                        String.valueOf(localBatch), String.valueOf(bucketTtlMillis()));
+            } catch (RuntimeException e) {
+                log.warn("입장 토큰 버킷 조회 실패, 통과 처리: campId={}", campId, e);
+                return 0;
+            }
+
+            long granted = result.get(0);
+            if (granted > 0) {
+                localBucket.tokens = granted - 1;
+                localBucket.tokensExpireAt = now + PREFETCH_TTL_MILLIS;
+                return 0;
+            }
+            long retryAfterMillis = Math.max(1, result.get(1));
+            localBucket.tokens = 0;
+            localBucket.deniedUntil = now + retryAfterMillis;
+            return retryAfterMillis;
+        }
+    }
+
+    private void reject(long campId, Counter rejectedCounter, long retryAfterMillis) {
+        rejectedCounter.increment();
+        log.debug("입장 거절: campId={}, reason={}, retryAfterMillis={}",
+                campId, rejectedCounter.getId().getTag("reason"), retryAfterMillis);
+        throw new TooManyRequestsException("요청이 많아 잠시 후 다시 시도해 주세요", (retryAfterMillis + 999) / 1000);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("reservation.admission.rejected")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    // 버킷이 가득 찰 때까지 걸리는 시간 + 여유, 그 뒤에는 없어도 가득 찬 버킷과 같다
+    private long bucketTtlMillis() {
+        return (long) Math.ceil(burst * 1000 / ratePerSecond) + 1000;
+    }
+
+    private static final class LocalBucket {
+        private long tokens;
+        private long tokensExpireAt;
+        private long deniedUntil;
+    }
+}
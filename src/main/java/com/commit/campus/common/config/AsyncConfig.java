@@ -0,0 +1,66 @@
+package com.commit.campus.common.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    // Redis 재고 변경분을 MySQL availability 테이블에 비동기로 반영하는 스레드 풀
+    @Bean(name = "availabilitySyncExecutor")
+    public Executor availabilitySyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(10000);
+        executor.setThreadNamePrefix("availability-sync-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    // 캠핑장 카탈로그 재생성 전용 스레드 (재고 동기화와 스레드를 나눠 쓰지 않음)
+    // 재생성은 한 번에 하나만 돌고 대기 중인 한 건이 그사이 변경을 모두 반영하므로, 큐가 차면 버린다
+    @Bean(name = "campingCatalogExecutor")
+    public Executor campingCatalogExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("camping-catalog-");
+        executor.initialize();
+        return executor;
+    }
+
+    // 잔여 수량 인덱스 백그라운드 갱신 전용 스레드 (재고 동기화 큐 뒤에서 기다리거나 그 큐를 채우지 않음)
+    // 캠핑장마다 갱신은 한 건만 걸리고 큐가 차서 버린 캠핑장은 다음 조회 때 다시 요청하므로 큐를 작게 둔다
+    @Bean(name = "availabilityIndexExecutor")
+    public Executor availabilityIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("availability-index-");
+        executor.initialize();
+        return executor;
+    }
+
+    // 즉시 전달한 outbox 행 삭제 전용 스레드 (요청 스레드가 afterCommit에서 커넥션을 하나 더 잡지 않도록 넘겨받음)
+    // 큐가 차서 버린 행은 릴레이가 다시 전달한 뒤 지운다
+    @Bean(name = "outboxCleanupExecutor")
+    public Executor outboxCleanupExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10000);
+        executor.setThreadNamePrefix("outbox-cleanup-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,31 @@
+package com.commit.campus.common.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/*
+ * 트랜잭션을 시작해도 첫 SQL을 실행할 때 커넥션 풀에서 커넥션을 가져오도록 DataSource를 감싼다.
+ * - 예약 확정은 Redis 조회와 재고 처리(optimistic: 별도 트랜잭션 재시도, partitioned: 작업자 대기)를 마친 뒤에 첫 SQL을 실행한다.
+ *   그동안 커넥션을 잡고 있지 않으므로, 재고 처리가 쓰는 커넥션과 풀을 두고 서로 기다리지 않는다.
+ * - Boot가 만든 풀(Hikari)과 설정은 그대로 두고 감싸기만 한다.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor lazyConnectionDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                    return new LazyConnectionDataSourceProxy(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
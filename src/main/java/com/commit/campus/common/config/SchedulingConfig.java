@@ -0,0 +1,10 @@
+package com.commit.campus.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// 예약 요청 만료 주기 점검 등 @Scheduled 작업 활성화
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
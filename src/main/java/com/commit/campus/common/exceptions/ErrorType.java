@@ -5,4 +5,7 @@ public class ErrorType {
     public static final String NOT_AUTHORIZED = "NOT_AUTHORIZED";
     public static final String REVIEW_NOT_FOUND = "REVIEW_NOT_FOUND";
     public static final String INTERNAL_SERVER_ERROR = "INTERNAL_SERVER_ERROR";
+    public static final String IDEMPOTENCY_KEY_MISMATCH = "IDEMPOTENCY_KEY_MISMATCH";
+    public static final String REQUEST_IN_PROGRESS = "REQUEST_IN_PROGRESS";
+    public static final String TOO_MANY_REQUESTS = "TOO_MANY_REQUESTS";
 }
@@ -0,0 +1,8 @@
+package com.commit.campus.common.exceptions;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
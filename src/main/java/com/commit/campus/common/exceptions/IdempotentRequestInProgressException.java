@@ -0,0 +1,8 @@
+package com.commit.campus.common.exceptions;
+
+public class IdempotentRequestInProgressException extends RuntimeException {
+
+    public IdempotentRequestInProgressException(String message) {
+        super(message);
+    }
+}
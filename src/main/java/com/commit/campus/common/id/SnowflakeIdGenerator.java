@@ -0,0 +1,187 @@
+package com.commit.campus.common.id;
+
+import com.commit.campus.common.redis.LuaScript;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.sync.RedisCommands;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/*
+ * Snowflake 방식의 예약 ID 생성기
+ * - 41비트 타임스탬프(ms, 2024-01-01 기준) + 10비트 노드 ID + 12비트 시퀀스
+ * - 마지막 (타임스탬프, 시퀀스)를 하나의 long에 담아 CAS로 갱신하므로 락과 객체 생성이 없다.
+ * - 같은 ms에 시퀀스를 다 쓰거나 시계가 뒤로 가면 마지막 값에서 1씩 증가시켜 단조 증가를 유지한다.
+ * - 노드 ID를 설정하지 않으면 Redis에서 TTL이 있는 리스(SET NX PX)로 빌려 쓰고 주기적으로 연장한다.
+ *   재기동이 1024번을 넘어도 살아 있는 서버의 ID와 겹치지 않으며, 빈 ID가 없으면 기동에 실패한다.
+ * - 연장은 전용 스레드에서 돌려 다른 @Scheduled 작업이 길어져도 밀리지 않는다. 그래도 연장하지 못한 채
+ *   리스가 끝나면 다른 서버가 같은 노드 ID를 가져갈 수 있으므로, 다시 연장할 때까지 nextId()는 예외를 던진다.
+ */
+@Slf4j
+@Component
+public class SnowflakeIdGenerator {
+
+    static final long EPOCH_MILLIS = 1704067200000L;  // 2024-01-01T00:00:00Z
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final String NODE_SEQUENCE_KEY = "reservation:id:node-seq";
+    private static final String NODE_LEASE_KEY_PREFIX = "reservation:id:node:";
+
+    // 내 리스면 연장, 만료되어 비었으면 다시 잡고, 다른 서버가 가져갔으면 0
+    private static final LuaScript RENEW_SCRIPT = new LuaScript(
+            "local owner = redis.call('GET', KEYS[1]) " +
+            "if owner == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end " +
+            "if owner then return 0 end " +
+            "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) " +
+            "return 1");
+
+    private static final LuaScript RELEASE_SCRIPT = new LuaScript(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+            "return 0");
+
+    @Getter
+    private volatile long nodeId;
+    private final LongSupplier clock;
+    private final RedisCommands<String, String> redisCommands;  // 노드 ID를 설정했으면 null (리스 없음)
+    private final String leaseOwner = UUID.randomUUID().toString();
+    private final long leaseMillis;
+    private final AtomicLong lastState = new AtomicLong();  // (timestamp << SEQUENCE_BITS) | sequence
+    private volatile long leaseExpiresAt = Long.MAX_VALUE;  // 리스를 쓰지 않으면 만료 없음
+    private ScheduledExecutorService leaseRenewer;
+
+    @Autowired
+    public SnowflakeIdGenerator(@Value("${reservation.id.node-id:-1}") long nodeId,
+                                RedisCommands<String, String> redisCommands,
+                                @Value("${reservation.id.node-lease-millis:30000}") long leaseMillis,
+                                @Value("${reservation.id.node-lease-renew-millis:10000}") long renewMillis) {
+        this(nodeId, nodeId >= 0 ? null : redisCommands, leaseMillis, System::currentTimeMillis);
+        log.info("예약 ID 생성기 노드 ID = {}", this.nodeId);
+
+        if (this.redisCommands != null) {
+            leaseRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "snowflake-lease-renewer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            leaseRenewer.scheduleWithFixedDelay(this::renewLease, renewMillis, renewMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    SnowflakeIdGenerator(long nodeId, LongSupplier clock) {
+        this(nodeId, null, 0, clock);
+    }
+
+    SnowflakeIdGenerator(long nodeId, RedisCommands<String, String> redisCommands, long leaseMillis, LongSupplier clock) {
+        this.redisCommands = redisCommands;
+        this.leaseMillis = leaseMillis;
+        this.clock = clock;
+        long leasedAt = clock.getAsLong();
+        if (redisCommands != null) {
+            nodeId = leaseNodeId();
+        }
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("노드 ID는 0 ~ " + MAX_NODE_ID + " 사이여야 합니다: " + nodeId);
+        }
+        this.nodeId = nodeId;
+        if (redisCommands != null) {
+            leaseExpiresAt = leasedAt + leaseMillis;
+        }
+    }
+
+    // 리스가 끝났으면 다른 서버와 ID가 겹칠 수 있으므로 발급하지 않는다
+    public long nextId() {
+        long currentMillis = clock.getAsLong();
+        if (currentMillis >= leaseExpiresAt) {
+            throw new IllegalStateException("노드 ID 리스가 만료되어 예약 ID를 발급할 수 없습니다: nodeId=" + nodeId);
+        }
+
+        long now = currentMillis - EPOCH_MILLIS;
+        long next;
+
+        while (true) {
+            long last = lastState.get();
+            // 시퀀스가 넘치면 타임스탬프 자리로 올림되어 다음 ms 값이 된다
+            next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if (lastState.compareAndSet(last, next)) {
+                break;
+            }
+        }
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    // 리스 TTL의 1/3마다 연장, 다른 서버가 가져간 뒤라면 새 노드 ID를 빌려 갈아탄다
+    // 만료 시각은 요청을 보내기 전 시각 기준으로 잡아 Redis 쪽 TTL보다 늦게 끝나지 않도록 한다
+    void renewLease() {
+        if (redisCommands == null) {
+            return;
+        }
+
+        try {
+            long renewedAt = clock.getAsLong();
+            Long renewed = RENEW_SCRIPT.execute(redisCommands, ScriptOutputType.INTEGER,
+                    new String[]{leaseKey(nodeId)}, leaseOwner, String.valueOf(leaseMillis));
+            if (renewed != null && renewed == 1) {
+                leaseExpiresAt = renewedAt + leaseMillis;
+                return;
+            }
+
+            // 지금 노드 ID는 다른 서버 것이므로 새 ID를 잡을 때까지 발급을 멈춘다
+            leaseExpiresAt = Long.MIN_VALUE;
+            long previousNodeId = nodeId;
+            nodeId = leaseNodeId();
+            leaseExpiresAt = renewedAt + leaseMillis;
+            log.error("노드 ID 리스를 잃어 새로 할당 받았습니다: {} -> {}", previousNodeId, nodeId);
+        } catch (RuntimeException e) {
+            log.error("노드 ID 리스 연장 실패: nodeId={}", nodeId, e);
+        }
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        if (redisCommands == null) {
+            return;
+        }
+
+        if (leaseRenewer != null) {
+            leaseRenewer.shutdownNow();
+        }
+
+        try {
+            RELEASE_SCRIPT.execute(redisCommands, ScriptOutputType.INTEGER, new String[]{leaseKey(nodeId)}, leaseOwner);
+        } catch (RuntimeException e) {
+            log.warn("노드 ID 리스 반납 실패 (TTL로 만료됨): nodeId={}", nodeId, e);
+        }
+    }
+
+    // 카운터가 가리키는 ID부터 한 바퀴 돌며 비어 있는 첫 ID를 잡는다
+    private long leaseNodeId() {
+        long start = redisCommands.incr(NODE_SEQUENCE_KEY);
+        for (long i = 0; i <= MAX_NODE_ID; i++) {
+            long candidate = (start + i) & MAX_NODE_ID;
+            if ("OK".equals(redisCommands.set(leaseKey(candidate), leaseOwner, SetArgs.Builder.nx().px(leaseMillis)))) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("사용 가능한 노드 ID가 없습니다 (" + (MAX_NODE_ID + 1) + "개 모두 사용 중)");
+    }
+
+    private static String leaseKey(long nodeId) {
+        return NODE_LEASE_KEY_PREFIX + nodeId;
+    }
+}
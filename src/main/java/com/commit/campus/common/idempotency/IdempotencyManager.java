@@ -0,0 +1,255 @@
+package com.commit.campus.common.idempotency;
+
+import com.commit.campus.common.exceptions.IdempotencyKeyMismatchException;
+import com.commit.campus.common.exceptions.IdempotentRequestInProgressException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/*
+ * Idempotency-Key 헤더 처리
+ * - idempotency:{사용자}:{키}를 SET NX PX로 선점한 요청 하나만 실행하고, 응답(상태 코드 + 본문)을 TTL 동안 보관한다.
+ * - 같은 키로 다시 오면 실행하지 않고 보관된 응답을 그대로 돌려준다.
+ * - 같은 서버의 동시 중복은 진행 중인 요청의 결과를 기다려 함께 받고, 다른 서버의 중복은 Redis를 짧게 폴링해 기다린다.
+ * - 실행이 예외로 끝나면 키를 지워 재시도가 다시 실행될 수 있게 한다.
+ * - 같은 키를 다른 요청(경로/파라미터/본문)에 다시 쓰면 422, 대기 시간 안에 먼저 온 요청이 끝나지 않으면 409.
+ */
+@Slf4j
+@Component
+public class IdempotencyManager {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    static final String KEY_PREFIX = "idempotency:";
+    static final String PROCESSING = "processing";
+    static final String COMPLETED = "completed";
+
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final long MIN_POLL_MILLIS = 10;
+    private static final long MAX_POLL_MILLIS = 200;
+
+    private final RedisCommands<String, String> redisCommands;
+    private final ObjectMapper objectMapper;
+    private final long ttlSeconds;
+    private final long processingTimeoutMillis;
+    private final long waitMillis;
+    private final Counter replayedCounter;
+    private final Counter coalescedCounter;
+
+    // 이 서버에서 실행 중인 키 → 결과 (동시 중복 요청이 Redis를 폴링하지 않고 기다림)
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlightRequests = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotencyManager(RedisCommands<String, String> redisCommands,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${reservation.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                              @Value("${reservation.idempotency.processing-timeout-millis:30000}") long processingTimeoutMillis,
+                              @Value("${reservation.idempotency.wait-millis:5000}") long waitMillis) {
+        this.redisCommands = redisCommands;
+        this.objectMapper = objectMapper;
+        this.ttlSeconds = ttlSeconds;
+        this.processingTimeoutMillis = processingTimeoutMillis;
+        this.waitMillis = waitMillis;
+        this.replayedCounter = Counter.builder("reservation.idempotency.replayed").register(meterRegistry);
+        this.coalescedCounter = Counter.builder("reservation.idempotency.coalesced").register(meterRegistry);
+    }
+
+    /*
+     * scope: 키를 구분할 사용자, request: 같은 키가 같은 요청인지 비교할 내용(경로 + 파라미터/본문)
+     * 키가 없으면 그냥 실행한다.
+     */
+    public <T> ResponseEntity<T> execute(String scope, String idempotencyKey, String request, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key는 " + MAX_KEY_LENGTH + "자 이하여야 합니다");
+        }
+
+        String key = KEY_PREFIX + scope + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+
+        CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> inFlight = inFlightRequests.putIfAbsent(key, result);
+        if (inFlight != null) {
+            coalescedCounter.increment();
+            return toResponse(awaitInFlight(inFlight), fingerprint, bodyType);
+        }
+
+        try {
+            StoredResponse stored = claimOrAwait(key, fingerprint);
+            if (stored != null) {
+                result.complete(stored);
+                return toResponse(stored, fingerprint, bodyType);
+            }
+
+            ResponseEntity<T> response;
+            try {
+                response = action.get();
+            } catch (RuntimeException e) {
+                redisCommands.del(key);
+                throw e;
+            }
+
+            StoredResponse completed = new StoredResponse(COMPLETED, fingerprint,
+                    response.getStatusCode().value(), writeBody(response.getBody()));
+            save(key, completed);
+            result.complete(completed);
+            return response;
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRequests.remove(key, result);
+        }
+    }
+
+    // 선점에 성공하면 null, 다른 서버가 먼저 끝냈으면 보관된 응답
+    private StoredResponse claimOrAwait(String key, String fingerprint) {
+        String processing = writeValue(new StoredResponse(PROCESSING, fingerprint, 0, null));
+        long deadline = System.currentTimeMillis() + waitMillis;
+        long pollMillis = MIN_POLL_MILLIS;
+
+        while (true) {
+            if ("OK".equals(redisCommands.set(key, processing, SetArgs.Builder.nx().px(processingTimeoutMillis)))) {
+                return null;
+            }
+
+            String value = redisCommands.get(key);
+            if (value != null) {
+                StoredResponse stored = readValue(value);
+                if (!fingerprint.equals(stored.getFingerprint())) {
+                    throw new IdempotencyKeyMismatchException("이미 다른 요청에 사용된 Idempotency-Key입니다");
+                }
+                if (COMPLETED.equals(stored.getState())) {
+                    replayedCounter.increment();
+                    return stored;
+                }
+            }
+            // 값이 없으면 먼저 온 요청이 실패해 키를 지운 것이므로 바로 다시 선점 시도
+
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IdempotentRequestInProgressException("같은 Idempotency-Key의 요청이 아직 처리 중입니다");
+            }
+            if (value != null) {
+                sleep(pollMillis);
+                pollMillis = Math.min(pollMillis * 2, MAX_POLL_MILLIS);
+            }
+        }
+    }
+
+    private StoredResponse awaitInFlight(CompletableFuture<StoredResponse> inFlight) {
+        try {
+            return inFlight.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotentRequestInProgressException("같은 Idempotency-Key의 요청이 아직 처리 중입니다");
+        } catch (ExecutionException e) {
+            // 먼저 온 요청의 실패를 그대로 전달 (키는 지워졌으므로 다음 재시도는 다시 실행됨)
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotentRequestInProgressException("같은 Idempotency-Key의 요청이 아직 처리 중입니다");
+        }
+    }
+
+    private void save(String key, StoredResponse completed) {
+        try {
+            redisCommands.setex(key, ttlSeconds, writeValue(completed));
+        } catch (RuntimeException e) {
+            // 실행은 이미 끝났으므로 응답은 그대로 돌려준다. 처리 중 표시는 processing-timeout 후 만료됨
+            log.warn("멱등 응답 저장 실패: key={}", key, e);
+        }
+    }
+
+    private <T> ResponseEntity<T> toResponse(StoredResponse stored, String fingerprint, Class<T> bodyType) {
+        if (!fingerprint.equals(stored.getFingerprint())) {
+            throw new IdempotencyKeyMismatchException("이미 다른 요청에 사용된 Idempotency-Key입니다");
+        }
+        T body = null;
+        if (stored.getBody() != null) {
+            try {
+                body = objectMapper.readValue(stored.getBody(), bodyType);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("보관된 응답을 읽을 수 없습니다", e);
+            }
+        }
+        return ResponseEntity.status(stored.getStatus()).body(body);
+    }
+
+    private String writeBody(Object body) {
+        return body != null ? writeValue(body) : null;
+    }
+
+    private String writeValue(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("응답을 저장할 수 없습니다", e);
+        }
+    }
+
+    private StoredResponse readValue(String value) {
+        try {
+            return objectMapper.readValue(value, StoredResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("보관된 응답을 읽을 수 없습니다", e);
+        }
+    }
+
+    private static String fingerprint(String request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(request.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotentRequestInProgressException("같은 Idempotency-Key의 요청이 아직 처리 중입니다");
+        }
+    }
+
+    // Redis에 보관하는 값 (처리 중이면 status/body 없음)
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class StoredResponse {
+        private String state;
+        private String fingerprint;
+        private int status;
+        private String body;
+    }
+}
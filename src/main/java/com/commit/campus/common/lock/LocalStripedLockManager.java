@@ -0,0 +1,86 @@
+package com.commit.campus.common.lock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * 단일 노드용 JVM 내부 스트라이프 락 (reservation.lock.type=local)
+ * - 키를 해시로 고정 개수의 ReentrantLock 중 하나에 대응시키고, 스트라이프 번호 오름차순으로 획득해 교착을 막는다.
+ * - ReentrantLock이므로 획득한 스레드에서 해제해야 한다.
+ * - 펜싱 토큰은 기동 시각(ms * 1000)부터 증가시켜 재기동 후에도 이전 토큰보다 커지도록 한다.
+ */
+@Component
+@ConditionalOnProperty(name = "reservation.lock.type", havingValue = "local")
+public class LocalStripedLockManager implements LockManager {
+
+    private final ReentrantLock[] stripes;
+    private final AtomicLong fencingTokens = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final long waitNanos;
+    private final LockMetrics lockMetrics;
+
+    @Autowired
+    public LocalStripedLockManager(@Value("${reservation.lock.local.stripes:1024}") int stripeCount,
+                                   @Value("${reservation.lock.local.wait-millis:200}") long waitMillis,
+                                   LockMetrics lockMetrics) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.waitNanos = TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        this.lockMetrics = lockMetrics;
+    }
+
+    @Override
+    public Optional<LockHandle> tryLock(Collection<String> keys) {
+        int[] stripeIndexes = keys.stream().mapToInt(this::stripeIndex).distinct().sorted().toArray();
+
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + waitNanos;
+        boolean contended = false;
+        int acquiredCount = 0;
+
+        try {
+            for (; acquiredCount < stripeIndexes.length; acquiredCount++) {
+                ReentrantLock lock = stripes[stripeIndexes[acquiredCount]];
+                if (lock.tryLock()) {
+                    continue;
+                }
+                contended = true;
+                if (!lock.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        boolean acquired = acquiredCount == stripeIndexes.length;
+        lockMetrics.record(System.nanoTime() - startNanos, acquired, contended);
+
+        if (!acquired) {
+            unlock(stripeIndexes, acquiredCount);
+            return Optional.empty();
+        }
+        return Optional.of(LockHandle.of(fencingTokens.incrementAndGet(),
+                () -> unlock(stripeIndexes, stripeIndexes.length)));
+    }
+
+    private int stripeIndex(String key) {
+        int hash = key.hashCode();
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % stripes.length;
+    }
+
+    private void unlock(int[] stripeIndexes, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            stripes[stripeIndexes[i]].unlock();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.commit.campus.common.lock;
+
+// 획득한 락 묶음, close 시 전체 해제
+public interface LockHandle extends AutoCloseable {
+
+    // 획득할 때마다 증가하는 펜싱 토큰, 저장 시 이전 토큰보다 작은 값의 쓰기를 거부하는 데 사용
+    long fencingToken();
+
+    @Override
+    void close();
+
+    static LockHandle of(long fencingToken, Runnable release) {
+        return new LockHandle() {
+            @Override
+            public long fencingToken() {
+                return fencingToken;
+            }
+
+            @Override
+            public void close() {
+                release.run();
+            }
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.commit.campus.common.lock;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface LockManager {
+
+    // 키 전체를 정해진 순서로 획득 (하나라도 실패하면 이미 획득한 락을 풀고 빈 값 반환)
+    Optional<LockHandle> tryLock(Collection<String> keys);
+}
@@ -0,0 +1,36 @@
+package com.commit.campus.common.lock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 락 메트릭 (/actuator/metrics)
+ * - reservation.lock.wait: 락 획득까지 걸린 시간 (result=acquired|rejected)
+ * - reservation.lock.contention: 다른 요청이 보유 중이라 바로 얻지 못한 횟수
+ */
+@Component
+public class LockMetrics {
+
+    private final Timer acquiredTimer;
+    private final Timer rejectedTimer;
+    private final Counter contentionCounter;
+
+    @Autowired
+    public LockMetrics(MeterRegistry meterRegistry) {
+        this.acquiredTimer = Timer.builder("reservation.lock.wait").tag("result", "acquired").register(meterRegistry);
+        this.rejectedTimer = Timer.builder("reservation.lock.wait").tag("result", "rejected").register(meterRegistry);
+        this.contentionCounter = Counter.builder("reservation.lock.contention").register(meterRegistry);
+    }
+
+    public void record(long waitNanos, boolean acquired, boolean contended) {
+        (acquired ? acquiredTimer : rejectedTimer).record(waitNanos, TimeUnit.NANOSECONDS);
+        if (contended) {
+            contentionCounter.increment();
+        }
+    }
+}
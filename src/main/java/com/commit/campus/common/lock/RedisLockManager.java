@@ -0,0 +1,192 @@
+package com.commit.campus.common.lock;
+
+import com.commit.campus.common.redis.LuaScript;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.sync.RedisCommands;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * Redis 리스 락 (reservation.lock.type=redis, 기본값)
+ * - 여러 키를 Lua 스크립트 하나로 전부 획득하거나 전부 실패한다. 값은 획득마다 새로 만든 소유자 토큰이다.
+ * - 해제/연장은 값이 내 토큰일 때만 수행하므로 리스가 만료된 뒤 다른 서버가 잡은 락을 지우지 않는다.
+ * - 보유 중에는 워치독이 리스의 1/3 주기로 만료 시간을 연장한다.
+ * - 획득 시 lock:fence:{태그} 카운터를 증가시켜 펜싱 토큰으로 돌려준다.
+ *   카운터는 fence-ttl 동안 획득이 없으면 사라지므로, 토큰이 Redis 서버 시각(마이크로초)보다 작으면 그 값으로 올린다.
+ *   DB에 남은 예전 토큰은 모두 발급 시점의 시각 이하이므로, 카운터가 사라진 뒤에도 토큰은 줄어들지 않는다.
+ * - 바로 획득하지 못하면 대기 시간 안에서 지수 백오프(full jitter)로 다시 시도한다.
+ * - 클러스터에서는 한 번에 요청하는 키가 같은 해시 태그({campId} 등)를 가져야 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reservation.lock.type", havingValue = "redis", matchIfMissing = true)
+public class RedisLockManager implements LockManager {
+
+    private static final long MIN_BACKOFF_MILLIS = 5;
+    private static final long MAX_BACKOFF_MILLIS = 100;
+
+    // KEYS: 락 키들 + 마지막에 펜싱 카운터 키, ARGV: 소유자 토큰, 리스(ms), 카운터 TTL(ms) → 펜싱 토큰, 이미 잡혀 있으면 0
+    private static final LuaScript ACQUIRE_SCRIPT = new LuaScript(
+            "for i = 1, #KEYS - 1 do " +
+            "  if redis.call('EXISTS', KEYS[i]) == 1 then return 0 end " +
+            "end " +
+            "for i = 1, #KEYS - 1 do redis.call('SET', KEYS[i], ARGV[1], 'PX', ARGV[2]) end " +
+            "local now = redis.call('TIME') " +
+            "local floor = tonumber(now[1]) * 1000000 + tonumber(now[2]) " +
+            "local token = redis.call('INCR', KEYS[#KEYS]) " +
+            "if token < floor then " +
+            "  token = floor " +
+            "  redis.call('SET', KEYS[#KEYS], string.format('%d', token)) " +
+            "end " +
+            "redis.call('PEXPIRE', KEYS[#KEYS], ARGV[3]) " +
+            "return token");
+
+    // 내 토큰인 키만 삭제
+    private static final LuaScript RELEASE_SCRIPT = new LuaScript(
+            "local released = 0 " +
+            "for i = 1, #KEYS do " +
+            "  if redis.call('GET', KEYS[i]) == ARGV[1] then " +
+            "    redis.call('DEL', KEYS[i]) " +
+            "    released = released + 1 " +
+            "  end " +
+            "end " +
+            "return released");
+
+    // 모든 키가 아직 내 토큰일 때만 연장
+    private static final LuaScript RENEW_SCRIPT = new LuaScript(
+            "for i = 1, #KEYS do " +
+            "  if redis.call('GET', KEYS[i]) ~= ARGV[1] then return 0 end " +
+            "end " +
+            "for i = 1, #KEYS do redis.call('PEXPIRE', KEYS[i], ARGV[2]) end " +
+            "return 1");
+
+    private final RedisCommands<String, String> redisCommands;
+    private final LockMetrics lockMetrics;
+    private final long leaseMillis;
+    private final long waitNanos;
+    private final long fenceTtlMillis;
+    private final ScheduledExecutorService watchdog;
+
+    @Autowired
+    public RedisLockManager(RedisCommands<String, String> redisCommands,
+                            LockMetrics lockMetrics,
+                            @Value("${reservation.lock.redis.lease-millis:10000}") long leaseMillis,
+                            @Value("${reservation.lock.redis.wait-millis:200}") long waitMillis,
+                            @Value("${reservation.lock.redis.fence-ttl-millis:600000}") long fenceTtlMillis) {
+        this.redisCommands = redisCommands;
+        this.lockMetrics = lockMetrics;
+        this.leaseMillis = leaseMillis;
+        this.waitNanos = TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        this.fenceTtlMillis = fenceTtlMillis;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-lock-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Optional<LockHandle> tryLock(Collection<String> keys) {
+        String[] lockKeys = keys.stream().distinct().sorted().toArray(String[]::new);
+        String[] scriptKeys = new String[lockKeys.length + 1];
+        System.arraycopy(lockKeys, 0, scriptKeys, 0, lockKeys.length);
+        scriptKeys[lockKeys.length] = fencingKey(lockKeys[0]);
+
+        String ownerToken = UUID.randomUUID().toString();
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + waitNanos;
+        long backoffMillis = MIN_BACKOFF_MILLIS;
+        boolean contended = false;
+
+        while (true) {
+            Long fencingToken = ACQUIRE_SCRIPT.execute(redisCommands, ScriptOutputType.INTEGER, scriptKeys,
+                    ownerToken, String.valueOf(leaseMillis), String.valueOf(fenceTtlMillis));
+
+            if (fencingToken != null && fencingToken > 0) {
+                lockMetrics.record(System.nanoTime() - startNanos, true, contended);
+                return Optional.of(holdLease(lockKeys, ownerToken, fencingToken));
+            }
+
+            contended = true;
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0 || !sleep(Math.min(remainingNanos,
+                    TimeUnit.MILLISECONDS.toNanos(ThreadLocalRandom.current().nextLong(backoffMillis + 1))))) {
+                lockMetrics.record(System.nanoTime() - startNanos, false, true);
+                return Optional.empty();
+            }
+            backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+    }
+
+    private LockHandle holdLease(String[] lockKeys, String ownerToken, long fencingToken) {
+        long renewIntervalMillis = Math.max(1, leaseMillis / 3);
+        ScheduledFuture<?> renewal = watchdog.scheduleAtFixedRate(
+                () -> renew(lockKeys, ownerToken), renewIntervalMillis, renewIntervalMillis, TimeUnit.MILLISECONDS);
+        AtomicBoolean closed = new AtomicBoolean();
+
+        return LockHandle.of(fencingToken, () -> {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            renewal.cancel(false);
+            Long released = RELEASE_SCRIPT.execute(redisCommands, ScriptOutputType.INTEGER, lockKeys, ownerToken);
+            if (released == null || released != lockKeys.length) {
+                log.warn("리스가 만료되어 일부 락이 이미 다른 요청으로 넘어갔습니다: keys={}, fencingToken={}",
+                        String.join(",", lockKeys), fencingToken);
+            }
+        });
+    }
+
+    private void renew(String[] lockKeys, String ownerToken) {
+        try {
+            Long renewed = RENEW_SCRIPT.execute(redisCommands, ScriptOutputType.INTEGER, lockKeys,
+                    ownerToken, String.valueOf(leaseMillis));
+            if (renewed == null || renewed != 1) {
+                log.warn("락 리스 연장 실패 (이미 만료됨): keys={}", String.join(",", lockKeys));
+                throw new IllegalStateException("lock lost");  // 반복 실행 중단
+            }
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // 일시적인 Redis 오류는 다음 주기에 다시 시도
+            log.warn("락 리스 연장 중 오류: keys={}", String.join(",", lockKeys), e);
+        }
+    }
+
+    // 펜싱 카운터는 락 키와 같은 슬롯에 두기 위해 락 키의 해시 태그(없으면 키 전체)를 태그로 사용
+    static String fencingKey(String lockKey) {
+        int open = lockKey.indexOf('{');
+        int close = open < 0 ? -1 : lockKey.indexOf('}', open + 1);
+        String tag = close > open + 1 ? lockKey.substring(open + 1, close) : lockKey;
+        return "lock:fence:{" + tag + "}";
+    }
+
+    private static boolean sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.commit.campus.common.redis;
+
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.sync.RedisCommands;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// Redis Lua 스크립트 (SHA1 digest를 미리 계산해 EVALSHA로 실행)
+@Getter
+public class LuaScript {
+
+    private final String script;
+    private final String sha;
+
+    public LuaScript(String script) {
+        this.script = script;
+        this.sha = sha1Hex(script);
+    }
+
+    // EVALSHA로 실행하고, 서버에 스크립트가 캐시되어 있지 않으면 EVAL로 재시도
+    public <T> T execute(RedisCommands<String, String> redisCommands, ScriptOutputType outputType,
+                         String[] keys, String... args) {
+        try {
+            return redisCommands.<T>evalsha(sha, outputType, keys, args);
+        } catch (RedisNoScriptException e) {
+            return redisCommands.<T>eval(script, outputType, keys, args);
+        }
+    }
+
+    private static String sha1Hex(String script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(digest.digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
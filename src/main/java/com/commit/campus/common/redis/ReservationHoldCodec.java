@@ -0,0 +1,129 @@
+package com.commit.campus.common.redis;
+
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.dto.ReservationHoldDTO;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * 예약 요청(hold) Redis 해시 인코딩 (reservationInfo:{reservationId})
+ * - 필드명은 한 글자, 날짜는 epoch day, 예약 시각은 epoch millis로 저장해 해시 크기를 줄인다.
+ * - 이전 형식(reservationId, userId ... 전체 필드명)으로 저장된 요청도 TTL 동안은 읽을 수 있다.
+ * - 만료 추적 ZSET 멤버는 해시가 만료된 뒤에도 재고를 복구할 수 있도록 재고 키 정보를 함께 담는다.
+ */
+public final class ReservationHoldCodec {
+
+    public static final String RESERVATION_ID = "i";
+    public static final String USER_ID = "u";
+    public static final String CAMP_ID = "c";
+    public static final String CAMP_FACS_ID = "f";
+    public static final String CAMP_FACS_TYPE = "t";
+    public static final String RESERVATION_DATE = "r";
+    public static final String ENTRY_DATE = "e";
+    public static final String LEAVING_DATE = "l";
+    public static final String GEAR_RENTAL_STATUS = "g";
+    public static final String STATUS = "s";
+    public static final String UPDATED_AT = "a";
+    public static final String FENCE_TOKEN = "k";  // 마지막으로 상태를 반영한 락의 펜싱 토큰
+    public static final String WAITLIST_SOURCE = "w";  // 대기열 제안으로 만든 요청이면 좌석을 넘겨준 예약 ID (재고가 이미 차감되어 있음)
+
+    public static final String LEGACY_CAMP_ID = "campId";
+
+    private static final String LEGACY_RESERVATION_ID = "reservationId";
+    private static final String LEGACY_STATUS = "reservationStatus";
+    private static final ZoneId ZONE_ID = ZoneId.of("Asia/Seoul");
+    private static final String MEMBER_DELIMITER = "|";
+
+    private ReservationHoldCodec() {
+    }
+
+    public static Map<String, String> encode(long reservationId, ReservationDTO reservationDTO) {
+        Map<String, String> fields = new HashMap<>(16);
+        fields.put(RESERVATION_ID, Long.toString(reservationId));
+        fields.put(USER_ID, reservationDTO.getUserId().toString());
+        fields.put(CAMP_ID, reservationDTO.getCampId().toString());
+        fields.put(CAMP_FACS_ID, reservationDTO.getCampFacsId().toString());
+        fields.put(CAMP_FACS_TYPE, reservationDTO.getCampFacsType().toString());
+        fields.put(RESERVATION_DATE, Long.toString(reservationDTO.getReservationDate().atZone(ZONE_ID).toInstant().toEpochMilli()));
+        fields.put(ENTRY_DATE, Long.toString(reservationDTO.getEntryDate().toEpochDay()));
+        fields.put(LEAVING_DATE, Long.toString(reservationDTO.getLeavingDate().toEpochDay()));
+        if (reservationDTO.getGearRentalStatus() != null) {
+            fields.put(GEAR_RENTAL_STATUS, reservationDTO.getGearRentalStatus());
+        }
+        return fields;
+    }
+
+    // 상태 필드가 없으면 아직 확정/취소되지 않은 요청 (null)
+    public static String status(Map<String, String> fields) {
+        String status = fields.get(STATUS);
+        return status != null ? status : fields.get(LEGACY_STATUS);
+    }
+
+    public static boolean isWaitlistOffer(Map<String, String> fields) {
+        return fields.containsKey(WAITLIST_SOURCE);
+    }
+
+    public static ReservationDTO decode(Map<String, String> fields) {
+        if (fields.containsKey(LEGACY_RESERVATION_ID)) {
+            return decodeLegacy(fields);
+        }
+
+        return ReservationDTO.builder()
+                .reservationId(Long.valueOf(fields.get(RESERVATION_ID)))
+                .userId(Long.valueOf(fields.get(USER_ID)))
+                .campId(Long.valueOf(fields.get(CAMP_ID)))
+                .campFacsId(Long.valueOf(fields.get(CAMP_FACS_ID)))
+                .campFacsType(Integer.valueOf(fields.get(CAMP_FACS_TYPE)))
+                .reservationDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(fields.get(RESERVATION_DATE))), ZONE_ID))
+                .entryDate(LocalDate.ofEpochDay(Long.parseLong(fields.get(ENTRY_DATE))))
+                .leavingDate(LocalDate.ofEpochDay(Long.parseLong(fields.get(LEAVING_DATE))))
+                .gearRentalStatus(fields.get(GEAR_RENTAL_STATUS))
+                .reservationStatus(status(fields))
+                .build();
+    }
+
+    private static ReservationDTO decodeLegacy(Map<String, String> fields) {
+        return ReservationDTO.builder()
+                .reservationId(Long.valueOf(fields.get(LEGACY_RESERVATION_ID)))
+                .userId(Long.valueOf(fields.get("userId")))
+                .campId(Long.valueOf(fields.get(LEGACY_CAMP_ID)))
+                .campFacsId(Long.valueOf(fields.get("campFacsId")))
+                .campFacsType(Integer.valueOf(fields.get("campFacsType")))
+                .reservationDate(LocalDateTime.parse(fields.get("reservationDate")))
+                .entryDate(LocalDate.parse(fields.get("entryDate")))
+                .leavingDate(LocalDate.parse(fields.get("leavingDate")))
+                .gearRentalStatus(fields.get("gearRentalStatus"))
+                .reservationStatus(status(fields))
+                .build();
+    }
+
+    // 만료 추적 ZSET 멤버: reservationId|campId|campFacsType|입실 epoch day|퇴실 epoch day
+    public static String trackingMember(long reservationId, ReservationDTO reservationDTO) {
+        return trackingMember(reservationId, reservationDTO.getCampId(), reservationDTO.getCampFacsType(),
+                reservationDTO.getEntryDate(), reservationDTO.getLeavingDate());
+    }
+
+    public static String trackingMember(long reservationId, Long campId, Integer campFacsType, LocalDate entryDate, LocalDate leavingDate) {
+        return reservationId + MEMBER_DELIMITER + campId
+                + MEMBER_DELIMITER + campFacsType
+                + MEMBER_DELIMITER + entryDate.toEpochDay()
+                + MEMBER_DELIMITER + leavingDate.toEpochDay();
+    }
+
+    public static ReservationHoldDTO decodeTrackingMember(String member, double expiresAtMillis) {
+        String[] parts = member.split("\\|");
+        return ReservationHoldDTO.builder()
+                .reservationId(Long.valueOf(parts[0]))
+                .campId(Long.valueOf(parts[1]))
+                .campFacsType(Integer.valueOf(parts[2]))
+                .entryDate(LocalDate.ofEpochDay(Long.parseLong(parts[3])))
+                .leavingDate(LocalDate.ofEpochDay(Long.parseLong(parts[4])))
+                .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli((long) expiresAtMillis), ZONE_ID))
+                .build();
+    }
+}
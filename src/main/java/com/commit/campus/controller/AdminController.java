@@ -1,8 +1,12 @@
 package com.commit.campus.controller;
 
 import com.commit.campus.dto.CampingDTO;
+import com.commit.campus.dto.ReservationHistoryPageDTO;
+import com.commit.campus.dto.ReservationHoldDTO;
 import com.commit.campus.service.AdminService;
 import com.commit.campus.view.AdminRegisteredCampingView;
+import com.commit.campus.view.ReservationHistoryPageView;
+import com.commit.campus.view.ReservationHoldView;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -89,4 +93,36 @@ public class AdminController {
         adminService.deleteReview(reviewId);
         return ResponseEntity.ok().build();
     }
+
+    // 확정 전 예약 요청 목록 (만료 시각이 가까운 순)
+    @GetMapping("/holds")
+    public ResponseEntity<List<ReservationHoldView>> getLiveHolds(@RequestParam(defaultValue = "100") int limit) {
+        List<ReservationHoldDTO> reservationHoldDTOList = adminService.getLiveHolds(limit);
+
+        List<ReservationHoldView> reservationHoldViewList = reservationHoldDTOList.stream()
+                .map(reservationHoldDTO -> ReservationHoldView.builder()
+                        .reservationId(reservationHoldDTO.getReservationId().toString())
+                        .campId(reservationHoldDTO.getCampId())
+                        .campFacsType(reservationHoldDTO.getCampFacsType())
+                        .entryDate(reservationHoldDTO.getEntryDate().toString())
+                        .leavingDate(reservationHoldDTO.getLeavingDate().toString())
+                        .expiresAt(reservationHoldDTO.getExpiresAt().toString())
+                        .build())
+                .collect(Collectors.toList());
+
+        return ResponseEntity.status(HttpStatus.OK).body(reservationHoldViewList);
+    }
+
+    // 캠핑장별 예약 내역 (입실일 최신순, 응답의 nextCursor로 다음 페이지 조회)
+    @GetMapping("/camp/{campId}/reservations")
+    public ResponseEntity<ReservationHistoryPageView> getCampReservations(@PathVariable Long campId,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(defaultValue = "20") int size) {
+        try {
+            ReservationHistoryPageDTO reservationHistoryPageDTO = adminService.getCampReservations(campId, cursor, size);
+            return ResponseEntity.status(HttpStatus.OK).body(ReservationHistoryPageView.mapToReservationHistoryPageView(reservationHistoryPageDTO));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
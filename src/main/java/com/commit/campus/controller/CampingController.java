@@ -1,8 +1,12 @@
 package com.commit.campus.controller;
 
 import com.commit.campus.dto.CampingDTO;
+import com.commit.campus.dto.CampingFilterDTO;
+import com.commit.campus.dto.CampingPageDTO;
+import com.commit.campus.dto.DailyAvailabilityDTO;
 import com.commit.campus.entity.Camping;
 import com.commit.campus.service.CampingService;
+import com.commit.campus.view.AvailabilityCalendarView;
 import com.commit.campus.view.CampingView;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +18,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -22,25 +30,84 @@ import java.util.stream.Collectors;
 @Tag(name = "Camping API", description = "캠핑장 관련 엔드포인트")
 public class CampingController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private CampingService campingService;
 
     @GetMapping("/v1/campings")
-    @Operation(summary = "캠핑장 리스트 조회", description = "특정 도와 시군구, 글램핑 및 카라반 사이트 유무에 따라 캠핑장 리스트를 페이지네이션과 정렬을 적용하여 조회합니다.")
-    public List<CampingView> getCampings(
+    @Operation(summary = "캠핑장 리스트 조회", description = "특정 도와 시군구, 글램핑 및 카라반 사이트 수, 업종, 반려동물 동반 여부, 보유 시설 유형에 따라 캠핑장 리스트를 페이지네이션과 정렬을 적용하여 조회합니다. " +
+            "입실일과 퇴실일을 함께 지정하면 해당 기간 모든 날짜에 자리가 남은 캠핑장만 조회합니다. " +
+            "cursor를 지정하면 페이지 번호 대신 응답 헤더 X-Next-Cursor로 다음 페이지를 이어서 조회합니다 (깊은 페이지도 일정한 비용).")
+    public ResponseEntity<List<CampingView>> getCampings(
             @RequestParam(required = false) @Parameter(description = "지역1의 이름") String doName,
             @RequestParam(required = false) @Parameter(description = "지역2의 이름") String sigunguName,
             @RequestParam(required = false) @Parameter(description = "글램핑 개수") Integer glampingSiteCnt,
             @RequestParam(required = false) @Parameter(description = "카라반 개수") Integer caravanSiteCnt,
+            @RequestParam(required = false) @Parameter(description = "업종 (포함 검색)", example = "글램핑") String induty,
+            @RequestParam(required = false) @Parameter(description = "반려동물 동반 여부", example = "가능") String petAccess,
+            @RequestParam(required = false) @Parameter(description = "보유 시설 유형 (1: 일반, 2: 자동차, 3: 글램핑, 4: 카라반), 여러 개면 모두 보유", example = "3,4") List<Integer> facsTypes,
+            @RequestParam(required = false) @Parameter(description = "입실일 (yyyy-MM-dd)", example = "2026-11-12") String entryDate,
+            @RequestParam(required = false) @Parameter(description = "퇴실일 (yyyy-MM-dd, 포함)", example = "2026-11-14") String leavingDate,
+            @RequestParam(required = false) @Parameter(description = "시설 유형 (1: 일반, 2: 자동차, 3: 글램핑, 4: 카라반, 없으면 전체)") Integer campFacsType,
+            @RequestParam(required = false) @Parameter(description = "다음 페이지 커서 (빈 값이면 첫 페이지, 다음 커서는 X-Next-Cursor 응답 헤더). " +
+                    "지정하면 page 대신 사용하며 날짜 조건과 함께 쓸 수 없음") String cursor,
             @RequestParam(defaultValue = "0") @Parameter(description = "페이지 번호", example = "0") int page,
             @RequestParam(defaultValue = "10") @Parameter(description = "페이지 크기", example = "10") int size,
-            @RequestParam(defaultValue = "campId") @Parameter(description = "정렬 필드", example = "campId") String sort,
-            @RequestParam(defaultValue = "desc") @Parameter(description = "정렬 순서", example = "desc") String order) {
+            @RequestParam(defaultValue = "campId") @Parameter(description = "정렬 필드 (campId, campName, createdDate, bookmarkCnt, reviewCnt), 쉼표로 여러 개 지정", example = "bookmarkCnt,campName") String sort,
+            @RequestParam(defaultValue = "desc") @Parameter(description = "정렬 순서 (asc, desc), 쉼표로 필드마다 지정하며 모자라면 마지막 순서를 사용", example = "desc,asc") String order) {
+
+        CampingFilterDTO filter = CampingFilterDTO.builder()
+                .doName(doName)
+                .sigunguName(sigunguName)
+                .glampingSiteCnt(glampingSiteCnt)
+                .caravanSiteCnt(caravanSiteCnt)
+                .induty(induty)
+                .petAccess(petAccess)
+                .facsTypes(facsTypes)
+                .build();
+
+        // 커서 모드: OFFSET 없이 이전 페이지 마지막 행 다음부터 읽음
+        if (cursor != null) {
+            if (entryDate != null || leavingDate != null) {
+                return ResponseEntity.badRequest().build();
+            }
+            try {
+                CampingPageDTO campingPageDTO = campingService.getCampingsAfter(filter, cursor, size, sort, order);
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (campingPageDTO.getNextCursor() != null) {
+                    response.header(NEXT_CURSOR_HEADER, campingPageDTO.getNextCursor());
+                }
+                return response.body(campingPageDTO.getCampings().stream()
+                        .map(CampingView::new)
+                        .collect(Collectors.toList()));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
 
-        List<Camping> campings = campingService.getCampings(doName, sigunguName, glampingSiteCnt, caravanSiteCnt, page, size, sort, order);
-        return campings.stream()
+        List<Camping> campings;
+        if (entryDate == null && leavingDate == null) {
+            try {
+                campings = campingService.getCampings(filter, page, size, sort, order);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        } else {
+            if (entryDate == null || leavingDate == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            try {
+                campings = campingService.searchAvailableCampings(filter, campFacsType, LocalDate.parse(entryDate), LocalDate.parse(leavingDate),
+                        page, size, sort, order);
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        return ResponseEntity.ok(campings.stream()
                 .map(CampingView::new)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @GetMapping("/v1/campings/{id}")
@@ -53,6 +120,36 @@ public class CampingController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/v1/campings/{id}/availability")
+    @Operation(summary = "캠핑장 잔여 수량 달력 조회", description = "특정 월의 날짜별 시설 유형(일반/자동차/글램핑/카라반) 잔여 수량을 조회합니다. 오늘 이후 날짜만 포함됩니다.")
+    public ResponseEntity<AvailabilityCalendarView> getAvailabilityCalendar(
+            @PathVariable @Parameter(description = "캠핑장 ID", required = true) Long id,
+            @RequestParam(required = false) @Parameter(description = "조회 월 (yyyy-MM, 기본값은 이번 달)", example = "2026-11") String month) {
+
+        YearMonth yearMonth;
+        try {
+            yearMonth = month == null ? YearMonth.now(ZoneId.of("Asia/Seoul")) : YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Optional<List<DailyAvailabilityDTO>> calendar = campingService.getAvailabilityCalendar(id, yearMonth);
+        return calendar.map(days -> ResponseEntity.ok(AvailabilityCalendarView.builder()
+                        .campId(id)
+                        .month(yearMonth.toString())
+                        .days(days.stream()
+                                .map(day -> AvailabilityCalendarView.Day.builder()
+                                        .date(day.getDate().toString())
+                                        .generalSiteAvail(day.getGeneralSiteAvail())
+                                        .carSiteAvail(day.getCarSiteAvail())
+                                        .glampingSiteAvail(day.getGlampingSiteAvail())
+                                        .caravanSiteAvail(day.getCaravanSiteAvail())
+                                        .build())
+                                .collect(Collectors.toList()))
+                        .build()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/sortedByBookmarks")
     @Operation(summary = "찜한 수로 정렬된 캠핑장 리스트 조회", description = "찜한 수에 따라 정렬된 캠핑장 리스트를 조회합니다.")
     public ResponseEntity<List<CampingView>> getCampingsSortedByBookmarks() {
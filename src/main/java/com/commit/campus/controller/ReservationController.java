@@ -1,17 +1,34 @@
 package com.commit.campus.controller;
 
+import com.commit.campus.common.CustomResolver;
+import com.commit.campus.common.admission.AdmissionPermit;
+import com.commit.campus.common.admission.CampAdmissionManager;
+import com.commit.campus.common.idempotency.IdempotencyManager;
 import com.commit.campus.dto.ReservationDTO;
-import com.commit.campus.entity.Reservation;
+import com.commit.campus.dto.ReservationHistoryPageDTO;
+import com.commit.campus.dto.WaitlistStatusDTO;
+import com.commit.campus.entity.User;
 import com.commit.campus.repository.CampingFacilitiesRepository;
+import com.commit.campus.service.ReservationHistoryService;
 import com.commit.campus.service.ReservationService;
+import com.commit.campus.service.ReservationWaitlistService;
 import com.commit.campus.request.ReservationRequest;
+import com.commit.campus.view.GroupReservationView;
+import com.commit.campus.view.ReservationHistoryPageView;
 import com.commit.campus.view.ReservationView;
+import com.commit.campus.view.WaitlistView;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @RestController
@@ -20,52 +37,232 @@ import java.util.List;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final ReservationWaitlistService reservationWaitlistService;
     private final CampingFacilitiesRepository campingFacilitiesRepository;
+    private final IdempotencyManager idempotencyManager;
+    private final CampAdmissionManager campAdmissionManager;
+    private final ReservationHistoryService reservationHistoryService;
 
     @Autowired
-    public ReservationController(ReservationService reservationService, CampingFacilitiesRepository campingFacilitiesRepository) {
+    public ReservationController(ReservationService reservationService, ReservationWaitlistService reservationWaitlistService,
+                                 CampingFacilitiesRepository campingFacilitiesRepository, IdempotencyManager idempotencyManager,
+                                 CampAdmissionManager campAdmissionManager, ReservationHistoryService reservationHistoryService) {
         this.reservationService = reservationService;
+        this.reservationWaitlistService = reservationWaitlistService;
         this.campingFacilitiesRepository = campingFacilitiesRepository;
+        this.idempotencyManager = idempotencyManager;
+        this.campAdmissionManager = campAdmissionManager;
+        this.reservationHistoryService = reservationHistoryService;
     }
 
-    // 예약 등록
+    // 예약 등록 (Idempotency-Key가 있으면 재시도에도 예약 요청은 한 번만 생성)
+    // 캠핑장별 입장 제어(토큰 + 동시 처리 상한)는 새 요청에 적용, 확정/취소는 후속 처리라 동시 처리 상한만 적용
     @PostMapping("/create")
-    public ResponseEntity<ReservationView> createReservation(@RequestBody ReservationRequest reservationRequest) {
+    public ResponseEntity<ReservationView> createReservation(@RequestBody ReservationRequest reservationRequest,
+                                                             @RequestHeader(value = IdempotencyManager.HEADER, required = false) String idempotencyKey) {
 
-        ReservationDTO reservationDTO = ReservationDTO.mapToReservationDTO(reservationRequest, campingFacilitiesRepository);
+        return idempotencyManager.execute(idempotencyScope(reservationRequest.getUserId()), idempotencyKey,
+                "create:" + reservationRequest, ReservationView.class, () -> {
 
-        String reservationId = reservationService.createReservation(reservationDTO);
+            try (AdmissionPermit admissionPermit = campAdmissionManager.admit(reservationRequest.getCampId())) {
 
-        ReservationView reservationView = new ReservationView(reservationId);
+                ReservationDTO reservationDTO = ReservationDTO.mapToReservationDTO(reservationRequest, campingFacilitiesRepository);
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(reservationView);
+                String reservationId = reservationService.createReservation(reservationDTO);
+
+                ReservationView reservationView = new ReservationView(reservationId);
+
+                return ResponseEntity.status(HttpStatus.CREATED).body(reservationView);
+            }
+        });
     }
 
     // 예약 확정(결제)
     @PostMapping("/confirm")
-    public ResponseEntity<ReservationView> finalizeReservation(@RequestParam String reservationId) {
+    public ResponseEntity<ReservationView> finalizeReservation(@RequestParam String reservationId,
+                                                               @RequestHeader(value = IdempotencyManager.HEADER, required = false) String idempotencyKey) {
+
+        return idempotencyManager.execute(idempotencyScope(null), idempotencyKey,
+                "confirm:" + reservationId, ReservationView.class, () -> {
 
-        reservationService.confirmReservation(reservationId);
+            try (AdmissionPermit admissionPermit = enterCamps(List.of(reservationId))) {
 
-        return ResponseEntity.ok().build();
+                reservationService.confirmReservation(reservationId);
+
+                return ResponseEntity.ok().build();
+            }
+        });
     }
 
     // 예약 취소
     @PutMapping("/cancel")
-    public ResponseEntity<Void> cancelReservation(@RequestParam String reservationId) {
+    public ResponseEntity<Void> cancelReservation(@RequestParam String reservationId,
+                                                  @RequestHeader(value = IdempotencyManager.HEADER, required = false) String idempotencyKey) {
+
+        return idempotencyManager.execute(idempotencyScope(null), idempotencyKey,
+                "cancel:" + reservationId, Void.class, () -> {
+
+            try (AdmissionPermit admissionPermit = enterCamps(List.of(reservationId))) {
+
+                reservationService.cancelReservation(reservationId);
+
+                return ResponseEntity.ok().build();
+            }
+        });
+    }
 
-        reservationService.cancelReservation(reservationId);
+    // 단체 예약 등록 (여러 사이트/시설 유형, 같은 요청 안의 사이트는 전부 등록되거나 하나도 등록되지 않음)
+    @PostMapping("/group")
+    public ResponseEntity<GroupReservationView> createGroupReservation(@RequestBody List<ReservationRequest> reservationRequests,
+                                                                       @RequestHeader(value = IdempotencyManager.HEADER, required = false) String idempotencyKey) {
 
-        return ResponseEntity.ok().build();
+        Integer requestUserId = reservationRequests.isEmpty() ? null : reservationRequests.get(0).getUserId();
+        return idempotencyManager.execute(idempotencyScope(requestUserId), idempotencyKey,
+                "group:" + reservationRequests, GroupReservationView.class, () -> {
+
+            List<Long> campIds = reservationRequests.stream().map(ReservationRequest::getCampId).toList();
+            try (AdmissionPermit admissionPermit = campAdmissionManager.admitAll(campIds)) {
+
+                List<ReservationDTO> reservationDTOs = reservationRequests.stream()
+                        .map(reservationRequest -> ReservationDTO.mapToReservationDTO(reservationRequest, campingFacilitiesRepository))
+                        .toList();
+
+                List<String> reservationIds = reservationService.createGroupReservation(reservationDTOs);
+
+                return ResponseEntity.status(HttpStatus.CREATED).body(new GroupReservationView(reservationIds));
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
     }
 
-    // 예약 변경
+    // 단체 예약 확정(결제), 하나라도 마감이거나 만료됐으면 전부 확정되지 않음
+    @PostMapping("/group/confirm")
+    public ResponseEntity<Void> finalizeGroupReservation(@RequestParam List<String> reservationIds,
+                                                         @RequestHeader(value = IdempotencyManager.HEADER, required = false) String idempotencyKey) {
+
+        return idempotencyManager.execute(idempotencyScope(null), idempotencyKey,
+                "group-confirm:" + reservationIds, Void.class, () -> {
+
+            try (AdmissionPermit admissionPermit = enterCamps(reservationIds)) {
+
+                reservationService.confirmGroupReservation(reservationIds);
+
+                return ResponseEntity.ok().build();
+            }
+        });
+    }
+
+    // 예약 변경 (확정된 예약의 숙박 기간, 시설, 장비 대여, 달라진 날짜만 재고 차감/복구)
+    // 요청 본문의 userId와 관계없이 인증된 사용자 본인의 예약만 변경
     @PutMapping("/change")
-    public ResponseEntity<Void> modifyReservation(@RequestBody List<Reservation> reservations) {
+    public ResponseEntity<ReservationView> modifyReservation(@RequestParam String reservationId,
+                                                             @RequestBody ReservationRequest reservationRequest,
+                                                             @RequestHeader(value = IdempotencyManager.HEADER, required = false) String idempotencyKey,
+                                                             @CustomResolver User authenticationUser) {
+
+        return idempotencyManager.execute(idempotencyScope(null), idempotencyKey,
+                "change:" + reservationId + ":" + reservationRequest, ReservationView.class, () -> {
+
+            try {
+                ReservationDTO reservationDTO = ReservationDTO.mapToReservationDTO(reservationRequest, campingFacilitiesRepository).toBuilder()
+                        .userId(authenticationUser.getUserId())
+                        .build();
 
-        // 예약 변경은 예약자가 입력한 정보만 가능하도록 설정(성함, 연락처, 인원수, 장비대여여부 등)
-        // 날짜 or 시설 변경을 원할 시에는 예약 취소후 재 예약
+                reservationService.modifyReservation(reservationId, reservationDTO);
+
+                return ResponseEntity.ok(new ReservationView(reservationId));
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            } catch (EntityNotFoundException e) {
+                return ResponseEntity.notFound().build();
+            } catch (IllegalStateException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+        });
+    }
+
+    // 내 예약 내역 (입실일 최신순, 응답의 nextCursor로 다음 페이지 조회)
+    @GetMapping("/me")
+    public ResponseEntity<ReservationHistoryPageView> getMyReservations(@RequestParam(required = false) String cursor,
+                                                                        @RequestParam(defaultValue = "20") int size,
+                                                                        @CustomResolver User authenticationUser) {
+        try {
+            ReservationHistoryPageDTO reservationHistoryPageDTO = reservationHistoryService.getUserReservations(
+                    authenticationUser.getUserId(), cursor, size);
+            return ResponseEntity.ok(ReservationHistoryPageView.mapToReservationHistoryPageView(reservationHistoryPageDTO));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // 예약 대기 등록 (마감된 기간만 가능, 같은 기간에는 사용자당 한 자리), 대기자와 우선순위는 요청과 관계없이 인증된 사용자 기준
+    @PostMapping("/waitlist")
+    public ResponseEntity<WaitlistView> joinWaitlist(@RequestBody ReservationRequest reservationRequest,
+                                                     @CustomResolver User authenticationUser) {
+        try (AdmissionPermit admissionPermit = campAdmissionManager.admit(reservationRequest.getCampId())) {
+            ReservationDTO reservationDTO = ReservationDTO.mapToReservationDTO(reservationRequest, campingFacilitiesRepository).toBuilder()
+                    .userId(authenticationUser.getUserId())
+                    .build();
+            WaitlistStatusDTO waitlistStatusDTO = reservationWaitlistService.join(reservationDTO, authenticationUser.getRole());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toWaitlistView(waitlistStatusDTO));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    // 예약 대기 상태 조회 (OFFERED면 받은 reservationId로 기간 안에 /confirm)
+    // 반복 조회하는 읽기 요청이라 예약 요청과 같은 입장 토큰을 쓰지 않음
+    @GetMapping("/waitlist")
+    public ResponseEntity<WaitlistView> getWaitlistStatus(@RequestParam long campId, @RequestParam int campFacsType,
+                                                          @RequestParam String entryDate, @RequestParam String leavingDate,
+                                                          @CustomResolver User authenticationUser) {
+        try {
+            WaitlistStatusDTO waitlistStatusDTO = reservationWaitlistService.getStatus(authenticationUser.getUserId(), campId, campFacsType,
+                    LocalDate.parse(entryDate), LocalDate.parse(leavingDate));
+            return ResponseEntity.ok(toWaitlistView(waitlistStatusDTO));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // 예약 대기 취소 (인증된 사용자 본인의 대기만)
+    @DeleteMapping("/waitlist")
+    public ResponseEntity<Void> leaveWaitlist(@RequestParam long campId, @RequestParam int campFacsType,
+                                              @RequestParam String entryDate, @RequestParam String leavingDate,
+                                              @CustomResolver User authenticationUser) {
+        try {
+            reservationWaitlistService.leave(authenticationUser.getUserId(), campId, campFacsType,
+                    LocalDate.parse(entryDate), LocalDate.parse(leavingDate));
+            return ResponseEntity.ok().build();
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // 예약 요청의 캠핑장별 동시 처리 자리 (만료되었거나 없는 요청은 서비스에서 거부)
+    private AdmissionPermit enterCamps(List<String> reservationIds) {
+        return campAdmissionManager.enterAll(reservationService.findCampIds(reservationIds));
+    }
+
+    // 멱등 키를 구분할 사용자: 인증된 사용자, 없으면 요청 본문의 userId
+    private static String idempotencyScope(Integer requestUserId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return requestUserId != null ? "user-" + requestUserId : "anonymous";
+    }
 
-        return ResponseEntity.ok().build();
+    private static WaitlistView toWaitlistView(WaitlistStatusDTO waitlistStatusDTO) {
+        return WaitlistView.builder()
+                .status(waitlistStatusDTO.getStatus())
+                .position(waitlistStatusDTO.getPosition())
+                .waitingCount(waitlistStatusDTO.getWaitingCount())
+                .reservationId(waitlistStatusDTO.getReservationId() != null ? waitlistStatusDTO.getReservationId().toString() : null)
+                .expiresAt(waitlistStatusDTO.getExpiresAt() != null ? waitlistStatusDTO.getExpiresAt().toString() : null)
+                .build();
     }
 }
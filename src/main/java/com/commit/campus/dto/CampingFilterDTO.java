@@ -0,0 +1,22 @@
+package com.commit.campus.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+// 캠핑장 목록 검색 조건, 값이 없는(null 또는 빈) 조건은 쿼리에 넣지 않는다
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class CampingFilterDTO {
+
+    private String doName;
+    private String sigunguName;
+    private Integer glampingSiteCnt; // 이상
+    private Integer caravanSiteCnt; // 이상
+    private String induty; // 업종에 포함 (예: 글램핑)
+    private String petAccess; // 반려동물 동반 여부 (예: 가능, 불가능)
+    private List<Integer> facsTypes; // 모두 보유 (1: 일반야영장, 2: 자동차야영장, 3: 글램핑, 4: 카라반)
+}
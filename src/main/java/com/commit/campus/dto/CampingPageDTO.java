@@ -0,0 +1,18 @@
+package com.commit.campus.dto;
+
+import com.commit.campus.entity.Camping;
+import lombok.*;
+
+import java.util.List;
+
+// 캠핑장 목록 한 페이지 (keyset 조회), nextCursor가 null이면 마지막 페이지
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class CampingPageDTO {
+
+    private List<Camping> campings;
+    private String nextCursor;
+}
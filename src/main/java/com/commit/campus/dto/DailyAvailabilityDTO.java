@@ -0,0 +1,20 @@
+package com.commit.campus.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+// 날짜별 시설 유형 잔여 수량 (1: 일반야영장, 2: 자동차야영장, 3: 글램핑, 4: 카라반)
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class DailyAvailabilityDTO {
+
+    private LocalDate date;
+    private int generalSiteAvail;
+    private int carSiteAvail;
+    private int glampingSiteAvail;
+    private int caravanSiteAvail;
+}
@@ -1,5 +1,6 @@
 package com.commit.campus.dto;
 
+import com.commit.campus.entity.CampingFacilities;
 import com.commit.campus.repository.CampingFacilitiesRepository;
 import com.commit.campus.request.ReservationRequest;
 import lombok.*;
@@ -9,7 +10,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString
@@ -34,9 +35,14 @@ public class ReservationDTO {
         DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
         long campFacsId = reservationRequest.getCampFacsId();
-        int facsType = campingFacilitiesRepository.findById(campFacsId)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid campFacsId: " + campFacsId))
-                .getFacsTypeId();
+        CampingFacilities campingFacilities = campingFacilitiesRepository.findById(campFacsId)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid campFacsId: " + campFacsId));
+
+        // 다른 캠핑장의 시설로는 예약할 수 없음 (재고는 캠핑장 + 시설 유형 단위)
+        if (campingFacilities.getCampId() != reservationRequest.getCampId()) {
+            throw new IllegalArgumentException("campFacsId " + campFacsId + " does not belong to campId " + reservationRequest.getCampId());
+        }
+        int facsType = campingFacilities.getFacsTypeId();
 
         return ReservationDTO.builder()
                 .reservationId(reservationRequest.getReservationId())
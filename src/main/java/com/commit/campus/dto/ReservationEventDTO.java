@@ -0,0 +1,28 @@
+package com.commit.campus.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 커밋된 예약 상태 변경 이벤트 (reservation_outbox 한 행)
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class ReservationEventDTO {
+
+    private Long outboxId;
+    private Long reservationId;
+    private String reservationStatus;
+    private Long userId;
+    private Long campId;
+    private Long campFacsId;
+    private Integer campFacsType;
+    private LocalDate entryDate;
+    private LocalDate leavingDate;
+    private Long fenceToken;
+    private boolean waitlistSeat;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,25 @@
+package com.commit.campus.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 예약 내역 목록 한 행 (reservation 컬럼만 읽는 프로젝션, 연관 엔티티를 불러오지 않음)
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class ReservationHistoryDTO {
+
+    private long reservationId;
+    private long userId;
+    private long campId;
+    private long campFacsId;
+    private LocalDateTime reservationDate;
+    private LocalDate entryDate;
+    private LocalDate leavingDate;
+    private String reservationStatus;
+    private String gearRentalStatus;
+}
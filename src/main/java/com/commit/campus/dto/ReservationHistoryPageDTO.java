@@ -0,0 +1,17 @@
+package com.commit.campus.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+// 예약 내역 한 페이지, nextCursor가 null이면 마지막 페이지
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class ReservationHistoryPageDTO {
+
+    private List<ReservationHistoryDTO> reservations;
+    private String nextCursor;
+}
@@ -0,0 +1,22 @@
+package com.commit.campus.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 확정 전 예약 요청(hold) 추적 정보
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class ReservationHoldDTO {
+
+    private Long reservationId;
+    private Long campId;
+    private Integer campFacsType;
+    private LocalDate entryDate;
+    private LocalDate leavingDate;
+    private LocalDateTime expiresAt;
+}
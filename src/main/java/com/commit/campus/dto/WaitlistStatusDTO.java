@@ -0,0 +1,24 @@
+package com.commit.campus.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 예약 대기열 상태 (WAITING: 순번 대기, OFFERED: 좌석 제안 받음 - reservationId로 확정, NONE: 대기 중이 아님)
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class WaitlistStatusDTO {
+
+    public static final String WAITING = "WAITING";
+    public static final String OFFERED = "OFFERED";
+    public static final String NONE = "NONE";
+
+    private String status;
+    private Long position;       // 1부터 시작하는 대기 순번 (WAITING)
+    private Long waitingCount;   // 같은 기간 대기 인원 (WAITING)
+    private Long reservationId;  // 제안된 예약 요청 ID (OFFERED)
+    private LocalDateTime expiresAt;  // 제안 만료 시각 (OFFERED)
+}
@@ -6,7 +6,8 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.util.Date;
 
-@Table(name = "availability")
+@Table(name = "availability",
+        uniqueConstraints = @UniqueConstraint(name = "uk_availability_camp_date", columnNames = {"camp_id", "date"}))
 @Entity
 @Getter
 @Builder(toBuilder = true)
@@ -36,4 +37,41 @@ public class Availability {
 
     @Column(name = "caravan_site_avail")
     private int caravanSiteAvail;
+
+    // 낙관적 락 버전 (optimistic 재고 모드), 조건부 UPDATE로 변경하는 다른 모드도 함께 증가시킨다
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    // 시설 유형별 예약 가능 개수 (1: 일반야영장, 2: 자동차야영장, 3: 글램핑, 4: 카라반)
+    public int getSiteAvail(int campFacsType) {
+        switch (campFacsType) {
+            case 1:
+                return generalSiteAvail;
+            case 2:
+                return carSiteAvail;
+            case 3:
+                return glampingSiteAvail;
+            case 4:
+                return caravanSiteAvail;
+            default:
+                throw new IllegalArgumentException("잘못된 시설 유형입니다: " + campFacsType);
+        }
+    }
+
+    // 시설 유형의 예약 가능 개수를 changeCount만큼 변경한 사본
+    public Availability withSiteAvailChange(int campFacsType, int changeCount) {
+        switch (campFacsType) {
+            case 1:
+                return toBuilder().generalSiteAvail(generalSiteAvail + changeCount).build();
+            case 2:
+                return toBuilder().carSiteAvail(carSiteAvail + changeCount).build();
+            case 3:
+                return toBuilder().glampingSiteAvail(glampingSiteAvail + changeCount).build();
+            case 4:
+                return toBuilder().caravanSiteAvail(caravanSiteAvail + changeCount).build();
+            default:
+                throw new IllegalArgumentException("잘못된 시설 유형입니다: " + campFacsType);
+        }
+    }
 }
@@ -11,8 +11,13 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 
+// 캠핑장 목록 검색 조건용 (지역, 반려동물 동반 + camp_id), 정렬, keyset 조회용 (정렬 값, camp_id)
 @Entity
-@Table(name = "camping")
+@Table(name = "camping", indexes = {
+        @Index(name = "idx_camping_region", columnList = "do_name, sigungu_name, camp_id"),
+        @Index(name = "idx_camping_pet_access", columnList = "pet_access, camp_id"),
+        @Index(name = "idx_camping_name", columnList = "camp_name, camp_id"),
+        @Index(name = "idx_camping_created", columnList = "created_date, camp_id")})
 @Getter
 @Setter
 @DynamicUpdate
@@ -118,6 +123,28 @@ public class Camping implements Serializable {
     @OneToMany(mappedBy = "campingEntity", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CampingFacilities> campingFacilities;
 
+    // 시설 유형별 사이트 수 (1: 일반야영장, 2: 자동차야영장, 3: 글램핑, 4: 카라반)
+    public int getSiteCnt(int campFacsType) {
+        Integer siteCnt;
+        switch (campFacsType) {
+            case 1:
+                siteCnt = generalSiteCnt;
+                break;
+            case 2:
+                siteCnt = carSiteCnt;
+                break;
+            case 3:
+                siteCnt = glampingSiteCnt;
+                break;
+            case 4:
+                siteCnt = caravanSiteCnt;
+                break;
+            default:
+                throw new IllegalArgumentException("잘못된 시설 유형입니다: " + campFacsType);
+        }
+        return siteCnt == null ? 0 : siteCnt;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdDate = LocalDateTime.now();
@@ -7,8 +7,11 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 import org.hibernate.annotations.DynamicUpdate;
 
+// 캠핑장 목록 찜한 수, 리뷰 수 정렬용 (정렬 값, camp_id)
 @Entity
-@Table(name="camping_summary")
+@Table(name="camping_summary", indexes = {
+        @Index(name = "idx_camping_summary_bookmark", columnList = "bookmark_cnt, camp_id"),
+        @Index(name = "idx_camping_summary_review", columnList = "review_cnt, camp_id")})
 @Getter
 @Builder
 @ToString
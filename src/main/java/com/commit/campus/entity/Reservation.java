@@ -8,7 +8,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Date;
 
-@Table(name = "reservation")
+// 예약 내역 keyset 조회용 (사용자별, 캠핑장별로 입실일 최신순)
+@Table(name = "reservation", indexes = {
+        @Index(name = "idx_reservation_user_entry", columnList = "user_id, entry_date, reservation_id"),
+        @Index(name = "idx_reservation_camp_entry", columnList = "camp_id, entry_date, reservation_id")})
 @Entity
 @Getter
 @ToString
@@ -50,6 +53,9 @@ public class Reservation implements Serializable {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Column(name = "fence_token")
+    private Long fenceToken;  // 마지막으로 이 예약을 변경한 락의 펜싱 토큰
+
     // fk
     @ManyToOne
     @JoinColumn(name = "camp_facs_id", insertable = false, updatable = false)
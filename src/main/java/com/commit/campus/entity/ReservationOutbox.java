@@ -0,0 +1,55 @@
+package com.commit.campus.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 예약 상태 변경 기록 (예약 저장과 같은 트랜잭션에서 기록하고, 릴레이가 Redis 반영 후 삭제)
+@Table(name = "reservation_outbox")
+@Entity
+@Getter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Column(name = "reservation_id", nullable = false)
+    private Long reservationId;
+
+    @Column(name = "reservation_status", nullable = false)
+    private String reservationStatus;  // 변경된 상태 (confirmation, cancelled), 확정된 예약의 변경도 confirmation
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "camp_id")
+    private Long campId;
+
+    @Column(name = "camp_facs_id")
+    private Long campFacsId;
+
+    @Column(name = "camp_facs_type")
+    private Integer campFacsType;
+
+    @Column(name = "entry_date")
+    private LocalDate entryDate;
+
+    @Column(name = "leaving_date")
+    private LocalDate leavingDate;
+
+    @Column(name = "fence_token")
+    private Long fenceToken;  // 변경한 락의 펜싱 토큰 (오래된 이벤트가 나중 상태를 덮어쓰지 않도록)
+
+    @Column(name = "waitlist_seat", nullable = false)
+    private boolean waitlistSeat;  // 취소된 좌석을 대기열에 넘겼거나(취소), 대기열 제안으로 넘겨받은 좌석을 확정한 경우(확정)
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -1,17 +1,118 @@
 package com.commit.campus.repository;
 
 import com.commit.campus.entity.Availability;
-import feign.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
-public interface AvailabilityRepository extends JpaRepository<Availability, Long> {
+public interface AvailabilityRepository extends JpaRepository<Availability, Long>, AvailabilityRepositoryCustom {
     @Query("SELECT a FROM Availability a WHERE a.campId = :campId AND a.date BETWEEN :startDate AND :endDate")
     List<Availability> findByCampIdAndDateBetween(@Param("campId") Long campId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
+    // 여러 캠핑장의 구간을 한 번에 조회 (검색용 인덱스 일괄 적재)
+    @Query("SELECT a FROM Availability a WHERE a.campId IN :campIds AND a.date BETWEEN :startDate AND :endDate")
+    List<Availability> findByCampIdInAndDateBetween(@Param("campIds") Collection<Long> campIds, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
     @Query(value = "SELECT * FROM Availability a WHERE a.camp_id = :campId AND DATE(a.date) = DATE(:date)", nativeQuery = true)
     Availability findByCampIdAndDate(@Param("campId") Long campId, @Param("date") LocalDate date);
+
+    // 구간 전체의 예약 가능 개수를 한 번에 변경 (0 미만이 되는 날짜는 변경되지 않음)
+    @Modifying
+    @Query("UPDATE Availability a SET a.generalSiteAvail = a.generalSiteAvail + :changeCount, a.version = a.version + 1 " +
+            "WHERE a.campId = :campId AND a.date BETWEEN :startDate AND :endDate " +
+            "AND a.generalSiteAvail + :changeCount >= 0")
+    int changeGeneralSiteAvail(@Param("campId") Long campId, @Param("startDate") LocalDate startDate,
+                               @Param("endDate") LocalDate endDate, @Param("changeCount") int changeCount);
+
+    @Modifying
+    @Query("UPDATE Availability a SET a.carSiteAvail = a.carSiteAvail + :changeCount, a.version = a.version + 1 " +
+            "WHERE a.campId = :campId AND a.date BETWEEN :startDate AND :endDate " +
+            "AND a.carSiteAvail + :changeCount >= 0")
+    int changeCarSiteAvail(@Param("campId") Long campId, @Param("startDate") LocalDate startDate,
+                           @Param("endDate") LocalDate endDate, @Param("changeCount") int changeCount);
+
+    @Modifying
+    @Query("UPDATE Availability a SET a.glampingSiteAvail = a.glampingSiteAvail + :changeCount, a.version = a.version + 1 " +
+            "WHERE a.campId = :campId AND a.date BETWEEN :startDate AND :endDate " +
+            "AND a.glampingSiteAvail + :changeCount >= 0")
+    int changeGlampingSiteAvail(@Param("campId") Long campId, @Param("startDate") LocalDate startDate,
+                                @Param("endDate") LocalDate endDate, @Param("changeCount") int changeCount);
+
+    @Modifying
+    @Query("UPDATE Availability a SET a.caravanSiteAvail = a.caravanSiteAvail + :changeCount, a.version = a.version + 1 " +
+            "WHERE a.campId = :campId AND a.date BETWEEN :startDate AND :endDate " +
+            "AND a.caravanSiteAvail + :changeCount >= 0")
+    int changeCaravanSiteAvail(@Param("campId") Long campId, @Param("startDate") LocalDate startDate,
+                               @Param("endDate") LocalDate endDate, @Param("changeCount") int changeCount);
+
+    // 조건 없이 구간 전체에 변경량을 더함 (하한은 Redis 재고 카운터가 이미 지켰으므로 반영 순서가 바뀌어도 합계가 맞는다)
+    @Modifying
+    @Query("UPDATE Availability a SET a.generalSiteAvail = a.generalSiteAvail + :changeCount, a.version = a.version + 1 " +
+            "WHERE a.campId = :campId AND a.date BETWEEN :startDate AND :endDate")
+    int addGeneralSiteAvail(@Param("campId") Long campId, @Param("startDate") LocalDate startDate,
+                            @Param("endDate") LocalDate endDate, @Param("changeCount") int changeCount);
+
+    @Modifying
+    @Query("UPDATE Availability a SET a.carSiteAvail = a.carSiteAvail + :changeCount, a.version = a.version + 1 " +
+            "WHERE a.campId = :campId AND a.date BETWEEN :startDate AND :endDate")
+    int addCarSiteAvail(@Param("campId") Long campId, @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate, @Param("changeCount") int changeCount);
+
+    @Modifying
+    @Query("UPDATE Availability a SET a.glampingSiteAvail = a.glampingSiteAvail + :changeCount, a.version = a.version + 1 " +
+            "WHERE a.campId = :campId AND a.date BETWEEN :startDate AND :endDate")
+    int addGlampingSiteAvail(@Param("campId") Long campId, @Param("startDate") LocalDate startDate,
+                             @Param("endDate") LocalDate endDate, @Param("changeCount") int changeCount);
+
+    @Modifying
+    @Query("UPDATE Availability a SET a.caravanSiteAvail = a.caravanSiteAvail + :changeCount, a.version = a.version + 1 " +
+            "WHERE a.campId = :campId AND a.date BETWEEN :startDate AND :endDate")
+    int addCaravanSiteAvail(@Param("campId") Long campId, @Param("startDate") LocalDate startDate,
+                            @Param("endDate") LocalDate endDate, @Param("changeCount") int changeCount);
+
+    // 없는 날짜를 먼저 생성한 뒤 구간 전체에 조건 없이 변경량을 더하고, 변경된 날짜 수를 반환 (Redis 재고 동기화 전용)
+    default int addStayAvail(Long campId, int campFacsType, LocalDate startDate, LocalDate endDate, int changeCount) {
+        insertMissingDates(campId, startDate, endDate);
+
+        switch (campFacsType) {
+            case 1:
+                return addGeneralSiteAvail(campId, startDate, endDate, changeCount);
+            case 2:
+                return addCarSiteAvail(campId, startDate, endDate, changeCount);
+            case 3:
+                return addGlampingSiteAvail(campId, startDate, endDate, changeCount);
+            case 4:
+                return addCaravanSiteAvail(campId, startDate, endDate, changeCount);
+            default:
+                throw new IllegalArgumentException("잘못된 시설 유형입니다: " + campFacsType);
+        }
+    }
+
+    // 없는 날짜를 먼저 생성한 뒤 구간 전체를 한 번에 변경하고, 변경된 날짜 수를 반환
+    default int changeStayAvail(Long campId, int campFacsType, LocalDate startDate, LocalDate endDate, int changeCount) {
+        insertMissingDates(campId, startDate, endDate);
+
+        return changeSiteAvail(campId, campFacsType, startDate, endDate, changeCount);
+    }
+
+    // 행이 이미 있는 구간의 시설 유형별 예약 가능 개수를 변경하고, 변경된 날짜 수를 반환
+    default int changeSiteAvail(Long campId, int campFacsType, LocalDate startDate, LocalDate endDate, int changeCount) {
+        switch (campFacsType) {
+            case 1:
+                return changeGeneralSiteAvail(campId, startDate, endDate, changeCount);
+            case 2:
+                return changeCarSiteAvail(campId, startDate, endDate, changeCount);
+            case 3:
+                return changeGlampingSiteAvail(campId, startDate, endDate, changeCount);
+            case 4:
+                return changeCaravanSiteAvail(campId, startDate, endDate, changeCount);
+            default:
+                throw new IllegalArgumentException("잘못된 시설 유형입니다: " + campFacsType);
+        }
+    }
 }
@@ -0,0 +1,9 @@
+package com.commit.campus.repository;
+
+import java.time.LocalDate;
+
+public interface AvailabilityRepositoryCustom {
+
+    // 구간 중 availability 행이 없는 날짜를 캠핑장의 사이트 수로 한 번에 생성하고, 생성된 행 수를 반환
+    int insertMissingDates(Long campId, LocalDate startDate, LocalDate endDate);
+}
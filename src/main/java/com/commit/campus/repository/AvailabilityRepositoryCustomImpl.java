@@ -0,0 +1,42 @@
+package com.commit.campus.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AvailabilityRepositoryCustomImpl implements AvailabilityRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AvailabilityRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertMissingDates(Long campId, LocalDate startDate, LocalDate endDate) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder stayDates = new StringBuilder();
+
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            stayDates.append(args.isEmpty() ? "SELECT CAST(? AS DATE) AS stay_date" : " UNION ALL SELECT CAST(? AS DATE)");
+            args.add(Date.valueOf(date));
+        }
+        args.add(campId);
+
+        // (camp_id, date) 유니크 키와 NOT EXISTS로 동시 생성 시에도 중복 행이 생기지 않도록 한다
+        String sql = "INSERT IGNORE INTO availability " +
+                "(camp_id, date, general_site_avail, car_site_avail, glamping_site_avail, caravan_site_avail, version) " +
+                "SELECT c.camp_id, d.stay_date, COALESCE(c.general_site_cnt, 0), COALESCE(c.car_site_cnt, 0), " +
+                "COALESCE(c.glamping_site_cnt, 0), COALESCE(c.caravan_site_cnt, 0), 0 " +
+                "FROM camping c CROSS JOIN (" + stayDates + ") d " +
+                "WHERE c.camp_id = ? " +
+                "AND NOT EXISTS (SELECT 1 FROM availability a WHERE a.camp_id = c.camp_id AND a.date = d.stay_date)";
+
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+}
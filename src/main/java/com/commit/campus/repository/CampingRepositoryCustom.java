@@ -0,0 +1,26 @@
+package com.commit.campus.repository;
+
+import com.commit.campus.dto.CampingFilterDTO;
+import com.commit.campus.entity.Camping;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Set;
+
+public interface CampingRepositoryCustom {
+
+    // 정렬할 수 있는 필드 (bookmarkCnt, reviewCnt는 camping_summary 기준). Sort는 항상 campId로 끝나야 한다.
+    Set<String> SORT_PROPERTIES = Set.of("campId", "campName", "createdDate", "bookmarkCnt", "reviewCnt");
+
+    // 조건에 맞는 캠핑장을 sort 순서로 offset부터 limit개
+    List<Camping> findCampings(CampingFilterDTO filter, Sort sort, int offset, int limit);
+
+    long countCampings(CampingFilterDTO filter);
+
+    // 날짜 검색용 후보 캠핑장 ID (정렬만 적용, 페이지는 잔여 수량으로 거른 뒤 나눈다)
+    List<Long> findCampIds(CampingFilterDTO filter, Sort sort);
+
+    // (정렬 값..., campId)가 (lastValues..., lastCampId) 다음인 캠핑장부터 limit개, lastCampId가 null이면 처음부터
+    // lastValues는 campId를 뺀 sort 필드 순서대로
+    List<Camping> findCampingsAfter(CampingFilterDTO filter, Sort sort, List<Object> lastValues, Long lastCampId, int limit);
+}
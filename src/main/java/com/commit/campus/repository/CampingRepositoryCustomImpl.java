@@ -0,0 +1,246 @@
+package com.commit.campus.repository;
+
+import com.commit.campus.dto.CampingFilterDTO;
+import com.commit.campus.entity.Camping;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/*
+ * 캠핑장 목록 조회 (조건과 정렬은 모두 DB에서)
+ * - 검색 조건은 값이 있는 것만 WHERE에 넣는다. ':x IS NULL OR col = :x' 형태는 MySQL이 인덱스를 고르지 못하게 하므로 쓰지 않는다.
+ * - ORDER BY는 요청한 정렬 필드 순서대로, 마지막은 campId로 고정해 같은 값이 페이지 경계에 걸려도 겹치거나 빠지지 않는다.
+ * - bookmarkCnt, reviewCnt 정렬은 camping_summary와 INNER JOIN하고 ORDER BY를 모두 요약 테이블 컬럼(동률은 cs.campId)으로 쓴다.
+ *   그래야 MySQL이 camping_summary를 먼저 읽으며 (bookmark_cnt, camp_id), (review_cnt, camp_id) 인덱스 순서로 정렬을 대신할 수 있다.
+ *   LEFT JOIN이면 camping을 먼저 읽어야 해서 매번 filesort가 된다. 모든 캠핑장은 생성할 때 요약 행을 함께 만든다 (V8에서 기존 행 보충).
+ * - keyset 조회는 OFFSET 없이 마지막 행의 (정렬 값..., campId) 다음부터 읽으므로 페이지가 깊어져도 읽는 행 수가 같다.
+ * - 정렬 값이 NULL인 행은 MySQL 정렬과 같이 가장 작은 값으로 취급한다 (오름차순이면 맨 앞, 내림차순이면 맨 뒤).
+ */
+public class CampingRepositoryCustomImpl implements CampingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Camping> findCampings(CampingFilterDTO filter, Sort sort, int offset, int limit) {
+        List<Sort.Order> orders = validate(sort);
+        return new JpqlBuilder(select(orders, "c", true))
+                .filter(filter)
+                .append(orderBy(orders))
+                .createQuery(entityManager, Camping.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long countCampings(CampingFilterDTO filter) {
+        return new JpqlBuilder("SELECT COUNT(c) FROM Camping c ")
+                .filter(filter)
+                .createQuery(entityManager, Long.class)
+                .getSingleResult();
+    }
+
+    @Override
+    public List<Long> findCampIds(CampingFilterDTO filter, Sort sort) {
+        List<Sort.Order> orders = validate(sort);
+        return new JpqlBuilder(select(orders, "c.campId", false))
+                .filter(filter)
+                .append(orderBy(orders))
+                .createQuery(entityManager, Long.class)
+                .getResultList();
+    }
+
+    @Override
+    public List<Camping> findCampingsAfter(CampingFilterDTO filter, Sort sort, List<Object> lastValues, Long lastCampId, int limit) {
+        List<Sort.Order> orders = validate(sort);
+        if (lastCampId != null && lastValues.size() != orders.size() - 1) {
+            throw new IllegalArgumentException("정렬 필드와 마지막 값의 개수가 다릅니다: " + lastValues.size());
+        }
+
+        JpqlBuilder jpql = new JpqlBuilder(select(orders, "c", true)).filter(filter);
+        if (lastCampId != null) {
+            jpql.and(seekCondition(orders, lastValues)).parameter("lastCampId", lastCampId);
+            for (int i = 0; i < lastValues.size(); i++) {
+                if (lastValues.get(i) != null) {
+                    jpql.parameter("lastValue" + i, lastValues.get(i));
+                }
+            }
+        }
+        return jpql.append(orderBy(orders))
+                .createQuery(entityManager, Camping.class)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // 쿼리 문자열에 들어가므로 정해진 필드만 허용
+    private static List<Sort.Order> validate(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        for (Sort.Order order : orders) {
+            if (!SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("지원하지 않는 정렬 필드입니다: " + order.getProperty());
+            }
+        }
+        if (orders.isEmpty() || !"campId".equals(orders.get(orders.size() - 1).getProperty())) {
+            throw new IllegalArgumentException("정렬은 campId로 끝나야 합니다: " + sort);
+        }
+        return orders;
+    }
+
+    // 요약 정렬이 있으면 INNER JOIN (캠핑장 엔티티를 읽을 때는 요약도 함께 읽는다)
+    private static String select(List<Sort.Order> orders, String projection, boolean fetchSummary) {
+        return "SELECT " + projection + " FROM Camping c "
+                + (joinsSummary(orders) ? (fetchSummary ? "JOIN FETCH" : "JOIN") + " c.campingSummary cs " : "");
+    }
+
+    private static boolean joinsSummary(List<Sort.Order> orders) {
+        return orders.stream().anyMatch(order -> isSummaryProperty(order.getProperty()));
+    }
+
+    private static boolean isSummaryProperty(String property) {
+        return "bookmarkCnt".equals(property) || "reviewCnt".equals(property);
+    }
+
+    private static String orderBy(List<Sort.Order> orders) {
+        boolean joinSummary = joinsSummary(orders);
+        List<String> items = new ArrayList<>();
+        for (Sort.Order order : orders) {
+            items.add(path(order.getProperty(), joinSummary) + (order.isDescending() ? " DESC" : " ASC"));
+        }
+        return "ORDER BY " + String.join(", ", items);
+    }
+
+    // 요약을 JOIN하면 campId도 요약 쪽 컬럼으로 써서 ORDER BY가 한 테이블의 인덱스와 맞도록 한다 (cs.campId = c.campId)
+    private static String path(String property, boolean joinSummary) {
+        if (isSummaryProperty(property) || (joinSummary && "campId".equals(property))) {
+            return "cs." + property;
+        }
+        return "c." + property;
+    }
+
+    // 시설 유형을 보유했다는 것은 해당 유형 사이트가 있다는 뜻 (Camping.getSiteCnt와 같은 대응)
+    private static String siteCntPath(int facsType) {
+        return switch (facsType) {
+            case 1 -> "c.generalSiteCnt";
+            case 2 -> "c.carSiteCnt";
+            case 3 -> "c.glampingSiteCnt";
+            case 4 -> "c.caravanSiteCnt";
+            default -> throw new IllegalArgumentException("잘못된 시설 유형입니다: " + facsType);
+        };
+    }
+
+    // 마지막 행 다음 조건: 앞 필드가 모두 같고 i번째 필드가 다음 값인 경우들의 OR (마지막 필드 campId로 항상 구분된다)
+    private static String seekCondition(List<Sort.Order> orders, List<Object> lastValues) {
+        boolean joinSummary = joinsSummary(orders);
+        List<String> branches = new ArrayList<>();
+        StringBuilder equalPrefix = new StringBuilder();
+        for (int i = 0; i < orders.size(); i++) {
+            Sort.Order order = orders.get(i);
+            String path = path(order.getProperty(), joinSummary);
+            boolean last = i == orders.size() - 1;
+            String parameter = last ? ":lastCampId" : ":lastValue" + i;
+            boolean lastValueNull = !last && lastValues.get(i) == null;
+
+            String after = last ? path + (order.isDescending() ? " < " : " > ") + parameter
+                    : after(path, order.isDescending(), lastValueNull, !isSummaryProperty(order.getProperty()), parameter);
+            if (after != null) {
+                branches.add("(" + equalPrefix + after + ")");
+            }
+            equalPrefix.append(lastValueNull ? path + " IS NULL" : path + " = " + parameter).append(" AND ");
+        }
+        return "(" + String.join(" OR ", branches) + ")";
+    }
+
+    // path 값이 마지막 행의 값 다음인 조건 (NULL은 가장 작은 값), 내림차순에서 NULL 다음 값은 없으므로 null
+    // 요약 수치는 NOT NULL이라 IS NULL 조건을 붙이지 않는다 (인덱스 범위 조건 그대로)
+    private static String after(String path, boolean descending, boolean lastValueNull, boolean nullable, String parameter) {
+        if (lastValueNull) {
+            return descending ? null : path + " IS NOT NULL";
+        }
+        if (descending && nullable) {
+            return "(" + path + " < " + parameter + " OR " + path + " IS NULL)";
+        }
+        return path + (descending ? " < " : " > ") + parameter;
+    }
+
+    // LIKE 특수 문자를 글자 그대로 찾도록 이스케이프 ('!' 사용)
+    private static String contains(String value) {
+        return "%" + value.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    /*
+     * 조건을 붙여 가며 JPQL과 파라미터를 함께 모은다.
+     * 모든 목록 조회가 같은 filter를 써서 조건이 추가되어도 조회 메서드 수는 늘지 않는다.
+     */
+    private static final class JpqlBuilder {
+
+        private final StringBuilder jpql;
+        private final Map<String, Object> parameters = new LinkedHashMap<>();
+        private boolean hasWhere;
+
+        private JpqlBuilder(String select) {
+            this.jpql = new StringBuilder(select);
+        }
+
+        // 인덱스를 타는 조건(지역, 반려동물)을 앞에 둔다
+        private JpqlBuilder filter(CampingFilterDTO filter) {
+            if (filter == null) {
+                return this;
+            }
+            if (StringUtils.hasText(filter.getDoName())) {
+                and("c.doName = :doName").parameter("doName", filter.getDoName());
+            }
+            if (StringUtils.hasText(filter.getSigunguName())) {
+                and("c.sigunguName = :sigunguName").parameter("sigunguName", filter.getSigunguName());
+            }
+            if (StringUtils.hasText(filter.getPetAccess())) {
+                and("c.petAccess = :petAccess").parameter("petAccess", filter.getPetAccess());
+            }
+            if (filter.getGlampingSiteCnt() != null) {
+                and("c.glampingSiteCnt >= :glampingSiteCnt").parameter("glampingSiteCnt", filter.getGlampingSiteCnt());
+            }
+            if (filter.getCaravanSiteCnt() != null) {
+                and("c.caravanSiteCnt >= :caravanSiteCnt").parameter("caravanSiteCnt", filter.getCaravanSiteCnt());
+            }
+            if (StringUtils.hasText(filter.getInduty())) {
+                and("c.induty LIKE :induty ESCAPE '!'").parameter("induty", contains(filter.getInduty()));
+            }
+            if (filter.getFacsTypes() != null) {
+                for (int facsType : new TreeSet<>(filter.getFacsTypes())) {
+                    and(siteCntPath(facsType) + " > 0");
+                }
+            }
+            return this;
+        }
+
+        private JpqlBuilder and(String condition) {
+            jpql.append(hasWhere ? "AND " : "WHERE ").append(condition).append(' ');
+            hasWhere = true;
+            return this;
+        }
+
+        private JpqlBuilder parameter(String name, Object value) {
+            parameters.put(name, value);
+            return this;
+        }
+
+        private JpqlBuilder append(String clause) {
+            jpql.append(clause);
+            return this;
+        }
+
+        private <T> TypedQuery<T> createQuery(EntityManager entityManager, Class<T> resultClass) {
+            TypedQuery<T> query = entityManager.createQuery(jpql.toString(), resultClass);
+            parameters.forEach(query::setParameter);
+            return query;
+        }
+    }
+}
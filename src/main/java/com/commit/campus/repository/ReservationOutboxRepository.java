@@ -0,0 +1,21 @@
+package com.commit.campus.repository;
+
+import com.commit.campus.entity.ReservationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ReservationOutboxRepository extends JpaRepository<ReservationOutbox, Long> {
+
+    // outbox_id 순서로 다음 배치를 잠금 (다른 서버의 릴레이가 잡고 있는 행은 건너뜀)
+    @Query(value = "SELECT * FROM reservation_outbox WHERE outbox_id > :afterId " +
+            "ORDER BY outbox_id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ReservationOutbox> lockNextBatch(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM ReservationOutbox o WHERE o.outboxId IN :outboxIds")
+    int deleteAllByOutboxIdIn(@Param("outboxIds") List<Long> outboxIds);
+}
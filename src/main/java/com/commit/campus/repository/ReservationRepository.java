@@ -1,10 +1,69 @@
 package com.commit.campus.repository;
 
+import com.commit.campus.dto.ReservationHistoryDTO;
 import com.commit.campus.entity.Reservation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, ReservationRepositoryCustom {
+
+    // 예약 내역 목록은 컬럼만 읽어 campingFacilities/user 즉시 로딩 조인을 피함
+    String HISTORY_SELECT = "SELECT new com.commit.campus.dto.ReservationHistoryDTO(r.reservationId, r.userId, r.campId, r.campFacsId, " +
+            "r.reservationDate, r.entryDate, r.leavingDate, r.reservationStatus, r.gearRentalStatus) FROM Reservation r ";
+    String HISTORY_ORDER = " ORDER BY r.entryDate DESC, r.reservationId DESC";
+    String HISTORY_AFTER = " AND (r.entryDate < :entryDate OR (r.entryDate = :entryDate AND r.reservationId < :reservationId))";
+
+    // 사용자별 예약 내역 첫 페이지 (idx_reservation_user_entry)
+    @Query(HISTORY_SELECT + "WHERE r.userId = :userId" + HISTORY_ORDER)
+    List<ReservationHistoryDTO> findHistoryByUserId(@Param("userId") long userId, Pageable pageable);
+
+    // 사용자별 예약 내역 다음 페이지 (마지막 행의 입실일, 예약 ID 이후)
+    @Query(HISTORY_SELECT + "WHERE r.userId = :userId" + HISTORY_AFTER + HISTORY_ORDER)
+    List<ReservationHistoryDTO> findHistoryByUserIdAfter(@Param("userId") long userId,
+                                                         @Param("entryDate") LocalDate entryDate,
+                                                         @Param("reservationId") long reservationId,
+                                                         Pageable pageable);
+
+    // 캠핑장별 예약 내역 첫 페이지 (idx_reservation_camp_entry)
+    @Query(HISTORY_SELECT + "WHERE r.campId = :campId" + HISTORY_ORDER)
+    List<ReservationHistoryDTO> findHistoryByCampId(@Param("campId") long campId, Pageable pageable);
+
+    @Query(HISTORY_SELECT + "WHERE r.campId = :campId" + HISTORY_AFTER + HISTORY_ORDER)
+    List<ReservationHistoryDTO> findHistoryByCampIdAfter(@Param("campId") long campId,
+                                                         @Param("entryDate") LocalDate entryDate,
+                                                         @Param("reservationId") long reservationId,
+                                                         Pageable pageable);
+
+    // 더 큰 펜싱 토큰을 가진 락 보유자만 상태를 변경 (리스가 만료된 이전 보유자의 늦은 쓰기는 0건)
+    @Modifying
+    @Query("UPDATE Reservation r SET r.reservationStatus = :reservationStatus, r.updatedAt = :updatedAt, r.fenceToken = :fenceToken " +
+            "WHERE r.reservationId = :reservationId AND (r.fenceToken IS NULL OR r.fenceToken < :fenceToken)")
+    int updateStatusFenced(@Param("reservationId") Long reservationId,
+                           @Param("reservationStatus") String reservationStatus,
+                           @Param("updatedAt") LocalDateTime updatedAt,
+                           @Param("fenceToken") long fenceToken);
 
+    // 확정된 예약의 숙박 기간/시설 변경 (펜싱 토큰 조건은 상태 변경과 같음, 취소됐거나 다른 요청이 먼저 처리했으면 0건)
+    @Modifying
+    @Query("UPDATE Reservation r SET r.campFacsId = :campFacsId, r.entryDate = :entryDate, r.leavingDate = :leavingDate, " +
+            "r.gearRentalStatus = :gearRentalStatus, r.updatedAt = :updatedAt, r.fenceToken = :fenceToken " +
+            "WHERE r.reservationId = :reservationId AND r.reservationStatus = :reservationStatus " +
+            "AND (r.fenceToken IS NULL OR r.fenceToken < :fenceToken)")
+    int updateStayFenced(@Param("reservationId") Long reservationId,
+                         @Param("reservationStatus") String reservationStatus,
+                         @Param("campFacsId") long campFacsId,
+                         @Param("entryDate") LocalDate entryDate,
+                         @Param("leavingDate") LocalDate leavingDate,
+                         @Param("gearRentalStatus") String gearRentalStatus,
+                         @Param("updatedAt") LocalDateTime updatedAt,
+                         @Param("fenceToken") long fenceToken);
 }
@@ -0,0 +1,10 @@
+package com.commit.campus.repository;
+
+import com.commit.campus.entity.Reservation;
+
+import java.util.List;
+
+public interface ReservationRepositoryCustom {
+
+    int upsertAll(List<Reservation> reservations);
+}
@@ -0,0 +1,71 @@
+package com.commit.campus.repository;
+
+import com.commit.campus.entity.Reservation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReservationRepositoryCustomImpl implements ReservationRepositoryCustom {
+
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ReservationRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 여러 행을 INSERT 한 번으로 저장, 이미 있는 예약은 펜싱 토큰이 더 큰 경우에만 상태를 변경 (같은 이벤트를 다시 처리해도 결과가 같음)
+    @Override
+    public int upsertAll(List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return 0;
+        }
+
+        List<Object> args = new ArrayList<>(reservations.size() * 12);
+        StringBuilder rows = new StringBuilder();
+
+        for (Reservation reservation : reservations) {
+            rows.append(rows.isEmpty() ? ROW_PLACEHOLDERS : ", " + ROW_PLACEHOLDERS);
+            args.add(reservation.getReservationId());
+            args.add(reservation.getUserId());
+            args.add(reservation.getCampId());
+            args.add(reservation.getCampFacsId());
+            args.add(toTimestamp(reservation.getReservationDate()));
+            args.add(toDate(reservation.getEntryDate()));
+            args.add(toDate(reservation.getLeavingDate()));
+            args.add(reservation.getReservationStatus());
+            args.add(reservation.getGearRentalStatus());
+            args.add(toTimestamp(reservation.getCreatedAt()));
+            args.add(toTimestamp(reservation.getUpdatedAt()));
+            args.add(reservation.getFenceToken());
+        }
+
+        // MySQL은 SET 절을 왼쪽부터 적용하므로 fence_token은 마지막에 갱신
+        String sql = "INSERT INTO reservation " +
+                "(reservation_id, user_id, camp_id, camp_facs_id, reservation_date, entry_date, leaving_date, " +
+                "reservation_status, gear_rental_status, created_at, updated_at, fence_token) " +
+                "VALUES " + rows + " " +
+                "ON DUPLICATE KEY UPDATE " +
+                "reservation_status = IF(VALUES(fence_token) > COALESCE(fence_token, -1), VALUES(reservation_status), reservation_status), " +
+                "updated_at = IF(VALUES(fence_token) > COALESCE(fence_token, -1), COALESCE(VALUES(updated_at), updated_at), updated_at), " +
+                "fence_token = GREATEST(COALESCE(fence_token, -1), VALUES(fence_token))";
+
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime == null ? null : Timestamp.valueOf(dateTime);
+    }
+
+    private static Date toDate(LocalDate date) {
+        return date == null ? null : Date.valueOf(date);
+    }
+}
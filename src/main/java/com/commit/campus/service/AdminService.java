@@ -1,6 +1,8 @@
 package com.commit.campus.service;
 
 import com.commit.campus.dto.CampingDTO;
+import com.commit.campus.dto.ReservationHistoryPageDTO;
+import com.commit.campus.dto.ReservationHoldDTO;
 
 import java.util.List;
 
@@ -14,4 +16,8 @@ public interface AdminService {
     void deleteCampground(Long campId);
 
     void deleteReview(Long reviewId);
+
+    List<ReservationHoldDTO> getLiveHolds(int limit);
+
+    ReservationHistoryPageDTO getCampReservations(long campId, String cursor, int size);
 }
@@ -2,8 +2,13 @@ package com.commit.campus.service;
 
 import com.commit.campus.dto.BookmarkedCampingDTO;
 import com.commit.campus.dto.CampingDTO;
+import com.commit.campus.dto.CampingFilterDTO;
+import com.commit.campus.dto.CampingPageDTO;
+import com.commit.campus.dto.DailyAvailabilityDTO;
 import com.commit.campus.entity.Camping;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,7 +17,14 @@ public interface CampingService {
     Camping createCamping(Camping camping);  // 새로운 캠핑장을 생성
 
     // 페이지네이션과 정렬을 적용하여 캠핑장 정보를 조회하는 메서드.
-    List<Camping> getCampings(String doName, String sigunguName, Integer glampingSiteCnt, Integer caravanSiteCnt, int page, int size, String sort, String order);
+    List<Camping> getCampings(CampingFilterDTO filter, int page, int size, String sort, String order);
+
+    // 커서(이전 페이지 마지막 캠핑장의 정렬 키) 다음부터 조회하는 메서드. 커서가 비어 있으면 첫 페이지.
+    CampingPageDTO getCampingsAfter(CampingFilterDTO filter, String cursor, int size, String sort, String order);
+
+    // 조건에 맞으면서 입실일 ~ 퇴실일에 자리가 남은 캠핑장을 페이지네이션과 정렬을 적용하여 조회하는 메서드.
+    List<Camping> searchAvailableCampings(CampingFilterDTO filter, Integer campFacsType, LocalDate entryDate, LocalDate leavingDate,
+                                          int page, int size, String sort, String order);
 
     // 단일 캠핑장 정보를 조회하는 메서드.
     Optional<Camping> getCampingById(Long campId);
@@ -30,4 +42,7 @@ public interface CampingService {
 
     BookmarkedCampingDTO getBookmarkedCamping(Long campId);
 
+    // 해당 월의 날짜별 시설 유형 잔여 수량을 조회하는 메서드 (캠핑장이 없으면 빈 값)
+    Optional<List<DailyAvailabilityDTO>> getAvailabilityCalendar(Long campId, YearMonth month);
+
 }
@@ -0,0 +1,36 @@
+package com.commit.campus.service;
+
+import com.commit.campus.dto.ReservationDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public interface InventoryService {
+
+    // 입실일 ~ 퇴실일 전체 구간의 잔여 수량을 한번에 차감 (하루라도 부족하면 전체 실패)
+    void reserve(ReservationDTO reservationDTO);
+
+    // 차감했던 구간의 잔여 수량을 복구
+    void release(ReservationDTO reservationDTO);
+
+    // 여러 숙박을 한꺼번에 차감 (하나라도 부족하면 전체 실패)
+    // 기본 구현은 하나씩 차감하고, 실패하면 앞서 차감한 숙박을 복구한 뒤 예외를 그대로 던짐
+    default void reserveAll(List<ReservationDTO> reservationDTOs) {
+        List<ReservationDTO> reserved = new ArrayList<>(reservationDTOs.size());
+        try {
+            for (ReservationDTO reservationDTO : reservationDTOs) {
+                reserve(reservationDTO);
+                reserved.add(reservationDTO);
+            }
+        } catch (RuntimeException e) {
+            for (ReservationDTO reservationDTO : reserved) {
+                try {
+                    release(reservationDTO);
+                } catch (RuntimeException releaseFailure) {
+                    e.addSuppressed(releaseFailure);
+                }
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.commit.campus.service;
+
+import com.commit.campus.dto.ReservationEventDTO;
+
+import java.util.List;
+
+// 커밋된 예약 상태 변경 처리 (Redis/캐시 반영 등), 같은 이벤트가 두 번 이상 올 수 있으므로 멱등하게 구현
+public interface ReservationEventListener {
+
+    void onReservationEvents(List<ReservationEventDTO> events);
+}
@@ -0,0 +1,12 @@
+package com.commit.campus.service;
+
+import com.commit.campus.dto.ReservationHistoryPageDTO;
+
+public interface ReservationHistoryService {
+
+    // 내 예약 내역 (입실일 최신순, cursor가 없으면 첫 페이지)
+    ReservationHistoryPageDTO getUserReservations(long userId, String cursor, int size);
+
+    // 캠핑장별 예약 내역 (관리자용)
+    ReservationHistoryPageDTO getCampReservations(long campId, String cursor, int size);
+}
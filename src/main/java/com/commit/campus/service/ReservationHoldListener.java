@@ -0,0 +1,9 @@
+package com.commit.campus.service;
+
+import com.commit.campus.dto.ReservationHoldDTO;
+
+// 확정되지 않고 만료된 예약 요청 처리 (임시로 잡아둔 재고 복구 등), 만료된 요청마다 한 서버에서 한 번 호출
+public interface ReservationHoldListener {
+
+    void onHoldExpired(ReservationHoldDTO reservationHoldDTO);
+}
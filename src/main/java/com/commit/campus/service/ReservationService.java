@@ -2,8 +2,14 @@ package com.commit.campus.service;
 
 import com.commit.campus.dto.ReservationDTO;
 
+import java.util.List;
+
 public interface ReservationService {
     String createReservation(ReservationDTO reservationDTO);
     ReservationDTO confirmReservation(String reservationId);
     void cancelReservation(String reservationId);
+    ReservationDTO modifyReservation(String reservationId, ReservationDTO reservationDTO);
+    List<String> createGroupReservation(List<ReservationDTO> reservationDTOs);
+    List<ReservationDTO> confirmGroupReservation(List<String> reservationIds);
+    List<Long> findCampIds(List<String> reservationIds);
 }
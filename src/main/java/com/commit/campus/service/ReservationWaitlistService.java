@@ -0,0 +1,13 @@
+package com.commit.campus.service;
+
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.dto.WaitlistStatusDTO;
+
+import java.time.LocalDate;
+
+public interface ReservationWaitlistService {
+    WaitlistStatusDTO join(ReservationDTO reservationDTO, String role);
+    WaitlistStatusDTO getStatus(long userId, long campId, int campFacsType, LocalDate entryDate, LocalDate leavingDate);
+    void leave(long userId, long campId, int campFacsType, LocalDate entryDate, LocalDate leavingDate);
+    boolean hasWaiting(ReservationDTO reservationDTO);
+}
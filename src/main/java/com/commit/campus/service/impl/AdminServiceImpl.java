@@ -1,10 +1,15 @@
 package com.commit.campus.service.impl;
 
 import com.commit.campus.dto.CampingDTO;
+import com.commit.campus.dto.ReservationHistoryPageDTO;
+import com.commit.campus.dto.ReservationHoldDTO;
 import com.commit.campus.entity.Camping;
+import com.commit.campus.entity.CampingSummary;
 import com.commit.campus.repository.CampingRepository;
+import com.commit.campus.repository.CampingSummaryRepository;
 import com.commit.campus.repository.ReviewRepository;
 import com.commit.campus.service.AdminService;
+import com.commit.campus.service.ReservationHistoryService;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,14 +25,25 @@ import java.util.stream.Collectors;
 public class AdminServiceImpl implements AdminService {
 
     private final CampingRepository campingRepository;
+    private final CampingSummaryRepository campingSummaryRepository;
     private final ReviewRepository reviewRepository;
     private final ModelMapper modelMapper;
+    private final ReservationHoldTracker reservationHoldTracker;
+    private final ReservationHistoryService reservationHistoryService;
+    private final CampingCatalog campingCatalog;
 
     @Autowired
-    public AdminServiceImpl(CampingRepository campingRepository, ReviewRepository reviewRepository, ModelMapper modelMapper) {
+    public AdminServiceImpl(CampingRepository campingRepository, CampingSummaryRepository campingSummaryRepository,
+                            ReviewRepository reviewRepository, ModelMapper modelMapper,
+                            ReservationHoldTracker reservationHoldTracker, ReservationHistoryService reservationHistoryService,
+                            CampingCatalog campingCatalog) {
         this.campingRepository = campingRepository;
+        this.campingSummaryRepository = campingSummaryRepository;
         this.reviewRepository = reviewRepository;
         this.modelMapper = modelMapper;
+        this.reservationHoldTracker = reservationHoldTracker;
+        this.reservationHistoryService = reservationHistoryService;
+        this.campingCatalog = campingCatalog;
     }
 
 
@@ -41,6 +57,9 @@ public class AdminServiceImpl implements AdminService {
         camping.setLastModifiedDate(now);
 
         campingRepository.save(camping);
+        // 찜한 수, 리뷰 수 정렬은 요약 행과 INNER JOIN하므로 0으로 함께 만든다
+        campingSummaryRepository.save(new CampingSummary(camping.getCampId(), 0, 0));
+        campingCatalog.markChanged();
     }
 
     @Override
@@ -85,12 +104,14 @@ public class AdminServiceImpl implements AdminService {
         updateCamping.setRentalGearList(campingDTO.getRentalGearList());
         updateCamping.setOperationDay(campingDTO.getOperationDay());
         updateCamping.setFirstImageUrl(campingDTO.getFirstImageUrl());
+        campingCatalog.markChanged();
     }
 
     @Override
     @Transactional
     public void deleteCampground(Long campId) {
         campingRepository.deleteById(campId);
+        campingCatalog.markChanged();
     }
 
     @Override
@@ -99,4 +120,14 @@ public class AdminServiceImpl implements AdminService {
         reviewRepository.deleteById(reviewId);
     }
 
+    // 만료 시각이 가까운 순
+    @Override
+    public List<ReservationHoldDTO> getLiveHolds(int limit) {
+        return reservationHoldTracker.findLiveHolds(limit);
+    }
+
+    @Override
+    public ReservationHistoryPageDTO getCampReservations(long campId, String cursor, int size) {
+        return reservationHistoryService.getCampReservations(campId, cursor, size);
+    }
 }
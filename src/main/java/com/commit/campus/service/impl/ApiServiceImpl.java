@@ -4,8 +4,10 @@ import com.commit.campus.common.openfeign.CampingApiClient;
 import com.commit.campus.dto.GoCampingDTO;
 import com.commit.campus.entity.Camping;
 import com.commit.campus.entity.CampingFacilities;
+import com.commit.campus.entity.CampingSummary;
 import com.commit.campus.repository.CampingFacilitiesRepository;
 import com.commit.campus.repository.CampingRepository;
+import com.commit.campus.repository.CampingSummaryRepository;
 import com.commit.campus.service.ApiService;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -25,15 +27,20 @@ public class ApiServiceImpl implements ApiService {
     private final ObjectMapper objectMapper;
     private final CampingRepository campingRepository;
     private final CampingFacilitiesRepository campingFacilitiesRepository;
+    private final CampingSummaryRepository campingSummaryRepository;
+    private final CampingCatalog campingCatalog;
 
     public ApiServiceImpl(
             CampingApiClient campingApiClient,
             ObjectMapper objectMapper, CampingRepository campingRepository,
-            CampingFacilitiesRepository campingFacilitiesRepository) {
+            CampingFacilitiesRepository campingFacilitiesRepository, CampingSummaryRepository campingSummaryRepository,
+            CampingCatalog campingCatalog) {
         this.campingApiClient = campingApiClient;
         this.objectMapper = objectMapper;
         this.campingRepository = campingRepository;
         this.campingFacilitiesRepository = campingFacilitiesRepository;
+        this.campingSummaryRepository = campingSummaryRepository;
+        this.campingCatalog = campingCatalog;
     }
 
     @Value("${gocamping.api.encoding-key}")
@@ -75,10 +82,15 @@ public class ApiServiceImpl implements ApiService {
 
                 Camping campingEntity = mapToEntity(campingDTO);
                 campingRepository.save(campingEntity);
+                // 찜한 수, 리뷰 수 정렬은 요약 행과 INNER JOIN하므로 0으로 함께 만든다
+                campingSummaryRepository.save(new CampingSummary(campingEntity.getCampId(), 0, 0));
 
                 List<CampingFacilities> facilities = checkCampFacsType(campingEntity, campingDTO);
                 campingFacilitiesRepository.saveAll(facilities);
             }
+
+            // 전체 교체가 끝난 뒤 한 번만 카탈로그를 다시 만든다
+            campingCatalog.markChanged();
         } catch (Exception e) {
             log.error("Error while saving camping data", e);
         }
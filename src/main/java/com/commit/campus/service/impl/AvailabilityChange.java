@@ -0,0 +1,64 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.dto.ReservationDTO;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * 여러 숙박의 재고 변경을 구간 UPDATE 단위로 묶은 것
+ * - (캠핑장, 시설 유형, 날짜) 칸별로 변경량을 합친 뒤, 연속된 날짜의 변경량이 같으면 구간 하나로 묶는다.
+ * - 같은 기간 사이트 N개는 변경량 -N인 구간 하나가 되고, 조건부 UPDATE가 N개 모두 남았는지 한 번에 확인한다.
+ */
+record AvailabilityChange(long campId, int campFacsType, LocalDate startDate, LocalDate endDate, int changeCount) {
+
+    private static final Comparator<Cell> CELL_ORDER = Comparator.comparingLong(Cell::campId)
+            .thenComparingInt(Cell::campFacsType)
+            .thenComparing(Cell::date);
+
+    // 캠핑장, 시설 유형, 시작일 순으로 정렬된 구간 목록
+    static List<AvailabilityChange> merge(List<ReservationDTO> reservationDTOs, int changeCountPerStay) {
+        Map<Cell, Integer> changes = new TreeMap<>(CELL_ORDER);
+        for (ReservationDTO reservationDTO : reservationDTOs) {
+            reservationDTO.getEntryDate().datesUntil(reservationDTO.getLeavingDate().plusDays(1))
+                    .forEach(date -> changes.merge(new Cell(reservationDTO.getCampId(), reservationDTO.getCampFacsType(), date),
+                            changeCountPerStay, Integer::sum));
+        }
+
+        List<AvailabilityChange> merged = new ArrayList<>();
+        AvailabilityChange current = null;
+        for (Map.Entry<Cell, Integer> entry : changes.entrySet()) {
+            Cell cell = entry.getKey();
+            if (current != null && current.continuedBy(cell, entry.getValue())) {
+                current = new AvailabilityChange(current.campId, current.campFacsType, current.startDate, cell.date(), current.changeCount);
+                continue;
+            }
+            if (current != null) {
+                merged.add(current);
+            }
+            current = new AvailabilityChange(cell.campId(), cell.campFacsType(), cell.date(), cell.date(), entry.getValue());
+        }
+        if (current != null) {
+            merged.add(current);
+        }
+        return merged;
+    }
+
+    // 시작일 ~ 종료일 (종료일 포함)
+    long days() {
+        return ChronoUnit.DAYS.between(startDate, endDate) + 1;
+    }
+
+    private boolean continuedBy(Cell cell, int cellChangeCount) {
+        return campId == cell.campId() && campFacsType == cell.campFacsType()
+                && endDate.plusDays(1).equals(cell.date()) && changeCount == cellChangeCount;
+    }
+
+    private record Cell(long campId, int campFacsType, LocalDate date) {
+    }
+}
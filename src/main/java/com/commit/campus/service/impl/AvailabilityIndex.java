@@ -0,0 +1,373 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.dto.DailyAvailabilityDTO;
+import com.commit.campus.entity.Availability;
+import com.commit.campus.entity.Camping;
+import com.commit.campus.repository.AvailabilityRepository;
+import com.commit.campus.repository.CampingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/*
+ * 캠핑장별 잔여 수량 메모리 인덱스 (달력 조회용)
+ * - 캠핑장마다 오늘부터 windowDays일 동안의 시설 유형별 잔여 수량을 short 배열 하나에 담는다.
+ * - 처음 조회할 때 availability 테이블(행이 없는 날짜는 캠핑장 사이트 수)로 만들고,
+ *   예약 확정/취소가 커밋되면 해당 구간을 바로 갱신한다.
+ * - 다른 서버의 변경은 refreshMillis 주기로 백그라운드에서 다시 읽어 반영한다 (그동안은 기존 값으로 응답).
+ * - 날짜 검색용으로 시설 유형별 마감일 비트셋(하루 1비트)을 함께 유지해, 숙박 구간 검사를 long 단위 AND로 끝낸다.
+ */
+@Slf4j
+@Component
+public class AvailabilityIndex {
+
+    static final int FACILITY_TYPE_COUNT = 4;
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    private static final ZoneId ZONE_ID = ZoneId.of("Asia/Seoul");
+
+    private final AvailabilityRepository availabilityRepository;
+    private final CampingRepository campingRepository;
+    private final Executor refreshExecutor;
+    private final ConcurrentHashMap<Long, CampAvailability> camps = new ConcurrentHashMap<>();
+
+    @Value("${reservation.availability.window-days:180}")
+    private int windowDays = 180;
+
+    @Value("${reservation.availability.refresh-millis:60000}")
+    private long refreshMillis = 60000;
+
+    @Autowired
+    public AvailabilityIndex(AvailabilityRepository availabilityRepository,
+                             CampingRepository campingRepository,
+                             @Qualifier("availabilityIndexExecutor") Executor refreshExecutor) {
+        this.availabilityRepository = availabilityRepository;
+        this.campingRepository = campingRepository;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    // 조회 가능 기간(오늘 ~ windowDays일)과 겹치는 날짜만 반환, 캠핑장이 없으면 빈 값
+    public Optional<List<DailyAvailabilityDTO>> getDailyAvailability(long campId, LocalDate startDate, LocalDate endDate) {
+        CampAvailability campAvailability = camps.get(campId);
+
+        if (campAvailability == null) {
+            Optional<CampAvailability> loaded = load(campId);
+            if (loaded.isEmpty()) {
+                return Optional.empty();
+            }
+            campAvailability = loaded.get();
+        } else if (campAvailability.isStale(now(), refreshMillis, today())) {
+            refreshAsync(campId, campAvailability);
+        }
+
+        return Optional.of(campAvailability.snapshot(startDate, endDate));
+    }
+
+    /*
+     * 후보 캠핑장 중 입실일 ~ 퇴실일 모든 날짜에 자리가 남은 캠핑장만 후보 순서 그대로 반환
+     * - campFacsType이 null이면 한 가지 시설 유형으로 전체 구간 숙박이 가능한 캠핑장
+     * - 인덱스에 없는 캠핑장은 묶어서 한 번에 적재하고, 오래된 캠핑장은 백그라운드에서 일괄 갱신한다.
+     * - 캠핑장마다 비트 검사만 하므로 전체 후보를 병렬 스트림으로 나눠 평가한다.
+     */
+    public List<Long> filterAvailable(List<Long> campIds, Integer campFacsType, LocalDate entryDate, LocalDate leavingDate) {
+        LocalDate today = today();
+        if (entryDate.isAfter(leavingDate) || entryDate.isBefore(today) || leavingDate.isAfter(today.plusDays(windowDays - 1))) {
+            throw new IllegalArgumentException("검색 가능한 기간은 오늘부터 " + windowDays + "일 이내입니다.");
+        }
+        if (campFacsType != null && (campFacsType < 1 || campFacsType > FACILITY_TYPE_COUNT)) {
+            throw new IllegalArgumentException("잘못된 시설 유형입니다: " + campFacsType);
+        }
+
+        ensureLoaded(campIds, today);
+
+        return campIds.parallelStream()
+                .filter(campId -> {
+                    CampAvailability campAvailability = camps.get(campId);
+                    return campAvailability != null && campAvailability.isAvailable(campFacsType, entryDate, leavingDate);
+                })
+                .collect(Collectors.toList());
+    }
+
+    private void ensureLoaded(List<Long> campIds, LocalDate today) {
+        List<Long> missing = new ArrayList<>();
+        List<CampAvailability> stale = new ArrayList<>();
+        long nowMillis = now();
+
+        for (Long campId : campIds) {
+            CampAvailability campAvailability = camps.get(campId);
+            if (campAvailability == null) {
+                missing.add(campId);
+            } else if (campAvailability.isStale(nowMillis, refreshMillis, today)
+                    && campAvailability.refreshing.compareAndSet(false, true)) {
+                stale.add(campAvailability);
+            }
+        }
+
+        for (int from = 0; from < missing.size(); from += LOAD_CHUNK_SIZE) {
+            loadAll(missing.subList(from, Math.min(from + LOAD_CHUNK_SIZE, missing.size())));
+        }
+        for (int from = 0; from < stale.size(); from += LOAD_CHUNK_SIZE) {
+            refreshAllAsync(stale.subList(from, Math.min(from + LOAD_CHUNK_SIZE, stale.size())));
+        }
+    }
+
+    // 예약 확정/취소로 바뀐 수량 반영 (트랜잭션 안이면 커밋된 뒤에 반영)
+    public void applyChange(long campId, int campFacsType, LocalDate entryDate, LocalDate leavingDate, int changeCount) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyNow(campId, campFacsType, entryDate, leavingDate, changeCount);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyNow(campId, campFacsType, entryDate, leavingDate, changeCount);
+            }
+        });
+    }
+
+    private void applyNow(long campId, int campFacsType, LocalDate entryDate, LocalDate leavingDate, int changeCount) {
+        // 아직 만들지 않은 캠핑장은 처음 조회할 때 DB에서 읽으므로 무시
+        CampAvailability campAvailability = camps.get(campId);
+        if (campAvailability != null) {
+            campAvailability.add(campFacsType, entryDate, leavingDate, changeCount);
+        }
+    }
+
+    private Optional<CampAvailability> load(long campId) {
+        Optional<Camping> camping = campingRepository.findById(campId);
+        if (camping.isEmpty()) {
+            return Optional.empty();
+        }
+
+        LocalDate startDate = today();
+        LocalDate endDate = startDate.plusDays(windowDays - 1);
+        List<Availability> availabilities = availabilityRepository.findByCampIdAndDateBetween(campId, startDate, endDate);
+
+        CampAvailability campAvailability = CampAvailability.build(camping.get(), availabilities, startDate, windowDays, now());
+        camps.put(campId, campAvailability);
+        return Optional.of(campAvailability);
+    }
+
+    // 캠핑장 여러 개를 쿼리 두 번으로 적재하고, 적재된 캠핑장 ID를 반환
+    private Set<Long> loadAll(List<Long> campIds) {
+        LocalDate startDate = today();
+        LocalDate endDate = startDate.plusDays(windowDays - 1);
+
+        Map<Long, List<Availability>> availabilitiesByCamp = availabilityRepository.findByCampIdInAndDateBetween(campIds, startDate, endDate)
+                .stream()
+                .collect(Collectors.groupingBy(Availability::getCampId));
+
+        Set<Long> loaded = new HashSet<>();
+        long loadedAtMillis = now();
+        for (Camping camping : campingRepository.findAllById(campIds)) {
+            List<Availability> availabilities = availabilitiesByCamp.getOrDefault(camping.getCampId(), List.of());
+            camps.put(camping.getCampId(), CampAvailability.build(camping, availabilities, startDate, windowDays, loadedAtMillis));
+            loaded.add(camping.getCampId());
+        }
+        return loaded;
+    }
+
+    private void refreshAllAsync(List<CampAvailability> stale) {
+        List<CampAvailability> targets = new ArrayList<>(stale);
+        List<Long> campIds = targets.stream().map(target -> target.campId).collect(Collectors.toList());
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    Set<Long> loaded = loadAll(campIds);
+                    campIds.stream().filter(campId -> !loaded.contains(campId)).forEach(camps::remove);
+                } catch (RuntimeException e) {
+                    log.warn("잔여 수량 인덱스 일괄 갱신 실패: count={}", campIds.size(), e);
+                } finally {
+                    targets.forEach(target -> target.refreshing.set(false));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            targets.forEach(target -> target.refreshing.set(false));
+        }
+    }
+
+    private void refreshAsync(long campId, CampAvailability current) {
+        if (!current.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    if (load(campId).isEmpty()) {
+                        camps.remove(campId);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("잔여 수량 인덱스 갱신 실패: campId={}", campId, e);
+                } finally {
+                    current.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            current.refreshing.set(false);
+        }
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZONE_ID);
+    }
+
+    private static long now() {
+        return System.currentTimeMillis();
+    }
+
+    /*
+     * 캠핑장 하나의 잔여 수량, remaining[(시설 유형 - 1) * days + (날짜 - startEpochDay)]
+     * soldOut은 같은 배치의 마감 여부 비트셋, soldOut[(시설 유형 - 1) * words + day / 64]의 (day % 64)번째 비트
+     */
+    static final class CampAvailability {
+
+        private final long campId;
+        private final long startEpochDay;
+        private final int days;
+        private final int words;
+        private final short[] remaining;
+        private final long[] soldOut;
+        private final long loadedAtMillis;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private CampAvailability(long campId, long startEpochDay, int days, short[] remaining, long loadedAtMillis) {
+            this.campId = campId;
+            this.startEpochDay = startEpochDay;
+            this.days = days;
+            this.words = (days + Long.SIZE - 1) / Long.SIZE;
+            this.remaining = remaining;
+            this.soldOut = new long[FACILITY_TYPE_COUNT * words];
+            this.loadedAtMillis = loadedAtMillis;
+
+            for (int type = 1; type <= FACILITY_TYPE_COUNT; type++) {
+                for (int day = 0; day < days; day++) {
+                    updateSoldOut(type, day);
+                }
+            }
+        }
+
+        static CampAvailability build(Camping camping, List<Availability> availabilities, LocalDate startDate, int days, long loadedAtMillis) {
+            short[] remaining = new short[FACILITY_TYPE_COUNT * days];
+            for (int type = 1; type <= FACILITY_TYPE_COUNT; type++) {
+                short siteCnt = (short) camping.getSiteCnt(type);
+                for (int day = 0; day < days; day++) {
+                    remaining[(type - 1) * days + day] = siteCnt;
+                }
+            }
+
+            long startEpochDay = startDate.toEpochDay();
+            for (Availability availability : availabilities) {
+                int day = (int) (availability.getDate().toEpochDay() - startEpochDay);
+                if (day < 0 || day >= days) {
+                    continue;
+                }
+                for (int type = 1; type <= FACILITY_TYPE_COUNT; type++) {
+                    remaining[(type - 1) * days + day] = (short) availability.getSiteAvail(type);
+                }
+            }
+
+            return new CampAvailability(camping.getCampId(), startEpochDay, days, remaining, loadedAtMillis);
+        }
+
+        // 갱신 주기가 지났거나 날짜가 바뀌어 조회 기간이 밀린 경우
+        boolean isStale(long nowMillis, long refreshMillis, LocalDate today) {
+            return nowMillis - loadedAtMillis >= refreshMillis || today.toEpochDay() != startEpochDay;
+        }
+
+        synchronized void add(int campFacsType, LocalDate entryDate, LocalDate leavingDate, int changeCount) {
+            if (campFacsType < 1 || campFacsType > FACILITY_TYPE_COUNT) {
+                return;
+            }
+            int from = Math.max(0, (int) (entryDate.toEpochDay() - startEpochDay));
+            int to = Math.min(days - 1, (int) (leavingDate.toEpochDay() - startEpochDay));
+            int offset = (campFacsType - 1) * days;
+            for (int day = from; day <= to; day++) {
+                remaining[offset + day] += (short) changeCount;
+                updateSoldOut(campFacsType, day);
+            }
+        }
+
+        // campFacsType이 null이면 어느 한 시설 유형이라도 구간 전체가 비어 있으면 가능
+        synchronized boolean isAvailable(Integer campFacsType, LocalDate entryDate, LocalDate leavingDate) {
+            int from = (int) (entryDate.toEpochDay() - startEpochDay);
+            int to = (int) (leavingDate.toEpochDay() - startEpochDay);
+            if (from < 0 || to >= days || from > to) {
+                return false;
+            }
+
+            if (campFacsType != null) {
+                return !anySoldOut(campFacsType, from, to);
+            }
+            for (int type = 1; type <= FACILITY_TYPE_COUNT; type++) {
+                if (!anySoldOut(type, from, to)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean anySoldOut(int campFacsType, int from, int to) {
+            int offset = (campFacsType - 1) * words;
+            int fromWord = from / Long.SIZE;
+            int toWord = to / Long.SIZE;
+            for (int word = fromWord; word <= toWord; word++) {
+                long mask = -1L;
+                if (word == fromWord) {
+                    mask &= -1L << (from % Long.SIZE);
+                }
+                if (word == toWord) {
+                    mask &= -1L >>> (Long.SIZE - 1 - to % Long.SIZE);
+                }
+                if ((soldOut[offset + word] & mask) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void updateSoldOut(int campFacsType, int day) {
+            int index = (campFacsType - 1) * words + day / Long.SIZE;
+            long bit = 1L << (day % Long.SIZE);
+            if (remaining[(campFacsType - 1) * days + day] <= 0) {
+                soldOut[index] |= bit;
+            } else {
+                soldOut[index] &= ~bit;
+            }
+        }
+
+        synchronized List<DailyAvailabilityDTO> snapshot(LocalDate startDate, LocalDate endDate) {
+            int from = Math.max(0, (int) (startDate.toEpochDay() - startEpochDay));
+            int to = Math.min(days - 1, (int) (endDate.toEpochDay() - startEpochDay));
+
+            List<DailyAvailabilityDTO> result = new ArrayList<>(Math.max(0, to - from + 1));
+            for (int day = from; day <= to; day++) {
+                result.add(DailyAvailabilityDTO.builder()
+                        .date(LocalDate.ofEpochDay(startEpochDay + day))
+                        .generalSiteAvail(remaining[day])
+                        .carSiteAvail(remaining[days + day])
+                        .glampingSiteAvail(remaining[2 * days + day])
+                        .caravanSiteAvail(remaining[3 * days + day])
+                        .build());
+            }
+            return result;
+        }
+    }
+}
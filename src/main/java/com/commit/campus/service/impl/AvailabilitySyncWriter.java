@@ -0,0 +1,97 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.repository.AvailabilityRepository;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/*
+ * Redis 재고 카운터에서 처리된 변경분을 availability 테이블에 비동기로 반영
+ * - 하한(0 이상)은 Redis가 이미 지켰으므로 조건 없이 더한다. 여러 스레드에서 복구가 차감보다 먼저 반영돼도 합계는 맞는다.
+ * - 반영된 날짜 수가 구간과 다르면 availability가 Redis와 어긋난 것이므로 에러 로그와
+ *   reservation.availability.sync.mismatch 메트릭으로 알린다.
+ * - 넘겨받을 때 inventory:{campId}:pending을 늘리고 DB 반영을 마치면 줄인다. 0보다 크면 availability가 아직
+ *   Redis를 따라오지 못한 것이므로 RedisInventoryServiceImpl은 그 캠핑장의 카운터를 DB에서 적재하지 않는다.
+ *   서버가 죽어 줄이지 못한 값은 pending-ttl 뒤에 사라진다.
+ */
+@Slf4j
+@Component
+public class AvailabilitySyncWriter {
+
+    private final AvailabilityRepository availabilityRepository;
+    private final RedisCommands<String, String> redisCommands;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor syncExecutor;
+    private final long pendingTtlMillis;
+    private final Counter mismatchCounter;
+
+    @Autowired
+    public AvailabilitySyncWriter(AvailabilityRepository availabilityRepository,
+                                  RedisCommands<String, String> redisCommands,
+                                  PlatformTransactionManager transactionManager,
+                                  @Qualifier("availabilitySyncExecutor") Executor syncExecutor,
+                                  @Value("${reservation.inventory.redis.pending-ttl-millis:300000}") long pendingTtlMillis,
+                                  MeterRegistry meterRegistry) {
+        this.availabilityRepository = availabilityRepository;
+        this.redisCommands = redisCommands;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.syncExecutor = syncExecutor;
+        this.pendingTtlMillis = pendingTtlMillis;
+        this.mismatchCounter = Counter.builder("reservation.availability.sync.mismatch").register(meterRegistry);
+    }
+
+    // 재고 카운터와 같은 슬롯에 두기 위해 campId를 해시 태그로 사용
+    public static String pendingKey(long campId) {
+        return "inventory:{" + campId + "}:pending";
+    }
+
+    // 큐가 가득 차면 RejectedExecutionException(TaskRejectedException)을 그대로 던짐
+    public void applyAsync(long campId, int campFacsType, LocalDate entryDate, LocalDate leavingDate, int changeCount) {
+        String pendingKey = pendingKey(campId);
+        redisCommands.incr(pendingKey);
+        redisCommands.pexpire(pendingKey, pendingTtlMillis);
+
+        try {
+            syncExecutor.execute(() -> apply(campId, campFacsType, entryDate, leavingDate, changeCount));
+        } catch (RejectedExecutionException e) {
+            redisCommands.decr(pendingKey);
+            throw e;
+        }
+    }
+
+    private void apply(long campId, int campFacsType, LocalDate entryDate, LocalDate leavingDate, int changeCount) {
+        try {
+            Integer updatedCount = transactionTemplate.execute(status ->
+                    availabilityRepository.addStayAvail(campId, campFacsType, entryDate, leavingDate, changeCount));
+
+            long expectedCount = ChronoUnit.DAYS.between(entryDate, leavingDate) + 1;
+            if (updatedCount == null || updatedCount != expectedCount) {
+                mismatchCounter.increment();
+                log.error("availability 동기화 누락: campId={}, campFacsType={}, {} ~ {}, 변경량={}, 변경된 날짜 수={}/{}",
+                        campId, campFacsType, entryDate, leavingDate, changeCount, updatedCount, expectedCount);
+                return;
+            }
+
+            log.info("availability 동기화 완료: campId={}, campFacsType={}, {} ~ {}, 변경량={}, 변경된 날짜 수={}",
+                    campId, campFacsType, entryDate, leavingDate, changeCount, updatedCount);
+        } catch (RuntimeException e) {
+            mismatchCounter.increment();
+            log.error("availability 동기화 실패: campId={}, campFacsType={}, {} ~ {}, 변경량={}",
+                    campId, campFacsType, entryDate, leavingDate, changeCount, e);
+        } finally {
+            redisCommands.decr(pendingKey(campId));
+        }
+    }
+}
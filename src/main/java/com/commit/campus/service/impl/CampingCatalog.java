@@ -0,0 +1,134 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.entity.Camping;
+import com.commit.campus.repository.CampingRepository;
+import io.lettuce.core.api.sync.RedisCommands;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/*
+ * 캠핑장 목록 메모리 카탈로그
+ * - 캠핑장, 시설, 요약(찜한 수, 리뷰 수)을 쿼리 하나로 읽어 CampingCatalogSnapshot을 만들고 참조 하나로 통째로 바꿔 끼운다.
+ *   조회는 바꾸기 전 또는 후 한 벌만 보므로 잠금이 없고, 목록 조회는 DB를 거치지 않는다.
+ * - 버전: Redis camping:catalog:version. 캠핑장을 바꾼 서버가 커밋 뒤 올리고,
+ *   서버마다 check-interval-millis 주기로 읽어 자기 카탈로그 버전과 다르면 다시 만든다.
+ * - 찜한 수, 리뷰 수처럼 버전을 올리지 않는 변경은 max-age-millis가 지나면 다시 만들어 반영한다 (Redis 장애 시에도 이 주기로 갱신).
+ * - 처음 만들기 전이거나 비활성화(enabled=false)면 snapshot()이 비어 있어 DB에서 조회한다.
+ */
+@Slf4j
+@Component
+public class CampingCatalog {
+
+    static final String VERSION_KEY = "camping:catalog:version";
+
+    private final CampingRepository campingRepository;
+    private final RedisCommands<String, String> redisCommands;
+    private final Executor refreshExecutor;
+    private final boolean enabled;
+    private final long maxAgeMillis;
+
+    private volatile CampingCatalogSnapshot snapshot;
+    // 이 서버에서 바꾼 뒤 아직 다시 만들지 않음 (버전을 올리지 못했어도 이 서버는 바로 반영)
+    private volatile boolean changed;
+
+    @Autowired
+    public CampingCatalog(CampingRepository campingRepository,
+                          RedisCommands<String, String> redisCommands,
+                          @Qualifier("campingCatalogExecutor") Executor refreshExecutor,
+                          @Value("${camping.catalog.enabled:true}") boolean enabled,
+                          @Value("${camping.catalog.max-age-millis:300000}") long maxAgeMillis) {
+        this.campingRepository = campingRepository;
+        this.redisCommands = redisCommands;
+        this.refreshExecutor = refreshExecutor;
+        this.enabled = enabled;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    public Optional<CampingCatalogSnapshot> snapshot() {
+        return enabled ? Optional.ofNullable(snapshot) : Optional.empty();
+    }
+
+    // 기동 직후 처음 만들고, 이후에는 버전이 바뀌었거나 오래된 경우에만 다시 만든다
+    @Scheduled(fixedDelayString = "${camping.catalog.check-interval-millis:5000}")
+    public synchronized void refreshIfChanged() {
+        if (!enabled) {
+            return;
+        }
+
+        Long version = readVersion();
+        CampingCatalogSnapshot current = snapshot;
+        if (current != null && !changed
+                && (version == null || version == current.getVersion())
+                && System.currentTimeMillis() - current.getLoadedAtMillis() < maxAgeMillis) {
+            return;
+        }
+
+        // 읽는 동안 들어온 변경은 다음 점검에서 다시 반영되도록 버전과 표시를 먼저 확정
+        boolean wasChanged = changed;
+        changed = false;
+        long targetVersion = version != null ? version : current != null ? current.getVersion() : 0;
+        try {
+            long startMillis = System.currentTimeMillis();
+            List<Camping> campings = campingRepository.findAllForCatalog();
+            snapshot = CampingCatalogSnapshot.build(campings, targetVersion, System.currentTimeMillis());
+            log.info("캠핑장 카탈로그 갱신: version={}, count={}, elapsedMillis={}",
+                    targetVersion, campings.size(), System.currentTimeMillis() - startMillis);
+        } catch (RuntimeException e) {
+            changed = changed || wasChanged;
+            log.warn("캠핑장 카탈로그 갱신 실패, 기존 카탈로그로 응답: version={}", targetVersion, e);
+        }
+    }
+
+    // 캠핑장을 추가/수정/삭제한 뒤 호출 (트랜잭션 안이면 커밋된 뒤에), 모든 서버가 카탈로그를 다시 만든다
+    public void markChanged() {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishChange();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publishChange();
+            }
+        });
+    }
+
+    private void publishChange() {
+        changed = true;
+        try {
+            redisCommands.incr(VERSION_KEY);
+        } catch (RuntimeException e) {
+            log.warn("캠핑장 카탈로그 버전 갱신 실패, 다른 서버는 max-age 주기에 반영", e);
+        }
+        try {
+            refreshExecutor.execute(this::refreshIfChanged);
+        } catch (RejectedExecutionException e) {
+            // 이미 대기 중인 재생성이 changed 표시를 보고 반영
+        }
+    }
+
+    private Long readVersion() {
+        try {
+            String version = redisCommands.get(VERSION_KEY);
+            return version == null ? 0L : Long.parseLong(version);
+        } catch (RuntimeException e) {
+            log.warn("캠핑장 카탈로그 버전 조회 실패", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.dto.CampingFilterDTO;
+import com.commit.campus.entity.Camping;
+import com.commit.campus.repository.CampingRepositoryCustom;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/*
+ * 캠핑장 목록 조회용 메모리 카탈로그 한 벌 (만든 뒤에는 바뀌지 않는다)
+ * - 캠핑장은 campId 순서로 배열에 두고 배열 위치(ordinal)로 가리킨다.
+ * - 도, 시군구, 업종(쉼표로 나눈 항목별), 반려동물 동반 여부 인덱스는 값마다 ordinal 비트셋(long[])이라 조건은 long 단위 AND로 합친다.
+ * - 사이트 수 인덱스는 시설 유형마다 사이트 수 오름차순 ordinal 배열이라 'n개 이상'은 이진 탐색 뒤 끝까지 읽는다.
+ * - 정렬 필드마다 값 순위(int[])와 오름차순 순서를 미리 만들어 둔다.
+ *   정렬 필드가 하나면 미리 만든 순서를 걸러 읽고, 여러 개면 걸러진 캠핑장만 순위로 정렬한다 (요청 중 값 비교 없음).
+ * - 결과는 DB 조회(CampingRepositoryCustomImpl)와 같은 규칙을 따른다: NULL은 가장 작은 값, 마지막은 campId,
+ *   찜한 수/리뷰 수 정렬은 요약 행이 있는 캠핑장만 (DB의 INNER JOIN과 같음).
+ *   다만 이름은 MySQL collation이 아닌 Unicode 순서로 비교하고, 업종은 쉼표로 나눈 항목 안에서 포함 검색한다.
+ * - 담긴 Camping 엔티티는 여러 요청이 함께 읽으므로 수정하면 안 된다.
+ */
+public final class CampingCatalogSnapshot implements CampingRepositoryCustom {
+
+    private static final int FACILITY_TYPE_COUNT = 4;
+
+    @SuppressWarnings("unchecked")
+    private static final Comparator<Object> VALUE_ORDER = Comparator.nullsFirst((a, b) -> ((Comparable<Object>) a).compareTo(b));
+
+    private final long version;
+    private final long loadedAtMillis;
+    private final Camping[] campings;
+    private final long[] campIds;
+    private final int words;
+
+    private final Map<String, long[]> byDoName;
+    private final Map<String, long[]> bySigunguName;
+    private final Map<String, long[]> byInduty;
+    private final Map<String, long[]> byPetAccess;
+    private final long[] withSummary;
+
+    // [시설 유형 - 1]: 사이트 수 오름차순 ordinal과 그 사이트 수 (사이트 수가 NULL인 캠핑장은 제외)
+    private final int[][] ordinalsBySiteCnt = new int[FACILITY_TYPE_COUNT][];
+    private final int[][] sortedSiteCnts = new int[FACILITY_TYPE_COUNT][];
+
+    // 정렬 필드별 ordinal의 값 순위 (같은 값은 같은 순위), (값, campId) 오름차순 ordinal
+    private final Map<String, int[]> ranks = new HashMap<>();
+    private final Map<String, int[]> ascendingOrders = new HashMap<>();
+
+    private CampingCatalogSnapshot(List<Camping> campings, long version, long loadedAtMillis) {
+        this.version = version;
+        this.loadedAtMillis = loadedAtMillis;
+        this.campings = campings.stream()
+                .sorted(Comparator.comparingLong(Camping::getCampId))
+                .toArray(Camping[]::new);
+        this.campIds = Arrays.stream(this.campings).mapToLong(Camping::getCampId).toArray();
+        this.words = (this.campings.length + Long.SIZE - 1) / Long.SIZE;
+
+        this.byDoName = index(camping -> List.of(nullToEmpty(camping.getDoName())));
+        this.bySigunguName = index(camping -> List.of(nullToEmpty(camping.getSigunguName())));
+        this.byPetAccess = index(camping -> List.of(nullToEmpty(camping.getPetAccess())));
+        this.byInduty = index(camping -> indutyEntries(camping.getInduty()));
+        this.withSummary = new long[words];
+        for (int ordinal = 0; ordinal < this.campings.length; ordinal++) {
+            if (this.campings[ordinal].getCampingSummary() != null) {
+                withSummary[ordinal / Long.SIZE] |= 1L << (ordinal % Long.SIZE);
+            }
+        }
+
+        for (int type = 1; type <= FACILITY_TYPE_COUNT; type++) {
+            int facsType = type;
+            int[] ordinals = IntStream.range(0, this.campings.length)
+                    .filter(ordinal -> siteCnt(this.campings[ordinal], facsType) != null)
+                    .boxed()
+                    .sorted(Comparator.comparingInt(ordinal -> siteCnt(this.campings[ordinal], facsType)))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            ordinalsBySiteCnt[type - 1] = ordinals;
+            sortedSiteCnts[type - 1] = Arrays.stream(ordinals).map(ordinal -> siteCnt(this.campings[ordinal], facsType)).toArray();
+        }
+
+        int[] identity = IntStream.range(0, this.campings.length).toArray();
+        ranks.put("campId", identity);
+        ascendingOrders.put("campId", identity);
+        for (String property : SORT_PROPERTIES) {
+            if (!"campId".equals(property)) {
+                rank(property);
+            }
+        }
+    }
+
+    // 캠핑장 목록으로 카탈로그를 만든다 (요약, 시설은 미리 읽어 둔 엔티티여야 한다)
+    static CampingCatalogSnapshot build(List<Camping> campings, long version, long loadedAtMillis) {
+        return new CampingCatalogSnapshot(campings, version, loadedAtMillis);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getLoadedAtMillis() {
+        return loadedAtMillis;
+    }
+
+    public int size() {
+        return campings.length;
+    }
+
+    @Override
+    public List<Camping> findCampings(CampingFilterDTO filter, Sort sort, int offset, int limit) {
+        return slice(ordered(matching(filter), validate(sort)), offset, limit);
+    }
+
+    @Override
+    public long countCampings(CampingFilterDTO filter) {
+        long count = 0;
+        for (long word : matching(filter)) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public List<Long> findCampIds(CampingFilterDTO filter, Sort sort) {
+        return Arrays.stream(ordered(matching(filter), validate(sort)))
+                .mapToObj(ordinal -> campIds[ordinal])
+                .toList();
+    }
+
+    @Override
+    public List<Camping> findCampingsAfter(CampingFilterDTO filter, Sort sort, List<Object> lastValues, Long lastCampId, int limit) {
+        List<Sort.Order> orders = validate(sort);
+        if (lastCampId != null && lastValues.size() != orders.size() - 1) {
+            throw new IllegalArgumentException("정렬 필드와 마지막 값의 개수가 다릅니다: " + lastValues.size());
+        }
+
+        int[] ordered = ordered(matching(filter), orders);
+        int from = lastCampId == null ? 0 : firstAfter(ordered, orders, lastValues, lastCampId);
+        return slice(ordered, from, limit);
+    }
+
+    // 요청한 순서대로, 카탈로그에 없는 ID는 건너뛴다
+    public List<Camping> findAllById(List<Long> ids) {
+        List<Camping> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            int ordinal = id == null ? -1 : Arrays.binarySearch(campIds, id);
+            if (ordinal >= 0) {
+                result.add(campings[ordinal]);
+            }
+        }
+        return result;
+    }
+
+    // 조건에 맞는 캠핑장 비트셋
+    private long[] matching(CampingFilterDTO filter) {
+        long[] matching = new long[words];
+        Arrays.fill(matching, -1L);
+        if (campings.length % Long.SIZE != 0) {
+            matching[words - 1] = (1L << (campings.length % Long.SIZE)) - 1;
+        }
+        if (filter == null) {
+            return matching;
+        }
+
+        // 잘못된 시설 유형은 다른 조건과 관계없이 거부
+        List<Integer> facsTypes = filter.getFacsTypes() == null ? List.of() : new ArrayList<>(new TreeSet<>(filter.getFacsTypes()));
+        for (int facsType : facsTypes) {
+            if (facsType < 1 || facsType > FACILITY_TYPE_COUNT) {
+                throw new IllegalArgumentException("잘못된 시설 유형입니다: " + facsType);
+            }
+        }
+
+        if (StringUtils.hasText(filter.getDoName())) {
+            and(matching, byDoName.get(filter.getDoName()));
+        }
+        if (StringUtils.hasText(filter.getSigunguName())) {
+            and(matching, bySigunguName.get(filter.getSigunguName()));
+        }
+        if (StringUtils.hasText(filter.getPetAccess())) {
+            and(matching, byPetAccess.get(filter.getPetAccess()));
+        }
+        if (filter.getGlampingSiteCnt() != null) {
+            and(matching, atLeast(3, filter.getGlampingSiteCnt()));
+        }
+        if (filter.getCaravanSiteCnt() != null) {
+            and(matching, atLeast(4, filter.getCaravanSiteCnt()));
+        }
+        if (StringUtils.hasText(filter.getInduty())) {
+            and(matching, indutyContaining(filter.getInduty()));
+        }
+        for (int facsType : facsTypes) {
+            and(matching, atLeast(facsType, 1));
+        }
+        return matching;
+    }
+
+    // 업종 항목이 정확히 같으면 인덱스 하나, 아니면 값을 포함하는 항목들의 합집합
+    private long[] indutyContaining(String induty) {
+        long[] exact = byInduty.get(induty);
+        if (exact != null) {
+            return exact;
+        }
+        long[] bits = new long[words];
+        byInduty.forEach((entry, entryBits) -> {
+            if (entry.contains(induty)) {
+                for (int word = 0; word < words; word++) {
+                    bits[word] |= entryBits[word];
+                }
+            }
+        });
+        return bits;
+    }
+
+    // 해당 시설 유형 사이트가 count개 이상인 캠핑장
+    private long[] atLeast(int facsType, int count) {
+        int[] siteCnts = sortedSiteCnts[facsType - 1];
+        int[] ordinals = ordinalsBySiteCnt[facsType - 1];
+
+        int low = 0;
+        int high = siteCnts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (siteCnts[mid] < count) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        long[] bits = new long[words];
+        for (int i = low; i < ordinals.length; i++) {
+            bits[ordinals[i] / Long.SIZE] |= 1L << (ordinals[i] % Long.SIZE);
+        }
+        return bits;
+    }
+
+    // 정렬 필드 하나(campId와 같은 방향)면 미리 만든 순서를 걸러 읽고, 아니면 걸러진 캠핑장을 순위로 정렬
+    private int[] ordered(long[] matching, List<Sort.Order> orders) {
+        if (orders.stream().anyMatch(order -> "bookmarkCnt".equals(order.getProperty()) || "reviewCnt".equals(order.getProperty()))) {
+            and(matching, withSummary);
+        }
+
+        Sort.Order first = orders.get(0);
+        if (orders.size() <= 2 && first.getDirection() == orders.get(orders.size() - 1).getDirection()) {
+            int[] ascending = ascendingOrders.get(first.getProperty());
+            int[] result = new int[campings.length];
+            int count = 0;
+            for (int i = 0; i < ascending.length; i++) {
+                int ordinal = ascending[first.isDescending() ? ascending.length - 1 - i : i];
+                if (isSet(matching, ordinal)) {
+                    result[count++] = ordinal;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        Comparator<Integer> comparator = null;
+        for (Sort.Order order : orders) {
+            int[] rank = ranks.get(order.getProperty());
+            Comparator<Integer> byRank = Comparator.comparingInt(ordinal -> rank[ordinal]);
+            if (order.isDescending()) {
+                byRank = byRank.reversed();
+            }
+            comparator = comparator == null ? byRank : comparator.thenComparing(byRank);
+        }
+        return IntStream.range(0, campings.length)
+                .filter(ordinal -> isSet(matching, ordinal))
+                .boxed()
+                .sorted(comparator)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    // 마지막 행(lastValues..., lastCampId) 바로 다음 위치 (정렬된 순서에서 이진 탐색)
+    private int firstAfter(int[] ordered, List<Sort.Order> orders, List<Object> lastValues, long lastCampId) {
+        int low = 0;
+        int high = ordered.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareToLast(ordered[mid], orders, lastValues, lastCampId) > 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private int compareToLast(int ordinal, List<Sort.Order> orders, List<Object> lastValues, long lastCampId) {
+        Camping camping = campings[ordinal];
+        for (int i = 0; i < orders.size(); i++) {
+            Sort.Order order = orders.get(i);
+            int compared = i == orders.size() - 1
+                    ? Long.compare(camping.getCampId(), lastCampId)
+                    : VALUE_ORDER.compare(CampingServiceImpl.sortValue(camping, order.getProperty()), lastValues.get(i));
+            if (compared != 0) {
+                return order.isDescending() ? -compared : compared;
+            }
+        }
+        return 0;
+    }
+
+    private List<Camping> slice(int[] ordered, int from, int limit) {
+        int to = (int) Math.min(ordered.length, (long) from + limit);
+        List<Camping> result = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            result.add(campings[ordered[i]]);
+        }
+        return result;
+    }
+
+    // DB 조회와 같은 정렬 조건만 허용
+    private static List<Sort.Order> validate(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        for (Sort.Order order : orders) {
+            if (!SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("지원하지 않는 정렬 필드입니다: " + order.getProperty());
+            }
+        }
+        if (orders.isEmpty() || !"campId".equals(orders.get(orders.size() - 1).getProperty())) {
+            throw new IllegalArgumentException("정렬은 campId로 끝나야 합니다: " + sort);
+        }
+        return orders;
+    }
+
+    // 값 오름차순(같은 값은 campId 순)으로 정렬해 순위와 순서를 기록
+    private void rank(String property) {
+        int[] ascending = IntStream.range(0, campings.length)
+                .boxed()
+                .sorted(Comparator.comparing(ordinal -> CampingServiceImpl.sortValue(campings[ordinal], property), VALUE_ORDER))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        int[] rank = new int[campings.length];
+        for (int i = 1; i < ascending.length; i++) {
+            Object previous = CampingServiceImpl.sortValue(campings[ascending[i - 1]], property);
+            Object current = CampingServiceImpl.sortValue(campings[ascending[i]], property);
+            rank[ascending[i]] = rank[ascending[i - 1]] + (VALUE_ORDER.compare(previous, current) == 0 ? 0 : 1);
+        }
+        ranks.put(property, rank);
+        ascendingOrders.put(property, ascending);
+    }
+
+    private Map<String, long[]> index(Function<Camping, Collection<String>> keys) {
+        Map<String, long[]> index = new HashMap<>();
+        for (int ordinal = 0; ordinal < campings.length; ordinal++) {
+            for (String key : keys.apply(campings[ordinal])) {
+                if (!key.isEmpty()) {
+                    index.computeIfAbsent(key, k -> new long[words])[ordinal / Long.SIZE] |= 1L << (ordinal % Long.SIZE);
+                }
+            }
+        }
+        return index;
+    }
+
+    // 없는 값의 인덱스(null)는 빈 집합
+    private static void and(long[] matching, long[] bits) {
+        for (int word = 0; word < matching.length; word++) {
+            matching[word] &= bits == null ? 0 : bits[word];
+        }
+    }
+
+    private static boolean isSet(long[] bits, int ordinal) {
+        return (bits[ordinal / Long.SIZE] & (1L << (ordinal % Long.SIZE))) != 0;
+    }
+
+    private static Collection<String> indutyEntries(String induty) {
+        Collection<String> entries = new LinkedHashSet<>();
+        if (induty != null) {
+            for (String entry : induty.split(",")) {
+                entries.add(entry.trim());
+            }
+        }
+        return entries;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    // Camping.getSiteCnt와 같은 대응, 값이 없으면 null (DB 조건 'cnt >= n'에 걸리지 않음)
+    private static Integer siteCnt(Camping camping, int facsType) {
+        return switch (facsType) {
+            case 1 -> camping.getGeneralSiteCnt();
+            case 2 -> camping.getCarSiteCnt();
+            case 3 -> camping.getGlampingSiteCnt();
+            case 4 -> camping.getCaravanSiteCnt();
+            default -> throw new IllegalArgumentException("잘못된 시설 유형입니다: " + facsType);
+        };
+    }
+}
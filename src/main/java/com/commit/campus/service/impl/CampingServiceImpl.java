@@ -2,29 +2,55 @@ package com.commit.campus.service.impl;
 
 import com.commit.campus.dto.BookmarkedCampingDTO;
 import com.commit.campus.dto.CampingDTO;
+import com.commit.campus.dto.CampingFilterDTO;
+import com.commit.campus.dto.CampingPageDTO;
 import com.commit.campus.dto.CampingFacilitiesDTO;
+import com.commit.campus.dto.DailyAvailabilityDTO;
 import com.commit.campus.entity.Camping;
 import com.commit.campus.entity.CampingFacilities;
 import com.commit.campus.entity.CampingSummary;
 import com.commit.campus.repository.CampingRepository;
+import com.commit.campus.repository.CampingRepositoryCustom;
+import com.commit.campus.repository.CampingSummaryRepository;
 import com.commit.campus.service.CampingService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class CampingServiceImpl implements CampingService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private CampingRepository campingRepository;
 
+    @Autowired
+    private CampingSummaryRepository campingSummaryRepository;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private CampingCatalog campingCatalog;
+
     @Override
     public List<Camping> getAllCampings() {
         log.info("모든 캠핑장 정보를 조회합니다.");
@@ -32,20 +58,73 @@ public class CampingServiceImpl implements CampingService {
     }
 
     @Override
+    @Transactional
     public Camping createCamping(Camping camping) {
         log.info("새로운 캠핑장을 생성합니다: {}", camping.getCampName());
-        return campingRepository.save(camping);
+        Camping saved = campingRepository.save(camping);
+        // 찜한 수, 리뷰 수 정렬은 요약 행과 INNER JOIN하므로 0으로 함께 만든다
+        campingSummaryRepository.save(new CampingSummary(saved.getCampId(), 0, 0));
+        campingCatalog.markChanged();
+        return saved;
     }
 
     @Override
-    public List<Camping> getCampings(String doName, String sigunguName, Integer glampingSiteCnt, Integer caravanSiteCnt, int page, int size, String sort, String order) {
-        log.info("특정 조건으로 캠핑장 리스트를 조회합니다: 도명={}, 시군구명={}, 글램핑 사이트 수={}, 카라반 사이트 수={}, 페이지={}, 사이즈={}, 정렬={}, 순서={}",
-                doName, sigunguName, glampingSiteCnt, caravanSiteCnt, page, size, sort, order);
+    public List<Camping> getCampings(CampingFilterDTO filter, int page, int size, String sort, String order) {
+        log.info("특정 조건으로 캠핑장 리스트를 조회합니다: 조건={}, 페이지={}, 사이즈={}, 정렬={}, 순서={}", filter, page, size, sort, order);
         int offset = page * size;
-        List<Camping> campings = campingRepository.findCampings(doName, sigunguName, glampingSiteCnt, caravanSiteCnt, offset, size);
+        List<Camping> campings = listSource().findCampings(filter, getSort(sort, order), offset, size);
         log.info("조회된 캠핑장 수: {}", campings.size());
-        return campings.stream()
-                .sorted(getComparator(sort, order))
+        return campings;
+    }
+
+    @Override
+    public CampingPageDTO getCampingsAfter(CampingFilterDTO filter, String cursor, int size, String sort, String order) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1 이상 " + MAX_PAGE_SIZE + " 이하여야 합니다: " + size);
+        }
+        Sort campingSort = getSort(sort, order);
+        CampingCursor after = cursor == null || cursor.isEmpty() ? null : decodeCursor(cursor, campingSort);
+        log.info("커서 다음 캠핑장 리스트를 조회합니다: 조건={}, 커서={}, 사이즈={}, 정렬={}", filter, after, size, campingSort);
+
+        // 한 건 더 읽어 다음 페이지가 있는지 확인
+        List<Camping> campings = listSource().findCampingsAfter(filter, campingSort,
+                after != null ? after.values() : List.of(), after != null ? after.campId() : null, size + 1);
+
+        boolean hasMore = campings.size() > size;
+        List<Camping> pageCampings = hasMore ? campings.subList(0, size) : campings;
+        return CampingPageDTO.builder()
+                .campings(pageCampings)
+                .nextCursor(hasMore ? encodeCursor(pageCampings.get(size - 1), campingSort) : null)
+                .build();
+    }
+
+    @Override
+    public List<Camping> searchAvailableCampings(CampingFilterDTO filter, Integer campFacsType, LocalDate entryDate, LocalDate leavingDate,
+                                                 int page, int size, String sort, String order) {
+        log.info("날짜 조건으로 캠핑장 리스트를 조회합니다: 조건={}, 시설 유형={}, 입실일={}, 퇴실일={}, 페이지={}, 사이즈={}",
+                filter, campFacsType, entryDate, leavingDate, page, size);
+
+        // 정적 조건과 정렬은 카탈로그(없으면 DB)에서, 잔여 수량은 메모리 인덱스에서 거른 뒤 페이지를 자른다
+        Optional<CampingCatalogSnapshot> catalog = campingCatalog.snapshot();
+        List<Long> candidateIds = catalog.<CampingRepositoryCustom>map(snapshot -> snapshot).orElse(campingRepository)
+                .findCampIds(filter, getSort(sort, order));
+        List<Long> availableIds = availabilityIndex.filterAvailable(candidateIds, campFacsType, entryDate, leavingDate);
+        log.info("날짜 조건 후보 캠핑장 수: {}, 예약 가능 캠핑장 수: {}", candidateIds.size(), availableIds.size());
+
+        int offset = page * size;
+        if (offset >= availableIds.size()) {
+            return List.of();
+        }
+        List<Long> pageIds = availableIds.subList(offset, Math.min(offset + size, availableIds.size()));
+        if (catalog.isPresent()) {
+            return catalog.get().findAllById(pageIds);
+        }
+
+        Map<Long, Camping> campingsById = campingRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Camping::getCampId, Function.identity()));
+        return pageIds.stream()
+                .map(campingsById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
@@ -118,30 +197,120 @@ public class CampingServiceImpl implements CampingService {
                 .build();
     }
 
+    @Override
+    public Optional<List<DailyAvailabilityDTO>> getAvailabilityCalendar(Long campId, YearMonth month) {
+        return availabilityIndex.getDailyAvailability(campId, month.atDay(1), month.atEndOfMonth());
+    }
+
+    // 메모리 카탈로그가 준비되어 있으면 목록 조회는 DB를 거치지 않는다
+    private CampingRepositoryCustom listSource() {
+        return campingCatalog.snapshot().<CampingRepositoryCustom>map(snapshot -> snapshot).orElse(campingRepository);
+    }
+
     private CampingFacilitiesDTO convertToFacilitiesDTO(CampingFacilities facilities) {
         CampingFacilitiesDTO dto = new CampingFacilitiesDTO();
         BeanUtils.copyProperties(facilities, dto);
         return dto;
     }
 
-    private Comparator<Camping> getComparator(String sort, String order) {
-        Comparator<Camping> comparator;
+    // 정렬 필드는 쉼표로 여러 개 (예: bookmarkCnt,campName), 순서도 쉼표로 필드마다 지정하며 모자라면 마지막 순서를 쓴다
+    // 모르는 필드는 무시하고, 마지막에 campId를 붙여 같은 값이면 campId 순으로 고정해 페이지가 겹치지 않게 한다
+    private static Sort getSort(String sort, String order) {
+        String[] properties = sort.split(",");
+        String[] directions = order.split(",");
+        List<Sort.Order> orders = new ArrayList<>();
+        Sort.Direction direction = Sort.Direction.ASC;
 
-        switch (sort) {
-            case "campName":
-                comparator = Comparator.comparing(Camping::getCampName, Comparator.nullsLast(Comparator.naturalOrder()));
-                break;
-            case "createdDate":
-                comparator = Comparator.comparing(Camping::getCreatedDate, Comparator.nullsLast(Comparator.naturalOrder()));
-                break;
-            default:
-                comparator = Comparator.comparing(Camping::getCampId, Comparator.nullsLast(Comparator.naturalOrder()));
+        for (int i = 0; i < properties.length; i++) {
+            String property = properties[i].trim();
+            direction = "desc".equalsIgnoreCase(directions[Math.min(i, directions.length - 1)].trim())
+                    ? Sort.Direction.DESC : Sort.Direction.ASC;
+            if (!CampingRepository.SORT_PROPERTIES.contains(property)
+                    || orders.stream().anyMatch(existing -> existing.getProperty().equals(property))) {
+                continue;
+            }
+            orders.add(new Sort.Order(direction, property));
+            if ("campId".equals(property)) {
+                return Sort.by(orders);
+            }
         }
+        orders.add(new Sort.Order(direction, "campId"));
+        return Sort.by(orders);
+    }
+
+    // 커서: 정렬:campId:정렬 값... (campId를 뺀 정렬 필드 순서, 값이 없으면 빈 문자열, 있으면 '=' 뒤에 base64url로 기록)
+    private static String encodeCursor(Camping last, Sort sort) {
+        StringBuilder key = new StringBuilder(cursorSort(sort)).append(':').append(last.getCampId());
+        for (Sort.Order order : sortValueOrders(sort)) {
+            Object value = sortValue(last, order.getProperty());
+            key.append(':');
+            if (value != null) {
+                key.append('=').append(Base64.getUrlEncoder().withoutPadding()
+                        .encodeToString(value.toString().getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
 
-        if ("desc".equalsIgnoreCase(order)) {
-            comparator = comparator.reversed();
+    // 다른 정렬로 만든 커서는 이어서 읽을 위치가 다르므로 거부
+    private static CampingCursor decodeCursor(String cursor, Sort sort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 cursor입니다: " + cursor);
+        }
+        List<Sort.Order> valueOrders = sortValueOrders(sort);
+        if (parts.length != valueOrders.size() + 2 || !parts[0].equals(cursorSort(sort))) {
+            throw new IllegalArgumentException("정렬 조건과 맞지 않는 cursor입니다: " + cursor);
         }
 
-        return comparator;
+        try {
+            List<Object> values = new ArrayList<>();
+            for (int i = 0; i < valueOrders.size(); i++) {
+                String part = parts[i + 2];
+                values.add(part.isEmpty() ? null : parseSortValue(valueOrders.get(i).getProperty(),
+                        new String(Base64.getUrlDecoder().decode(part.substring(1)), StandardCharsets.UTF_8)));
+            }
+            return new CampingCursor(Long.parseLong(parts[1]), values);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 cursor입니다: " + cursor);
+        }
+    }
+
+    // 예: bookmarkCnt.desc,campId.desc
+    private static String cursorSort(Sort sort) {
+        return sort.stream()
+                .map(order -> order.getProperty() + "." + order.getDirection().name().toLowerCase())
+                .collect(Collectors.joining(","));
+    }
+
+    // 커서에 값을 기록하는 정렬 필드 (마지막 campId 제외)
+    private static List<Sort.Order> sortValueOrders(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        return orders.subList(0, orders.size() - 1);
+    }
+
+    // 요약이 없는 캠핑장의 찜한 수, 리뷰 수는 DB 정렬과 같이 NULL (메모리 카탈로그도 같은 값으로 정렬)
+    static Object sortValue(Camping camping, String property) {
+        CampingSummary campingSummary = camping.getCampingSummary();
+        return switch (property) {
+            case "campName" -> camping.getCampName();
+            case "createdDate" -> camping.getCreatedDate();
+            case "bookmarkCnt" -> campingSummary != null ? campingSummary.getBookmarkCnt() : null;
+            case "reviewCnt" -> campingSummary != null ? campingSummary.getReviewCnt() : null;
+            default -> throw new IllegalArgumentException("지원하지 않는 정렬 필드입니다: " + property);
+        };
+    }
+
+    private static Object parseSortValue(String property, String value) {
+        return switch (property) {
+            case "createdDate" -> LocalDateTime.parse(value);
+            case "bookmarkCnt", "reviewCnt" -> Integer.valueOf(value);
+            default -> value;
+        };
+    }
+
+    private record CampingCursor(long campId, List<Object> values) {
     }
 }
@@ -0,0 +1,99 @@
+package com.commit.campus.service.impl;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/*
+ * Redis keyspace 만료 알림 구독 (reservation.hold.keyspace-events.enabled)
+ * - reservationInfo:* 키의 expired 이벤트를 받으면 ReservationHoldTracker에 즉시 처리를 요청한다.
+ * - Redis 서버에 notify-keyspace-events가 Ex(또는 EA)를 포함하도록 미리 설정해 두어야 한다.
+ *   (redis.conf: notify-keyspace-events Ex, 관리형 Redis는 파라미터 그룹에서 설정) 설정이 없으면 알림 없이 주기 점검만으로 동작한다.
+ * - 서버 전역 설정이므로 기동할 때마다 바꾸지 않는다. configure=true로 켠 경우에만 Ex가 없을 때 CONFIG SET으로 추가한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reservation.hold.keyspace-events.enabled", havingValue = "true", matchIfMissing = true)
+public class HoldExpiryNotificationSubscriber {
+
+    private static final String EXPIRED_CHANNEL_PATTERN = "__keyevent@*__:expired";
+    private static final String HOLD_KEY_PREFIX = "reservationInfo:";
+    private static final String NOTIFY_CONFIG = "notify-keyspace-events";
+
+    private final RedisClient redisClient;
+    private final RedisCommands<String, String> redisCommands;
+    private final ReservationHoldTracker reservationHoldTracker;
+
+    @Value("${reservation.hold.keyspace-events.configure:false}")
+    private boolean configureNotifications = false;
+
+    private StatefulRedisPubSubConnection<String, String> pubSubConnection;
+
+    @Autowired
+    public HoldExpiryNotificationSubscriber(RedisClient redisClient,
+                                            RedisCommands<String, String> redisCommands,
+                                            ReservationHoldTracker reservationHoldTracker) {
+        this.redisClient = redisClient;
+        this.redisCommands = redisCommands;
+        this.reservationHoldTracker = reservationHoldTracker;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        try {
+            if (configureNotifications) {
+                enableExpiredEvents();
+            }
+
+            pubSubConnection = redisClient.connectPubSub();
+            pubSubConnection.addListener(new RedisPubSubAdapter<>() {
+                @Override
+                public void message(String pattern, String channel, String message) {
+                    if (message.startsWith(HOLD_KEY_PREFIX)) {
+                        reservationHoldTracker.requestSweep();
+                    }
+                }
+            });
+            pubSubConnection.sync().psubscribe(EXPIRED_CHANNEL_PATTERN);
+            log.info("예약 요청 만료 알림 구독 시작: {}", EXPIRED_CHANNEL_PATTERN);
+        } catch (RuntimeException e) {
+            log.warn("예약 요청 만료 알림을 구독하지 못했습니다. 주기 점검으로만 처리합니다.", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (pubSubConnection != null) {
+            pubSubConnection.close();
+        }
+    }
+
+    // 기존 설정은 유지하고 E(keyevent), x(expired)만 추가 (A는 x를 포함)
+    private void enableExpiredEvents() {
+        Map<String, String> config = redisCommands.configGet(NOTIFY_CONFIG);
+        String flags = config.getOrDefault(NOTIFY_CONFIG, "");
+
+        String updated = flags;
+        if (!updated.contains("E")) {
+            updated += "E";
+        }
+        if (!updated.contains("x") && !updated.contains("A")) {
+            updated += "x";
+        }
+
+        if (!updated.equals(flags)) {
+            redisCommands.configSet(NOTIFY_CONFIG, updated);
+            log.info("{} 설정 변경: '{}' -> '{}'", NOTIFY_CONFIG, flags, updated);
+        }
+    }
+}
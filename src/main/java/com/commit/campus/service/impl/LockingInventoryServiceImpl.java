@@ -0,0 +1,161 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.common.lock.LockHandle;
+import com.commit.campus.common.lock.LockManager;
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.repository.AvailabilityRepository;
+import com.commit.campus.service.InventoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/*
+ * 락 기반 재고 차감 (reservation.inventory.mode=lock, 기본값)
+ * - 캠핑장 전체가 아니라 (캠핑장, 시설 유형, 날짜) 칸 단위로 락을 건다.
+ *   같은 캠핑장이라도 시설 유형이나 날짜가 겹치지 않는 예약은 동시에 처리된다.
+ * - 락은 LockManager가 키 정렬 순서로 획득하므로 구간이 겹치는 예약끼리 교착되지 않는다.
+ * - 트랜잭션 안에서 호출되면 커밋/롤백 이후에 락을 해제한다.
+ * - 여러 숙박은 캠핑장 순서로 캠핑장마다 필요한 칸의 락을 한 번에 잡고, 날짜별 변경량을 합친 구간 UPDATE로 반영한다.
+ */
+@Slf4j
+@Service("lockInventory")
+public class LockingInventoryServiceImpl implements InventoryService {
+
+    private static final int CHANGE_COUNT = 1;
+
+    private final AvailabilityRepository availabilityRepository;
+    private final LockManager lockManager;
+
+    @Autowired
+    public LockingInventoryServiceImpl(AvailabilityRepository availabilityRepository, LockManager lockManager) {
+        this.availabilityRepository = availabilityRepository;
+        this.lockManager = lockManager;
+    }
+
+    @Override
+    @Transactional
+    public void reserve(ReservationDTO reservationDTO) {
+        LockHandle lockHandle = lockStay(reservationDTO);
+        try {
+            int updatedCount = changeStayAvail(reservationDTO, -CHANGE_COUNT);
+
+            // 잔여 수량이 0인 날짜는 변경되지 않으므로 변경된 날짜 수가 숙박 일수보다 적으면 마감
+            if (updatedCount != stayDays(reservationDTO)) {
+                throw new IllegalStateException("해당 캠핑장의 예약이 마감되었습니다..");
+            }
+        } finally {
+            releaseAfterCompletion(lockHandle);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(ReservationDTO reservationDTO) {
+        LockHandle lockHandle = lockStay(reservationDTO);
+        try {
+            int updatedCount = changeStayAvail(reservationDTO, CHANGE_COUNT);
+
+            if (updatedCount != stayDays(reservationDTO)) {
+                log.warn("복구된 날짜 수가 숙박 일수와 다릅니다: reservationId={}, updated={}",
+                        reservationDTO.getReservationId(), updatedCount);
+            }
+        } finally {
+            releaseAfterCompletion(lockHandle);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void reserveAll(List<ReservationDTO> reservationDTOs) {
+        List<AvailabilityChange> changes = AvailabilityChange.merge(reservationDTOs, -CHANGE_COUNT);
+        List<LockHandle> lockHandles = lockChanges(changes);
+        try {
+            for (AvailabilityChange change : changes) {
+                int updatedCount = availabilityRepository.changeStayAvail(change.campId(), change.campFacsType(),
+                        change.startDate(), change.endDate(), change.changeCount());
+
+                // 앞서 반영한 구간은 예외로 트랜잭션이 롤백되면서 되돌아감
+                if (updatedCount != change.days()) {
+                    throw new IllegalStateException("해당 캠핑장의 예약이 마감되었습니다..");
+                }
+            }
+        } finally {
+            lockHandles.forEach(LockingInventoryServiceImpl::releaseAfterCompletion);
+        }
+    }
+
+    // 클러스터에서 한 번에 요청하는 키는 같은 캠핑장이어야 하므로 캠핑장마다 따로 획득 (campId 순서라 서로 교착되지 않음)
+    private List<LockHandle> lockChanges(List<AvailabilityChange> changes) {
+        Map<Long, List<String>> keysByCamp = new TreeMap<>();
+        for (AvailabilityChange change : changes) {
+            keysByCamp.computeIfAbsent(change.campId(), campId -> new ArrayList<>())
+                    .addAll(lockKeys(change.campId(), change.campFacsType(), change.startDate(), change.endDate()));
+        }
+
+        List<LockHandle> lockHandles = new ArrayList<>(keysByCamp.size());
+        for (List<String> keys : keysByCamp.values()) {
+            Optional<LockHandle> lockHandle = lockManager.tryLock(keys);
+            if (lockHandle.isEmpty()) {
+                lockHandles.forEach(LockHandle::close);
+                throw new ConcurrentModificationException("동일한 캠핑장에 대한 다른 예약 요청이 처리 중입니다. 잠시 후 다시 시도해 주세요.");
+            }
+            lockHandles.add(lockHandle.get());
+        }
+        return lockHandles;
+    }
+
+    private LockHandle lockStay(ReservationDTO reservationDTO) {
+        return lockManager.tryLock(lockKeys(reservationDTO))
+                .orElseThrow(() -> new ConcurrentModificationException("동일한 캠핑장에 대한 다른 예약 요청이 처리 중입니다. 잠시 후 다시 시도해 주세요."));
+    }
+
+    private int changeStayAvail(ReservationDTO reservationDTO, int changeCount) {
+        return availabilityRepository.changeStayAvail(reservationDTO.getCampId(), reservationDTO.getCampFacsType(),
+                reservationDTO.getEntryDate(), reservationDTO.getLeavingDate(), changeCount);
+    }
+
+    // 변경 내용이 커밋되기 전에 락이 풀리면 다른 요청이 커밋 전 상태를 기준으로 처리할 수 있으므로 트랜잭션 종료 후 해제
+    private static void releaseAfterCompletion(LockHandle lockHandle) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lockHandle.close();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lockHandle.close();
+            }
+        });
+    }
+
+    // 같은 캠핑장의 키가 같은 클러스터 슬롯에 배치되도록 campId를 해시 태그로 사용
+    private static List<String> lockKeys(ReservationDTO reservationDTO) {
+        return lockKeys(reservationDTO.getCampId(), reservationDTO.getCampFacsType(),
+                reservationDTO.getEntryDate(), reservationDTO.getLeavingDate());
+    }
+
+    private static List<String> lockKeys(long campId, int campFacsType, LocalDate startDate, LocalDate endDate) {
+        String prefix = "lock:inventory:{" + campId + "}:" + campFacsType + ":";
+        return startDate.datesUntil(endDate.plusDays(1))
+                .map(date -> prefix + date)
+                .toList();
+    }
+
+    // 입실일 ~ 퇴실일 (퇴실일 포함, availability 조회 구간과 동일)
+    private static long stayDays(ReservationDTO reservationDTO) {
+        return ChronoUnit.DAYS.between(reservationDTO.getEntryDate(), reservationDTO.getLeavingDate()) + 1;
+    }
+}
@@ -0,0 +1,138 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.entity.Availability;
+import com.commit.campus.repository.AvailabilityRepository;
+import com.commit.campus.service.InventoryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 낙관적 락 재고 차감 (reservation.inventory.mode=optimistic)
+ * - 숙박 구간의 availability 행을 읽어 잔여 수량을 확인하고, @Version 조건으로 함께 변경한다.
+ * - 다른 요청이 먼저 변경해 버전이 맞지 않으면 새 트랜잭션에서 다시 읽어 재시도한다 (지터 백오프, 최대 maxAttempts회).
+ * - 락을 잡지 않으므로 경합이 거의 없는 캠핑장은 Redis 왕복 없이 DB 쿼리만으로 처리된다.
+ * - 재시도마다 트랜잭션을 새로 열기 때문에 예약 저장과 별도로 커밋되며, 이후 단계가 실패하면 호출 측이 release로 복구한다.
+ * - 바깥 트랜잭션은 첫 SQL에서 커넥션을 가져오므로(DataSourceConfig), 예약 확정처럼 SQL 전에 호출하면 재시도 트랜잭션이
+ *   요청 스레드의 유일한 커넥션이 된다. 취소/변경은 먼저 예약 행을 다루므로 호출 중 커넥션을 두 개 쓴다.
+ */
+@Slf4j
+@Service("optimisticInventory")
+public class OptimisticInventoryServiceImpl implements InventoryService {
+
+    private static final int CHANGE_COUNT = 1;
+    private static final long MIN_BACKOFF_MILLIS = 5;
+    private static final long MAX_BACKOFF_MILLIS = 50;
+
+    private final AvailabilityRepository availabilityRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter conflictCounter;
+
+    @Value("${reservation.inventory.optimistic.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Autowired
+    public OptimisticInventoryServiceImpl(AvailabilityRepository availabilityRepository,
+                                          PlatformTransactionManager transactionManager,
+                                          MeterRegistry meterRegistry) {
+        this.availabilityRepository = availabilityRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.conflictCounter = Counter.builder("reservation.inventory.optimistic.conflict").register(meterRegistry);
+    }
+
+    @Override
+    public void reserve(ReservationDTO reservationDTO) {
+        changeWithRetry(reservationDTO, -CHANGE_COUNT);
+    }
+
+    @Override
+    public void release(ReservationDTO reservationDTO) {
+        changeWithRetry(reservationDTO, CHANGE_COUNT);
+    }
+
+    private void changeWithRetry(ReservationDTO reservationDTO, int changeCount) {
+        long backoffMillis = MIN_BACKOFF_MILLIS;
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> changeStayAvail(reservationDTO, changeCount));
+                return;
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                conflictCounter.increment();
+                if (attempt >= maxAttempts) {
+                    log.warn("재고 변경 충돌 재시도 초과: reservationId={}, attempts={}", reservationDTO.getReservationId(), attempt);
+                    throw new ConcurrentModificationException("동일한 캠핑장에 대한 다른 예약 요청이 처리 중입니다. 잠시 후 다시 시도해 주세요.");
+                }
+            }
+
+            sleep(ThreadLocalRandom.current().nextLong(backoffMillis + 1));
+            backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    private void changeStayAvail(ReservationDTO reservationDTO, int changeCount) {
+        List<Availability> availabilities = findStay(reservationDTO);
+
+        // 아직 행이 없는 날짜는 캠핑장 사이트 수로 만든 뒤 다시 읽음
+        if (availabilities.size() != stayDays(reservationDTO)) {
+            availabilityRepository.insertMissingDates(reservationDTO.getCampId(), reservationDTO.getEntryDate(), reservationDTO.getLeavingDate());
+            availabilities = findStay(reservationDTO);
+        }
+
+        if (availabilities.size() != stayDays(reservationDTO)) {
+            if (changeCount < 0) {
+                throw new IllegalStateException("해당 캠핑장의 예약이 마감되었습니다..");
+            }
+            log.warn("복구할 날짜 수가 숙박 일수와 다릅니다: reservationId={}, found={}",
+                    reservationDTO.getReservationId(), availabilities.size());
+        }
+
+        int campFacsType = reservationDTO.getCampFacsType();
+        List<Availability> changed = availabilities.stream()
+                .map(availability -> {
+                    if (availability.getSiteAvail(campFacsType) + changeCount < 0) {
+                        throw new IllegalStateException("해당 캠핑장의 예약이 마감되었습니다..");
+                    }
+                    return availability.withSiteAvailChange(campFacsType, changeCount);
+                })
+                .toList();
+
+        // 읽은 버전과 다르면 flush 시 OptimisticLockException
+        availabilityRepository.saveAllAndFlush(changed);
+    }
+
+    private List<Availability> findStay(ReservationDTO reservationDTO) {
+        return availabilityRepository.findByCampIdAndDateBetween(reservationDTO.getCampId(),
+                reservationDTO.getEntryDate(), reservationDTO.getLeavingDate());
+    }
+
+    // 입실일 ~ 퇴실일 (퇴실일 포함, availability 조회 구간과 동일)
+    private static long stayDays(ReservationDTO reservationDTO) {
+        return ChronoUnit.DAYS.between(reservationDTO.getEntryDate(), reservationDTO.getLeavingDate()) + 1;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentModificationException("재고 변경 재시도 중 중단되었습니다.");
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.entity.Availability;
+import com.commit.campus.repository.AvailabilityRepository;
+import com.commit.campus.service.InventoryService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+ * 캠핑장별 단일 작업자 재고 처리 (reservation.inventory.mode=partitioned)
+ * - campId 해시로 정해진 파티션 작업자(전용 스레드)가 맡은 캠핑장의 재고를 메모리에 두고 요청을 순서대로 처리한다.
+ *   한 캠핑장의 변경은 항상 같은 스레드에서만 일어나므로 락이 필요 없다.
+ * - 큐에 쌓인 요청을 최대 batch-size개씩 꺼내 캠핑장별로 메모리에서 차례로 확인/변경한 뒤,
+ *   (시설 유형, 날짜)별 순변경량을 모아 캠핑장마다 트랜잭션 하나로 반영한다. 같은 캠핑장 예약 여러 건이 UPDATE 한 번이 된다.
+ * - DB 반영은 조건부 UPDATE(잔여 수량 >= 0)이므로 다른 서버가 같은 캠핑장을 변경했으면 그 캠핑장의 반영만 실패한다.
+ *   해당 캠핑장의 메모리 재고를 버리고 DB에서 다시 읽어 그 캠핑장 요청만 한 번 더 처리하며, 또 충돌하면 그 요청들만 실패한다.
+ *   같은 배치의 다른 캠핑장 요청은 영향을 받지 않는다. 메모리 재고는 state-ttl-millis마다 다시 읽는다.
+ * - 예약 저장과 별도 트랜잭션으로 커밋되므로 이후 단계가 실패하면 호출 측이 release로 복구한다 (optimistic 모드와 같음).
+ * - 호출 측이 대기 시간을 넘겨 포기한 요청은 처리 전이면 건너뛰고, 이미 반영됐으면 되돌리는 요청을 다시 넣는다.
+ */
+@Slf4j
+@Service("partitionedInventory")
+@ConditionalOnProperty(name = "reservation.inventory.mode", havingValue = "partitioned")
+public class PartitionedInventoryServiceImpl implements InventoryService {
+
+    private static final int CHANGE_COUNT = 1;
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+    private static final int MAX_FLUSH_ATTEMPTS = 2;
+
+    private final AvailabilityRepository availabilityRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary batchSizeSummary;
+    private final int batchSize;
+    private final long stateTtlMillis;
+    private final long awaitMillis;
+    private final Partition[] partitions;
+
+    private volatile boolean running;
+
+    @Autowired
+    public PartitionedInventoryServiceImpl(AvailabilityRepository availabilityRepository,
+                                           PlatformTransactionManager transactionManager,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${reservation.inventory.partitioned.partitions:4}") int partitionCount,
+                                           @Value("${reservation.inventory.partitioned.batch-size:64}") int batchSize,
+                                           @Value("${reservation.inventory.partitioned.state-ttl-millis:10000}") long stateTtlMillis,
+                                           @Value("${reservation.inventory.partitioned.await-millis:5000}") long awaitMillis) {
+        this.availabilityRepository = availabilityRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSizeSummary = DistributionSummary.builder("reservation.inventory.partitioned.batch").register(meterRegistry);
+        this.batchSize = batchSize;
+        this.stateTtlMillis = stateTtlMillis;
+        this.awaitMillis = awaitMillis;
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(i);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (Partition partition : partitions) {
+            partition.thread.start();
+        }
+        log.info("캠핑장별 재고 작업자 시작: partitions={}, batchSize={}", partitions.length, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Partition partition : partitions) {
+            partition.thread.interrupt();
+        }
+        for (Partition partition : partitions) {
+            partition.thread.join(POLL_TIMEOUT_MILLIS * 2);
+            partition.queue.forEach(command -> command.future.completeExceptionally(
+                    new IllegalStateException("재고 처리 작업자가 종료되었습니다.")));
+        }
+    }
+
+    @Override
+    public void reserve(ReservationDTO reservationDTO) {
+        await(submit(reservationDTO, -CHANGE_COUNT));
+    }
+
+    @Override
+    public void release(ReservationDTO reservationDTO) {
+        await(submit(reservationDTO, CHANGE_COUNT));
+    }
+
+    // 캠핑장을 맡은 작업자에게 변경 요청, 반영(커밋)되면 완료되고 마감이면 IllegalStateException으로 실패
+    public CompletableFuture<Void> submit(ReservationDTO reservationDTO, int changeCount) {
+        if (!running) {
+            throw new IllegalStateException("재고 처리 작업자가 실행 중이 아닙니다.");
+        }
+        Command command = new Command(reservationDTO, changeCount);
+        partitionOf(reservationDTO.getCampId()).queue.add(command);
+        return command.future;
+    }
+
+    private void await(CompletableFuture<Void> future) {
+        try {
+            future.get(awaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new ConcurrentModificationException("동일한 캠핑장에 대한 요청이 많아 처리가 지연되고 있습니다. 잠시 후 다시 시도해 주세요.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new ConcurrentModificationException("재고 처리 대기 중 중단되었습니다.");
+        }
+    }
+
+    private Partition partitionOf(long campId) {
+        return partitions[Math.floorMod(Long.hashCode(campId), partitions.length)];
+    }
+
+    private record Command(ReservationDTO reservationDTO, int changeCount, CompletableFuture<Void> future) {
+
+        Command(ReservationDTO reservationDTO, int changeCount) {
+            this(reservationDTO, changeCount, new CompletableFuture<>());
+        }
+
+        Command inverse() {
+            return new Command(reservationDTO, -changeCount);
+        }
+    }
+
+    private record Cell(long campId, int campFacsType, LocalDate date) {
+    }
+
+    // 작업자가 가진 캠핑장 하나의 날짜별 재고 (작업자 스레드에서만 접근)
+    private static final class CampState {
+        private final long loadedAt;
+        private final Map<LocalDate, Availability> days = new HashMap<>();
+
+        private CampState(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        private boolean covers(LocalDate entryDate, LocalDate leavingDate) {
+            return entryDate.datesUntil(leavingDate.plusDays(1)).allMatch(days::containsKey);
+        }
+    }
+
+    private final class Partition {
+        private final BlockingQueue<Command> queue = new LinkedBlockingQueue<>();
+        private final Map<Long, CampState> campStates = new HashMap<>();
+        private final Thread thread;
+
+        private Partition(int index) {
+            this.thread = new Thread(this::run, "inventory-partition-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        private void run() {
+            List<Command> batch = new ArrayList<>(batchSize);
+            while (running) {
+                try {
+                    Command first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    process(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException e) {
+                    log.error("재고 처리 작업자 오류: {}", thread.getName(), e);
+                    batch.forEach(command -> command.future.completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        private void process(List<Command> batch) {
+            batchSizeSummary.record(batch.size());
+            long batchStartedAt = System.currentTimeMillis();
+
+            // 캠핑장별로 도착 순서를 유지해 나눔
+            Map<Long, List<Command>> commandsByCamp = new LinkedHashMap<>();
+            for (Command command : batch) {
+                commandsByCamp.computeIfAbsent(command.reservationDTO.getCampId(), campId -> new ArrayList<>()).add(command);
+            }
+            commandsByCamp.forEach((campId, commands) -> processCamp(campId, commands, batchStartedAt));
+        }
+
+        private void processCamp(long campId, List<Command> commands, long batchStartedAt) {
+            for (int attempt = 1; attempt <= MAX_FLUSH_ATTEMPTS; attempt++) {
+                long loadedAt = attempt == 1 ? batchStartedAt : System.currentTimeMillis();
+
+                // 1. 메모리에서 순서대로 확인/변경하고 칸별 순변경량을 모음
+                Map<Cell, Integer> changes = new HashMap<>();
+                List<Command> applied = new ArrayList<>(commands.size());
+                for (Command command : commands) {
+                    // 호출 측이 이미 포기했거나 앞선 시도에서 마감으로 끝난 요청
+                    if (command.future.isDone()) {
+                        continue;
+                    }
+                    try {
+                        apply(command, stateFor(command.reservationDTO, loadedAt), changes);
+                        applied.add(command);
+                    } catch (RuntimeException e) {
+                        command.future.completeExceptionally(e);
+                    }
+                }
+                if (applied.isEmpty()) {
+                    return;
+                }
+
+                // 2. 캠핑장 하나를 트랜잭션 하나로 반영
+                try {
+                    transactionTemplate.executeWithoutResult(status -> flush(changes));
+                } catch (RuntimeException e) {
+                    // 충돌한 캠핑장의 메모리 재고만 버리고, 다음 시도에서 DB 값으로 다시 확인
+                    campStates.remove(campId);
+                    if (attempt < MAX_FLUSH_ATTEMPTS) {
+                        log.info("재고 반영 충돌, 캠핑장 재고를 다시 읽어 재시도: campId={}, commands={}", campId, applied.size());
+                        continue;
+                    }
+                    log.warn("재고 반영 실패: partition={}, campId={}, commands={}", thread.getName(), campId, applied.size(), e);
+                    ConcurrentModificationException failure = new ConcurrentModificationException(
+                            "동일한 캠핑장에 대한 다른 예약 요청이 처리 중입니다. 잠시 후 다시 시도해 주세요.");
+                    applied.forEach(command -> command.future.completeExceptionally(failure));
+                    return;
+                }
+
+                // 3. 결과 전달, 그 사이 호출 측이 포기했으면 반영한 변경을 되돌림
+                for (Command command : applied) {
+                    if (!command.future.complete(null)) {
+                        queue.add(command.inverse());
+                    }
+                }
+                return;
+            }
+        }
+
+        // 캐시가 없거나 오래됐으면 loadedAt(배치 시작 또는 재시도 시각) 기준으로 새로 만들고, 숙박 구간 중 없는 날짜를 읽어 채움
+        private CampState stateFor(ReservationDTO reservationDTO, long loadedAt) {
+            long campId = reservationDTO.getCampId();
+            CampState state = campStates.get(campId);
+            if (state == null || loadedAt - state.loadedAt > stateTtlMillis) {
+                state = new CampState(loadedAt);
+                campStates.put(campId, state);
+            }
+
+            if (!state.covers(reservationDTO.getEntryDate(), reservationDTO.getLeavingDate())) {
+                List<Availability> availabilities = transactionTemplate.execute(status -> {
+                    availabilityRepository.insertMissingDates(campId, reservationDTO.getEntryDate(), reservationDTO.getLeavingDate());
+                    return availabilityRepository.findByCampIdAndDateBetween(campId,
+                            reservationDTO.getEntryDate(), reservationDTO.getLeavingDate());
+                });
+                for (Availability availability : availabilities) {
+                    // 이번 배치에서 이미 변경한 날짜는 메모리 값이 최신
+                    state.days.putIfAbsent(availability.getDate(), availability);
+                }
+            }
+            return state;
+        }
+
+        private void apply(Command command, CampState state, Map<Cell, Integer> changes) {
+            ReservationDTO reservationDTO = command.reservationDTO;
+            int campFacsType = reservationDTO.getCampFacsType();
+            List<LocalDate> dates = reservationDTO.getEntryDate().datesUntil(reservationDTO.getLeavingDate().plusDays(1)).toList();
+
+            // 하루라도 부족하면 전체 실패 (변경 전에 모두 확인)
+            for (LocalDate date : dates) {
+                Availability availability = state.days.get(date);
+                if (availability == null || availability.getSiteAvail(campFacsType) + command.changeCount < 0) {
+                    if (command.changeCount < 0) {
+                        throw new IllegalStateException("해당 캠핑장의 예약이 마감되었습니다..");
+                    }
+                    log.warn("복구할 날짜가 없습니다: reservationId={}, date={}", reservationDTO.getReservationId(), date);
+                    return;
+                }
+            }
+
+            for (LocalDate date : dates) {
+                state.days.computeIfPresent(date, (key, availability) -> availability.withSiteAvailChange(campFacsType, command.changeCount));
+                changes.merge(new Cell(reservationDTO.getCampId(), campFacsType, date), command.changeCount, Integer::sum);
+            }
+        }
+
+        // 같은 캠핑장/시설 유형에서 연속된 날짜의 변경량이 같으면 구간 UPDATE 하나로 묶음
+        private void flush(Map<Cell, Integer> changes) {
+            List<Map.Entry<Cell, Integer>> entries = changes.entrySet().stream()
+                    .filter(entry -> entry.getValue() != 0)
+                    .sorted(Map.Entry.comparingByKey(Comparator.comparingLong(Cell::campId)
+                            .thenComparingInt(Cell::campFacsType)
+                            .thenComparing(Cell::date)))
+                    .toList();
+
+            int start = 0;
+            for (int i = 1; i <= entries.size(); i++) {
+                if (i < entries.size() && continues(entries.get(i - 1), entries.get(i))) {
+                    continue;
+                }
+                Cell first = entries.get(start).getKey();
+                Cell last = entries.get(i - 1).getKey();
+                int changeCount = entries.get(start).getValue();
+
+                int updatedCount = availabilityRepository.changeSiteAvail(first.campId(), first.campFacsType(),
+                        first.date(), last.date(), changeCount);
+                if (updatedCount != i - start) {
+                    throw new ConcurrentModificationException("다른 서버가 변경한 재고와 충돌했습니다: campId=" + first.campId());
+                }
+                start = i;
+            }
+        }
+
+        private boolean continues(Map.Entry<Cell, Integer> previous, Map.Entry<Cell, Integer> next) {
+            return previous.getKey().campId() == next.getKey().campId()
+                    && previous.getKey().campFacsType() == next.getKey().campFacsType()
+                    && previous.getKey().date().plusDays(1).equals(next.getKey().date())
+                    && previous.getValue().equals(next.getValue());
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.common.redis.LuaScript;
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.entity.Availability;
+import com.commit.campus.entity.Camping;
+import com.commit.campus.repository.AvailabilityRepository;
+import com.commit.campus.repository.CampingRepository;
+import com.commit.campus.service.InventoryService;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.sync.RedisCommands;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * Redis 재고 카운터 (reservation.inventory.mode=redis)
+ * - 키: inventory:{campId}:{campFacsType}:{date} = 해당 날짜의 잔여 사이트 수
+ * - 입실일 ~ 퇴실일 전체 구간을 Lua 스크립트 하나로 확인/차감하므로 캠핑장 락이 필요 없다.
+ * - 예약 시 카운터가 없는 날짜는 availability 테이블(없으면 캠핑장 사이트 수)로 적재한 뒤 다시 시도한다.
+ * - 복구 시에는 있는 카운터만 늘린다. 없는 날짜는 다음 적재 때 DB 값을 읽는데, 그 DB가 이 복구를 반영하므로 따로 적재하지 않는다.
+ * - availability 테이블은 AvailabilitySyncWriter가 비동기로 따라간다. 넘기지 못하면(큐 가득 참 등) 카운터 변경을 되돌리고 실패한다.
+ * - 그 캠핑장의 DB 반영이 남아 있으면(inventory:{campId}:pending > 0) availability가 아직 이전 값이므로 적재하지 않고 잠시 뒤 다시 시도한다.
+ * - 카운터와 DB 반영은 호출 트랜잭션과 별개로 바로 적용되므로, 호출 트랜잭션이 롤백되면 같은 방식으로 반대 변경을 적용한다.
+ */
+@Slf4j
+@Service("redisInventory")
+public class RedisInventoryServiceImpl implements InventoryService {
+
+    private static final long RESULT_MISSING_KEY = -1;
+    private static final long RESULT_SOLD_OUT = 0;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long SEED_RETRY_MILLIS = 50;
+    private static final int CHANGE_COUNT = 1;
+    private static final ZoneId ZONE_ID = ZoneId.of("Asia/Seoul");
+
+    // 모든 날짜의 잔여 수량이 충분할 때만 전체 구간을 차감 (all-or-nothing)
+    private static final LuaScript RESERVE_SCRIPT = new LuaScript(
+            "for i = 1, #KEYS do " +
+            "  local remain = redis.call('GET', KEYS[i]) " +
+            "  if not remain then return -1 end " +
+            "  if tonumber(remain) < tonumber(ARGV[1]) then return 0 end " +
+            "end " +
+            "for i = 1, #KEYS do redis.call('DECRBY', KEYS[i], ARGV[1]) end " +
+            "return 1");
+
+    // 존재하는 카운터에만 변경량을 더하고 더한 날짜 수를 반환 (복구, 차감 되돌리기)
+    private static final LuaScript ADJUST_SCRIPT = new LuaScript(
+            "local adjusted = 0 " +
+            "for i = 1, #KEYS do " +
+            "  if redis.call('EXISTS', KEYS[i]) == 1 then " +
+            "    redis.call('INCRBY', KEYS[i], ARGV[1]) " +
+            "    adjusted = adjusted + 1 " +
+            "  end " +
+            "end " +
+            "return adjusted");
+
+    // 카운터가 없는 날짜만 적재 (KEYS: 카운터들 + 마지막에 DB 반영 대기 수 키, ARGV: 잔여 수량, 만료 시각(epoch seconds) 쌍)
+    // DB 반영이 남아 있으면 적재하지 않고 0 반환
+    private static final LuaScript SEED_SCRIPT = new LuaScript(
+            "if tonumber(redis.call('GET', KEYS[#KEYS]) or '0') > 0 then return 0 end " +
+            "for i = 1, #KEYS - 1 do " +
+            "  if redis.call('SET', KEYS[i], ARGV[2 * i - 1], 'NX') then " +
+            "    redis.call('EXPIREAT', KEYS[i], ARGV[2 * i]) " +
+            "  end " +
+            "end " +
+            "return 1");
+
+    private final RedisCommands<String, String> redisCommands;
+    private final AvailabilityRepository availabilityRepository;
+    private final CampingRepository campingRepository;
+    private final AvailabilitySyncWriter availabilitySyncWriter;
+
+    @Autowired
+    public RedisInventoryServiceImpl(RedisCommands<String, String> redisCommands,
+                                     AvailabilityRepository availabilityRepository,
+                                     CampingRepository campingRepository,
+                                     AvailabilitySyncWriter availabilitySyncWriter) {
+        this.redisCommands = redisCommands;
+        this.availabilityRepository = availabilityRepository;
+        this.campingRepository = campingRepository;
+        this.availabilitySyncWriter = availabilitySyncWriter;
+    }
+
+    @Override
+    public void reserve(ReservationDTO reservationDTO) {
+        List<LocalDate> stayDates = stayDates(reservationDTO.getEntryDate(), reservationDTO.getLeavingDate());
+        String[] keys = inventoryKeys(reservationDTO.getCampId(), reservationDTO.getCampFacsType(), stayDates);
+        long result = reserveWithSeeding(reservationDTO, stayDates, keys);
+
+        if (result == RESULT_SOLD_OUT) {
+            throw new IllegalStateException("해당 캠핑장의 예약이 마감되었습니다..");
+        }
+
+        applyOrUndo(reservationDTO, keys, -CHANGE_COUNT);
+        undoOnRollback(reservationDTO, keys, -CHANGE_COUNT);
+    }
+
+    @Override
+    public void release(ReservationDTO reservationDTO) {
+        List<LocalDate> stayDates = stayDates(reservationDTO.getEntryDate(), reservationDTO.getLeavingDate());
+        String[] keys = inventoryKeys(reservationDTO.getCampId(), reservationDTO.getCampFacsType(), stayDates);
+        long adjustedCount = adjust(keys, CHANGE_COUNT);
+
+        if (adjustedCount != keys.length) {
+            log.info("재고 카운터 일부 없음, 해당 날짜는 DB 반영 후 다시 적재: campId={}, campFacsType={}, 복구한 날짜 수={}/{}",
+                    reservationDTO.getCampId(), reservationDTO.getCampFacsType(), adjustedCount, keys.length);
+        }
+
+        applyOrUndo(reservationDTO, keys, CHANGE_COUNT);
+        undoOnRollback(reservationDTO, keys, CHANGE_COUNT);
+    }
+
+    // 카운터가 없어서 실패하면 적재 후 다시 실행
+    private long reserveWithSeeding(ReservationDTO reservationDTO, List<LocalDate> stayDates, String[] keys) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            Long result = RESERVE_SCRIPT.execute(redisCommands, ScriptOutputType.INTEGER, keys, String.valueOf(CHANGE_COUNT));
+            if (result != RESULT_MISSING_KEY) {
+                return result;
+            }
+            if (!seedCounters(reservationDTO, stayDates, keys) && !sleep(SEED_RETRY_MILLIS)) {
+                break;
+            }
+        }
+
+        throw new IllegalStateException("재고 카운터를 초기화하지 못했습니다: campId=" + reservationDTO.getCampId());
+    }
+
+    // DB 반영을 넘기지 못하면 카운터 변경을 되돌려 Redis와 DB가 같은 상태로 남게 한다
+    private void applyOrUndo(ReservationDTO reservationDTO, String[] keys, int changeCount) {
+        try {
+            availabilitySyncWriter.applyAsync(reservationDTO.getCampId(), reservationDTO.getCampFacsType(),
+                    reservationDTO.getEntryDate(), reservationDTO.getLeavingDate(), changeCount);
+        } catch (RuntimeException e) {
+            adjust(keys, -changeCount);
+            log.warn("availability 동기화 등록 실패, 재고 카운터 되돌림: campId={}, campFacsType={}, 변경량={}",
+                    reservationDTO.getCampId(), reservationDTO.getCampFacsType(), changeCount, e);
+            throw e;
+        }
+    }
+
+    // 호출 트랜잭션이 롤백되면 카운터와 DB에 반대 변경을 적용 (트랜잭션 밖에서 호출되면 호출 측이 복구)
+    private void undoOnRollback(ReservationDTO reservationDTO, String[] keys, int changeCount) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                try {
+                    adjust(keys, -changeCount);
+                    availabilitySyncWriter.applyAsync(reservationDTO.getCampId(), reservationDTO.getCampFacsType(),
+                            reservationDTO.getEntryDate(), reservationDTO.getLeavingDate(), -changeCount);
+                } catch (RuntimeException e) {
+                    log.error("롤백된 재고 변경 되돌리기 실패: campId={}, campFacsType={}, {} ~ {}, 변경량={}",
+                            reservationDTO.getCampId(), reservationDTO.getCampFacsType(),
+                            reservationDTO.getEntryDate(), reservationDTO.getLeavingDate(), changeCount, e);
+                }
+            }
+        });
+    }
+
+    private long adjust(String[] keys, int changeCount) {
+        return ADJUST_SCRIPT.<Long>execute(redisCommands, ScriptOutputType.INTEGER, keys, String.valueOf(changeCount));
+    }
+
+    // DB 반영이 남아 있어 적재하지 못했으면 false
+    private boolean seedCounters(ReservationDTO reservationDTO, List<LocalDate> stayDates, String[] keys) {
+        long campId = reservationDTO.getCampId();
+        int campFacsType = reservationDTO.getCampFacsType();
+
+        Map<LocalDate, Availability> availabilityByDate = availabilityRepository
+                .findByCampIdAndDateBetween(campId, reservationDTO.getEntryDate(), reservationDTO.getLeavingDate()).stream()
+                .collect(Collectors.toMap(Availability::getDate, Function.identity(), (first, second) -> first));
+
+        Camping camping = null;
+        String[] args = new String[stayDates.size() * 2];
+
+        for (int i = 0; i < stayDates.size(); i++) {
+            LocalDate date = stayDates.get(i);
+            Availability availability = availabilityByDate.get(date);
+
+            int remainCount;
+            if (availability != null) {
+                remainCount = availability.getSiteAvail(campFacsType);
+            } else {
+                if (camping == null) {
+                    camping = campingRepository.findById(campId)
+                            .orElseThrow(() -> new IllegalArgumentException("해당 campId는 존재하지 않습니다: " + campId));
+                }
+                remainCount = camping.getSiteCnt(campFacsType);
+            }
+
+            // 지난 날짜의 카운터는 필요 없으므로 다음날 0시에 만료
+            args[i * 2] = String.valueOf(remainCount);
+            args[i * 2 + 1] = String.valueOf(date.plusDays(1).atStartOfDay(ZONE_ID).toEpochSecond());
+        }
+
+        String[] seedKeys = Arrays.copyOf(keys, keys.length + 1);
+        seedKeys[keys.length] = AvailabilitySyncWriter.pendingKey(campId);
+
+        Long seeded = SEED_SCRIPT.execute(redisCommands, ScriptOutputType.INTEGER, seedKeys, args);
+        if (seeded == null || seeded != 1) {
+            log.info("availability 반영 대기 중이라 재고 카운터 적재 보류: campId={}, campFacsType={}", campId, campFacsType);
+            return false;
+        }
+
+        log.info("재고 카운터 적재: campId={}, campFacsType={}, {}일", campId, campFacsType, stayDates.size());
+        return true;
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static List<LocalDate> stayDates(LocalDate entryDate, LocalDate leavingDate) {
+        return entryDate.datesUntil(leavingDate.plusDays(1)).toList();
+    }
+
+    // 같은 캠핑장의 키가 같은 클러스터 슬롯에 배치되도록 campId를 해시 태그로 사용
+    private static String[] inventoryKeys(long campId, int campFacsType, List<LocalDate> stayDates) {
+        String[] keys = new String[stayDates.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "inventory:{" + campId + "}:" + campFacsType + ":" + stayDates.get(i);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,61 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.common.redis.LuaScript;
+import com.commit.campus.common.redis.ReservationHoldCodec;
+import com.commit.campus.dto.ReservationEventDTO;
+import com.commit.campus.service.ReservationEventListener;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.sync.RedisCommands;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/*
+ * 커밋된 예약 상태를 Redis 예약 요청 해시에 반영하고 만료 추적에서 제외
+ * - 해시가 이미 만료됐으면 다시 만들지 않는다 (TTL 없는 키가 남지 않도록).
+ * - 해시에 기록된 펜싱 토큰보다 작은 이벤트는 무시하므로, 릴레이가 늦게 다시 전달한 확정 이벤트가 취소 상태를 덮어쓰지 않는다.
+ * - 숙박 기간과 시설도 함께 반영해, 변경된 예약을 취소할 때 바뀐 날짜의 재고를 복구한다.
+ */
+@Component
+public class ReservationCacheSyncListener implements ReservationEventListener {
+
+    private static final String HOLD_KEY_PREFIX = "reservationInfo:";
+
+    // KEYS[1] = 예약 요청 해시, KEYS[2] = 만료 추적 ZSET
+    // ARGV = 펜싱 토큰, 상태, 변경 시각, 추적 멤버, 입실 epoch day, 퇴실 epoch day, 시설 유형, 시설 ID(없으면 빈 문자열)
+    private static final LuaScript APPLY_STATUS_SCRIPT = new LuaScript(
+            "redis.call('zrem', KEYS[2], ARGV[4]) " +
+            "if redis.call('exists', KEYS[1]) == 0 then return 0 end " +
+            "local current = tonumber(redis.call('hget', KEYS[1], '" + ReservationHoldCodec.FENCE_TOKEN + "') or '-1') " +
+            "if tonumber(ARGV[1]) < current then return 0 end " +
+            "redis.call('hset', KEYS[1], '" + ReservationHoldCodec.STATUS + "', ARGV[2], '" + ReservationHoldCodec.UPDATED_AT + "', ARGV[3], " +
+            "'" + ReservationHoldCodec.FENCE_TOKEN + "', ARGV[1], '" + ReservationHoldCodec.ENTRY_DATE + "', ARGV[5], " +
+            "'" + ReservationHoldCodec.LEAVING_DATE + "', ARGV[6], '" + ReservationHoldCodec.CAMP_FACS_TYPE + "', ARGV[7]) " +
+            "if ARGV[8] ~= '' then redis.call('hset', KEYS[1], '" + ReservationHoldCodec.CAMP_FACS_ID + "', ARGV[8]) end " +
+            "return 1");
+
+    private final RedisCommands<String, String> redisCommands;
+
+    @Autowired
+    public ReservationCacheSyncListener(RedisCommands<String, String> redisCommands) {
+        this.redisCommands = redisCommands;
+    }
+
+    @Override
+    public void onReservationEvents(List<ReservationEventDTO> events) {
+        for (ReservationEventDTO event : events) {
+            String[] keys = {HOLD_KEY_PREFIX + event.getReservationId(), ReservationHoldTracker.HOLDS_KEY};
+            APPLY_STATUS_SCRIPT.execute(redisCommands, ScriptOutputType.INTEGER, keys,
+                    String.valueOf(event.getFenceToken()),
+                    event.getReservationStatus(),
+                    event.getOccurredAt().toString(),
+                    ReservationHoldCodec.trackingMember(event.getReservationId(), event.getCampId(), event.getCampFacsType(),
+                            event.getEntryDate(), event.getLeavingDate()),
+                    String.valueOf(event.getEntryDate().toEpochDay()),
+                    String.valueOf(event.getLeavingDate().toEpochDay()),
+                    String.valueOf(event.getCampFacsType()),
+                    event.getCampFacsId() != null ? event.getCampFacsId().toString() : "");
+        }
+    }
+}
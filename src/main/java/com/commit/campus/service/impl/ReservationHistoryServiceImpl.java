@@ -0,0 +1,176 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.dto.ReservationEventDTO;
+import com.commit.campus.dto.ReservationHistoryDTO;
+import com.commit.campus.dto.ReservationHistoryPageDTO;
+import com.commit.campus.repository.ReservationRepository;
+import com.commit.campus.service.ReservationEventListener;
+import com.commit.campus.service.ReservationHistoryService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.api.sync.RedisCommands;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/*
+ * 예약 내역 조회 (keyset 페이지네이션)
+ * - (입실일, 예약 ID) 내림차순으로 정렬하고, 다음 페이지는 마지막 행보다 작은 키부터 읽는다. OFFSET이 없어 깊은 페이지도 비용이 같다.
+ * - cursor는 마지막 행의 (입실일, 예약 ID)를 인코딩한 불투명 문자열이다.
+ * - 내 예약 첫 페이지는 reservation:history:{userId}에 최근 CACHED_ROWS건을 캐시하고, 요청한 크기만큼 잘라서 돌려준다.
+ *   확정/취소가 커밋되면 outbox 이벤트로 해당 사용자의 캐시를 지운다.
+ *   stream 저장 모드는 DB 반영이 늦을 수 있어, 그 사이 다시 채워진 캐시는 TTL이 지나면 갱신된다.
+ */
+@Slf4j
+@Service
+public class ReservationHistoryServiceImpl implements ReservationHistoryService, ReservationEventListener {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    static final String CACHE_KEY_PREFIX = "reservation:history:";
+    static final int CACHED_ROWS = 50;
+
+    private static final long CACHE_TTL_SECONDS = 60;
+
+    private final ReservationRepository reservationRepository;
+    private final RedisCommands<String, String> redisCommands;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ReservationHistoryServiceImpl(ReservationRepository reservationRepository,
+                                         RedisCommands<String, String> redisCommands,
+                                         ObjectMapper objectMapper) {
+        this.reservationRepository = reservationRepository;
+        this.redisCommands = redisCommands;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ReservationHistoryPageDTO getUserReservations(long userId, String cursor, int size) {
+        validateSize(size);
+
+        if (cursor == null && size <= CACHED_ROWS) {
+            CachedPage cachedPage = readCache(userId);
+            if (cachedPage == null) {
+                List<ReservationHistoryDTO> rows = reservationRepository.findHistoryByUserId(userId, PageRequest.ofSize(CACHED_ROWS + 1));
+                cachedPage = new CachedPage(rows.subList(0, Math.min(rows.size(), CACHED_ROWS)), rows.size() > CACHED_ROWS);
+                writeCache(userId, cachedPage);
+            }
+            return toPage(cachedPage.getReservations(), cachedPage.isHasMore(), size);
+        }
+
+        List<ReservationHistoryDTO> rows;
+        if (cursor == null) {
+            rows = reservationRepository.findHistoryByUserId(userId, PageRequest.ofSize(size + 1));
+        } else {
+            HistoryCursor historyCursor = decodeCursor(cursor);
+            rows = reservationRepository.findHistoryByUserIdAfter(userId, historyCursor.entryDate(), historyCursor.reservationId(),
+                    PageRequest.ofSize(size + 1));
+        }
+        return toPage(rows, false, size);
+    }
+
+    @Override
+    public ReservationHistoryPageDTO getCampReservations(long campId, String cursor, int size) {
+        validateSize(size);
+
+        List<ReservationHistoryDTO> rows;
+        if (cursor == null) {
+            rows = reservationRepository.findHistoryByCampId(campId, PageRequest.ofSize(size + 1));
+        } else {
+            HistoryCursor historyCursor = decodeCursor(cursor);
+            rows = reservationRepository.findHistoryByCampIdAfter(campId, historyCursor.entryDate(), historyCursor.reservationId(),
+                    PageRequest.ofSize(size + 1));
+        }
+        return toPage(rows, false, size);
+    }
+
+    // 확정/취소된 예약의 사용자 첫 페이지 캐시 삭제 (같은 이벤트가 다시 와도 결과가 같음)
+    @Override
+    public void onReservationEvents(List<ReservationEventDTO> events) {
+        String[] keys = events.stream()
+                .map(ReservationEventDTO::getUserId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(userId -> CACHE_KEY_PREFIX + userId)
+                .toArray(String[]::new);
+        if (keys.length > 0) {
+            redisCommands.del(keys);
+        }
+    }
+
+    // rows가 size보다 많거나 그 뒤에 더 있으면 마지막 행을 다음 cursor로
+    private static ReservationHistoryPageDTO toPage(List<ReservationHistoryDTO> rows, boolean hasMore, int size) {
+        List<ReservationHistoryDTO> reservations = rows.subList(0, Math.min(rows.size(), size));
+        boolean hasNext = rows.size() > size || hasMore;
+        String nextCursor = hasNext && !reservations.isEmpty() ? encodeCursor(reservations.get(reservations.size() - 1)) : null;
+
+        return ReservationHistoryPageDTO.builder()
+                .reservations(List.copyOf(reservations))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static void validateSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1 ~ " + MAX_PAGE_SIZE + " 사이여야 합니다: " + size);
+        }
+    }
+
+    private static String encodeCursor(ReservationHistoryDTO last) {
+        String key = last.getEntryDate().toEpochDay() + ":" + last.getReservationId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static HistoryCursor decodeCursor(String cursor) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = key.indexOf(':');
+            return new HistoryCursor(LocalDate.ofEpochDay(Long.parseLong(key.substring(0, separator))),
+                    Long.parseLong(key.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 cursor입니다: " + cursor);
+        }
+    }
+
+    // 캐시 장애 시 DB에서 읽음
+    private CachedPage readCache(long userId) {
+        try {
+            String value = redisCommands.get(CACHE_KEY_PREFIX + userId);
+            return value != null ? objectMapper.readValue(value, CachedPage.class) : null;
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("예약 내역 캐시 조회 실패: userId={}", userId, e);
+            return null;
+        }
+    }
+
+    private void writeCache(long userId, CachedPage cachedPage) {
+        try {
+            redisCommands.setex(CACHE_KEY_PREFIX + userId, CACHE_TTL_SECONDS, objectMapper.writeValueAsString(cachedPage));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("예약 내역 캐시 저장 실패: userId={}", userId, e);
+        }
+    }
+
+    private record HistoryCursor(LocalDate entryDate, long reservationId) {
+    }
+
+    // 최근 CACHED_ROWS건과 그 뒤에 더 있는지 여부
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class CachedPage {
+        private List<ReservationHistoryDTO> reservations;
+        private boolean hasMore;
+    }
+}
@@ -0,0 +1,167 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.common.redis.ReservationHoldCodec;
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.dto.ReservationHoldDTO;
+import com.commit.campus.service.ReservationHoldListener;
+import io.lettuce.core.Limit;
+import io.lettuce.core.Range;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * 예약 요청(hold) 만료 추적
+ * - 요청마다 reservation:holds ZSET에 만료 시각(epoch millis)을 점수로 등록하고, 확정/취소되면 제거한다.
+ * - 만료 시각이 지난 멤버를 배치 단위로 꺼내 ZREM에 성공한 서버만 리스너를 호출한다 (여러 서버에서도 한 번만 처리).
+ * - keyspace 만료 알림을 받으면 바로 처리하고, 알림이 꺼져 있거나 유실돼도 주기 점검으로 처리된다.
+ */
+@Slf4j
+@Component
+public class ReservationHoldTracker {
+
+    public static final String HOLDS_KEY = "reservation:holds";
+    private static final String HOLD_KEY_PREFIX = "reservationInfo:";
+
+    private final RedisCommands<String, String> redisCommands;
+    private final RedisAsyncCommands<String, String> redisAsyncCommands;
+    private final ObjectProvider<ReservationHoldListener> listeners;
+    private final int batchSize;
+
+    private final Counter trackedCounter;
+    private final Counter expiredCounter;
+    private final AtomicLong liveHolds = new AtomicLong();
+
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private final AtomicBoolean sweepRequested = new AtomicBoolean();
+    private final ExecutorService sweepWorker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reservation-hold-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public ReservationHoldTracker(RedisCommands<String, String> redisCommands,
+                                  RedisAsyncCommands<String, String> redisAsyncCommands,
+                                  ObjectProvider<ReservationHoldListener> listeners,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${reservation.hold.sweep-batch-size:100}") int batchSize) {
+        this.redisCommands = redisCommands;
+        this.redisAsyncCommands = redisAsyncCommands;
+        this.listeners = listeners;
+        this.batchSize = batchSize;
+        this.trackedCounter = Counter.builder("reservation.hold.tracked").register(meterRegistry);
+        this.expiredCounter = Counter.builder("reservation.hold.expired").register(meterRegistry);
+        Gauge.builder("reservation.hold.live", liveHolds, AtomicLong::get).register(meterRegistry);
+    }
+
+    // 요청 해시 저장과 같은 파이프라인으로 보내도록 응답을 기다리지 않음
+    public RedisFuture<Long> track(long reservationId, ReservationDTO reservationDTO, long ttlSeconds) {
+        trackedCounter.increment();
+        long expiresAtMillis = System.currentTimeMillis() + ttlSeconds * 1000;
+        return redisAsyncCommands.zadd(HOLDS_KEY, expiresAtMillis, ReservationHoldCodec.trackingMember(reservationId, reservationDTO));
+    }
+
+    public void untrack(long reservationId, ReservationDTO reservationDTO) {
+        redisCommands.zrem(HOLDS_KEY, ReservationHoldCodec.trackingMember(reservationId, reservationDTO));
+    }
+
+    // 만료 알림 수신 시 호출, 처리 중에 들어온 요청은 한 번으로 합침
+    public void requestSweep() {
+        if (!sweepRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sweepWorker.execute(() -> {
+                sweepRequested.set(false);
+                sweep();
+            });
+        } catch (RejectedExecutionException e) {
+            sweepRequested.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.hold.sweep-interval-millis:5000}")
+    public void sweep() {
+        if (!sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            int expiredCount = 0;
+            // (서버 간 시계 차이로) 아직 해시가 남아 ZSET에 그대로 둔 멤버 수, 다음 배치는 그 뒤부터 읽는다
+            long skipped = 0;
+            while (true) {
+                List<String> dueMembers = redisCommands.zrangebyscore(HOLDS_KEY,
+                        Range.create(0, System.currentTimeMillis()), Limit.create(skipped, batchSize));
+
+                for (String member : dueMembers) {
+                    ReservationHoldDTO reservationHoldDTO = ReservationHoldCodec.decodeTrackingMember(member, 0);
+                    if (redisCommands.exists(HOLD_KEY_PREFIX + reservationHoldDTO.getReservationId()) > 0) {
+                        skipped++;
+                    } else if (expire(member, reservationHoldDTO)) {
+                        expiredCount++;
+                    }
+                }
+
+                if (dueMembers.size() < batchSize) {
+                    break;
+                }
+            }
+
+            liveHolds.set(redisCommands.zcard(HOLDS_KEY));
+            if (expiredCount > 0) {
+                log.info("만료된 예약 요청 처리: {}건", expiredCount);
+            }
+        } catch (RuntimeException e) {
+            log.error("예약 요청 만료 처리 실패", e);
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    public List<ReservationHoldDTO> findLiveHolds(int limit) {
+        return redisCommands.zrangeWithScores(HOLDS_KEY, 0, limit - 1).stream()
+                .map(scoredValue -> ReservationHoldCodec.decodeTrackingMember(scoredValue.getValue(), scoredValue.getScore()))
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweepWorker.shutdownNow();
+    }
+
+    private boolean expire(String member, ReservationHoldDTO reservationHoldDTO) {
+        // 다른 서버가 먼저 가져간 멤버는 건너뜀
+        if (redisCommands.zrem(HOLDS_KEY, member) == 0) {
+            return false;
+        }
+
+        expiredCounter.increment();
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onHoldExpired(reservationHoldDTO);
+            } catch (RuntimeException e) {
+                log.error("예약 요청 만료 리스너 실패: reservationId={}", reservationHoldDTO.getReservationId(), e);
+            }
+        });
+        return true;
+    }
+}
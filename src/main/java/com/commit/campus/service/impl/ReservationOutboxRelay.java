@@ -0,0 +1,189 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.dto.ReservationEventDTO;
+import com.commit.campus.entity.ReservationOutbox;
+import com.commit.campus.repository.ReservationOutboxRepository;
+import com.commit.campus.service.ReservationEventListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/*
+ * 예약 상태 변경 outbox
+ * - 확정/취소/변경 트랜잭션 안에서 reservation_outbox에 한 행을 기록하므로 DB에 반영된 변경은 반드시 기록이 남는다.
+ * - 커밋되면 바로 리스너에 전달하고(빠른 경로), 모든 리스너가 성공하면 그 행을 정리 스레드에서 지운다.
+ *   afterCommit 시점에는 요청 트랜잭션의 커넥션이 아직 반납되지 않았으므로, 요청 스레드에서 새 트랜잭션을 열면 커넥션을 두 개 잡는다.
+ *   전달하지 못했거나 지우지 못한 행은 릴레이가 주기적으로 다시 전달한 뒤 삭제한다.
+ * - 릴레이는 outbox_id 순서로 배치를 FOR UPDATE SKIP LOCKED로 잡아 여러 서버가 나눠 처리하고, 처리한 배치는 DELETE 한 번으로 지운다.
+ * - 리스너가 실패하면 배치 트랜잭션을 롤백해 다음 주기에 다시 전달한다 (최소 한 번 전달).
+ */
+@Slf4j
+@Component
+public class ReservationOutboxRelay {
+
+    private final ReservationOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    // 빠른 경로 삭제용 (정리 스레드에서 새 트랜잭션으로 실행)
+    private final TransactionTemplate cleanupTemplate;
+    private final Executor cleanupExecutor;
+    private final ObjectProvider<ReservationEventListener> listeners;
+    private final int batchSize;
+    private final Counter relayedCounter;
+
+    @Autowired
+    public ReservationOutboxRelay(ReservationOutboxRepository outboxRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectProvider<ReservationEventListener> listeners,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${reservation.outbox.batch-size:500}") int batchSize,
+                                  @Qualifier("outboxCleanupExecutor") Executor cleanupExecutor) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cleanupTemplate = new TransactionTemplate(transactionManager);
+        this.cleanupTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cleanupExecutor = cleanupExecutor;
+        this.listeners = listeners;
+        this.batchSize = batchSize;
+        this.relayedCounter = Counter.builder("reservation.outbox.relayed").register(meterRegistry);
+    }
+
+    // 상태 변경과 같은 트랜잭션에서 호출
+    public void record(ReservationDTO reservationDTO, String reservationStatus, long fencingToken, boolean waitlistSeat) {
+        ReservationOutbox outbox = outboxRepository.save(ReservationOutbox.builder()
+                .reservationId(reservationDTO.getReservationId())
+                .reservationStatus(reservationStatus)
+                .userId(reservationDTO.getUserId())
+                .campId(reservationDTO.getCampId())
+                .campFacsId(reservationDTO.getCampFacsId())
+                .campFacsType(reservationDTO.getCampFacsType())
+                .entryDate(reservationDTO.getEntryDate())
+                .leavingDate(reservationDTO.getLeavingDate())
+                .fenceToken(fencingToken)
+                .waitlistSeat(waitlistSeat)
+                .createdAt(LocalDateTime.now())
+                .build());
+        List<ReservationEventDTO> events = List.of(toEvent(outbox));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatchAndDelete(events);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatchAndDelete(events);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.outbox.poll-interval-millis:200}")
+    public void relay() {
+        try {
+            long afterId = 0;
+            int relayedCount = 0;
+            while (true) {
+                long cursor = afterId;
+                List<ReservationEventDTO> events = transactionTemplate.execute(status -> relayBatch(cursor));
+                if (events == null || events.isEmpty()) {
+                    break;
+                }
+
+                relayedCount += events.size();
+                afterId = events.get(events.size() - 1).getOutboxId();
+                if (events.size() < batchSize) {
+                    break;
+                }
+            }
+
+            if (relayedCount > 0) {
+                relayedCounter.increment(relayedCount);
+                log.debug("예약 상태 변경 릴레이: {}건", relayedCount);
+            }
+        } catch (RuntimeException e) {
+            log.error("예약 상태 변경 릴레이 실패", e);
+        }
+    }
+
+    private List<ReservationEventDTO> relayBatch(long afterId) {
+        List<ReservationOutbox> outboxes = outboxRepository.lockNextBatch(afterId, batchSize);
+        if (outboxes.isEmpty()) {
+            return List.of();
+        }
+
+        List<ReservationEventDTO> events = outboxes.stream()
+                .map(ReservationOutboxRelay::toEvent)
+                .toList();
+        listeners.orderedStream().forEach(listener -> listener.onReservationEvents(events));
+
+        outboxRepository.deleteAllByOutboxIdIn(events.stream().map(ReservationEventDTO::getOutboxId).toList());
+        return events;
+    }
+
+    // 빠른 경로는 실패해도 릴레이가 다시 전달하므로 로그만 남기고, 모두 전달했으면 릴레이가 다시 보내지 않도록 행을 지움
+    private void dispatchAndDelete(List<ReservationEventDTO> events) {
+        boolean dispatched = listeners.orderedStream()
+                .map(listener -> {
+                    try {
+                        listener.onReservationEvents(events);
+                        return true;
+                    } catch (RuntimeException e) {
+                        log.warn("예약 상태 변경 즉시 전달 실패 (릴레이에서 재시도): reservationId={}", events.get(0).getReservationId(), e);
+                        return false;
+                    }
+                })
+                .reduce(true, Boolean::logicalAnd);
+        if (!dispatched) {
+            return;
+        }
+
+        try {
+            cleanupExecutor.execute(() -> delete(events));
+        } catch (RejectedExecutionException e) {
+            log.warn("전달한 예약 상태 변경 삭제 대기열 초과 (릴레이에서 다시 전달): reservationId={}", events.get(0).getReservationId());
+        }
+    }
+
+    private void delete(List<ReservationEventDTO> events) {
+        try {
+            cleanupTemplate.executeWithoutResult(status -> outboxRepository.deleteAllByOutboxIdIn(
+                    events.stream().map(ReservationEventDTO::getOutboxId).toList()));
+        } catch (RuntimeException e) {
+            log.warn("전달한 예약 상태 변경 삭제 실패 (릴레이에서 다시 전달): reservationId={}", events.get(0).getReservationId(), e);
+        }
+    }
+
+    private static ReservationEventDTO toEvent(ReservationOutbox outbox) {
+        return ReservationEventDTO.builder()
+                .outboxId(outbox.getOutboxId())
+                .reservationId(outbox.getReservationId())
+                .reservationStatus(outbox.getReservationStatus())
+                .userId(outbox.getUserId())
+                .campId(outbox.getCampId())
+                .campFacsId(outbox.getCampFacsId())
+                .campFacsType(outbox.getCampFacsType())
+                .entryDate(outbox.getEntryDate())
+                .leavingDate(outbox.getLeavingDate())
+                .fenceToken(outbox.getFenceToken())
+                .waitlistSeat(outbox.isWaitlistSeat())
+                .occurredAt(outbox.getCreatedAt())
+                .build();
+    }
+}
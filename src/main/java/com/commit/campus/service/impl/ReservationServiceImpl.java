@@ -1,79 +1,141 @@
 package com.commit.campus.service.impl;
 
+import com.commit.campus.common.exceptions.NotAuthorizedException;
+import com.commit.campus.common.id.SnowflakeIdGenerator;
+import com.commit.campus.common.lock.LockHandle;
+import com.commit.campus.common.lock.LockManager;
+import com.commit.campus.common.redis.ReservationHoldCodec;
 import com.commit.campus.dto.ReservationDTO;
 import com.commit.campus.entity.Reservation;
-import com.commit.campus.entity.Availability;
-import com.commit.campus.entity.Camping;
-import com.commit.campus.repository.AvailabilityRepository;
-import com.commit.campus.repository.CampingRepository;
 import com.commit.campus.repository.ReservationRepository;
+import com.commit.campus.service.InventoryService;
 import com.commit.campus.service.ReservationService;
-import io.lettuce.core.SetArgs;
+import com.commit.campus.service.ReservationWaitlistService;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.async.RedisAsyncCommands;
 import io.lettuce.core.api.sync.RedisCommands;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.LocalDate;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Slf4j
 @Service
 public class ReservationServiceImpl implements ReservationService {
 
     private final ReservationRepository reservationRepository;
-    private final AvailabilityRepository availabilityRepository;
-    private final CampingRepository campingRepository;
     private final RedisCommands<String, String> redisCommands;
+    private final RedisAsyncCommands<String, String> redisAsyncCommands;
+    private final Map<String, InventoryService> inventoryServices;
+    private final LockManager lockManager;
+    private final ReservationHoldTracker reservationHoldTracker;
+    private final ReservationStreamWriter reservationStreamWriter;
+    private final ReservationOutboxRelay reservationOutboxRelay;
+    private final AvailabilityIndex availabilityIndex;
+    private final SnowflakeIdGenerator reservationIdGenerator;
+    private final ReservationWaitlistService reservationWaitlistService;
+
+    // 재고 처리 방식 (lock: 날짜별 락 + DB, sql: 조건부 UPDATE, redis: Redis 재고 카운터, optimistic: 버전 충돌 시 재시도,
+    //               partitioned: 캠핑장별 단일 작업자가 메모리 재고로 처리 후 일괄 반영)
+    @Value("${reservation.inventory.mode:lock}")
+    private String inventoryMode = DEFAULT_INVENTORY_MODE;
+
+    // 예약 저장 방식 (sync: 요청 스레드에서 바로 저장, stream: Redis Stream에 추가 후 워커가 일괄 저장)
+    @Value("${reservation.persistence.mode:sync}")
+    private String persistenceMode = DEFAULT_PERSISTENCE_MODE;
+
+    // 단체 예약 한 번에 처리하는 최대 사이트 수
+    @Value("${reservation.group.max-size:20}")
+    private int maxGroupSize = DEFAULT_MAX_GROUP_SIZE;
 
-    int index = 1;  // reservationId 생성용 인덱스
     private static final int CHANGE_COUNT = 1;
+    private static final int DEFAULT_MAX_GROUP_SIZE = 20;
     private static final long DEFAULT_TTL_SECONDS = 7200;
-    private static final long LOCK_TIMEOUT_SECONDS = 10;  // 락의 타임아웃 설정
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final Duration HOLD_WRITE_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration HOLD_READ_TIMEOUT = Duration.ofSeconds(2);
     private static final String CONFIRMATION_STATUS = "confirmation";
     private static final String CANCELLED_STATUS = "cancelled";
+    private static final String DEFAULT_INVENTORY_MODE = "lock";
+    private static final String DEFAULT_PERSISTENCE_MODE = "sync";
+    private static final String STREAM_PERSISTENCE_MODE = "stream";
 
     @Autowired
     public ReservationServiceImpl(ReservationRepository reservationRepository,
-                                  AvailabilityRepository availabilityRepository,
-                                  CampingRepository campingRepository,
-                                  RedisCommands<String, String> redisCommands) {
+                                  RedisCommands<String, String> redisCommands,
+                                  RedisAsyncCommands<String, String> redisAsyncCommands,
+                                  Map<String, InventoryService> inventoryServices,
+                                  LockManager lockManager,
+                                  ReservationHoldTracker reservationHoldTracker,
+                                  ReservationStreamWriter reservationStreamWriter,
+                                  ReservationOutboxRelay reservationOutboxRelay,
+                                  AvailabilityIndex availabilityIndex,
+                                  SnowflakeIdGenerator reservationIdGenerator,
+                                  ReservationWaitlistService reservationWaitlistService) {
         this.reservationRepository = reservationRepository;
-        this.availabilityRepository = availabilityRepository;
-        this.campingRepository = campingRepository;
         this.redisCommands = redisCommands;
+        this.redisAsyncCommands = redisAsyncCommands;
+        this.inventoryServices = inventoryServices;
+        this.lockManager = lockManager;
+        this.reservationHoldTracker = reservationHoldTracker;
+        this.reservationStreamWriter = reservationStreamWriter;
+        this.reservationOutboxRelay = reservationOutboxRelay;
+        this.availabilityIndex = availabilityIndex;
+        this.reservationIdGenerator = reservationIdGenerator;
+        this.reservationWaitlistService = reservationWaitlistService;
     }
 
     @Override
     public String createReservation(ReservationDTO reservationDTO) {
-        String reservationId = createReservationId(reservationDTO.getReservationDate());
+        String reservationId = createReservationId();
         String key = "reservationInfo:" + reservationId;
 
         log.info("Redis key = {}", key);
 
         // 예약 정보를 redis에 저장
-        saveToRedis(key, reservationDTO, reservationId);
+        saveToRedis(Map.of(reservationId, reservationDTO));
 
         return reservationId;
     }
 
+    // 단체 예약 요청 등록 (사이트마다 예약 요청을 만들고 Redis 저장은 한 번의 왕복으로 처리)
+    @Override
+    public List<String> createGroupReservation(List<ReservationDTO> reservationDTOs) {
+        validateGroupSize(reservationDTOs.size());
+
+        Map<String, ReservationDTO> holds = new LinkedHashMap<>();
+        for (ReservationDTO reservationDTO : reservationDTOs) {
+            holds.put(createReservationId(), reservationDTO);
+        }
+        saveToRedis(holds);
+
+        return List.copyOf(holds.keySet());
+    }
+
     @Override
     @Transactional
     public ReservationDTO confirmReservation(String reservationId) {
         String lockKey = "lock:reservation:" + reservationId;
-        String campLockKey = null;
-        try {
-            if (!acquireLock(lockKey)) {
-                throw new ConcurrentModificationException("해당 예약은 현재 처리 중입니다. 잠시 후 다시 시도해 주세요.");
-            }
+        InventoryService inventoryService = resolveInventoryService();
 
+        LockHandle lockHandle = acquireLock(lockKey);
+        try {
             String key = "reservationInfo:" + reservationId;
             Map<String, String> reservationInfo = redisCommands.hgetall(key);
 
@@ -82,16 +144,8 @@ public class ReservationServiceImpl implements ReservationService {
                 throw new RuntimeException("이미 만료되었거나 존재하지 않는 예약입니다.");
             }
 
-            // 캠핑장에 대한 락 적용
-            String campId = reservationInfo.get("campId");
-            campLockKey = "lock:camp:" + campId;
-
-            if (!acquireLock(campLockKey)) {
-                throw new ConcurrentModificationException("동일한 캠핑장에 대한 다른 예약 요청이 처리 중입니다. 잠시 후 다시 시도해 주세요.");
-            }
-
             // Redis에서 예약 상태 확인
-            String reservationStatus = reservationInfo.get("reservationStatus");
+            String reservationStatus = ReservationHoldCodec.status(reservationInfo);
             if (CANCELLED_STATUS.equals(reservationStatus)) {
                 throw new IllegalStateException("이미 취소된 예약입니다.");
             } else if (CONFIRMATION_STATUS.equals(reservationStatus)) {
@@ -101,58 +155,31 @@ public class ReservationServiceImpl implements ReservationService {
             // 캐시에서 가져온 데이터를 dto로 매핑
             ReservationDTO reservationDTO = mapToReservationDTO(reservationInfo);
 
-            // 예약 가능 여부 확인
-            checkAvailabilityBeforeConfirming(reservationDTO);
-
-            // 예약 상태 업데이트
-            redisCommands.hset(key, "reservationStatus", CONFIRMATION_STATUS);
-
-            // 예약 정보 db에 저장
-            saveReservationToDatabase(reservationDTO);
+            // 대기열 제안은 취소된 예약의 좌석을 넘겨받아 이미 차감되어 있음
+            boolean waitlistOffer = ReservationHoldCodec.isWaitlistOffer(reservationInfo);
 
-            // 예약 가능 개수 차감
-            updateAvailability(reservationDTO, true);
-
-            return reservationDTO;
-        } finally {
-            releaseLock(lockKey);
-            if (campLockKey != null) {
-                releaseLock(campLockKey);
+            // 예약 가능 개수 차감 (마감된 날짜가 있으면 예외)
+            if (!waitlistOffer) {
+                inventoryService.reserve(reservationDTO);
+                applyToAvailabilityIndex(reservationDTO, -CHANGE_COUNT);
             }
-        }
-    }
 
-    /* 예약 확정 전 예약 가능 여부 확인 */
-    private void checkAvailabilityBeforeConfirming(ReservationDTO reservationDTO) {
-        LocalDate entryDate = reservationDTO.getEntryDate();
-        LocalDate leavingDate = reservationDTO.getLeavingDate();
-        long campId = reservationDTO.getCampId();
-        int campFacsType = reservationDTO.getCampFacsType();
-
-        List<Availability> availabilityList = availabilityRepository.findByCampIdAndDateBetween(campId, entryDate, leavingDate);
-
-        for (Availability availability : availabilityList) {
-            int availableCount;
-            switch (campFacsType) {
-                case 1:
-                    availableCount = availability.getGeneralSiteAvail();
-                    break;
-                case 2:
-                    availableCount = availability.getCarSiteAvail();
-                    break;
-                case 3:
-                    availableCount = availability.getGlampingSiteAvail();
-                    break;
-                case 4:
-                    availableCount = availability.getCaravanSiteAvail();
-                    break;
-                default:
-                    throw new IllegalArgumentException("잘못된 시설 유형입니다: " + campFacsType);
+            try {
+                // 예약 정보 db에 저장 (stream 모드는 이벤트만 추가하고 워커가 저장)
+                persistConfirmation(reservationDTO, lockHandle.fencingToken());
+
+                // 상태 변경 기록, Redis 상태 반영과 만료 추적 제외는 커밋 후 outbox 리스너가 처리
+                reservationOutboxRelay.record(reservationDTO, CONFIRMATION_STATUS, lockHandle.fencingToken(), waitlistOffer);
+            } catch (RuntimeException e) {
+                if (!waitlistOffer) {
+                    restoreInventory(inventoryService, reservationDTO);
+                }
+                throw e;
             }
 
-            if (availableCount <= 0) {
-                throw new IllegalStateException("해당 캠핑장의 예약이 마감되었습니다..");
-            }
+            return reservationDTO;
+        } finally {
+            releaseAfterCompletion(lockHandle);
         }
     }
 
@@ -160,14 +187,11 @@ public class ReservationServiceImpl implements ReservationService {
     @Transactional
     public void cancelReservation(String reservationId) {
         String lockKey = "lock:reservation:" + reservationId;
-        String campLockKey = null;
         String reservationKey = "reservationInfo:" + reservationId;
+        InventoryService inventoryService = resolveInventoryService();
 
+        LockHandle lockHandle = acquireLock(lockKey);
         try {
-            if (!acquireLock(lockKey)) {
-                throw new ConcurrentModificationException("해당 예약은 현재 처리 중입니다. 잠시 후 다시 시도해 주세요.");
-            }
-
             // Redis에서 예약 정보 조회
             Map<String, String> reservationInfo = redisCommands.hgetall(reservationKey);
 
@@ -175,233 +199,435 @@ public class ReservationServiceImpl implements ReservationService {
                 throw new IllegalArgumentException("해당 예약이 존재하지 않습니다.");
             }
 
-            // 캠핑장에 대한 락 적용
-            String campId = reservationInfo.get("campId");
-            campLockKey = "lock:camp:" + campId;
-
-            if (!acquireLock(campLockKey)) {
-                throw new ConcurrentModificationException("동일한 캠핑장에 대한 다른 예약 요청이 처리 중입니다. 잠시 후 다시 시도해 주세요.");
-            }
-
-            String currentStatus = reservationInfo.get("reservationStatus");
+            String currentStatus = ReservationHoldCodec.status(reservationInfo);
             if (CANCELLED_STATUS.equals(currentStatus)) {
                 throw new IllegalStateException("이미 취소된 예약입니다.");
             }
 
-            // 예약 상태를 취소로 업데이트
-            redisCommands.hset(reservationKey, "reservationStatus", CANCELLED_STATUS);
-            redisCommands.hset(reservationKey, "updatedAt", LocalDateTime.now().toString());
-
             // ReservationDTO 생성
             ReservationDTO reservationDTO = mapToReservationDTO(reservationInfo);
+            boolean confirmed = CONFIRMATION_STATUS.equals(currentStatus);
 
-            // 예약 가능 수량 업데이트
-            updateAvailability(reservationDTO, false);
+            // 데이터베이스 동기화 (만료된 락으로 처리 중이면 여기서 거부되어 이후 변경이 일어나지 않음, stream 모드는 저장 시점에 거부)
+            persistCancellation(reservationDTO, lockHandle.fencingToken(), confirmed);
 
-            // 데이터베이스 동기화
-            syncCancellationToDatabase(reservationDTO);
+            // 확정되어 차감된 예약만 좌석이 생기고, 같은 기간 대기자가 있으면 재고를 풀지 않고 커밋 후 맨 앞 대기자에게 넘김
+            boolean waitlistSeat = confirmed && reservationWaitlistService.hasWaiting(reservationDTO);
 
-        } finally {
-            releaseLock(lockKey);
-            if (campLockKey != null) {
-                releaseLock(campLockKey);
+            // 상태 변경 기록, Redis 상태 반영과 만료 추적 제외(대기열 좌석 제안 포함)는 커밋 후 outbox 리스너가 처리
+            reservationOutboxRelay.record(reservationDTO, CANCELLED_STATUS, lockHandle.fencingToken(), waitlistSeat);
+
+            // 예약 가능 수량 복구
+            if (confirmed && !waitlistSeat) {
+                inventoryService.release(reservationDTO);
+                applyToAvailabilityIndex(reservationDTO, CHANGE_COUNT);
             }
+        } finally {
+            releaseAfterCompletion(lockHandle);
         }
     }
 
-    private void syncCancellationToDatabase(ReservationDTO reservationDTO) {
-        Reservation reservation = reservationRepository.findById(reservationDTO.getReservationId())
-                .orElseThrow(() -> new EntityNotFoundException("예약을 찾을 수 없습니다: " + reservationDTO.getReservationId()));
+    /*
+     * 단체 예약 확정 (전부 확정되거나 하나도 확정되지 않음)
+     * - 예약마다 자기 펜싱 토큰이 필요하므로 예약 단위 락은 예약 ID 순서로 하나씩 잡는다.
+     * - 예약 요청 조회는 한 번의 왕복, 재고는 reserveAll 한 번, DB 저장은 여러 행 INSERT 한 번으로 처리한다.
+     */
+    @Override
+    @Transactional
+    public List<ReservationDTO> confirmGroupReservation(List<String> reservationIds) {
+        List<String> sortedIds = reservationIds.stream().distinct().sorted().toList();
+        validateGroupSize(sortedIds.size());
+        InventoryService inventoryService = resolveInventoryService();
 
-        Reservation updatedReservation = reservation.toBuilder()
-                .reservationStatus(CANCELLED_STATUS)
-                .updatedAt(LocalDateTime.now())
-                .build();
+        Map<String, LockHandle> lockHandles = acquireLocks(sortedIds);
+        try {
+            List<Map<String, String>> reservationInfos = loadFromRedis(sortedIds);
+
+            List<ReservationDTO> reservationDTOs = new ArrayList<>(sortedIds.size());
+            List<ReservationDTO> inventoryDTOs = new ArrayList<>(sortedIds.size());
+            Set<Long> waitlistOffers = new HashSet<>();
+            for (int i = 0; i < sortedIds.size(); i++) {
+                Map<String, String> reservationInfo = reservationInfos.get(i);
+                if (reservationInfo.isEmpty()) {
+                    throw new RuntimeException("이미 만료되었거나 존재하지 않는 예약입니다: " + sortedIds.get(i));
+                }
+
+                String reservationStatus = ReservationHoldCodec.status(reservationInfo);
+                if (CANCELLED_STATUS.equals(reservationStatus)) {
+                    throw new IllegalStateException("이미 취소된 예약입니다: " + sortedIds.get(i));
+                } else if (CONFIRMATION_STATUS.equals(reservationStatus)) {
+                    throw new IllegalStateException("이미 확정된 예약입니다: " + sortedIds.get(i));
+                }
+
+                ReservationDTO reservationDTO = mapToReservationDTO(reservationInfo);
+                reservationDTOs.add(reservationDTO);
+
+                // 대기열 제안은 취소된 예약의 좌석을 넘겨받아 이미 차감되어 있음
+                if (ReservationHoldCodec.isWaitlistOffer(reservationInfo)) {
+                    waitlistOffers.add(reservationDTO.getReservationId());
+                } else {
+                    inventoryDTOs.add(reservationDTO);
+                }
+            }
 
-        reservationRepository.save(updatedReservation);
+            // 예약 가능 개수 일괄 차감 (하나라도 마감이면 전체 실패)
+            inventoryService.reserveAll(inventoryDTOs);
+            inventoryDTOs.forEach(reservationDTO -> applyToAvailabilityIndex(reservationDTO, -CHANGE_COUNT));
+
+            try {
+                persistGroupConfirmation(reservationDTOs, lockHandles);
+
+                for (ReservationDTO reservationDTO : reservationDTOs) {
+                    reservationOutboxRelay.record(reservationDTO, CONFIRMATION_STATUS,
+                            fencingToken(lockHandles, reservationDTO), waitlistOffers.contains(reservationDTO.getReservationId()));
+                }
+            } catch (RuntimeException e) {
+                inventoryDTOs.forEach(reservationDTO -> restoreInventory(inventoryService, reservationDTO));
+                throw e;
+            }
+
+            return reservationDTOs;
+        } finally {
+            lockHandles.values().forEach(ReservationServiceImpl::releaseAfterCompletion);
+        }
     }
 
-    /* 예약 등록 */
-    // 예약아이디 생성 (예약날짜 + 인덱스)
-    private String createReservationId(LocalDateTime reservationDate) {
-        DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("yyMMddHHmmss");
-        String formattedDate = reservationDate.format(dateFormat);
-        String indexCode = String.format("%06d", index++);
-        return formattedDate + indexCode;
+    /*
+     * 확정된 예약의 숙박 기간, 시설, 장비 대여 변경
+     * - 기존 기간과 새 기간의 차이만 재고에 반영한다 (새로 추가된 날짜만 차감, 빠진 날짜만 복구).
+     *   시설 유형이 바뀌면 재고가 다른 칸이므로 새 기간 전체를 차감하고 기존 기간 전체를 복구한다.
+     * - 추가된 날짜를 모두 차감한 뒤에 예약 행을 바꾸고 빠진 날짜를 복구하므로, 마감된 날짜가 있으면 아무것도 바뀌지 않는다.
+     * - stream 저장 모드에서 아직 DB에 저장되지 않은 예약은 찾을 수 없는 예약으로 처리한다.
+     */
+    @Override
+    @Transactional
+    public ReservationDTO modifyReservation(String reservationId, ReservationDTO reservationDTO) {
+        if (reservationDTO.getLeavingDate().isBefore(reservationDTO.getEntryDate())) {
+            throw new IllegalArgumentException("퇴실일은 입실일보다 빠를 수 없습니다.");
+        }
+        String lockKey = "lock:reservation:" + reservationId;
+        InventoryService inventoryService = resolveInventoryService();
+
+        LockHandle lockHandle = acquireLock(lockKey);
+        try {
+            Reservation reservation = reservationRepository.findById(Long.parseLong(reservationId))
+                    .orElseThrow(() -> new EntityNotFoundException("예약을 찾을 수 없습니다: " + reservationId));
+
+            if (!CONFIRMATION_STATUS.equals(reservation.getReservationStatus())) {
+                throw new IllegalStateException("확정된 예약만 변경할 수 있습니다: " + reservationId);
+            }
+            // reservationDTO의 userId는 인증된 사용자
+            if (!Objects.equals(reservation.getUserId(), reservationDTO.getUserId())) {
+                throw new NotAuthorizedException("이 예약을 변경할 권한이 없습니다: " + reservationId);
+            }
+            if (reservation.getCampId() != reservationDTO.getCampId()) {
+                throw new IllegalArgumentException("다른 캠핑장의 예약으로 변경할 수 없습니다: " + reservationId);
+            }
+
+            ReservationDTO current = mapToReservationDTO(reservation);
+            ReservationDTO modified = current.toBuilder()
+                    .campFacsId(reservationDTO.getCampFacsId())
+                    .campFacsType(reservationDTO.getCampFacsType())
+                    .entryDate(reservationDTO.getEntryDate())
+                    .leavingDate(reservationDTO.getLeavingDate())
+                    .gearRentalStatus(reservationDTO.getGearRentalStatus() != null
+                            ? reservationDTO.getGearRentalStatus() : current.getGearRentalStatus())
+                    .updatedAt(LocalDateTime.now())
+                    .build();
+
+            List<ReservationDTO> addedStays = staysNotIn(modified, current);
+            List<ReservationDTO> removedStays = staysNotIn(current, modified);
+
+            // 추가된 날짜 차감 (마감된 날짜가 있으면 앞서 차감한 구간을 복구하고 예외)
+            List<ReservationDTO> reservedStays = new ArrayList<>(addedStays.size());
+            try {
+                for (ReservationDTO addedStay : addedStays) {
+                    inventoryService.reserve(addedStay);
+                    reservedStays.add(addedStay);
+                }
+
+                syncModificationToDatabase(modified, lockHandle.fencingToken());
+
+                // Redis 예약 해시의 기간/시설 반영은 커밋 후 outbox 리스너가 처리
+                reservationOutboxRelay.record(modified, CONFIRMATION_STATUS, lockHandle.fencingToken(), false);
+            } catch (RuntimeException e) {
+                reservedStays.forEach(reservedStay -> restoreInventory(inventoryService, reservedStay));
+                throw e;
+            }
+
+            // 빠진 날짜 복구
+            for (ReservationDTO removedStay : removedStays) {
+                inventoryService.release(removedStay);
+            }
+
+            addedStays.forEach(addedStay -> applyToAvailabilityIndex(addedStay, -CHANGE_COUNT));
+            removedStays.forEach(removedStay -> applyToAvailabilityIndex(removedStay, CHANGE_COUNT));
+
+            return modified;
+        } finally {
+            releaseAfterCompletion(lockHandle);
+        }
     }
 
-    // 예약 정보를 redis에 저장
-    private void saveToRedis(String key, ReservationDTO reservationDTO, String reservationId) {
-        redisCommands.expire(key, DEFAULT_TTL_SECONDS);
-        redisCommands.hset(key, "reservationId", reservationId);
-        redisCommands.hset(key, "userId", reservationDTO.getUserId().toString());
-        redisCommands.hset(key, "campId", reservationDTO.getCampId().toString());
-        redisCommands.hset(key, "campFacsId", reservationDTO.getCampFacsId().toString());
-        redisCommands.hset(key, "reservationDate", reservationDTO.getReservationDate().toString());
-        redisCommands.hset(key, "entryDate", reservationDTO.getEntryDate().toString());
-        redisCommands.hset(key, "leavingDate", reservationDTO.getLeavingDate().toString());
-        redisCommands.hset(key, "gearRentalStatus", reservationDTO.getGearRentalStatus());
-        redisCommands.hset(key, "campFacsType", reservationDTO.getCampFacsType().toString());
+    // stay 기간 중 other에 없는 날짜 구간 (시설 유형이 다르거나 겹치지 않으면 기간 전체, 겹치면 앞뒤로 최대 두 구간)
+    private static List<ReservationDTO> staysNotIn(ReservationDTO stay, ReservationDTO other) {
+        if (!Objects.equals(stay.getCampFacsType(), other.getCampFacsType())
+                || stay.getLeavingDate().isBefore(other.getEntryDate()) || stay.getEntryDate().isAfter(other.getLeavingDate())) {
+            return List.of(stay);
+        }
+
+        List<ReservationDTO> stays = new ArrayList<>(2);
+        if (stay.getEntryDate().isBefore(other.getEntryDate())) {
+            stays.add(stay.toBuilder().leavingDate(other.getEntryDate().minusDays(1)).build());
+        }
+        if (stay.getLeavingDate().isAfter(other.getLeavingDate())) {
+            stays.add(stay.toBuilder().entryDate(other.getLeavingDate().plusDays(1)).build());
+        }
+        return stays;
     }
 
-    /* 예약 확정 */
-    private ReservationDTO mapToReservationDTO(Map<String, String> reservationInfo) {
-        return ReservationDTO.builder()
-                .reservationId(Long.valueOf(reservationInfo.get("reservationId")))
-                .userId(Long.valueOf(reservationInfo.get("userId")))
-                .campId(Long.valueOf(reservationInfo.get("campId")))
-                .campFacsId(Long.valueOf(reservationInfo.get("campFacsId")))
-                .reservationDate(LocalDateTime.parse(reservationInfo.get("reservationDate")))
-                .entryDate(LocalDate.parse(reservationInfo.get("entryDate"), DATE_FORMAT))
-                .leavingDate(LocalDate.parse(reservationInfo.get("leavingDate"), DATE_FORMAT))
-                .reservationStatus(CONFIRMATION_STATUS)
-                .gearRentalStatus(reservationInfo.get("gearRentalStatus"))
-                .campFacsType(Integer.valueOf(reservationInfo.get("campFacsType")))
-                .build();
+    // 확정 도중 실패하면 차감한 재고를 복구 (복구 실패가 원래 예외를 가리지 않도록 로그만 남김)
+    private void restoreInventory(InventoryService inventoryService, ReservationDTO reservationDTO) {
+        try {
+            inventoryService.release(reservationDTO);
+        } catch (RuntimeException e) {
+            log.error("재고 복구 실패: reservationId={}", reservationDTO.getReservationId(), e);
+        }
     }
 
-    private void saveReservationToDatabase(ReservationDTO reservationDTO) {
-        Reservation reservation = Reservation.builder()
-                .reservationId(reservationDTO.getReservationId())
-                .campId(reservationDTO.getCampId())
-                .campFacsId(reservationDTO.getCampFacsId())
-                .userId(reservationDTO.getUserId())
-                .reservationDate(reservationDTO.getReservationDate())
-                .entryDate(reservationDTO.getEntryDate())
-                .leavingDate(reservationDTO.getLeavingDate())
-                .reservationStatus(reservationDTO.getReservationStatus())
-                .gearRentalStatus(reservationDTO.getGearRentalStatus())
-                .createdAt(LocalDateTime.now())
-                .build();
-        reservationRepository.save(reservation);
+    // 재고 처리는 {mode}Inventory 빈에 위임
+    private InventoryService resolveInventoryService() {
+        InventoryService inventoryService = inventoryServices.get(inventoryMode + "Inventory");
+        if (inventoryService == null) {
+            throw new IllegalStateException("지원하지 않는 재고 처리 방식입니다: " + inventoryMode);
+        }
+        return inventoryService;
     }
 
-    // 예약 가능 테이블 업데이트(데이터 추가, 이용가능 개수 변경)
-    private void updateAvailability(ReservationDTO reservationDTO, boolean isDecrease) {
-        LocalDate currentDate = reservationDTO.getEntryDate();
-        LocalDate endDate = reservationDTO.getLeavingDate();
+    // 달력 조회용 인덱스 갱신 (커밋된 뒤 반영되므로 롤백된 변경은 반영되지 않음)
+    private void applyToAvailabilityIndex(ReservationDTO reservationDTO, int changeCount) {
+        availabilityIndex.applyChange(reservationDTO.getCampId(), reservationDTO.getCampFacsType(),
+                reservationDTO.getEntryDate(), reservationDTO.getLeavingDate(), changeCount);
+    }
 
-        // 예약한 캠핑장의 입실날짜 ~ 퇴실날짜의 예약 가능 현황 가져오기
-        List<Availability> availabilityList = availabilityRepository.findByCampIdAndDateBetween(
-                reservationDTO.getCampId(),
-                reservationDTO.getEntryDate(),
-                reservationDTO.getLeavingDate());
-        log.info("findByCampIdAndDateBetween 실행됨");
-        log.info("availabilityList = {}", availabilityList);
+    // stream 모드는 커밋된 뒤에 이벤트를 추가하고 워커가 저장
+    private void persistConfirmation(ReservationDTO reservationDTO, long fencingToken) {
+        if (STREAM_PERSISTENCE_MODE.equals(persistenceMode)) {
+            reservationStreamWriter.appendAfterCommit(List.of(ReservationStreamWriter.toEvent(reservationDTO, fencingToken)));
+            return;
+        }
+        saveReservationToDatabase(reservationDTO, fencingToken);
+    }
 
-        int index = 0;
+    private void persistGroupConfirmation(List<ReservationDTO> reservationDTOs, Map<String, LockHandle> lockHandles) {
+        if (STREAM_PERSISTENCE_MODE.equals(persistenceMode)) {
+            reservationStreamWriter.appendAfterCommit(reservationDTOs.stream()
+                    .map(reservationDTO -> ReservationStreamWriter.toEvent(reservationDTO, fencingToken(lockHandles, reservationDTO)))
+                    .toList());
+            return;
+        }
+        reservationRepository.upsertAll(reservationDTOs.stream()
+                .map(reservationDTO -> mapToReservation(reservationDTO, fencingToken(lockHandles, reservationDTO)))
+                .toList());
+    }
 
-        // availability의 date 컬럼에 입실일자 ~ 퇴실일자 정보가 있는지 점검
-        while (!currentDate.isAfter(endDate)) {
-            log.info("while문 동작 중: " + index);
-            index++;
-            // 해당 날짜의 데이터가 availability 테이블에 있는지 판별
-            Availability availability = checkAvailabilityDate(currentDate, availabilityList);
-
-            // 들어온 데이터가 없다면 해당 날짜의 데이터가 존재하지 않으므로 새로 생성
-            if (availability == null) {
-                log.info("일치하는 데이터 없음");
-                long campId = reservationDTO.getCampId();
-                availability = createAvailability(campId, currentDate);
-                log.info("{} 날짜로 예약 가능 현황 생성", currentDate);
+    // stream 모드에서 확정된 예약은 아직 스트림에만 있을 수 있으므로 Redis 상태로 판단하고,
+    // 확정되지 않았고 DB에도 없는 예약은 sync 모드와 같이 찾을 수 없는 예약으로 거부
+    private void persistCancellation(ReservationDTO reservationDTO, long fencingToken, boolean confirmed) {
+        if (STREAM_PERSISTENCE_MODE.equals(persistenceMode)) {
+            if (!confirmed && !reservationRepository.existsById(reservationDTO.getReservationId())) {
+                throw new EntityNotFoundException("예약을 찾을 수 없습니다: " + reservationDTO.getReservationId());
             }
+            reservationStreamWriter.appendAfterCommit(List.of(ReservationStreamWriter.toEvent(
+                    reservationDTO.toBuilder().reservationStatus(CANCELLED_STATUS).build(), fencingToken)));
+            return;
+        }
+        syncCancellationToDatabase(reservationDTO, fencingToken);
+    }
 
-            if (isDecrease) {
-                updateAvailabilityCount(reservationDTO, availability, -CHANGE_COUNT);
-            } else {
-                updateAvailabilityCount(reservationDTO, availability, CHANGE_COUNT);
+    // 펜싱 토큰이 더 큰 경우에만 반영, 0건이면 예약이 없거나 이 요청의 락이 이미 만료된 것
+    private void syncCancellationToDatabase(ReservationDTO reservationDTO, long fencingToken) {
+        int updatedCount = reservationRepository.updateStatusFenced(
+                reservationDTO.getReservationId(), CANCELLED_STATUS, LocalDateTime.now(), fencingToken);
+
+        if (updatedCount == 0) {
+            if (!reservationRepository.existsById(reservationDTO.getReservationId())) {
+                throw new EntityNotFoundException("예약을 찾을 수 없습니다: " + reservationDTO.getReservationId());
             }
-            currentDate = currentDate.plusDays(1);
+            throw new ConcurrentModificationException("예약 처리 시간이 초과되어 다른 요청이 먼저 처리했습니다: " + reservationDTO.getReservationId());
         }
     }
 
-    // 예약 가능 여부 판별
-    private Availability checkAvailabilityDate(LocalDate currentDate, List<Availability> availabilityList) {
-        log.info("checkAvailabilityDate 실행됨");
+    // 확정 상태이고 펜싱 토큰이 더 큰 경우에만 반영, 0건이면 그사이 취소됐거나 이 요청의 락이 이미 만료된 것
+    private void syncModificationToDatabase(ReservationDTO reservationDTO, long fencingToken) {
+        int updatedCount = reservationRepository.updateStayFenced(reservationDTO.getReservationId(), CONFIRMATION_STATUS,
+                reservationDTO.getCampFacsId(), reservationDTO.getEntryDate(), reservationDTO.getLeavingDate(),
+                reservationDTO.getGearRentalStatus(), reservationDTO.getUpdatedAt(), fencingToken);
+
+        if (updatedCount == 0) {
+            throw new ConcurrentModificationException("예약 처리 시간이 초과되어 다른 요청이 먼저 처리했습니다: " + reservationDTO.getReservationId());
+        }
+    }
+
+    /* 예약 등록 */
+    // 예약아이디 생성 (시간 + 노드 + 시퀀스, reservation_id 컬럼의 Long 범위)
+    private String createReservationId() {
+        return String.valueOf(reservationIdGenerator.nextId());
+    }
+
+    // 예약 정보를 redis에 저장 (요청마다 HSET, EXPIRE, 만료 추적 ZADD를 응답을 기다리지 않고 연달아 보내 한 번의 왕복으로 처리)
+    private void saveToRedis(Map<String, ReservationDTO> holds) {
+        List<RedisFuture<?>> futures = new ArrayList<>(holds.size() * 3);
+        List<RedisFuture<Boolean>> expireFutures = new ArrayList<>(holds.size());
+        String[] keys = new String[holds.size()];
+
+        int index = 0;
+        for (Map.Entry<String, ReservationDTO> hold : holds.entrySet()) {
+            long reservationId = Long.parseLong(hold.getKey());
+            String key = "reservationInfo:" + reservationId;
+            keys[index++] = key;
+
+            RedisFuture<Long> hsetFuture = redisAsyncCommands.hset(key, ReservationHoldCodec.encode(reservationId, hold.getValue()));
+            RedisFuture<Boolean> expireFuture = redisAsyncCommands.expire(key, DEFAULT_TTL_SECONDS);
+            RedisFuture<Long> trackFuture = reservationHoldTracker.track(reservationId, hold.getValue(), DEFAULT_TTL_SECONDS);
+            futures.addAll(List.of(hsetFuture, expireFuture, trackFuture));
+            expireFutures.add(expireFuture);
+        }
+
+        // TTL 없이 남은 요청은 만료되지 않으므로 EXPIRE가 하나라도 적용되지 않았으면 전부 삭제 후 실패 처리
+        try {
+            boolean completed = LettuceFutures.awaitAll(HOLD_WRITE_TIMEOUT, futures.toArray(new RedisFuture<?>[0]));
+            if (completed && expireFutures.stream()
+                    .allMatch(expireFuture -> Boolean.TRUE.equals(expireFuture.toCompletableFuture().getNow(false)))) {
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.error("예약 정보 저장 실패: keys={}", String.join(",", keys), e);
+        }
 
-        String currentDateStr = DATE_FORMAT.format(currentDate);
-        log.info("currentDateStr = {}", currentDateStr);
+        redisAsyncCommands.del(keys);
+        throw new IllegalStateException("예약 정보를 저장하지 못했습니다: " + String.join(",", holds.keySet()));
+    }
 
-        // 스트림을 사용하여 조건을 확인하고 로깅
-        Availability availability = availabilityList.stream()
-                .filter(avail -> DATE_FORMAT.format(avail.getDate()).equals(currentDateStr))
-                .peek(avail -> log.info("Checking date: " + DATE_FORMAT.format(avail.getDate())))
-                .findFirst()
-                .orElse(null);
+    // 확정/취소 전 입장 제어에 쓸 캠핑장 ID (한 번의 왕복, 만료되었거나 없는 요청은 제외)
+    @Override
+    public List<Long> findCampIds(List<String> reservationIds) {
+        List<RedisFuture<List<KeyValue<String, String>>>> futures = reservationIds.stream()
+                .map(reservationId -> redisAsyncCommands.hmget("reservationInfo:" + reservationId,
+                        ReservationHoldCodec.CAMP_ID, ReservationHoldCodec.LEGACY_CAMP_ID))
+                .toList();
+
+        if (!LettuceFutures.awaitAll(HOLD_READ_TIMEOUT, futures.toArray(new RedisFuture<?>[0]))) {
+            throw new IllegalStateException("예약 정보를 읽지 못했습니다: " + String.join(",", reservationIds));
+        }
+        return futures.stream()
+                .flatMap(future -> future.toCompletableFuture().join().stream())
+                .filter(KeyValue::hasValue)
+                .map(keyValue -> Long.valueOf(keyValue.getValue()))
+                .distinct()
+                .toList();
+    }
 
-        log.info("avail = {}", availability);
+    // 여러 예약 요청을 한 번의 왕복으로 조회 (요청 순서대로, 없는 요청은 빈 Map)
+    private List<Map<String, String>> loadFromRedis(List<String> reservationIds) {
+        List<RedisFuture<Map<String, String>>> futures = reservationIds.stream()
+                .map(reservationId -> redisAsyncCommands.hgetall("reservationInfo:" + reservationId))
+                .toList();
 
-        return availability;
+        if (!LettuceFutures.awaitAll(HOLD_READ_TIMEOUT, futures.toArray(new RedisFuture<?>[0]))) {
+            throw new IllegalStateException("예약 정보를 읽지 못했습니다: " + String.join(",", reservationIds));
+        }
+        return futures.stream()
+                .map(future -> future.toCompletableFuture().join())
+                .toList();
     }
 
-    private Availability createAvailability(long campId, LocalDate availDate) {
-        Camping camping = campingRepository.findById(campId)
-                .orElseThrow(() -> new NullPointerException("해당 campId는 존재하지 않습니다."));
-
-        Availability newAvailability = Availability.builder()
-                .campId(campId)
-                .date(availDate)
-                .generalSiteAvail(camping.getGeneralSiteCnt())
-                .carSiteAvail(camping.getCarSiteCnt())
-                .glampingSiteAvail(camping.getGlampingSiteCnt())
-                .caravanSiteAvail(camping.getCaravanSiteCnt())
+    /* 예약 확정 */
+    private ReservationDTO mapToReservationDTO(Map<String, String> reservationInfo) {
+        return ReservationHoldCodec.decode(reservationInfo).toBuilder()
+                .reservationStatus(CONFIRMATION_STATUS)
                 .build();
+    }
 
-        log.info("createAvailability 실행 완료");
+    /* 예약 변경 */
+    private static ReservationDTO mapToReservationDTO(Reservation reservation) {
+        return ReservationDTO.builder()
+                .reservationId(reservation.getReservationId())
+                .userId(reservation.getUserId())
+                .campId(reservation.getCampId())
+                .campFacsId(reservation.getCampFacsId())
+                .campFacsType(reservation.getCampingFacilities().getFacsTypeId())
+                .reservationDate(reservation.getReservationDate())
+                .entryDate(reservation.getEntryDate())
+                .leavingDate(reservation.getLeavingDate())
+                .reservationStatus(reservation.getReservationStatus())
+                .gearRentalStatus(reservation.getGearRentalStatus())
+                .createdAt(reservation.getCreatedAt())
+                .build();
+    }
 
-        availabilityRepository.save(newAvailability);
-        log.info("newAvailability = {}", newAvailability);
+    private void saveReservationToDatabase(ReservationDTO reservationDTO, long fencingToken) {
+        reservationRepository.save(mapToReservation(reservationDTO, fencingToken));
+    }
 
-        return newAvailability;
+    private static Reservation mapToReservation(ReservationDTO reservationDTO, long fencingToken) {
+        return Reservation.builder()
+                .reservationId(reservationDTO.getReservationId())
+                .campId(reservationDTO.getCampId())
+                .campFacsId(reservationDTO.getCampFacsId())
+                .userId(reservationDTO.getUserId())
+                .reservationDate(reservationDTO.getReservationDate())
+                .entryDate(reservationDTO.getEntryDate())
+                .leavingDate(reservationDTO.getLeavingDate())
+                .reservationStatus(reservationDTO.getReservationStatus())
+                .gearRentalStatus(reservationDTO.getGearRentalStatus())
+                .createdAt(LocalDateTime.now())
+                .fenceToken(fencingToken)
+                .build();
     }
 
-    private void updateAvailabilityCount(ReservationDTO reservationDTO, Availability availability, int changeCount) {
-        int campFacsType = reservationDTO.getCampFacsType();
-
-        switch (campFacsType) {
-            case 1:
-                availability = availability.toBuilder()
-                        .generalSiteAvail(availability.getGeneralSiteAvail() + changeCount)
-                        .build();
-                break;
-
-            case 2:
-                availability = availability.toBuilder()
-                        .carSiteAvail(availability.getCarSiteAvail() + changeCount)
-                        .build();
-                break;
-
-            case 3:
-                availability = availability.toBuilder()
-                        .glampingSiteAvail(availability.getGlampingSiteAvail() + changeCount)
-                        .build();
-                break;
-
-            case 4:
-                availability = availability.toBuilder()
-                        .caravanSiteAvail(availability.getCaravanSiteAvail() + changeCount)
-                        .build();
-                break;
-
-            default:
-                throw new IllegalArgumentException("잘못된 시설 유형입니다. : " + campFacsType);
+    // 커밋 후 Redis 상태 반영이 끝난 뒤에 락을 풀어, 다음 요청이 반영 전 상태를 보고 다시 처리하지 않도록 함
+    private static void releaseAfterCompletion(LockHandle lockHandle) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lockHandle.close();
+            return;
         }
 
-        log.info("카운트 변경됨");
-        log.info("availability = {}", availability);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lockHandle.close();
+            }
+        });
+    }
+
+    // 예약 단위 락 획득
+    private LockHandle acquireLock(String lockKey) {
+        return lockManager.tryLock(List.of(lockKey))
+                .orElseThrow(() -> new ConcurrentModificationException("해당 예약은 현재 처리 중입니다. 잠시 후 다시 시도해 주세요."));
+    }
 
-        availabilityRepository.save(availability);
+    // 여러 예약의 락을 주어진 순서로 하나씩 획득 (하나라도 실패하면 이미 획득한 락을 풀고 예외)
+    private Map<String, LockHandle> acquireLocks(List<String> reservationIds) {
+        Map<String, LockHandle> lockHandles = new LinkedHashMap<>();
+        try {
+            for (String reservationId : reservationIds) {
+                lockHandles.put(reservationId, acquireLock("lock:reservation:" + reservationId));
+            }
+        } catch (RuntimeException e) {
+            lockHandles.values().forEach(LockHandle::close);
+            throw e;
+        }
+        return lockHandles;
     }
 
-    // Redis 락 획득
-    private boolean acquireLock(String lockKey) {
-        String result = redisCommands.set(
-                lockKey, "locked", SetArgs.Builder.nx().ex(LOCK_TIMEOUT_SECONDS)
-        );
-        return "OK".equals(result); // "OK"인지 확인하여 락이 성공적으로 설정되었는지 확인
+    private static long fencingToken(Map<String, LockHandle> lockHandles, ReservationDTO reservationDTO) {
+        return lockHandles.get(String.valueOf(reservationDTO.getReservationId())).fencingToken();
     }
 
-    private void releaseLock(String lockKey) {
-        redisCommands.del(lockKey);
+    private void validateGroupSize(int groupSize) {
+        if (groupSize == 0 || groupSize > maxGroupSize) {
+            throw new IllegalArgumentException("단체 예약은 1개 이상 " + maxGroupSize + "개 이하로 요청해 주세요: " + groupSize);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,193 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.entity.Reservation;
+import com.commit.campus.repository.ReservationRepository;
+import io.lettuce.core.Consumer;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAutoClaimArgs;
+import io.lettuce.core.XGroupCreateArgs;
+import io.lettuce.core.XReadArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * 예약 저장 이벤트 소비 (reservation.persistence.mode=stream)
+ * - consumer group으로 reservation:events를 배치 단위로 읽어 다중 행 INSERT ... ON DUPLICATE KEY UPDATE 한 번으로 저장한다.
+ * - 저장에 성공한 메시지만 XACK 후 XDEL하고, 실패한 메시지는 대기 목록에 남아 다시 처리된다.
+ * - 다른 워커가 가져간 뒤 오래 처리하지 못한 메시지(서버 종료 등)는 XAUTOCLAIM으로 회수한다.
+ * - XREADGROUP BLOCK이 공용 연결을 막지 않도록 워커마다 별도 연결을 사용한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reservation.persistence.mode", havingValue = "stream")
+public class ReservationStreamConsumer {
+
+    public static final String GROUP_NAME = "reservation-persistence";
+    static final String DEAD_LETTER_KEY = ReservationStreamWriter.STREAM_KEY + ":dead";
+
+    private static final Duration BLOCK_TIMEOUT = Duration.ofSeconds(1);
+    private static final long ERROR_BACKOFF_MILLIS = 1000;
+
+    private final RedisClient redisClient;
+    private final RedisCommands<String, String> redisCommands;
+    private final ReservationRepository reservationRepository;
+
+    @Value("${reservation.persistence.stream.workers:2}")
+    private int workerCount = 2;
+
+    @Value("${reservation.persistence.stream.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${reservation.persistence.stream.claim-idle-millis:30000}")
+    private long claimIdleMillis = 30000;
+
+    private final List<StatefulRedisConnection<String, String>> connections = new CopyOnWriteArrayList<>();
+    private ExecutorService workers;
+    private volatile boolean running;
+
+    @Autowired
+    public ReservationStreamConsumer(RedisClient redisClient,
+                                     RedisCommands<String, String> redisCommands,
+                                     ReservationRepository reservationRepository) {
+        this.redisClient = redisClient;
+        this.redisCommands = redisCommands;
+        this.reservationRepository = reservationRepository;
+    }
+
+    @PostConstruct
+    public void start() {
+        createGroup();
+
+        running = true;
+        AtomicInteger threadIndex = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "reservation-stream-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        String hostName = hostName();
+        for (int i = 0; i < workerCount; i++) {
+            StatefulRedisConnection<String, String> connection = redisClient.connect();
+            connections.add(connection);
+            Consumer<String> consumer = Consumer.from(GROUP_NAME, hostName + "-" + i);
+            workers.execute(() -> poll(connection.sync(), consumer));
+        }
+        log.info("예약 저장 이벤트 소비 시작: workers={}, batchSize={}", workerCount, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (workers != null) {
+            workers.shutdown();
+            workers.awaitTermination(BLOCK_TIMEOUT.toMillis() * 2, TimeUnit.MILLISECONDS);
+        }
+        connections.forEach(StatefulRedisConnection::close);
+    }
+
+    private void poll(RedisCommands<String, String> commands, Consumer<String> consumer) {
+        long nextClaimAt = 0;
+
+        while (running) {
+            try {
+                if (System.currentTimeMillis() >= nextClaimAt) {
+                    List<StreamMessage<String, String>> claimed = commands.xautoclaim(ReservationStreamWriter.STREAM_KEY,
+                            XAutoClaimArgs.Builder.xautoclaim(consumer, Duration.ofMillis(claimIdleMillis), "0-0").count(batchSize))
+                            .getMessages();
+                    flush(commands, claimed);
+                    nextClaimAt = System.currentTimeMillis() + claimIdleMillis;
+                }
+
+                // StreamOffset 가변 인자(제네릭 배열) 경고만 억제
+                @SuppressWarnings("unchecked")
+                List<StreamMessage<String, String>> messages = commands.xreadgroup(consumer,
+                        XReadArgs.Builder.count(batchSize).block(BLOCK_TIMEOUT),
+                        XReadArgs.StreamOffset.lastConsumed(ReservationStreamWriter.STREAM_KEY));
+                flush(commands, messages);
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.error("예약 저장 이벤트 처리 실패, 잠시 후 다시 시도합니다.", e);
+                sleepQuietly(ERROR_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    // 배치 하나를 저장하고 처리한 메시지 수를 반환
+    public int flush(RedisCommands<String, String> commands, List<StreamMessage<String, String>> messages) {
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        List<Reservation> reservations = new ArrayList<>(messages.size());
+        List<String> messageIds = new ArrayList<>(messages.size());
+
+        for (StreamMessage<String, String> message : messages) {
+            messageIds.add(message.getId());
+            try {
+                reservations.add(ReservationStreamWriter.toReservation(message.getBody()));
+            } catch (RuntimeException e) {
+                // 해석할 수 없는 메시지는 별도 스트림으로 옮겨 배치 전체가 막히지 않도록 함
+                log.error("잘못된 예약 저장 이벤트: id={}, body={}", message.getId(), message.getBody(), e);
+                commands.xadd(DEAD_LETTER_KEY, message.getBody());
+            }
+        }
+
+        reservationRepository.upsertAll(reservations);
+
+        String[] ids = messageIds.toArray(String[]::new);
+        commands.xack(ReservationStreamWriter.STREAM_KEY, GROUP_NAME, ids);
+        commands.xdel(ReservationStreamWriter.STREAM_KEY, ids);
+        return ids.length;
+    }
+
+    // 스트림이 없으면 함께 생성, 이미 그룹이 있으면 무시
+    private void createGroup() {
+        try {
+            redisCommands.xgroupCreate(XReadArgs.StreamOffset.from(ReservationStreamWriter.STREAM_KEY, "0-0"), GROUP_NAME,
+                    XGroupCreateArgs.Builder.mkstream());
+        } catch (RedisCommandExecutionException e) {
+            if (e.getMessage() == null || !e.getMessage().startsWith("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "reservation-worker";
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.common.redis.ReservationHoldCodec;
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.entity.Reservation;
+import com.commit.campus.repository.ReservationRepository;
+import io.lettuce.core.api.sync.RedisCommands;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 예약 저장 이벤트를 Redis Stream(reservation:events)에 추가 (reservation.persistence.mode=stream)
+ * - 필드는 ReservationHoldCodec 형식 + 펜싱 토큰(k) + 이벤트 시각(w, epoch millis)
+ * - ReservationStreamConsumer가 consumer group으로 읽어 MySQL에 일괄 저장한다.
+ * - 트랜잭션이 커밋된 뒤에만 추가하므로 재고 복구와 함께 롤백된 확정/취소는 스트림에 남지 않는다.
+ *   추가하지 못한 이벤트는 소비자와 같은 upsert(펜싱 토큰 비교)로 DB에 바로 저장한다.
+ */
+@Slf4j
+@Component
+public class ReservationStreamWriter {
+
+    public static final String STREAM_KEY = "reservation:events";
+    static final String FENCE_TOKEN = "k";
+    static final String EVENT_AT = "w";
+
+    private static final String CANCELLED_STATUS = "cancelled";
+    private static final ZoneId ZONE_ID = ZoneId.of("Asia/Seoul");
+
+    private final RedisCommands<String, String> redisCommands;
+    private final ReservationRepository reservationRepository;
+    // 커밋 후 DB 저장용 (afterCommit 안에서는 새 트랜잭션이 필요)
+    private final TransactionTemplate fallbackTemplate;
+
+    @Autowired
+    public ReservationStreamWriter(RedisCommands<String, String> redisCommands,
+                                   ReservationRepository reservationRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.redisCommands = redisCommands;
+        this.reservationRepository = reservationRepository;
+        this.fallbackTemplate = new TransactionTemplate(transactionManager);
+        this.fallbackTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // 확정/취소 트랜잭션 안에서 호출, 커밋되면 추가 (트랜잭션 밖이면 바로 추가)
+    public void appendAfterCommit(List<Map<String, String>> events) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            appendOrSave(events);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                appendOrSave(events);
+            }
+        });
+    }
+
+    // 이벤트 시각은 트랜잭션 안에서 만든 시각 (커밋 후 추가가 늦어져도 바뀌지 않음)
+    public static Map<String, String> toEvent(ReservationDTO reservationDTO, long fencingToken) {
+        Map<String, String> fields = ReservationHoldCodec.encode(reservationDTO.getReservationId(), reservationDTO);
+        fields.put(ReservationHoldCodec.STATUS, reservationDTO.getReservationStatus());
+        fields.put(FENCE_TOKEN, Long.toString(fencingToken));
+        fields.put(EVENT_AT, Long.toString(System.currentTimeMillis()));
+        return fields;
+    }
+
+    // 확정 이벤트는 생성 시각, 취소 이벤트는 변경 시각으로 이벤트 시각을 사용
+    public static Reservation toReservation(Map<String, String> fields) {
+        ReservationDTO reservationDTO = ReservationHoldCodec.decode(fields);
+        LocalDateTime eventAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(fields.get(EVENT_AT))), ZONE_ID);
+        boolean cancelled = CANCELLED_STATUS.equals(reservationDTO.getReservationStatus());
+
+        return Reservation.builder()
+                .reservationId(reservationDTO.getReservationId())
+                .campId(reservationDTO.getCampId())
+                .campFacsId(reservationDTO.getCampFacsId())
+                .userId(reservationDTO.getUserId())
+                .reservationDate(reservationDTO.getReservationDate())
+                .entryDate(reservationDTO.getEntryDate())
+                .leavingDate(reservationDTO.getLeavingDate())
+                .reservationStatus(reservationDTO.getReservationStatus())
+                .gearRentalStatus(reservationDTO.getGearRentalStatus())
+                .createdAt(eventAt)
+                .updatedAt(cancelled ? eventAt : null)
+                .fenceToken(Long.valueOf(fields.get(FENCE_TOKEN)))
+                .build();
+    }
+
+    private void appendOrSave(List<Map<String, String>> events) {
+        List<Map<String, String>> unappended = new ArrayList<>();
+        for (Map<String, String> event : events) {
+            try {
+                redisCommands.xadd(STREAM_KEY, event);
+            } catch (RuntimeException e) {
+                log.warn("예약 저장 이벤트 추가 실패, DB에 바로 저장합니다: reservationId={}", event.get(ReservationHoldCodec.RESERVATION_ID), e);
+                unappended.add(event);
+            }
+        }
+        if (unappended.isEmpty()) {
+            return;
+        }
+
+        try {
+            fallbackTemplate.executeWithoutResult(status -> reservationRepository.upsertAll(
+                    unappended.stream().map(ReservationStreamWriter::toReservation).toList()));
+        } catch (RuntimeException e) {
+            log.error("커밋된 예약을 저장하지 못했습니다: events={}", unappended, e);
+        }
+    }
+}
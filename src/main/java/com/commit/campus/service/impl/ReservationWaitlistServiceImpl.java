@@ -0,0 +1,367 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.common.id.SnowflakeIdGenerator;
+import com.commit.campus.common.lock.LockHandle;
+import com.commit.campus.common.lock.LockManager;
+import com.commit.campus.common.redis.LuaScript;
+import com.commit.campus.common.redis.ReservationHoldCodec;
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.dto.ReservationEventDTO;
+import com.commit.campus.dto.ReservationHoldDTO;
+import com.commit.campus.dto.WaitlistStatusDTO;
+import com.commit.campus.repository.ReservationRepository;
+import com.commit.campus.service.InventoryService;
+import com.commit.campus.service.ReservationEventListener;
+import com.commit.campus.service.ReservationHoldListener;
+import com.commit.campus.service.ReservationWaitlistService;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/*
+ * 마감된 기간의 예약 대기열
+ * - (캠핑장, 시설 유형, 입실일, 퇴실일)마다 Redis ZSET 하나, 멤버는 userId라 사용자당 한 자리만 차지한다.
+ *   점수는 (우선순위 구간, 등록 시각) 순이라 fifo는 등록 순서, priority는 우선순위가 높은 사용자부터 꺼낸다.
+ *   우선순위는 요청 값을 받지 않고 인증된 사용자의 role로 정한다 (priority-roles에 있으면 최우선, 아니면 0).
+ * - 대기자가 있는 기간의 확정 예약이 취소되면 재고를 풀지 않고 좌석을 넘긴다. 커밋 후 outbox 이벤트로 맨 앞 대기자를 꺼내
+ *   재고가 이미 차감된 예약 요청(hold)을 짧은 TTL로 만들어 준다. 대기자는 상태 조회로 받은 reservationId를 평소처럼 확정한다.
+ * - 제안이 확정되지 않고 만료되면 다음 대기자에게 넘기고, 대기자가 없으면 그때 재고를 복구한다.
+ * - 같은 좌석을 두 번 넘기지 않도록 좌석을 내놓은 예약 ID마다 처리 표시를 남긴다 (outbox 이벤트는 두 번 이상 올 수 있음).
+ */
+@Slf4j
+@Service
+public class ReservationWaitlistServiceImpl implements ReservationWaitlistService, ReservationEventListener, ReservationHoldListener {
+
+    public static final String OFFERED_HOLDS_KEY = "waitlist:offered";  // 좌석을 잡아둔 채 확정을 기다리는 제안 요청 ID
+    static final int MAX_PRIORITY = 9;
+
+    private static final String QUEUE_KEY_PREFIX = "waitlist:";
+    private static final String REQUESTS_KEY_SUFFIX = ":requests";
+    private static final String OFFER_KEY_PREFIX = "waitlist:offer:";
+    private static final String TRANSFER_KEY_PREFIX = "waitlist:transfer:";
+    private static final String RESERVATION_LOCK_PREFIX = "lock:reservation:";
+    private static final String RELEASE_PENDING = "release";
+    private static final String RELEASED = "released";
+    private static final long TRANSFER_MARKER_TTL_SECONDS = 86400;
+    private static final long SCORE_EPOCH_MILLIS = 1704067200000L;  // 2024-01-01T00:00:00Z
+    private static final long PRIORITY_BAND = 1L << 42;  // 우선순위 하나당 등록 시각(ms) 구간, double 정밀도 안에서 약 139년
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    private static final int MAX_OFFER_ATTEMPTS = 5;
+    private static final long OFFER_HEAD_CHANGED = -2;
+    private static final String HOLD_KEY_PREFIX = "reservationInfo:";
+    private static final String PRIORITY_ADMISSION = "priority";
+    private static final String CONFIRMATION_STATUS = "confirmation";
+    private static final String CANCELLED_STATUS = "cancelled";
+    private static final ZoneId ZONE_ID = ZoneId.of("Asia/Seoul");
+
+    // KEYS[1] = 대기열, KEYS[2] = 사용자 제안 키 / ARGV[1] = userId
+    private static final String STATUS_BODY =
+            "local offered = redis.call('get', KEYS[2]) " +
+            "if offered then return {'" + WaitlistStatusDTO.OFFERED + "', offered, redis.call('pttl', KEYS[2])} end " +
+            "local rank = redis.call('zrank', KEYS[1], ARGV[1]) " +
+            "if rank then return {'" + WaitlistStatusDTO.WAITING + "', rank + 1, redis.call('zcard', KEYS[1])} end " +
+            "return {'" + WaitlistStatusDTO.NONE + "'}";
+
+    private static final LuaScript STATUS_SCRIPT = new LuaScript(STATUS_BODY);
+
+    // 이미 제안을 받은 사용자는 다시 줄 세우지 않음, 이미 대기 중이면 순번 유지 (NX)
+    // KEYS[3] = 요청 정보 해시({userId}:f = 시설 ID, {userId}:g = 장비 대여 여부)
+    // ARGV[2] = 점수, ARGV[3] = 시설 ID, ARGV[4] = 장비 대여 여부(없으면 빈 값), ARGV[5] = 대기열 만료 시각(epoch seconds)
+    private static final LuaScript JOIN_SCRIPT = new LuaScript(
+            "if redis.call('exists', KEYS[2]) == 0 and redis.call('zadd', KEYS[1], 'NX', ARGV[2], ARGV[1]) == 1 then " +
+            "  redis.call('hset', KEYS[3], ARGV[1] .. ':f', ARGV[3]) " +
+            "  if ARGV[4] ~= '' then redis.call('hset', KEYS[3], ARGV[1] .. ':g', ARGV[4]) end " +
+            "  redis.call('expireat', KEYS[1], ARGV[5]) " +
+            "  redis.call('expireat', KEYS[3], ARGV[5]) " +
+            "end " +
+            STATUS_BODY);
+
+    private static final LuaScript LEAVE_SCRIPT = new LuaScript(
+            "redis.call('hdel', KEYS[2], ARGV[1] .. ':f', ARGV[1] .. ':g') " +
+            "return redis.call('zrem', KEYS[1], ARGV[1])");
+
+    /*
+     * 맨 앞 대기자에게 좌석 제안 (1: 제안함, 0: 대기자 없음 - 재고 복구 필요, -1: 이미 처리된 좌석, -2: 맨 앞 대기자가 바뀜 - 다시 조회)
+     * 스크립트가 쓰는 키를 모두 KEYS로 넘기기 위해, 호출 측이 맨 앞 대기자를 먼저 조회해 그 사용자의 제안 키를 함께 넘긴다.
+     * KEYS[1] = 대기열, KEYS[2] = 요청 정보 해시, KEYS[3] = 처리 표시, KEYS[4] = 제안 요청 집합, KEYS[5] = 만료 추적 ZSET,
+     * KEYS[6] = 새 예약 요청 해시, KEYS[7] = 맨 앞 대기자의 제안 키
+     * ARGV = 새 예약 ID, campId, 시설 유형, 입실 epoch day, 퇴실 epoch day, 현재 시각(ms), TTL(초), 좌석을 내놓은 예약 ID,
+     *        조회한 맨 앞 대기자 userId(없으면 빈 값), 만료 추적 멤버, 처리 표시 TTL(초), 제안 만료 시각(ms)
+     */
+    private static final LuaScript OFFER_SCRIPT = new LuaScript(
+            "local marker = redis.call('get', KEYS[3]) " +
+            "if marker == '" + RELEASE_PENDING + "' then return 0 end " +
+            "if marker then return -1 end " +
+            "local head = redis.call('zrange', KEYS[1], 0, 0) " +
+            "if #head == 0 then " +
+            "  redis.call('set', KEYS[3], '" + RELEASE_PENDING + "', 'EX', ARGV[11]) " +
+            "  return 0 " +
+            "end " +
+            "local userId = head[1] " +
+            "if userId ~= ARGV[9] then return -2 end " +
+            "redis.call('zrem', KEYS[1], userId) " +
+            "redis.call('set', KEYS[3], ARGV[1], 'EX', ARGV[11]) " +
+            "local request = redis.call('hmget', KEYS[2], userId .. ':f', userId .. ':g') " +
+            "redis.call('hdel', KEYS[2], userId .. ':f', userId .. ':g') " +
+            "local holdKey = KEYS[6] " +
+            "redis.call('hset', holdKey, " +
+            "  '" + ReservationHoldCodec.RESERVATION_ID + "', ARGV[1], '" + ReservationHoldCodec.USER_ID + "', userId, " +
+            "  '" + ReservationHoldCodec.CAMP_ID + "', ARGV[2], '" + ReservationHoldCodec.CAMP_FACS_ID + "', request[1] or '', " +
+            "  '" + ReservationHoldCodec.CAMP_FACS_TYPE + "', ARGV[3], '" + ReservationHoldCodec.RESERVATION_DATE + "', ARGV[6], " +
+            "  '" + ReservationHoldCodec.ENTRY_DATE + "', ARGV[4], '" + ReservationHoldCodec.LEAVING_DATE + "', ARGV[5], " +
+            "  '" + ReservationHoldCodec.WAITLIST_SOURCE + "', ARGV[8]) " +
+            "if request[2] and request[2] ~= '' then redis.call('hset', holdKey, '" + ReservationHoldCodec.GEAR_RENTAL_STATUS + "', request[2]) end " +
+            "redis.call('expire', holdKey, ARGV[7]) " +
+            "redis.call('zadd', KEYS[5], ARGV[12], ARGV[10]) " +
+            "redis.call('sadd', KEYS[4], ARGV[1]) " +
+            "redis.call('set', KEYS[7], ARGV[1], 'EX', ARGV[7]) " +
+            "return 1");
+
+    private final RedisCommands<String, String> redisCommands;
+    private final Map<String, InventoryService> inventoryServices;
+    private final LockManager lockManager;
+    private final ReservationRepository reservationRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final SnowflakeIdGenerator reservationIdGenerator;
+    private final String admission;
+    private final Set<String> priorityRoles;
+    private final long offerTtlSeconds;
+
+    private final Counter joinedCounter;
+    private final Counter offeredCounter;
+
+    @Value("${reservation.inventory.mode:lock}")
+    private String inventoryMode = "lock";
+
+    @Autowired
+    public ReservationWaitlistServiceImpl(RedisCommands<String, String> redisCommands,
+                                          Map<String, InventoryService> inventoryServices,
+                                          LockManager lockManager,
+                                          ReservationRepository reservationRepository,
+                                          AvailabilityIndex availabilityIndex,
+                                          SnowflakeIdGenerator reservationIdGenerator,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${reservation.waitlist.admission:fifo}") String admission,
+                                          @Value("${reservation.waitlist.priority-roles:}") Set<String> priorityRoles,
+                                          @Value("${reservation.waitlist.offer-ttl-seconds:600}") long offerTtlSeconds) {
+        this.redisCommands = redisCommands;
+        this.inventoryServices = inventoryServices;
+        this.lockManager = lockManager;
+        this.reservationRepository = reservationRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.reservationIdGenerator = reservationIdGenerator;
+        this.admission = admission;
+        this.priorityRoles = priorityRoles;
+        this.offerTtlSeconds = offerTtlSeconds;
+        this.joinedCounter = Counter.builder("reservation.waitlist.joined").register(meterRegistry);
+        this.offeredCounter = Counter.builder("reservation.waitlist.offered").register(meterRegistry);
+    }
+
+    // 마감된 기간에만 등록 가능 (예약 가능한 기간이면 바로 예약하도록 거부)
+    @Override
+    public WaitlistStatusDTO join(ReservationDTO reservationDTO, String role) {
+        int priority = role != null && priorityRoles.contains(role) ? MAX_PRIORITY : 0;
+        long campId = reservationDTO.getCampId();
+        int campFacsType = reservationDTO.getCampFacsType();
+        LocalDate entryDate = reservationDTO.getEntryDate();
+        LocalDate leavingDate = reservationDTO.getLeavingDate();
+
+        if (!availabilityIndex.filterAvailable(List.of(campId), campFacsType, entryDate, leavingDate).isEmpty()) {
+            throw new IllegalStateException("예약 가능한 기간입니다. 대기 없이 바로 예약해 주세요.");
+        }
+
+        String queueKey = queueKey(campId, campFacsType, entryDate, leavingDate);
+        String userId = reservationDTO.getUserId().toString();
+        String gearRentalStatus = reservationDTO.getGearRentalStatus() != null ? reservationDTO.getGearRentalStatus() : "";
+        long expireAtSeconds = leavingDate.plusDays(1).atStartOfDay(ZONE_ID).toEpochSecond();
+
+        List<Object> result = JOIN_SCRIPT.execute(redisCommands, ScriptOutputType.MULTI,
+                new String[]{queueKey, offerKey(queueKey, userId), queueKey + REQUESTS_KEY_SUFFIX},
+                userId, String.valueOf(score(priority)), reservationDTO.getCampFacsId().toString(), gearRentalStatus,
+                String.valueOf(expireAtSeconds));
+        joinedCounter.increment();
+
+        return toStatus(result);
+    }
+
+    @Override
+    public WaitlistStatusDTO getStatus(long userId, long campId, int campFacsType, LocalDate entryDate, LocalDate leavingDate) {
+        String queueKey = queueKey(campId, campFacsType, entryDate, leavingDate);
+        List<Object> result = STATUS_SCRIPT.execute(redisCommands, ScriptOutputType.MULTI,
+                new String[]{queueKey, offerKey(queueKey, String.valueOf(userId))}, String.valueOf(userId));
+        return toStatus(result);
+    }
+
+    @Override
+    public void leave(long userId, long campId, int campFacsType, LocalDate entryDate, LocalDate leavingDate) {
+        String queueKey = queueKey(campId, campFacsType, entryDate, leavingDate);
+        LEAVE_SCRIPT.execute(redisCommands, ScriptOutputType.INTEGER,
+                new String[]{queueKey, queueKey + REQUESTS_KEY_SUFFIX}, String.valueOf(userId));
+    }
+
+    // 취소 트랜잭션 안에서 좌석을 넘길지 결정할 때 사용
+    @Override
+    public boolean hasWaiting(ReservationDTO reservationDTO) {
+        return redisCommands.zcard(queueKey(reservationDTO.getCampId(), reservationDTO.getCampFacsType(),
+                reservationDTO.getEntryDate(), reservationDTO.getLeavingDate())) > 0;
+    }
+
+    // 좌석을 넘긴 취소는 다음 대기자에게 제안하고, 제안을 확정하면 제안 집합에서 제외
+    @Override
+    public void onReservationEvents(List<ReservationEventDTO> events) {
+        for (ReservationEventDTO event : events) {
+            if (!event.isWaitlistSeat()) {
+                continue;
+            }
+            if (CANCELLED_STATUS.equals(event.getReservationStatus())) {
+                passSeat(event.getReservationId(), event.getCampId(), event.getCampFacsType(), event.getEntryDate(), event.getLeavingDate());
+            } else if (CONFIRMATION_STATUS.equals(event.getReservationStatus())) {
+                redisCommands.srem(OFFERED_HOLDS_KEY, event.getReservationId().toString());
+            }
+        }
+    }
+
+    // 확정되지 않은 제안이 만료되면 좌석을 다음 대기자에게 넘김 (확정 처리와 겹치지 않도록 같은 예약 락 안에서 확인)
+    @Override
+    public void onHoldExpired(ReservationHoldDTO reservationHoldDTO) {
+        String reservationId = reservationHoldDTO.getReservationId().toString();
+        if (!redisCommands.sismember(OFFERED_HOLDS_KEY, reservationId)) {
+            return;
+        }
+
+        Optional<LockHandle> lockHandle = lockManager.tryLock(List.of(RESERVATION_LOCK_PREFIX + reservationId));
+        if (lockHandle.isEmpty()) {
+            retryLater(reservationHoldDTO);
+            return;
+        }
+
+        try (LockHandle ignored = lockHandle.get()) {
+            if (redisCommands.sismember(OFFERED_HOLDS_KEY, reservationId)
+                    && !reservationRepository.existsById(reservationHoldDTO.getReservationId())) {
+                passSeat(reservationHoldDTO.getReservationId(), reservationHoldDTO.getCampId(), reservationHoldDTO.getCampFacsType(),
+                        reservationHoldDTO.getEntryDate(), reservationHoldDTO.getLeavingDate());
+            }
+            redisCommands.srem(OFFERED_HOLDS_KEY, reservationId);
+        } catch (RuntimeException e) {
+            log.error("만료된 대기열 제안 처리 실패: reservationId={}", reservationId, e);
+            retryLater(reservationHoldDTO);
+        }
+    }
+
+    private void passSeat(long sourceReservationId, long campId, int campFacsType, LocalDate entryDate, LocalDate leavingDate) {
+        String queueKey = queueKey(campId, campFacsType, entryDate, leavingDate);
+        String transferKey = TRANSFER_KEY_PREFIX + sourceReservationId;
+        long offerId = reservationIdGenerator.nextId();
+
+        // 조회와 스크립트 사이에 맨 앞 대기자가 바뀌면(등록/취소) 다시 조회
+        long result = OFFER_HEAD_CHANGED;
+        for (int attempt = 1; attempt <= MAX_OFFER_ATTEMPTS && result == OFFER_HEAD_CHANGED; attempt++) {
+            List<String> head = redisCommands.zrange(queueKey, 0, 0);
+            String userId = head.isEmpty() ? "" : head.get(0);
+            long nowMillis = System.currentTimeMillis();
+
+            result = OFFER_SCRIPT.<Long>execute(redisCommands, ScriptOutputType.INTEGER,
+                    new String[]{queueKey, queueKey + REQUESTS_KEY_SUFFIX, transferKey, OFFERED_HOLDS_KEY, ReservationHoldTracker.HOLDS_KEY,
+                            HOLD_KEY_PREFIX + offerId, offerKey(queueKey, userId)},
+                    String.valueOf(offerId),
+                    String.valueOf(campId),
+                    String.valueOf(campFacsType),
+                    String.valueOf(entryDate.toEpochDay()),
+                    String.valueOf(leavingDate.toEpochDay()),
+                    String.valueOf(nowMillis),
+                    String.valueOf(offerTtlSeconds),
+                    String.valueOf(sourceReservationId),
+                    userId,
+                    ReservationHoldCodec.trackingMember(offerId, campId, campFacsType, entryDate, leavingDate),
+                    String.valueOf(TRANSFER_MARKER_TTL_SECONDS),
+                    String.valueOf(nowMillis + offerTtlSeconds * 1000));
+        }
+
+        if (result == OFFER_HEAD_CHANGED) {
+            // 처리 표시가 남지 않았으므로 outbox 재전달이나 만료 재시도 때 다시 넘김
+            throw new IllegalStateException("대기열 맨 앞 대기자가 계속 바뀌어 좌석을 넘기지 못했습니다: from=" + sourceReservationId);
+        }
+        if (result == 1) {
+            offeredCounter.increment();
+            log.info("대기열 좌석 제안: from={}, reservationId={}", sourceReservationId, offerId);
+        } else if (result == 0) {
+            // 대기자가 모두 빠진 경우, 복구에 실패하면 처리 표시가 남아 있어 다시 전달될 때 재시도
+            releaseSeat(sourceReservationId, campId, campFacsType, entryDate, leavingDate);
+            redisCommands.setex(transferKey, TRANSFER_MARKER_TTL_SECONDS, RELEASED);
+        }
+    }
+
+    private void releaseSeat(long sourceReservationId, long campId, int campFacsType, LocalDate entryDate, LocalDate leavingDate) {
+        InventoryService inventoryService = inventoryServices.get(inventoryMode + "Inventory");
+        if (inventoryService == null) {
+            throw new IllegalStateException("지원하지 않는 재고 처리 방식입니다: " + inventoryMode);
+        }
+
+        inventoryService.release(ReservationDTO.builder()
+                .reservationId(sourceReservationId)
+                .campId(campId)
+                .campFacsType(campFacsType)
+                .entryDate(entryDate)
+                .leavingDate(leavingDate)
+                .build());
+        availabilityIndex.applyChange(campId, campFacsType, entryDate, leavingDate, 1);
+    }
+
+    // 만료 추적에 다시 등록해 다음 점검 때 재시도
+    private void retryLater(ReservationHoldDTO reservationHoldDTO) {
+        redisCommands.zadd(ReservationHoldTracker.HOLDS_KEY, System.currentTimeMillis() + RETRY_DELAY_MILLIS,
+                ReservationHoldCodec.trackingMember(reservationHoldDTO.getReservationId(), reservationHoldDTO.getCampId(),
+                        reservationHoldDTO.getCampFacsType(), reservationHoldDTO.getEntryDate(), reservationHoldDTO.getLeavingDate()));
+    }
+
+    // fifo는 모두 같은 구간에서 등록 시각 순, priority는 우선순위가 높을수록 앞 구간
+    private double score(int priority) {
+        int admissionPriority = PRIORITY_ADMISSION.equals(admission) ? priority : MAX_PRIORITY;
+        return (MAX_PRIORITY - admissionPriority) * PRIORITY_BAND + (System.currentTimeMillis() - SCORE_EPOCH_MILLIS);
+    }
+
+    private static WaitlistStatusDTO toStatus(List<Object> result) {
+        String status = (String) result.get(0);
+        if (WaitlistStatusDTO.OFFERED.equals(status)) {
+            return WaitlistStatusDTO.builder()
+                    .status(status)
+                    .reservationId(Long.valueOf((String) result.get(1)))
+                    .expiresAt(LocalDateTime.now(ZONE_ID).plusNanos((Long) result.get(2) * 1_000_000))
+                    .build();
+        }
+        if (WaitlistStatusDTO.WAITING.equals(status)) {
+            return WaitlistStatusDTO.builder()
+                    .status(status)
+                    .position((Long) result.get(1))
+                    .waitingCount((Long) result.get(2))
+                    .build();
+        }
+        return WaitlistStatusDTO.builder().status(WaitlistStatusDTO.NONE).build();
+    }
+
+    private static String queueKey(long campId, int campFacsType, LocalDate entryDate, LocalDate leavingDate) {
+        return QUEUE_KEY_PREFIX + campId + ":" + campFacsType + ":" + entryDate.toEpochDay() + ":" + leavingDate.toEpochDay();
+    }
+
+    // 대기열별 사용자 제안 키: waitlist:offer:{campId}:{시설 유형}:{입실 epoch day}:{퇴실 epoch day}:{userId}
+    private static String offerKeyPrefix(String queueKey) {
+        return OFFER_KEY_PREFIX + queueKey.substring(QUEUE_KEY_PREFIX.length()) + ":";
+    }
+
+    private static String offerKey(String queueKey, String userId) {
+        return offerKeyPrefix(queueKey) + userId;
+    }
+}
@@ -0,0 +1,78 @@
+package com.commit.campus.service.impl;
+
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.repository.AvailabilityRepository;
+import com.commit.campus.service.InventoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/*
+ * 조건부 UPDATE 재고 차감 (reservation.inventory.mode=sql)
+ * - 입실일 ~ 퇴실일 전체를 "잔여 수량 + 변경량 >= 0" 조건의 UPDATE 한 번으로 변경한다.
+ * - 변경된 행 수가 숙박 일수보다 적으면 마감된 날짜가 있으므로 예외를 던져 트랜잭션을 롤백한다.
+ * - 음수 재고를 DB가 막아주므로 캠핑장 락이 필요 없다.
+ * - 여러 숙박은 날짜별 변경량을 합쳐 구간 UPDATE로 묶어 반영한다 (같은 기간 사이트 N개는 UPDATE 하나).
+ */
+@Slf4j
+@Service("sqlInventory")
+public class SqlInventoryServiceImpl implements InventoryService {
+
+    private static final int CHANGE_COUNT = 1;
+
+    private final AvailabilityRepository availabilityRepository;
+
+    @Autowired
+    public SqlInventoryServiceImpl(AvailabilityRepository availabilityRepository) {
+        this.availabilityRepository = availabilityRepository;
+    }
+
+    @Override
+    @Transactional
+    public void reserve(ReservationDTO reservationDTO) {
+        int updatedCount = changeStayAvail(reservationDTO, -CHANGE_COUNT);
+
+        if (updatedCount != stayDays(reservationDTO)) {
+            throw new IllegalStateException("해당 캠핑장의 예약이 마감되었습니다..");
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(ReservationDTO reservationDTO) {
+        int updatedCount = changeStayAvail(reservationDTO, CHANGE_COUNT);
+
+        if (updatedCount != stayDays(reservationDTO)) {
+            log.warn("복구된 날짜 수가 숙박 일수와 다릅니다: reservationId={}, updated={}",
+                    reservationDTO.getReservationId(), updatedCount);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void reserveAll(List<ReservationDTO> reservationDTOs) {
+        for (AvailabilityChange change : AvailabilityChange.merge(reservationDTOs, -CHANGE_COUNT)) {
+            int updatedCount = availabilityRepository.changeStayAvail(change.campId(), change.campFacsType(),
+                    change.startDate(), change.endDate(), change.changeCount());
+
+            // 앞서 반영한 구간은 예외로 트랜잭션이 롤백되면서 되돌아감
+            if (updatedCount != change.days()) {
+                throw new IllegalStateException("해당 캠핑장의 예약이 마감되었습니다..");
+            }
+        }
+    }
+
+    private int changeStayAvail(ReservationDTO reservationDTO, int changeCount) {
+        return availabilityRepository.changeStayAvail(reservationDTO.getCampId(), reservationDTO.getCampFacsType(),
+                reservationDTO.getEntryDate(), reservationDTO.getLeavingDate(), changeCount);
+    }
+
+    // 입실일 ~ 퇴실일 (퇴실일 포함, availability 조회 구간과 동일)
+    private static long stayDays(ReservationDTO reservationDTO) {
+        return ChronoUnit.DAYS.between(reservationDTO.getEntryDate(), reservationDTO.getLeavingDate()) + 1;
+    }
+}
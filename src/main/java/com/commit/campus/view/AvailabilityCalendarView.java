@@ -0,0 +1,29 @@
+package com.commit.campus.view;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Builder
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class AvailabilityCalendarView {
+    private Long campId;
+    private String month;
+    private List<Day> days;
+
+    @Getter
+    @Builder
+    @ToString
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Day {
+        private String date;
+        private int generalSiteAvail;
+        private int carSiteAvail;
+        private int glampingSiteAvail;
+        private int caravanSiteAvail;
+    }
+}
@@ -0,0 +1,14 @@
+package com.commit.campus.view;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Builder
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class GroupReservationView {
+    private List<String> reservationIds;  // 요청한 사이트 순서대로
+}
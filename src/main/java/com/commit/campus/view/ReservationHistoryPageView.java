@@ -0,0 +1,37 @@
+package com.commit.campus.view;
+
+import com.commit.campus.dto.ReservationHistoryPageDTO;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Builder
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationHistoryPageView {
+    private List<ReservationHistoryView> reservations;
+    private String nextCursor;
+
+    public static ReservationHistoryPageView mapToReservationHistoryPageView(ReservationHistoryPageDTO reservationHistoryPageDTO) {
+        List<ReservationHistoryView> reservationHistoryViewList = reservationHistoryPageDTO.getReservations().stream()
+                .map(reservationHistoryDTO -> ReservationHistoryView.builder()
+                        .reservationId(String.valueOf(reservationHistoryDTO.getReservationId()))
+                        .userId(reservationHistoryDTO.getUserId())
+                        .campId(reservationHistoryDTO.getCampId())
+                        .campFacsId(reservationHistoryDTO.getCampFacsId())
+                        .reservationDate(reservationHistoryDTO.getReservationDate() != null ? reservationHistoryDTO.getReservationDate().toString() : null)
+                        .entryDate(reservationHistoryDTO.getEntryDate().toString())
+                        .leavingDate(reservationHistoryDTO.getLeavingDate().toString())
+                        .reservationStatus(reservationHistoryDTO.getReservationStatus())
+                        .gearRentalStatus(reservationHistoryDTO.getGearRentalStatus())
+                        .build())
+                .toList();
+
+        return ReservationHistoryPageView.builder()
+                .reservations(reservationHistoryViewList)
+                .nextCursor(reservationHistoryPageDTO.getNextCursor())
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.commit.campus.view;
+
+import lombok.*;
+
+@Getter
+@Builder
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationHistoryView {
+    private String reservationId;
+    private Long userId;
+    private Long campId;
+    private Long campFacsId;
+    private String reservationDate;
+    private String entryDate;
+    private String leavingDate;
+    private String reservationStatus;
+    private String gearRentalStatus;
+}
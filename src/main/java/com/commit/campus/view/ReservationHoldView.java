@@ -0,0 +1,17 @@
+package com.commit.campus.view;
+
+import lombok.*;
+
+@Getter
+@Builder
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationHoldView {
+    private String reservationId;
+    private Long campId;
+    private Integer campFacsType;
+    private String entryDate;
+    private String leavingDate;
+    private String expiresAt;
+}
@@ -0,0 +1,16 @@
+package com.commit.campus.view;
+
+import lombok.*;
+
+@Getter
+@Builder
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class WaitlistView {
+    private String status;
+    private Long position;
+    private Long waitingCount;
+    private String reservationId;
+    private String expiresAt;
+}
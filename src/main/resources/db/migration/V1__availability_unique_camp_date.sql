@@ -0,0 +1,7 @@
+-- 캠핑장, 날짜마다 availability 한 행 (Availability uk_availability_camp_date)
+-- insertMissingDates의 INSERT IGNORE가 이 키로 중복 생성을 막으므로, 키가 없으면 동시에 처음 예약할 때 같은 날짜 행이 여러 개 생긴다.
+--
+-- 이미 중복된 행이 있으면 키를 추가할 수 없으므로 먼저 확인하고 남길 행을 정리한다.
+--   SELECT camp_id, date, COUNT(*) FROM availability GROUP BY camp_id, date HAVING COUNT(*) > 1;
+ALTER TABLE availability
+    ADD CONSTRAINT uk_availability_camp_date UNIQUE (camp_id, date);
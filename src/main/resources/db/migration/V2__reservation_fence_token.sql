@@ -0,0 +1,5 @@
+-- 마지막으로 예약을 변경한 락의 펜싱 토큰 (Reservation.fenceToken)
+-- updateStatusFenced, updateStayFenced, upsertAll은 토큰이 더 큰 변경만 반영한다.
+-- 기존 행은 NULL로 두며, NULL이면 어떤 토큰이든 첫 변경이 반영된다.
+ALTER TABLE reservation
+    ADD COLUMN fence_token BIGINT NULL;
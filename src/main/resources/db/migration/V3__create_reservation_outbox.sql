@@ -0,0 +1,16 @@
+-- 예약 상태 변경 outbox (ReservationOutbox)
+-- 확정/취소 트랜잭션 안에서 한 행씩 기록하고, 릴레이가 전달한 뒤 지운다.
+-- 릴레이는 outbox_id > ? ORDER BY outbox_id LIMIT ? FOR UPDATE SKIP LOCKED로 읽으므로 PK(outbox_id)가 순서 인덱스 역할을 한다.
+CREATE TABLE reservation_outbox
+(
+    outbox_id          BIGINT      NOT NULL AUTO_INCREMENT,
+    reservation_id     BIGINT      NOT NULL,
+    reservation_status VARCHAR(20) NOT NULL,
+    camp_id            BIGINT      NULL,
+    camp_facs_type     INT         NULL,
+    entry_date         DATE        NULL,
+    leaving_date       DATE        NULL,
+    fence_token        BIGINT      NULL,
+    created_at         DATETIME(6) NULL,
+    PRIMARY KEY (outbox_id)
+) ENGINE = InnoDB;
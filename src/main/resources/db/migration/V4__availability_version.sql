@@ -0,0 +1,5 @@
+-- availability 낙관적 락 버전 (Availability.version, @Version)
+-- optimistic 재고 모드는 이 값으로 충돌을 판별하고, 조건부 UPDATE를 쓰는 다른 모드도 함께 증가시킨다.
+-- 컬럼이 없으면 모든 availability 조회/변경이 실패하므로 이 버전을 포함한 애플리케이션보다 먼저 적용한다.
+ALTER TABLE availability
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- 취소된 좌석을 대기열에 넘겼는지(취소), 대기열 제안으로 넘겨받은 좌석인지(확정) 표시
+ALTER TABLE reservation_outbox
+    ADD COLUMN waitlist_seat BIT(1) NOT NULL DEFAULT b'0' AFTER fence_token;
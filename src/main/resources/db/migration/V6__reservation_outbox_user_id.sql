@@ -0,0 +1,3 @@
+-- 확정/취소 후 예약자의 예약 내역 첫 페이지 캐시를 지우는 데 쓰는 예약자 ID
+ALTER TABLE reservation_outbox
+    ADD COLUMN user_id BIGINT NULL AFTER reservation_status;
@@ -0,0 +1,3 @@
+-- 예약 변경 후 Redis 예약 해시에 반영할 시설 ID
+ALTER TABLE reservation_outbox
+    ADD COLUMN camp_facs_id BIGINT NULL AFTER camp_id;
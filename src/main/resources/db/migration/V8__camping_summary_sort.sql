@@ -0,0 +1,10 @@
+-- 찜한 수, 리뷰 수 정렬은 camping_summary를 INNER JOIN해 (정렬 값, camp_id) 인덱스 순서로 읽는다
+CREATE INDEX idx_camping_summary_bookmark ON camping_summary (bookmark_cnt, camp_id);
+CREATE INDEX idx_camping_summary_review ON camping_summary (review_cnt, camp_id);
+
+-- 요약 행이 없는 캠핑장은 정렬 목록에서 빠지므로 0으로 채운다 (새 캠핑장은 생성할 때 함께 만든다)
+INSERT INTO camping_summary (camp_id, bookmark_cnt, review_cnt)
+SELECT c.camp_id, 0, 0
+FROM camping c
+LEFT JOIN camping_summary cs ON cs.camp_id = c.camp_id
+WHERE cs.camp_id IS NULL;
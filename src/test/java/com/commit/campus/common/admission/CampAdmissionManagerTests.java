@@ -0,0 +1,99 @@
+package com.commit.campus.common.admission;
+
+import com.commit.campus.common.exceptions.TooManyRequestsException;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CampAdmissionManagerTests {
+
+    @Mock
+    private RedisCommands<String, String> redisCommands;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void admit_받아_둔_토큰은_Redis를_거치지_않고_사용() {
+        CampAdmissionManager campAdmissionManager = admissionManager(32);
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.MULTI), any(String[].class), any(String[].class)))
+                .thenReturn(List.of(5L, 0L));
+
+        for (int i = 0; i < 5; i++) {
+            campAdmissionManager.admit(1000L).close();
+        }
+
+        verify(redisCommands, times(1)).evalsha(anyString(), eq(ScriptOutputType.MULTI),
+                eq(new String[]{CampAdmissionManager.BUCKET_KEY_PREFIX + 1000}), any(String[].class));
+    }
+
+    @Test
+    void admit_토큰이_없으면_충전_전까지_Redis_없이_429() {
+        CampAdmissionManager campAdmissionManager = admissionManager(32);
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.MULTI), any(String[].class), any(String[].class)))
+                .thenReturn(List.of(0L, 1500L));
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class, () -> campAdmissionManager.admit(1000L));
+        assertThrows(TooManyRequestsException.class, () -> campAdmissionManager.admit(1000L));
+
+        assertEquals(2, exception.getRetryAfterSeconds());
+        verify(redisCommands, times(1)).evalsha(anyString(), any(), any(String[].class), any(String[].class));
+        assertEquals(2.0, meterRegistry.get("reservation.admission.rejected")
+                .tag("reason", "rate").counter().count());
+    }
+
+    @Test
+    void admit_동시_처리_상한을_넘으면_429_반환_후_다시_허용() {
+        CampAdmissionManager campAdmissionManager = admissionManager(1);
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.MULTI), any(String[].class), any(String[].class)))
+                .thenReturn(List.of(5L, 0L));
+
+        AdmissionPermit permit = campAdmissionManager.admit(1000L);
+        assertThrows(TooManyRequestsException.class, () -> campAdmissionManager.admit(1000L));
+        // 다른 캠핑장은 영향 없음
+        campAdmissionManager.admit(2000L).close();
+        permit.close();
+        campAdmissionManager.admit(1000L).close();
+
+        assertEquals(1.0, meterRegistry.get("reservation.admission.rejected")
+                .tag("reason", "concurrency").counter().count());
+        // 캠핑장별로 시계열이 생기지 않음
+        assertNull(meterRegistry.find("reservation.admission.rejected").tagKeys("campId").counter());
+    }
+
+    @Test
+    void enter_토큰_없이_동시_처리_상한만_적용() {
+        CampAdmissionManager campAdmissionManager = admissionManager(1);
+
+        AdmissionPermit permit = campAdmissionManager.enterAll(List.of(1000L, 2000L));
+        assertThrows(TooManyRequestsException.class, () -> campAdmissionManager.enter(2000L));
+        permit.close();
+        campAdmissionManager.enterAll(List.of(1000L, 2000L)).close();
+
+        verifyNoInteractions(redisCommands);
+    }
+
+    @Test
+    void admit_Redis_장애_시_통과() {
+        CampAdmissionManager campAdmissionManager = admissionManager(32);
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.MULTI), any(String[].class), any(String[].class)))
+                .thenThrow(new RedisCommandTimeoutException("timeout"));
+
+        assertDoesNotThrow(() -> campAdmissionManager.admit(1000L).close());
+    }
+
+    private CampAdmissionManager admissionManager(int maxConcurrentPerCamp) {
+        return new CampAdmissionManager(redisCommands, meterRegistry, true, 50, 100, 5, maxConcurrentPerCamp);
+    }
+}
@@ -0,0 +1,163 @@
+package com.commit.campus.common.id;
+
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.sync.RedisCommands;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class SnowflakeIdGeneratorTests {
+
+    private static final int THREAD_COUNT = 16;
+    private static final int IDS_PER_THREAD = 250_000;
+
+    @Test
+    void nextId_멀티스레드_중복_없음() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, System::currentTimeMillis);
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            futures.add(executor.submit(() -> {
+                long[] ids = new long[IDS_PER_THREAD];
+                startLatch.await();
+                for (int i = 0; i < IDS_PER_THREAD; i++) {
+                    ids[i] = generator.nextId();
+                }
+                return ids;
+            }));
+        }
+        startLatch.countDown();
+
+        long[] allIds = new long[THREAD_COUNT * IDS_PER_THREAD];
+        int offset = 0;
+        for (Future<long[]> future : futures) {
+            long[] ids = future.get();
+            // 스레드 안에서는 항상 증가
+            for (int i = 1; i < ids.length; i++) {
+                assertTrue(ids[i] > ids[i - 1]);
+            }
+            System.arraycopy(ids, 0, allIds, offset, ids.length);
+            offset += ids.length;
+        }
+        executor.shutdown();
+
+        Arrays.sort(allIds);
+        for (int i = 1; i < allIds.length; i++) {
+            assertNotEquals(allIds[i - 1], allIds[i], "중복 ID: " + allIds[i]);
+        }
+        assertTrue(allIds[0] > 0);
+    }
+
+    @Test
+    void nextId_시계가_뒤로_가도_단조_증가() {
+        AtomicLong clock = new AtomicLong(SnowflakeIdGenerator.EPOCH_MILLIS + 10_000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get);
+
+        long first = generator.nextId();
+        clock.addAndGet(-5_000);
+        long second = generator.nextId();
+
+        assertTrue(second > first);
+    }
+
+    @Test
+    void nextId_시퀀스_소진시_다음_ms로_넘어감() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, () -> SnowflakeIdGenerator.EPOCH_MILLIS + 1);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < (1 << SnowflakeIdGenerator.SEQUENCE_BITS) * 2; i++) {
+            long current = generator.nextId();
+            assertTrue(current > previous);
+            // 노드 ID 비트는 그대로 유지
+            assertEquals(3, (current >>> SnowflakeIdGenerator.SEQUENCE_BITS) & SnowflakeIdGenerator.MAX_NODE_ID);
+            previous = current;
+        }
+    }
+
+    @Test
+    void 노드_ID_범위_검증() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1, System::currentTimeMillis));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 노드_ID_리스_사용_중인_ID는_건너뛰고_카운터가_한_바퀴_돌아도_겹치지_않음() {
+        RedisCommands<String, String> redisCommands = mock(RedisCommands.class);
+        // 카운터가 1024번 넘게 돌아 1025 -> 1번을 가리키지만 1번은 살아 있는 서버가 쓰는 중
+        when(redisCommands.incr("reservation:id:node-seq")).thenReturn(1025L);
+        when(redisCommands.set(eq("reservation:id:node:1"), anyString(), any(SetArgs.class))).thenReturn(null);
+        when(redisCommands.set(eq("reservation:id:node:2"), anyString(), any(SetArgs.class))).thenReturn("OK");
+
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(-1, redisCommands, 30000, System::currentTimeMillis);
+
+        assertEquals(2, generator.getNodeId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 노드_ID_리스_빈_ID가_없으면_기동_실패() {
+        RedisCommands<String, String> redisCommands = mock(RedisCommands.class);
+        when(redisCommands.incr("reservation:id:node-seq")).thenReturn(1L);
+
+        assertThrows(IllegalStateException.class,
+                () -> new SnowflakeIdGenerator(-1, redisCommands, 30000, System::currentTimeMillis));
+        verify(redisCommands, times((int) SnowflakeIdGenerator.MAX_NODE_ID + 1)).set(anyString(), anyString(), any(SetArgs.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 노드_ID_리스를_다른_서버가_가져갔으면_새_ID로_갈아탐() {
+        RedisCommands<String, String> redisCommands = mock(RedisCommands.class);
+        when(redisCommands.incr("reservation:id:node-seq")).thenReturn(5L, 9L);
+        when(redisCommands.set(anyString(), anyString(), any(SetArgs.class))).thenReturn("OK");
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.INTEGER), eq(new String[]{"reservation:id:node:5"}), any(String[].class)))
+                .thenReturn(1L, 0L);
+
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(-1, redisCommands, 30000, System::currentTimeMillis);
+        generator.renewLease();
+        assertEquals(5, generator.getNodeId());
+
+        generator.renewLease();
+        assertEquals(9, generator.getNodeId());
+        assertEquals(9, (generator.nextId() >>> SnowflakeIdGenerator.SEQUENCE_BITS) & SnowflakeIdGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 노드_ID_리스를_연장하지_못하고_만료되면_발급_거부() {
+        RedisCommands<String, String> redisCommands = mock(RedisCommands.class);
+        when(redisCommands.incr("reservation:id:node-seq")).thenReturn(5L);
+        when(redisCommands.set(anyString(), anyString(), any(SetArgs.class))).thenReturn("OK");
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.INTEGER), eq(new String[]{"reservation:id:node:5"}), any(String[].class)))
+                .thenReturn(1L);
+        AtomicLong clock = new AtomicLong(SnowflakeIdGenerator.EPOCH_MILLIS + 10_000);
+
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(-1, redisCommands, 30000, clock::get);
+        clock.addAndGet(29_999);
+        generator.nextId();
+
+        // 연장 없이 리스 TTL이 지나면 다른 서버가 같은 노드 ID를 가져갈 수 있음
+        clock.addAndGet(1);
+        assertThrows(IllegalStateException.class, generator::nextId);
+
+        // 다시 연장하면 그 시각부터 TTL만큼 발급
+        generator.renewLease();
+        clock.addAndGet(29_999);
+        assertEquals(5, (generator.nextId() >>> SnowflakeIdGenerator.SEQUENCE_BITS) & SnowflakeIdGenerator.MAX_NODE_ID);
+    }
+}
@@ -0,0 +1,161 @@
+package com.commit.campus.common.idempotency;
+
+import com.commit.campus.common.exceptions.IdempotencyKeyMismatchException;
+import com.commit.campus.view.ReservationView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyManagerTests {
+
+    private static final String KEY = "idempotency:user-1:abc";
+
+    @Mock
+    private RedisCommands<String, String> redisCommands;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private IdempotencyManager idempotencyManager;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyManager = new IdempotencyManager(redisCommands, objectMapper, new SimpleMeterRegistry(), 86400, 30000, 1000);
+    }
+
+    @Test
+    void execute_키가_없으면_바로_실행() {
+        ResponseEntity<ReservationView> response = idempotencyManager.execute("user-1", null, "create:a",
+                ReservationView.class, () -> ResponseEntity.status(HttpStatus.CREATED).body(new ReservationView("10")));
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        verifyNoInteractions(redisCommands);
+    }
+
+    @Test
+    void execute_처음_요청은_실행_후_응답_보관() throws Exception {
+        when(redisCommands.set(eq(KEY), anyString(), any(SetArgs.class))).thenReturn("OK");
+
+        ResponseEntity<ReservationView> response = idempotencyManager.execute("user-1", "abc", "create:a",
+                ReservationView.class, () -> ResponseEntity.status(HttpStatus.CREATED).body(new ReservationView("10")));
+
+        assertEquals("10", response.getBody().getReservationId());
+
+        ArgumentCaptor<String> valueCaptor = ArgumentCaptor.forClass(String.class);
+        verify(redisCommands).setex(eq(KEY), eq(86400L), valueCaptor.capture());
+        IdempotencyManager.StoredResponse stored = objectMapper.readValue(valueCaptor.getValue(), IdempotencyManager.StoredResponse.class);
+        assertEquals(IdempotencyManager.COMPLETED, stored.getState());
+        assertEquals(201, stored.getStatus());
+    }
+
+    @Test
+    void execute_완료된_키는_실행하지_않고_보관된_응답_반환() {
+        AtomicInteger executions = new AtomicInteger();
+        AtomicReference<String> saved = new AtomicReference<>();
+        when(redisCommands.set(eq(KEY), anyString(), any(SetArgs.class))).thenReturn("OK").thenReturn(null);
+        when(redisCommands.setex(eq(KEY), anyLong(), anyString())).thenAnswer(invocation -> {
+            saved.set(invocation.getArgument(2));
+            return "OK";
+        });
+        when(redisCommands.get(KEY)).thenAnswer(invocation -> saved.get());
+
+        idempotencyManager.execute("user-1", "abc", "create:a", ReservationView.class, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body(new ReservationView("10"));
+        });
+        ResponseEntity<ReservationView> replayed = idempotencyManager.execute("user-1", "abc", "create:a", ReservationView.class, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body(new ReservationView("11"));
+        });
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.CREATED, replayed.getStatusCode());
+        assertEquals("10", replayed.getBody().getReservationId());
+    }
+
+    @Test
+    void execute_같은_키를_다른_요청에_쓰면_거부() throws Exception {
+        IdempotencyManager.StoredResponse stored = new IdempotencyManager.StoredResponse(IdempotencyManager.COMPLETED, "other", 200, null);
+        when(redisCommands.set(eq(KEY), anyString(), any(SetArgs.class))).thenReturn(null);
+        when(redisCommands.get(KEY)).thenReturn(objectMapper.writeValueAsString(stored));
+
+        assertThrows(IdempotencyKeyMismatchException.class, () -> idempotencyManager.execute("user-1", "abc", "confirm:1",
+                Void.class, () -> ResponseEntity.ok().build()));
+    }
+
+    @Test
+    void execute_실패하면_키를_지워_재시도_허용() {
+        when(redisCommands.set(eq(KEY), anyString(), any(SetArgs.class))).thenReturn("OK");
+
+        assertThrows(IllegalStateException.class, () -> idempotencyManager.execute("user-1", "abc", "confirm:1", Void.class, () -> {
+            throw new IllegalStateException("이미 확정된 예약입니다");
+        }));
+
+        verify(redisCommands).del(KEY);
+        verify(redisCommands, never()).setex(anyString(), anyLong(), anyString());
+    }
+
+    @Test
+    void execute_같은_서버의_동시_중복은_한_번만_실행() throws Exception {
+        when(redisCommands.set(eq(KEY), anyString(), any(SetArgs.class))).thenReturn("OK");
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<ResponseEntity<ReservationView>> first = executor.submit(() ->
+                    idempotencyManager.execute("user-1", "abc", "create:a", ReservationView.class, () -> {
+                        executions.incrementAndGet();
+                        started.countDown();
+                        awaitQuietly(release);
+                        return ResponseEntity.status(HttpStatus.CREATED).body(new ReservationView("10"));
+                    }));
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+
+            Future<ResponseEntity<ReservationView>> duplicate = executor.submit(() ->
+                    idempotencyManager.execute("user-1", "abc", "create:a", ReservationView.class, () -> {
+                        executions.incrementAndGet();
+                        return ResponseEntity.status(HttpStatus.CREATED).body(new ReservationView("11"));
+                    }));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals("10", first.get(1, TimeUnit.SECONDS).getBody().getReservationId());
+            assertEquals("10", duplicate.get(1, TimeUnit.SECONDS).getBody().getReservationId());
+            assertEquals(1, executions.get());
+            verify(redisCommands, times(1)).set(eq(KEY), anyString(), any(SetArgs.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
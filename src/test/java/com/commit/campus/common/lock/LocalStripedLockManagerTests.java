@@ -0,0 +1,94 @@
+package com.commit.campus.common.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalStripedLockManagerTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LocalStripedLockManager lockManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lockManager = new LocalStripedLockManager(1024, 50, new LockMetrics(meterRegistry));
+    }
+
+    @Test
+    void tryLock_겹치는_키는_다른_스레드에서_획득_실패() throws Exception {
+        Optional<LockHandle> handle = lockManager.tryLock(List.of("lock:inventory:{1}:1:2026-10-17", "lock:inventory:{1}:1:2026-10-18"));
+        assertTrue(handle.isPresent());
+
+        Optional<LockHandle> other = CompletableFuture
+                .supplyAsync(() -> lockManager.tryLock(List.of("lock:inventory:{1}:1:2026-10-18")))
+                .get();
+        assertTrue(other.isEmpty());
+        assertEquals(1.0, meterRegistry.get("reservation.lock.contention").counter().count());
+
+        handle.get().close();
+
+        Optional<LockHandle> afterRelease = CompletableFuture
+                .supplyAsync(() -> {
+                    Optional<LockHandle> acquired = lockManager.tryLock(List.of("lock:inventory:{1}:1:2026-10-18"));
+                    acquired.ifPresent(LockHandle::close);
+                    return acquired;
+                })
+                .get();
+        assertTrue(afterRelease.isPresent());
+    }
+
+    @Test
+    void tryLock_역순으로_요청해도_교착_없음() throws Exception {
+        List<String> ascending = List.of("a", "b", "c", "d");
+        List<String> descending = List.of("d", "c", "b", "a");
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        AtomicInteger acquiredCount = new AtomicInteger();
+
+        int threadCount = 8;
+        int iterations = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch done = new CountDownLatch(threadCount);
+
+        for (int t = 0; t < threadCount; t++) {
+            List<String> keys = t % 2 == 0 ? ascending : descending;
+            executor.submit(() -> {
+                try {
+                    for (int i = 0; i < iterations; i++) {
+                        Optional<LockHandle> handle = lockManager.tryLock(keys);
+                        if (handle.isEmpty()) {
+                            continue;
+                        }
+                        try (LockHandle ignored = handle.get()) {
+                            maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                            acquiredCount.incrementAndGet();
+                            inside.decrementAndGet();
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(1, maxInside.get());
+        assertTrue(acquiredCount.get() > 0);
+        assertEquals(acquiredCount.get(),
+                meterRegistry.get("reservation.lock.wait").tag("result", "acquired").timer().count());
+    }
+}
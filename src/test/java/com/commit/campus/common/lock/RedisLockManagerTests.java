@@ -0,0 +1,86 @@
+package com.commit.campus.common.lock;
+
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RedisLockManagerTests {
+
+    @Mock
+    private RedisCommands<String, String> redisCommands;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RedisLockManager lockManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lockManager = new RedisLockManager(redisCommands, new LockMetrics(meterRegistry), 10_000, 50, 600_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lockManager.shutdown();
+    }
+
+    @Test
+    void tryLock_펜싱_토큰_반환_후_내_토큰만_해제() {
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.INTEGER), any(String[].class), any(String[].class)))
+                .thenReturn(42L)   // 획득 → 펜싱 토큰
+                .thenReturn(1L);   // 해제된 키 수
+
+        Optional<LockHandle> handle = lockManager.tryLock(List.of("lock:reservation:1"));
+
+        assertTrue(handle.isPresent());
+        assertEquals(42L, handle.get().fencingToken());
+        handle.get().close();
+        handle.get().close();  // 두 번 닫아도 한 번만 해제
+
+        ArgumentCaptor<String[]> keysCaptor = ArgumentCaptor.forClass(String[].class);
+        ArgumentCaptor<String[]> argsCaptor = ArgumentCaptor.forClass(String[].class);
+        verify(redisCommands, times(2)).evalsha(anyString(), eq(ScriptOutputType.INTEGER), keysCaptor.capture(), argsCaptor.capture());
+
+        // 획득: 락 키 + 펜싱 카운터 키, 해제: 같은 소유자 토큰으로 compare-and-delete
+        assertArrayEquals(new String[]{"lock:reservation:1", "lock:fence:{lock:reservation:1}"}, keysCaptor.getAllValues().get(0));
+        assertArrayEquals(new String[]{"lock:reservation:1"}, keysCaptor.getAllValues().get(1));
+        assertEquals(argsCaptor.getAllValues().get(0)[0], argsCaptor.getAllValues().get(1)[0]);
+        // 펜싱 카운터는 TTL을 두어 해시 태그 없는 락 키마다 카운터가 영구히 남지 않음
+        assertEquals("600000", argsCaptor.getAllValues().get(0)[2]);
+    }
+
+    @Test
+    void tryLock_대기_시간_안에_못_얻으면_백오프_후_실패() {
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.INTEGER), any(String[].class), any(String[].class)))
+                .thenReturn(0L);
+
+        long start = System.nanoTime();
+        Optional<LockHandle> handle = lockManager.tryLock(List.of("lock:reservation:1"));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(handle.isEmpty());
+        assertTrue(elapsedMillis >= 40, "대기 시간만큼 재시도: " + elapsedMillis);
+        verify(redisCommands, atLeast(2)).evalsha(anyString(), eq(ScriptOutputType.INTEGER), any(String[].class), any(String[].class));
+        assertEquals(1.0, meterRegistry.get("reservation.lock.contention").counter().count());
+    }
+
+    @Test
+    void fencingKey_해시_태그_유지() {
+        assertEquals("lock:fence:{1000}", RedisLockManager.fencingKey("lock:inventory:{1000}:3:2026-10-17"));
+        assertEquals("lock:fence:{lock:reservation:1}", RedisLockManager.fencingKey("lock:reservation:1"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.commit.campus.common.redis;
+
+import com.commit.campus.dto.ReservationDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReservationHoldCodecTests {
+
+    @Test
+    void encode_decode_왕복() {
+        ReservationDTO reservationDTO = ReservationDTO.builder()
+                .userId(1L)
+                .campId(1000L)
+                .campFacsId(3L)
+                .reservationDate(LocalDateTime.of(2026, 10, 17, 13, 5, 30, 123_000_000))
+                .entryDate(LocalDate.of(2026, 11, 1))
+                .leavingDate(LocalDate.of(2026, 11, 3))
+                .gearRentalStatus("N")
+                .campFacsType(2)
+                .build();
+
+        Map<String, String> fields = ReservationHoldCodec.encode(42L, reservationDTO);
+        ReservationDTO decoded = ReservationHoldCodec.decode(fields);
+
+        assertEquals(42L, decoded.getReservationId());
+        assertEquals(1L, decoded.getUserId());
+        assertEquals(1000L, decoded.getCampId());
+        assertEquals(3L, decoded.getCampFacsId());
+        assertEquals(2, decoded.getCampFacsType());
+        assertEquals(reservationDTO.getReservationDate(), decoded.getReservationDate());
+        assertEquals(reservationDTO.getEntryDate(), decoded.getEntryDate());
+        assertEquals(reservationDTO.getLeavingDate(), decoded.getLeavingDate());
+        assertEquals("N", decoded.getGearRentalStatus());
+        assertNull(decoded.getReservationStatus());
+    }
+
+    @Test
+    void decode_이전_형식() {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("reservationId", "42");
+        fields.put("userId", "1");
+        fields.put("campId", "1000");
+        fields.put("campFacsId", "3");
+        fields.put("reservationDate", "2026-10-17T13:05:30");
+        fields.put("entryDate", "2026-11-01");
+        fields.put("leavingDate", "2026-11-03");
+        fields.put("gearRentalStatus", "Y");
+        fields.put("campFacsType", "2");
+        fields.put("reservationStatus", "confirmation");
+
+        ReservationDTO decoded = ReservationHoldCodec.decode(fields);
+
+        assertEquals(42L, decoded.getReservationId());
+        assertEquals(LocalDate.of(2026, 11, 3), decoded.getLeavingDate());
+        assertEquals("confirmation", decoded.getReservationStatus());
+        assertEquals("confirmation", ReservationHoldCodec.status(fields));
+    }
+}
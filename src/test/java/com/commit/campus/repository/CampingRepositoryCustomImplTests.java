@@ -0,0 +1,123 @@
+package com.commit.campus.repository;
+
+import com.commit.campus.dto.CampingFilterDTO;
+import com.commit.campus.entity.Camping;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CampingRepositoryCustomImplTests {
+
+    private static final Sort BY_CAMP_ID = Sort.by(Sort.Order.asc("campId"));
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private CampingRepositoryCustomImpl campingRepositoryCustom;
+
+    @Test
+    void findCampings_값이_있는_조건만_WHERE에_넣음() {
+        TypedQuery<Camping> query = query(Camping.class);
+
+        campingRepositoryCustom.findCampings(CampingFilterDTO.builder().doName("경기도").sigunguName("").build(), BY_CAMP_ID, 20, 10);
+
+        String jpql = jpql(Camping.class);
+        assertEquals("SELECT c FROM Camping c WHERE c.doName = :doName ORDER BY c.campId ASC", jpql);
+        verify(query).setParameter("doName", "경기도");
+        verify(query, never()).setParameter(eq("sigunguName"), any());
+        verify(query).setFirstResult(20);
+        verify(query).setMaxResults(10);
+    }
+
+    @Test
+    void findCampIds_업종_반려동물_시설_유형_조건() {
+        TypedQuery<Long> query = query(Long.class);
+        CampingFilterDTO filter = CampingFilterDTO.builder()
+                .induty("글램_100%")
+                .petAccess("가능")
+                .facsTypes(List.of(4, 3, 4))
+                .build();
+
+        campingRepositoryCustom.findCampIds(filter, BY_CAMP_ID);
+
+        String jpql = jpql(Long.class);
+        assertTrue(jpql.startsWith("SELECT c.campId FROM Camping c WHERE c.petAccess = :petAccess "), jpql);
+        assertTrue(jpql.contains("AND c.induty LIKE :induty ESCAPE '!' AND c.glampingSiteCnt > 0 AND c.caravanSiteCnt > 0 "), jpql);
+        assertFalse(jpql.contains("IS NULL"), jpql);
+        // LIKE 특수 문자는 글자 그대로 찾음
+        verify(query).setParameter("induty", "%글램!_100!%%");
+        verify(query).setParameter("petAccess", "가능");
+    }
+
+    @Test
+    void countCampings_조건이_없으면_WHERE_없이_전체() {
+        TypedQuery<Long> query = query(Long.class);
+        when(query.getSingleResult()).thenReturn(42L);
+
+        assertEquals(42L, campingRepositoryCustom.countCampings(CampingFilterDTO.builder().build()));
+
+        assertEquals("SELECT COUNT(c) FROM Camping c ", jpql(Long.class));
+        verify(query, never()).setParameter(anyString(), any());
+    }
+
+    @Test
+    void findCampingsAfter_검색_조건과_다음_행_조건을_함께_적용() {
+        TypedQuery<Camping> query = query(Camping.class);
+        Sort byReviews = Sort.by(Sort.Order.desc("reviewCnt"), Sort.Order.desc("campId"));
+
+        campingRepositoryCustom.findCampingsAfter(CampingFilterDTO.builder().doName("강원도").build(), byReviews, List.of(3), 7L, 11);
+
+        assertEquals("SELECT c FROM Camping c JOIN FETCH c.campingSummary cs WHERE c.doName = :doName " +
+                "AND ((cs.reviewCnt < :lastValue0) OR (cs.reviewCnt = :lastValue0 AND cs.campId < :lastCampId)) " +
+                "ORDER BY cs.reviewCnt DESC, cs.campId DESC", jpql(Camping.class));
+        verify(query).setParameter("lastValue0", 3);
+        verify(query).setParameter("lastCampId", 7L);
+    }
+
+    @Test
+    void findCampIds_찜한_수_정렬은_요약_테이블_컬럼으로만_정렬() {
+        query(Long.class);
+        Sort byBookmarks = Sort.by(Sort.Order.desc("bookmarkCnt"), Sort.Order.desc("campId"));
+
+        campingRepositoryCustom.findCampIds(CampingFilterDTO.builder().build(), byBookmarks);
+
+        // (bookmark_cnt, camp_id) 인덱스 순서와 같도록 INNER JOIN하고 campId도 요약 쪽 컬럼으로 정렬
+        assertEquals("SELECT c.campId FROM Camping c JOIN c.campingSummary cs ORDER BY cs.bookmarkCnt DESC, cs.campId DESC",
+                jpql(Long.class));
+    }
+
+    @Test
+    void findCampings_잘못된_시설_유형은_쿼리_전에_거부() {
+        assertThrows(IllegalArgumentException.class, () -> campingRepositoryCustom.findCampings(
+                CampingFilterDTO.builder().facsTypes(List.of(5)).build(), BY_CAMP_ID, 0, 10));
+
+        verifyNoInteractions(entityManager);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> TypedQuery<T> query(Class<T> resultClass) {
+        TypedQuery<T> query = mock(TypedQuery.class, RETURNS_SELF);
+        when(entityManager.createQuery(anyString(), eq(resultClass))).thenReturn(query);
+        return query;
+    }
+
+    private String jpql(Class<?> resultClass) {
+        ArgumentCaptor<String> jpqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(entityManager).createQuery(jpqlCaptor.capture(), eq(resultClass));
+        return jpqlCaptor.getValue();
+    }
+}
@@ -0,0 +1,144 @@
+package com.commit.campus.service;
+
+import com.commit.campus.dto.DailyAvailabilityDTO;
+import com.commit.campus.entity.Availability;
+import com.commit.campus.entity.Camping;
+import com.commit.campus.repository.AvailabilityRepository;
+import com.commit.campus.repository.CampingRepository;
+import com.commit.campus.service.impl.AvailabilityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AvailabilityIndexTests {
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+
+    @Mock
+    private CampingRepository campingRepository;
+
+    private AvailabilityIndex availabilityIndex;
+    private LocalDate today;
+    private Camping camping;
+
+    @BeforeEach
+    void setUp() {
+        availabilityIndex = new AvailabilityIndex(availabilityRepository, campingRepository, Runnable::run);
+        today = LocalDate.now(ZoneId.of("Asia/Seoul"));
+
+        camping = new Camping();
+        camping.setCampId(1000L);
+        camping.setGlampingSiteCnt(5);
+        camping.setCaravanSiteCnt(2);
+        lenient().when(campingRepository.findById(1000L)).thenReturn(Optional.of(camping));
+    }
+
+    @Test
+    void getDailyAvailability_DB_행이_없는_날짜는_사이트_수() {
+        Availability booked = Availability.builder()
+                .campId(1000L)
+                .date(today.plusDays(1))
+                .glampingSiteAvail(1)
+                .caravanSiteAvail(2)
+                .build();
+        when(availabilityRepository.findByCampIdAndDateBetween(eq(1000L), eq(today), any())).thenReturn(List.of(booked));
+
+        List<DailyAvailabilityDTO> days = availabilityIndex.getDailyAvailability(1000L, today.minusDays(3), today.plusDays(2)).orElseThrow();
+
+        // 오늘 이전 날짜는 제외
+        assertEquals(3, days.size());
+        assertEquals(today, days.get(0).getDate());
+        assertEquals(5, days.get(0).getGlampingSiteAvail());
+        assertEquals(0, days.get(0).getGeneralSiteAvail());
+        assertEquals(1, days.get(1).getGlampingSiteAvail());
+        assertEquals(5, days.get(2).getGlampingSiteAvail());
+    }
+
+    @Test
+    void applyChange_조회_후에는_DB를_다시_읽지_않고_반영() {
+        when(availabilityRepository.findByCampIdAndDateBetween(eq(1000L), eq(today), any())).thenReturn(List.of());
+        availabilityIndex.getDailyAvailability(1000L, today, today);
+
+        availabilityIndex.applyChange(1000L, 3, today, today.plusDays(1), -1);
+        List<DailyAvailabilityDTO> days = availabilityIndex.getDailyAvailability(1000L, today, today.plusDays(2)).orElseThrow();
+
+        assertEquals(4, days.get(0).getGlampingSiteAvail());
+        assertEquals(4, days.get(1).getGlampingSiteAvail());
+        assertEquals(5, days.get(2).getGlampingSiteAvail());
+        assertEquals(2, days.get(0).getCaravanSiteAvail());
+        verify(availabilityRepository, times(1)).findByCampIdAndDateBetween(anyLong(), any(), any());
+    }
+
+    @Test
+    void getDailyAvailability_없는_캠핑장() {
+        when(campingRepository.findById(2000L)).thenReturn(Optional.empty());
+
+        assertTrue(availabilityIndex.getDailyAvailability(2000L, today, today).isEmpty());
+    }
+
+    @Test
+    void filterAvailable_구간_중_하루라도_마감이면_제외() {
+        Camping other = new Camping();
+        other.setCampId(1001L);
+        other.setGlampingSiteCnt(3);
+        Camping noGlamping = new Camping();
+        noGlamping.setCampId(1002L);
+        noGlamping.setCaravanSiteCnt(1);
+
+        // 1000번은 70일 뒤(두 번째 비트 워드) 글램핑 마감, 1001번은 빈 자리 그대로
+        Availability soldOut = Availability.builder()
+                .campId(1000L)
+                .date(today.plusDays(70))
+                .glampingSiteAvail(0)
+                .caravanSiteAvail(2)
+                .build();
+        when(availabilityRepository.findByCampIdInAndDateBetween(anyCollection(), eq(today), any())).thenReturn(List.of(soldOut));
+        when(campingRepository.findAllById(anyIterable())).thenReturn(List.of(
+                camping, other, noGlamping));
+
+        List<Long> candidates = List.of(1002L, 1001L, 1000L);
+
+        assertEquals(List.of(1001L), availabilityIndex.filterAvailable(candidates, 3, today.plusDays(60), today.plusDays(70)));
+        // 마감일 다음 날부터는 다시 가능, 후보 순서 유지
+        assertEquals(List.of(1001L, 1000L), availabilityIndex.filterAvailable(candidates, 3, today.plusDays(71), today.plusDays(72)));
+        // 시설 유형을 지정하지 않으면 카라반만 있는 캠핑장도 포함
+        assertEquals(List.of(1002L, 1001L, 1000L), availabilityIndex.filterAvailable(candidates, null, today.plusDays(60), today.plusDays(70)));
+        // 인덱스에 올라간 뒤에는 다시 적재하지 않음
+        verify(campingRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    void filterAvailable_예약_반영_후_마감() {
+        when(availabilityRepository.findByCampIdInAndDateBetween(anyCollection(), eq(today), any())).thenReturn(List.of());
+        when(campingRepository.findAllById(anyIterable())).thenReturn(List.of(camping));
+        availabilityIndex.filterAvailable(List.of(1000L), 4, today, today);
+
+        availabilityIndex.applyChange(1000L, 4, today.plusDays(1), today.plusDays(1), -2);
+
+        assertEquals(List.of(), availabilityIndex.filterAvailable(List.of(1000L), 4, today, today.plusDays(1)));
+        assertEquals(List.of(1000L), availabilityIndex.filterAvailable(List.of(1000L), 3, today, today.plusDays(1)));
+    }
+
+    @Test
+    void filterAvailable_검색_기간_검증() {
+        assertThrows(IllegalArgumentException.class,
+                () -> availabilityIndex.filterAvailable(List.of(1000L), 3, today.minusDays(1), today));
+        assertThrows(IllegalArgumentException.class,
+                () -> availabilityIndex.filterAvailable(List.of(1000L), 3, today, today.plusDays(180)));
+        assertThrows(IllegalArgumentException.class,
+                () -> availabilityIndex.filterAvailable(List.of(1000L), 5, today, today));
+    }
+}
@@ -0,0 +1,99 @@
+package com.commit.campus.service;
+
+import com.commit.campus.repository.AvailabilityRepository;
+import com.commit.campus.service.impl.AvailabilitySyncWriter;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AvailabilitySyncWriterTests {
+
+    private static final String PENDING_KEY = "inventory:{1000}:pending";
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+
+    @Mock
+    private RedisCommands<String, String> redisCommands;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Runnable> queued = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private AvailabilitySyncWriter availabilitySyncWriter;
+    private LocalDate entryDate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        availabilitySyncWriter = new AvailabilitySyncWriter(availabilityRepository, redisCommands, transactionManager,
+                queued::add, 300_000, meterRegistry);
+        entryDate = LocalDate.of(2026, 11, 12);
+    }
+
+    @Test
+    void applyAsync_DB에_반영할_때까지_대기_수를_남김() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(availabilityRepository.addStayAvail(1000L, 3, entryDate, entryDate.plusDays(1), -1)).thenReturn(2);
+
+        availabilitySyncWriter.applyAsync(1000L, 3, entryDate, entryDate.plusDays(1), -1);
+
+        // 큐에 넣기 전에 늘리고, 반영 전에는 줄이지 않음
+        verify(redisCommands).incr(PENDING_KEY);
+        verify(redisCommands).pexpire(PENDING_KEY, 300_000L);
+        verify(redisCommands, never()).decr(anyString());
+
+        queued.forEach(Runnable::run);
+
+        InOrder inOrder = inOrder(availabilityRepository, redisCommands);
+        inOrder.verify(availabilityRepository).addStayAvail(1000L, 3, entryDate, entryDate.plusDays(1), -1);
+        inOrder.verify(redisCommands).decr(PENDING_KEY);
+        assertEquals(0.0, meterRegistry.counter("reservation.availability.sync.mismatch").count());
+    }
+
+    @Test
+    void applyAsync_큐에_넣지_못하면_대기_수를_되돌리고_예외() {
+        availabilitySyncWriter = new AvailabilitySyncWriter(availabilityRepository, redisCommands, transactionManager,
+                task -> {
+                    throw new TaskRejectedException("queue full");
+                }, 300_000, meterRegistry);
+
+        assertThrows(TaskRejectedException.class,
+                () -> availabilitySyncWriter.applyAsync(1000L, 3, entryDate, entryDate.plusDays(1), -1));
+
+        verify(redisCommands).incr(PENDING_KEY);
+        verify(redisCommands).decr(PENDING_KEY);
+        verifyNoInteractions(availabilityRepository);
+    }
+
+    @Test
+    void applyAsync_DB_반영이_실패해도_대기_수를_줄이고_메트릭으로_알림() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(availabilityRepository.addStayAvail(1000L, 3, entryDate, entryDate.plusDays(1), 1))
+                .thenThrow(new IllegalStateException("db down"));
+
+        availabilitySyncWriter.applyAsync(1000L, 3, entryDate, entryDate.plusDays(1), 1);
+        queued.forEach(Runnable::run);
+
+        verify(redisCommands).decr(PENDING_KEY);
+        assertEquals(1.0, meterRegistry.counter("reservation.availability.sync.mismatch").count());
+    }
+}
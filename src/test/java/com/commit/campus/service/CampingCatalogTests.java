@@ -0,0 +1,200 @@
+package com.commit.campus.service;
+
+import com.commit.campus.dto.CampingFilterDTO;
+import com.commit.campus.entity.Camping;
+import com.commit.campus.entity.CampingSummary;
+import com.commit.campus.repository.CampingRepository;
+import com.commit.campus.service.impl.CampingCatalog;
+import com.commit.campus.service.impl.CampingCatalogSnapshot;
+import io.lettuce.core.api.sync.RedisCommands;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CampingCatalogTests {
+
+    private static final Sort BY_CAMP_ID = Sort.by(Sort.Order.asc("campId"));
+
+    @Mock
+    private CampingRepository campingRepository;
+
+    @Mock
+    private RedisCommands<String, String> redisCommands;
+
+    private CampingCatalog campingCatalog;
+
+    @BeforeEach
+    void setUp() {
+        campingCatalog = new CampingCatalog(campingRepository, redisCommands, Runnable::run, true, 300000);
+    }
+
+    @Test
+    void 지역_업종_반려동물_조건을_인덱스로_거름() {
+        CampingCatalogSnapshot snapshot = load(
+                camping(1L, "가람", "경기도", "가평군", "일반야영장,자동차야영장", "가능", 10, 0, 2, 0, null),
+                camping(2L, "나무", "경기도", "양평군", "글램핑", "불가능", 0, 0, 5, 0, null),
+                camping(3L, "다솜", "강원도", "가평군", "일반야영장", "가능", 3, 0, 0, 1, null),
+                camping(4L, "라온", "경기도", "가평군", "카라반", "불가능", 0, 0, 0, 4, null));
+
+        assertEquals(List.of(1L, 4L), snapshot.findCampIds(filter().doName("경기도").sigunguName("가평군").build(), BY_CAMP_ID));
+        assertEquals(List.of(1L, 3L), snapshot.findCampIds(filter().induty("야영장").build(), BY_CAMP_ID));
+        assertEquals(List.of(1L), snapshot.findCampIds(filter().induty("자동차야영장").petAccess("가능").build(), BY_CAMP_ID));
+        assertEquals(List.of(), snapshot.findCampIds(filter().doName("제주도").build(), BY_CAMP_ID));
+        // 빈 문자열 조건은 없는 것과 같음
+        assertEquals(4, snapshot.countCampings(filter().doName("").sigunguName(" ").build()));
+    }
+
+    @Test
+    void 사이트_수와_시설_유형_조건() {
+        CampingCatalogSnapshot snapshot = load(
+                camping(1L, "가람", "경기도", "가평군", "글램핑", "가능", 0, 0, 2, 0, null),
+                camping(2L, "나무", "경기도", "가평군", "글램핑", "가능", 0, 0, 5, 3, null),
+                camping(3L, "다솜", "경기도", "가평군", "카라반", "가능", 0, 0, null, 1, null),
+                camping(4L, "라온", "경기도", "가평군", "일반야영장", "가능", 7, 0, 0, 0, null));
+
+        assertEquals(List.of(2L), snapshot.findCampIds(filter().glampingSiteCnt(3).build(), BY_CAMP_ID));
+        assertEquals(List.of(1L, 2L), snapshot.findCampIds(filter().glampingSiteCnt(1).build(), BY_CAMP_ID));
+        assertEquals(List.of(2L, 3L), snapshot.findCampIds(filter().facsTypes(List.of(4)).build(), BY_CAMP_ID));
+        assertEquals(List.of(2L), snapshot.findCampIds(filter().facsTypes(List.of(3, 4)).build(), BY_CAMP_ID));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.findCampIds(filter().facsTypes(List.of(5)).build(), BY_CAMP_ID));
+    }
+
+    @Test
+    void 여러_필드_정렬과_커서_이어_읽기가_전체_정렬과_같음() {
+        List<Camping> campings = new ArrayList<>();
+        for (long campId = 1; campId <= 150; campId++) {
+            // 요약이 없는 캠핑장과 같은 리뷰 수를 섞는다
+            Integer reviewCnt = campId % 7 == 0 ? null : (int) (campId % 5);
+            campings.add(camping(campId, "캠프" + (campId % 4), "경기도", "가평군", "일반야영장", "가능", 1, 0, 0, 0, reviewCnt));
+        }
+        CampingCatalogSnapshot snapshot = load(campings.toArray(Camping[]::new));
+        Sort sort = Sort.by(Sort.Order.desc("reviewCnt"), Sort.Order.asc("campName"), Sort.Order.desc("campId"));
+
+        List<Camping> all = snapshot.findCampings(null, sort, 0, Integer.MAX_VALUE);
+        // 요약이 없는 캠핑장은 DB 조회(INNER JOIN)처럼 리뷰 수 정렬에서 빠진다
+        assertEquals(150 - 150 / 7, all.size());
+        assertTrue(all.stream().allMatch(camping -> camping.getCampingSummary() != null));
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(compare(all.get(i - 1), all.get(i)) < 0, "정렬 순서가 어긋남: " + i);
+        }
+
+        List<Camping> walked = new ArrayList<>();
+        List<Camping> page = snapshot.findCampingsAfter(null, sort, List.of(), null, 20);
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            Camping last = page.get(page.size() - 1);
+            List<Object> lastValues = new ArrayList<>();
+            lastValues.add(last.getCampingSummary().getReviewCnt());
+            lastValues.add(last.getCampName());
+            page = snapshot.findCampingsAfter(null, sort, lastValues, last.getCampId(), 20);
+        }
+        assertEquals(all, walked);
+        assertEquals(all.subList(40, 60), snapshot.findCampings(null, sort, 40, 20));
+    }
+
+    @Test
+    void 버전이_같으면_다시_만들지_않고_바뀌면_다시_만듦() {
+        when(campingRepository.findAllForCatalog())
+                .thenReturn(List.of(camping(1L, "가람", "경기도", "가평군", "글램핑", "가능", 0, 0, 1, 0, null)));
+        when(redisCommands.get("camping:catalog:version")).thenReturn("3", "3", "4");
+
+        campingCatalog.refreshIfChanged();
+        campingCatalog.refreshIfChanged();
+        assertEquals(3L, campingCatalog.snapshot().orElseThrow().getVersion());
+        verify(campingRepository, times(1)).findAllForCatalog();
+
+        campingCatalog.refreshIfChanged();
+        assertEquals(4L, campingCatalog.snapshot().orElseThrow().getVersion());
+        verify(campingRepository, times(2)).findAllForCatalog();
+    }
+
+    @Test
+    void 이_서버에서_바꾸면_버전을_올리고_바로_다시_만듦() {
+        when(campingRepository.findAllForCatalog()).thenReturn(List.of());
+        when(redisCommands.get("camping:catalog:version")).thenReturn("1", "2");
+        campingCatalog.refreshIfChanged();
+
+        campingCatalog.markChanged();
+
+        verify(redisCommands).incr("camping:catalog:version");
+        verify(campingRepository, times(2)).findAllForCatalog();
+        assertEquals(2L, campingCatalog.snapshot().orElseThrow().getVersion());
+    }
+
+    @Test
+    void 갱신에_실패하면_이전_카탈로그로_응답() {
+        when(campingRepository.findAllForCatalog())
+                .thenReturn(List.of(camping(1L, "가람", "경기도", "가평군", "글램핑", "가능", 0, 0, 1, 0, null)))
+                .thenThrow(new IllegalStateException("DB 연결 실패"));
+        when(redisCommands.get("camping:catalog:version")).thenReturn("1", "2");
+
+        campingCatalog.refreshIfChanged();
+        campingCatalog.refreshIfChanged();
+
+        CampingCatalogSnapshot snapshot = campingCatalog.snapshot().orElseThrow();
+        assertEquals(1L, snapshot.getVersion());
+        assertEquals(1, snapshot.size());
+    }
+
+    @Test
+    void 비활성화면_카탈로그_없이_DB에서_조회() {
+        CampingCatalog disabled = new CampingCatalog(campingRepository, redisCommands, Runnable::run, false, 300000);
+
+        disabled.refreshIfChanged();
+        disabled.markChanged();
+
+        assertTrue(disabled.snapshot().isEmpty());
+        verifyNoInteractions(campingRepository, redisCommands);
+    }
+
+    private CampingCatalogSnapshot load(Camping... campings) {
+        when(campingRepository.findAllForCatalog()).thenReturn(List.of(campings));
+        when(redisCommands.get("camping:catalog:version")).thenReturn("1");
+        campingCatalog.refreshIfChanged();
+        return campingCatalog.snapshot().orElseThrow();
+    }
+
+    // 리뷰 수 내림차순, 이름 오름차순, campId 내림차순
+    private static int compare(Camping a, Camping b) {
+        int byReviews = Integer.compare(b.getCampingSummary().getReviewCnt(), a.getCampingSummary().getReviewCnt());
+        if (byReviews != 0) {
+            return byReviews;
+        }
+        int byName = a.getCampName().compareTo(b.getCampName());
+        return byName != 0 ? byName : Long.compare(b.getCampId(), a.getCampId());
+    }
+
+    private static CampingFilterDTO.CampingFilterDTOBuilder filter() {
+        return CampingFilterDTO.builder();
+    }
+
+    private static Camping camping(long campId, String campName, String doName, String sigunguName, String induty, String petAccess,
+                                   Integer generalSiteCnt, Integer carSiteCnt, Integer glampingSiteCnt, Integer caravanSiteCnt,
+                                   Integer reviewCnt) {
+        Camping camping = new Camping();
+        camping.setCampId(campId);
+        camping.setCampName(campName);
+        camping.setDoName(doName);
+        camping.setSigunguName(sigunguName);
+        camping.setInduty(induty);
+        camping.setPetAccess(petAccess);
+        camping.setGeneralSiteCnt(generalSiteCnt);
+        camping.setCarSiteCnt(carSiteCnt);
+        camping.setGlampingSiteCnt(glampingSiteCnt);
+        camping.setCaravanSiteCnt(caravanSiteCnt);
+        if (reviewCnt != null) {
+            camping.setCampingSummary(CampingSummary.builder().campId(campId).reviewCnt(reviewCnt).build());
+        }
+        return camping;
+    }
+}
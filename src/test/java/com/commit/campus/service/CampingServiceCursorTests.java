@@ -0,0 +1,134 @@
+package com.commit.campus.service;
+
+import com.commit.campus.dto.CampingFilterDTO;
+import com.commit.campus.dto.CampingPageDTO;
+import com.commit.campus.entity.Camping;
+import com.commit.campus.entity.CampingSummary;
+import com.commit.campus.repository.CampingRepository;
+import com.commit.campus.service.impl.AvailabilityIndex;
+import com.commit.campus.service.impl.CampingCatalog;
+import com.commit.campus.service.impl.CampingServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CampingServiceCursorTests {
+
+    private static final Sort BY_NAME = Sort.by(Sort.Order.asc("campName"), Sort.Order.asc("campId"));
+    private static final Sort BY_CREATED_DESC = Sort.by(Sort.Order.desc("createdDate"), Sort.Order.desc("campId"));
+
+    private final CampingFilterDTO filter = CampingFilterDTO.builder().build();
+
+    @Mock
+    private CampingRepository campingRepository;
+
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    @Mock
+    private CampingCatalog campingCatalog;
+
+    @InjectMocks
+    private CampingServiceImpl campingService;
+
+    @Test
+    void getCampingsAfter_첫_페이지는_한_건_더_읽어_다음_커서_반환() {
+        when(campingRepository.findCampingsAfter(filter, BY_NAME, List.of(), null, 3))
+                .thenReturn(List.of(camping(1L, "가람 캠프", null), camping(2L, "나무 캠프", null), camping(3L, "다솜 캠프", null)));
+
+        CampingPageDTO page = campingService.getCampingsAfter(filter, "", 2, "campName", "asc");
+
+        assertEquals(List.of(1L, 2L), page.getCampings().stream().map(Camping::getCampId).toList());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void getCampingsAfter_커서의_정렬_값과_campId_다음부터_조회() {
+        when(campingRepository.findCampingsAfter(filter, BY_NAME, List.of(), null, 3))
+                .thenReturn(List.of(camping(1L, "가람 캠프", null), camping(2L, "나무:캠프", null), camping(3L, "다솜 캠프", null)));
+        String nextCursor = campingService.getCampingsAfter(filter, null, 2, "campName", "asc").getNextCursor();
+        when(campingRepository.findCampingsAfter(filter, BY_NAME, List.of("나무:캠프"), 2L, 3))
+                .thenReturn(List.of(camping(3L, "다솜 캠프", null)));
+
+        CampingPageDTO page = campingService.getCampingsAfter(filter, nextCursor, 2, "campName", "asc");
+
+        assertEquals(List.of(3L), page.getCampings().stream().map(Camping::getCampId).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getCampingsAfter_정렬_값이_없는_행도_이어서_조회() {
+        LocalDateTime createdDate = LocalDateTime.of(2026, 10, 1, 9, 30);
+        when(campingRepository.findCampingsAfter(filter, BY_CREATED_DESC, List.of(), null, 2))
+                .thenReturn(List.of(camping(5L, "가람 캠프", createdDate), camping(4L, "나무 캠프", null)));
+        String dated = campingService.getCampingsAfter(filter, null, 1, "createdDate", "desc").getNextCursor();
+        when(campingRepository.findCampingsAfter(filter, BY_CREATED_DESC, List.of(createdDate), 5L, 2))
+                .thenReturn(List.of(camping(4L, "나무 캠프", null), camping(3L, "다솜 캠프", null)));
+        String undated = campingService.getCampingsAfter(filter, dated, 1, "createdDate", "desc").getNextCursor();
+
+        campingService.getCampingsAfter(filter, undated, 1, "createdDate", "desc");
+
+        verify(campingRepository).findCampingsAfter(filter, BY_CREATED_DESC, Collections.singletonList(null), 4L, 2);
+    }
+
+    @Test
+    void getCampingsAfter_다른_정렬의_커서와_잘못된_커서는_거부() {
+        when(campingRepository.findCampingsAfter(same(filter), eq(Sort.by(Sort.Order.desc("campId"))), eq(List.of()), isNull(), eq(2)))
+                .thenReturn(List.of(camping(9L, "가람 캠프", null), camping(8L, "나무 캠프", null)));
+        String nextCursor = campingService.getCampingsAfter(filter, "", 1, "campId", "desc").getNextCursor();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> campingService.getCampingsAfter(filter, nextCursor, 1, "campName", "desc"));
+        assertThrows(IllegalArgumentException.class,
+                () -> campingService.getCampingsAfter(filter, "not-a-cursor", 1, "campId", "desc"));
+        assertThrows(IllegalArgumentException.class,
+                () -> campingService.getCampingsAfter(filter, "", 101, "campId", "desc"));
+        verify(campingRepository, times(1)).findCampingsAfter(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getCampingsAfter_여러_필드_정렬은_필드마다_마지막_값을_커서에_기록() {
+        Sort byBookmarksThenName = Sort.by(Sort.Order.desc("bookmarkCnt"), Sort.Order.asc("campName"), Sort.Order.asc("campId"));
+        Camping unsummarized = camping(2L, "나무 캠프", null);
+        when(campingRepository.findCampingsAfter(filter, byBookmarksThenName, List.of(), null, 2))
+                .thenReturn(List.of(camping(1L, "가람 캠프", null, 7), unsummarized));
+        String summarized = campingService.getCampingsAfter(filter, "", 1, "bookmarkCnt,campName", "desc,asc").getNextCursor();
+        when(campingRepository.findCampingsAfter(filter, byBookmarksThenName, List.of(7, "가람 캠프"), 1L, 2))
+                .thenReturn(List.of(unsummarized, camping(3L, "다솜 캠프", null)));
+        String next = campingService.getCampingsAfter(filter, summarized, 1, "bookmarkCnt,campName", "desc,asc").getNextCursor();
+
+        campingService.getCampingsAfter(filter, next, 1, "bookmarkCnt,campName", "desc,asc");
+
+        // 요약이 없는 캠핑장의 찜한 수는 DB 정렬과 같이 NULL
+        verify(campingRepository).findCampingsAfter(filter, byBookmarksThenName, Arrays.asList(null, "나무 캠프"), 2L, 2);
+        assertThrows(IllegalArgumentException.class,
+                () -> campingService.getCampingsAfter(filter, next, 1, "bookmarkCnt", "desc"));
+    }
+
+    private Camping camping(long campId, String campName, LocalDateTime createdDate, int bookmarkCnt) {
+        Camping camping = camping(campId, campName, createdDate);
+        camping.setCampingSummary(new CampingSummary(campId, bookmarkCnt, 0));
+        return camping;
+    }
+
+    private Camping camping(long campId, String campName, LocalDateTime createdDate) {
+        Camping camping = new Camping();
+        camping.setCampId(campId);
+        camping.setCampName(campName);
+        camping.setCreatedDate(createdDate);
+        return camping;
+    }
+}
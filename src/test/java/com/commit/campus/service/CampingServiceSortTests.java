@@ -1,7 +1,9 @@
 package com.commit.campus.service;
 
+import com.commit.campus.dto.CampingFilterDTO;
 import com.commit.campus.entity.Camping;
 import com.commit.campus.repository.CampingRepository;
+import com.commit.campus.service.impl.CampingCatalog;
 import com.commit.campus.service.impl.CampingServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,12 +11,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -23,9 +27,14 @@ public class CampingServiceSortTests {
     @Mock
     private CampingRepository campingRepository;
 
+    @Mock
+    private CampingCatalog campingCatalog;
+
     @InjectMocks
     private CampingServiceImpl campingService;
 
+    private final CampingFilterDTO filter = CampingFilterDTO.builder().build();
+
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -46,14 +55,14 @@ public class CampingServiceSortTests {
         camping3.setCampId(3L);
         camping3.setCampName("감마 캠프");
 
-        List<Camping> mockCampings = Arrays.asList(camping3, camping1, camping2); // Unsorted list
+        List<Camping> mockCampings = Arrays.asList(camping1, camping2, camping3); // Sorted by the database
 
         // When
-        when(campingRepository.findCampings(null, null, null, null, 0, 10)).thenReturn(mockCampings);
+        when(campingRepository.findCampings(filter, Sort.by(Sort.Order.asc("campId")), 0, 10)).thenReturn(mockCampings);
 
         // Then
-        List<Camping> result = campingService.getCampings(null, null, null, null, 0, 10, "campId", "asc");
-        assertTrue(result.get(0).getCampId() < result.get(result.size() - 1).getCampId());
+        List<Camping> result = campingService.getCampings(filter, 0, 10, "campId", "asc");
+        assertEquals(mockCampings, result);
     }
 
     @Test
@@ -69,18 +78,24 @@ public class CampingServiceSortTests {
         camping2.setCampName("베타 캠프");
         camping2.setCreatedDate(LocalDateTime.of(2022, 1, 2, 0, 0));
 
-        Camping camping3 = new Camping();
-        camping3.setCampId(3L);
-        camping3.setCampName("감마 캠프");
-        camping3.setCreatedDate(LocalDateTime.of(2022, 1, 3, 0, 0));
-
-        List<Camping> mockCampings = Arrays.asList(camping2, camping3, camping1); // Unsorted list
+        List<Camping> mockCampings = Arrays.asList(camping1, camping2); // Sorted by the database
 
         // When
-        when(campingRepository.findCampings(null, null, null, null, 0, 10)).thenReturn(mockCampings);
+        Sort byCreatedDate = Sort.by(Sort.Order.asc("createdDate"), Sort.Order.asc("campId"));
+        when(campingRepository.findCampings(filter, byCreatedDate, 0, 10)).thenReturn(mockCampings);
 
         // Then
-        List<Camping> result = campingService.getCampings(null, null, null, null, 0, 10, "createdDate", "asc");
-        assertTrue(result.get(0).getCreatedDate().isBefore(result.get(result.size() - 1).getCreatedDate()));
+        List<Camping> result = campingService.getCampings(filter, 0, 10, "createdDate", "asc");
+        assertEquals(mockCampings, result);
+    }
+
+    @Test
+    public void testGetCampingsSortedByMultipleFields() {
+        // When
+        campingService.getCampings(filter, 2, 10, "reviewCnt,campName,unknown", "desc,asc");
+
+        // Then: the last order applies to the remaining fields, unknown fields are ignored, campId breaks ties
+        verify(campingRepository).findCampings(filter,
+                Sort.by(Sort.Order.desc("reviewCnt"), Sort.Order.asc("campName"), Sort.Order.asc("campId")), 20, 10);
     }
 }
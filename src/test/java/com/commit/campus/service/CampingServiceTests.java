@@ -1,7 +1,9 @@
 package com.commit.campus.service;
 
+import com.commit.campus.dto.CampingFilterDTO;
 import com.commit.campus.entity.Camping;
 import com.commit.campus.repository.CampingRepository;
+import com.commit.campus.service.impl.CampingCatalog;
 import com.commit.campus.service.impl.CampingServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +11,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
 
 import java.util.Arrays;
 import java.util.List;
@@ -24,6 +27,9 @@ public class CampingServiceTests {
     @Mock
     private CampingRepository campingRepository;
 
+    @Mock
+    private CampingCatalog campingCatalog;
+
     @InjectMocks
     private CampingServiceImpl campingService;
 
@@ -68,12 +74,13 @@ public class CampingServiceTests {
         List<Camping> mockCampings = Arrays.asList(camping1, camping2, camping3, camping4, camping5);
         int offset = 0;
         int limit = 10;
+        CampingFilterDTO filter = CampingFilterDTO.builder().doName("경기도").glampingSiteCnt(5).build();
 
         // When
-        when(campingRepository.findCampings("경기도", null, 5, null, offset, limit)).thenReturn(mockCampings);
+        when(campingRepository.findCampings(filter, Sort.by(Sort.Order.asc("campId")), offset, limit)).thenReturn(mockCampings);
 
         // Then
-        List<Camping> result = campingService.getCampings("경기도", null, 5, null, 0, 10, "campId", "asc");
+        List<Camping> result = campingService.getCampings(filter, 0, 10, "campId", "asc");
         assertEquals(5, result.size());
         assertEquals("알파 캠프", result.get(0).getCampName());
         assertEquals("베타 캠프", result.get(1).getCampName());
@@ -0,0 +1,179 @@
+package com.commit.campus.service;
+
+import com.commit.campus.common.lock.LockHandle;
+import com.commit.campus.common.lock.LockManager;
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.repository.AvailabilityRepository;
+import com.commit.campus.service.impl.LockingInventoryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LockingInventoryServiceTests {
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+
+    @Mock
+    private LockManager lockManager;
+
+    @Mock
+    private LockHandle lockHandle;
+
+    @Captor
+    private ArgumentCaptor<Collection<String>> keysCaptor;
+
+    private LockingInventoryServiceImpl inventoryService;
+    private LocalDate entryDate;
+
+    @BeforeEach
+    void setUp() {
+        inventoryService = new LockingInventoryServiceImpl(availabilityRepository, lockManager);
+        entryDate = LocalDate.of(2026, 11, 12);
+    }
+
+    @Test
+    void reserve_캠핑장_시설_유형_날짜_칸마다_락_키() {
+        when(lockManager.tryLock(anyCollection())).thenReturn(Optional.of(lockHandle));
+        when(availabilityRepository.changeStayAvail(1000L, 3, entryDate, entryDate.plusDays(2), -1)).thenReturn(3);
+
+        inventoryService.reserve(stay(1000L, 3, entryDate, entryDate.plusDays(2)));
+
+        // 캠핑장 전체가 아니라 예약한 유형의 숙박 날짜만 (퇴실일 포함), 같은 캠핑장은 같은 해시 태그
+        verify(lockManager).tryLock(keysCaptor.capture());
+        assertEquals(List.of(
+                "lock:inventory:{1000}:3:2026-11-12",
+                "lock:inventory:{1000}:3:2026-11-13",
+                "lock:inventory:{1000}:3:2026-11-14"), List.copyOf(keysCaptor.getValue()));
+    }
+
+    @Test
+    void reserve_트랜잭션이_끝난_뒤에_락_해제() {
+        when(lockManager.tryLock(anyCollection())).thenReturn(Optional.of(lockHandle));
+        when(availabilityRepository.changeStayAvail(1000L, 3, entryDate, entryDate, -1)).thenReturn(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            inventoryService.reserve(stay(1000L, 3, entryDate, entryDate));
+
+            // 커밋 전에 풀리면 다른 요청이 커밋 전 재고를 기준으로 처리할 수 있음
+            verify(lockHandle, never()).close();
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(lockHandle).close();
+    }
+
+    @Test
+    void reserve_마감이어도_락_해제() {
+        when(lockManager.tryLock(anyCollection())).thenReturn(Optional.of(lockHandle));
+        // 이틀 중 하루만 남음
+        when(availabilityRepository.changeStayAvail(1000L, 3, entryDate, entryDate.plusDays(1), -1)).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> inventoryService.reserve(stay(1000L, 3, entryDate, entryDate.plusDays(1))));
+
+        verify(lockHandle).close();
+    }
+
+    @Test
+    void reserve_락을_못_잡으면_재고를_바꾸지_않음() {
+        when(lockManager.tryLock(anyCollection())).thenReturn(Optional.empty());
+
+        assertThrows(ConcurrentModificationException.class, () -> inventoryService.reserve(stay(1000L, 3, entryDate, entryDate)));
+
+        verifyNoInteractions(availabilityRepository);
+    }
+
+    @Test
+    void reserveAll_캠핑장_순서로_정렬된_키를_캠핑장마다_한_번에_획득() {
+        LockHandle otherLockHandle = mock(LockHandle.class);
+        when(lockManager.tryLock(anyCollection())).thenReturn(Optional.of(lockHandle)).thenReturn(Optional.of(otherLockHandle));
+        stubAllAvailable();
+
+        // 요청 순서와 관계없이 campId 순서로 잡아야 서로 다른 순서로 요청한 예약끼리 교착되지 않음
+        inventoryService.reserveAll(List.of(
+                stay(2000L, 1, entryDate, entryDate),
+                stay(1000L, 3, entryDate.plusDays(1), entryDate.plusDays(1)),
+                stay(1000L, 1, entryDate, entryDate.plusDays(1))));
+
+        verify(lockManager, times(2)).tryLock(keysCaptor.capture());
+        List<Collection<String>> keys = keysCaptor.getAllValues();
+        assertEquals(List.of(
+                "lock:inventory:{1000}:1:2026-11-12",
+                "lock:inventory:{1000}:1:2026-11-13",
+                "lock:inventory:{1000}:3:2026-11-13"), List.copyOf(keys.get(0)));
+        assertEquals(List.of("lock:inventory:{2000}:1:2026-11-12"), List.copyOf(keys.get(1)));
+
+        verify(lockHandle).close();
+        verify(otherLockHandle).close();
+    }
+
+    @Test
+    void reserveAll_다음_캠핑장_락을_못_잡으면_먼저_잡은_락을_풀고_실패() {
+        when(lockManager.tryLock(anyCollection())).thenReturn(Optional.of(lockHandle)).thenReturn(Optional.empty());
+
+        assertThrows(ConcurrentModificationException.class, () -> inventoryService.reserveAll(List.of(
+                stay(1000L, 3, entryDate, entryDate),
+                stay(2000L, 3, entryDate, entryDate))));
+
+        verify(lockHandle).close();
+        verifyNoInteractions(availabilityRepository);
+    }
+
+    @Test
+    void reserveAll_캠핑장_순서로_반영하고_마감이면_중단() {
+        when(lockManager.tryLock(anyCollection())).thenReturn(Optional.of(lockHandle));
+        when(availabilityRepository.changeStayAvail(1000L, 3, entryDate, entryDate, -1)).thenReturn(1);
+        when(availabilityRepository.changeStayAvail(2000L, 3, entryDate, entryDate, -1)).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> inventoryService.reserveAll(List.of(
+                stay(3000L, 3, entryDate, entryDate),
+                stay(2000L, 3, entryDate, entryDate),
+                stay(1000L, 3, entryDate, entryDate))));
+
+        InOrder inOrder = inOrder(availabilityRepository);
+        inOrder.verify(availabilityRepository).changeStayAvail(1000L, 3, entryDate, entryDate, -1);
+        inOrder.verify(availabilityRepository).changeStayAvail(2000L, 3, entryDate, entryDate, -1);
+        verify(availabilityRepository, never()).changeStayAvail(eq(3000L), anyInt(), any(), any(), anyInt());
+        verify(lockHandle, times(3)).close();
+    }
+
+    // 구간의 모든 날짜가 반영된 것으로 응답
+    private void stubAllAvailable() {
+        when(availabilityRepository.changeStayAvail(anyLong(), anyInt(), any(), any(), anyInt()))
+                .thenAnswer(invocation -> (int) ChronoUnit.DAYS.between(
+                        invocation.<LocalDate>getArgument(2), invocation.<LocalDate>getArgument(3)) + 1);
+    }
+
+    private static ReservationDTO stay(long campId, int campFacsType, LocalDate entryDate, LocalDate leavingDate) {
+        return ReservationDTO.builder()
+                .campId(campId)
+                .campFacsType(campFacsType)
+                .entryDate(entryDate)
+                .leavingDate(leavingDate)
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.commit.campus.service;
+
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.entity.Availability;
+import com.commit.campus.repository.AvailabilityRepository;
+import com.commit.campus.service.impl.OptimisticInventoryServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.LocalDate;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OptimisticInventoryServiceTests {
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    @Captor
+    private ArgumentCaptor<List<Availability>> changedCaptor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticInventoryServiceImpl inventoryService;
+    private ReservationDTO reservationDTO;
+    private LocalDate entryDate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        inventoryService = new OptimisticInventoryServiceImpl(availabilityRepository, transactionManager, meterRegistry);
+        when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+
+        entryDate = LocalDate.of(2026, 11, 12);
+        reservationDTO = ReservationDTO.builder()
+                .reservationId(1L)
+                .campId(1000L)
+                .campFacsType(3)
+                .entryDate(entryDate)
+                .leavingDate(entryDate.plusDays(1))
+                .build();
+    }
+
+    @Test
+    void reserve_버전_충돌시_다시_읽어_재시도() {
+        when(availabilityRepository.findByCampIdAndDateBetween(1000L, entryDate, entryDate.plusDays(1)))
+                .thenReturn(stay(2, 0L))
+                .thenReturn(stay(1, 1L));
+        when(availabilityRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Availability.class, 1L))
+                .thenReturn(List.of());
+
+        inventoryService.reserve(reservationDTO);
+
+        verify(availabilityRepository, times(2)).saveAllAndFlush(changedCaptor.capture());
+        // 두 번째 시도는 다시 읽은 값(1)과 버전 기준으로 차감
+        Availability changed = changedCaptor.getAllValues().get(1).get(0);
+        assertEquals(0, changed.getGlampingSiteAvail());
+        assertEquals(1L, changed.getVersion());
+        verify(transactionManager).rollback(transactionStatus);
+        verify(transactionManager).commit(transactionStatus);
+        assertEquals(1.0, meterRegistry.counter("reservation.inventory.optimistic.conflict").count());
+    }
+
+    @Test
+    void reserve_재시도_횟수_초과() {
+        when(availabilityRepository.findByCampIdAndDateBetween(1000L, entryDate, entryDate.plusDays(1))).thenReturn(stay(2, 0L));
+        when(availabilityRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Availability.class, 1L));
+
+        assertThrows(ConcurrentModificationException.class, () -> inventoryService.reserve(reservationDTO));
+
+        verify(availabilityRepository, times(5)).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void reserve_마감이면_재시도하지_않음() {
+        when(availabilityRepository.findByCampIdAndDateBetween(1000L, entryDate, entryDate.plusDays(1))).thenReturn(stay(0, 0L));
+
+        assertThrows(IllegalStateException.class, () -> inventoryService.reserve(reservationDTO));
+
+        verify(availabilityRepository, never()).saveAllAndFlush(anyList());
+        verify(transactionManager).rollback(transactionStatus);
+    }
+
+    private List<Availability> stay(int glampingSiteAvail, long version) {
+        return List.of(
+                Availability.builder().availId(1L).campId(1000L).date(entryDate).glampingSiteAvail(glampingSiteAvail).version(version).build(),
+                Availability.builder().availId(2L).campId(1000L).date(entryDate.plusDays(1)).glampingSiteAvail(glampingSiteAvail).version(version).build());
+    }
+}
@@ -0,0 +1,178 @@
+package com.commit.campus.service;
+
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.entity.Availability;
+import com.commit.campus.repository.AvailabilityRepository;
+import com.commit.campus.service.impl.PartitionedInventoryServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.LocalDate;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PartitionedInventoryServiceTests {
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private PartitionedInventoryServiceImpl inventoryService;
+    private LocalDate entryDate;
+    private LocalDate leavingDate;
+
+    @BeforeEach
+    void setUp() {
+        inventoryService = new PartitionedInventoryServiceImpl(availabilityRepository, transactionManager, new SimpleMeterRegistry(),
+                2, 64, 60000, 2000);
+        inventoryService.start();
+        when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+
+        entryDate = LocalDate.of(2026, 11, 12);
+        leavingDate = entryDate.plusDays(1);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        inventoryService.stop();
+    }
+
+    @Test
+    void reserve_메모리_재고로_확인하고_마감이면_DB에_반영하지_않음() {
+        when(availabilityRepository.findByCampIdAndDateBetween(1000L, entryDate, leavingDate)).thenReturn(stay(1));
+        when(availabilityRepository.changeSiteAvail(1000L, 3, entryDate, leavingDate, -1)).thenReturn(2);
+
+        inventoryService.reserve(reservation(1L));
+        assertThrows(IllegalStateException.class, () -> inventoryService.reserve(reservation(2L)));
+
+        // 두 번째 요청은 다시 읽지 않고 메모리 재고로 마감 판단
+        verify(availabilityRepository, times(1)).findByCampIdAndDateBetween(1000L, entryDate, leavingDate);
+        verify(availabilityRepository, times(1)).changeSiteAvail(anyLong(), anyInt(), any(), any(), anyInt());
+    }
+
+    @Test
+    void reserve_대기_중_쌓인_같은_캠핑장_요청은_UPDATE_하나로_반영() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        when(availabilityRepository.findByCampIdAndDateBetween(1000L, entryDate, leavingDate)).thenAnswer(invocation -> {
+            loading.countDown();
+            proceed.await(1, TimeUnit.SECONDS);
+            return stay(5);
+        });
+        when(availabilityRepository.changeSiteAvail(eq(1000L), eq(3), eq(entryDate), eq(leavingDate), anyInt())).thenReturn(2);
+
+        CompletableFuture<Void> first = inventoryService.submit(reservation(1L), -1);
+        assertTrue(loading.await(1, TimeUnit.SECONDS));
+        List<CompletableFuture<Void>> queued = List.of(
+                inventoryService.submit(reservation(2L), -1),
+                inventoryService.submit(reservation(3L), -1),
+                inventoryService.submit(reservation(4L), -1));
+        proceed.countDown();
+
+        first.get(1, TimeUnit.SECONDS);
+        for (CompletableFuture<Void> future : queued) {
+            future.get(1, TimeUnit.SECONDS);
+        }
+        verify(availabilityRepository).changeSiteAvail(1000L, 3, entryDate, leavingDate, -1);
+        verify(availabilityRepository).changeSiteAvail(1000L, 3, entryDate, leavingDate, -3);
+    }
+
+    @Test
+    void reserve_반영이_충돌하면_캠핑장_재고를_다시_읽어_한_번_더_시도() {
+        when(availabilityRepository.findByCampIdAndDateBetween(1000L, entryDate, leavingDate)).thenReturn(stay(2));
+        // 다른 서버가 먼저 차감해 하루만 변경됨
+        when(availabilityRepository.changeSiteAvail(1000L, 3, entryDate, leavingDate, -1)).thenReturn(1, 2);
+
+        inventoryService.reserve(reservation(1L));
+
+        verify(transactionManager).rollback(transactionStatus);
+        verify(availabilityRepository, times(2)).findByCampIdAndDateBetween(1000L, entryDate, leavingDate);
+    }
+
+    @Test
+    void reserve_다시_읽은_뒤에도_충돌하면_실패하고_다음_요청에서_다시_읽음() {
+        when(availabilityRepository.findByCampIdAndDateBetween(1000L, entryDate, leavingDate)).thenReturn(stay(2));
+        when(availabilityRepository.changeSiteAvail(1000L, 3, entryDate, leavingDate, -1)).thenReturn(1, 1, 2);
+
+        assertThrows(ConcurrentModificationException.class, () -> inventoryService.reserve(reservation(1L)));
+        inventoryService.reserve(reservation(2L));
+
+        verify(transactionManager, times(2)).rollback(transactionStatus);
+        verify(availabilityRepository, times(3)).findByCampIdAndDateBetween(1000L, entryDate, leavingDate);
+    }
+
+    @Test
+    void reserve_같은_배치의_다른_캠핑장은_충돌과_관계없이_반영() throws Exception {
+        // 998, 1000, 1002는 같은 파티션 (partitions=2)
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        when(availabilityRepository.findByCampIdAndDateBetween(998L, entryDate, leavingDate)).thenAnswer(invocation -> {
+            loading.countDown();
+            proceed.await(1, TimeUnit.SECONDS);
+            return stay(998L, 5);
+        });
+        when(availabilityRepository.findByCampIdAndDateBetween(1000L, entryDate, leavingDate)).thenReturn(stay(2));
+        when(availabilityRepository.findByCampIdAndDateBetween(1002L, entryDate, leavingDate)).thenReturn(stay(1002L, 2));
+        when(availabilityRepository.changeSiteAvail(eq(998L), eq(3), eq(entryDate), eq(leavingDate), anyInt())).thenReturn(2);
+        when(availabilityRepository.changeSiteAvail(1000L, 3, entryDate, leavingDate, -1)).thenReturn(1);
+        when(availabilityRepository.changeSiteAvail(1002L, 3, entryDate, leavingDate, -1)).thenReturn(2);
+
+        // 998을 적재하는 동안 1000, 1002 요청을 다음 배치로 함께 쌓음
+        CompletableFuture<Void> blocking = inventoryService.submit(reservation(1L, 998L), -1);
+        assertTrue(loading.await(1, TimeUnit.SECONDS));
+        CompletableFuture<Void> conflicting = inventoryService.submit(reservation(2L, 1000L), -1);
+        CompletableFuture<Void> unrelated = inventoryService.submit(reservation(3L, 1002L), -1);
+        proceed.countDown();
+
+        blocking.get(1, TimeUnit.SECONDS);
+        unrelated.get(1, TimeUnit.SECONDS);
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> conflicting.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(ConcurrentModificationException.class, failure.getCause());
+        verify(availabilityRepository, times(1)).findByCampIdAndDateBetween(1002L, entryDate, leavingDate);
+    }
+
+    private ReservationDTO reservation(long reservationId) {
+        return reservation(reservationId, 1000L);
+    }
+
+    private ReservationDTO reservation(long reservationId, long campId) {
+        return ReservationDTO.builder()
+                .reservationId(reservationId)
+                .campId(campId)
+                .campFacsType(3)
+                .entryDate(entryDate)
+                .leavingDate(leavingDate)
+                .build();
+    }
+
+    private List<Availability> stay(int glampingSiteAvail) {
+        return stay(1000L, glampingSiteAvail);
+    }
+
+    private List<Availability> stay(long campId, int glampingSiteAvail) {
+        return List.of(
+                Availability.builder().availId(1L).campId(campId).date(entryDate).glampingSiteAvail(glampingSiteAvail).build(),
+                Availability.builder().availId(2L).campId(campId).date(leavingDate).glampingSiteAvail(glampingSiteAvail).build());
+    }
+}
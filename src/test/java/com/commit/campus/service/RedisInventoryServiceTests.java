@@ -0,0 +1,151 @@
+package com.commit.campus.service;
+
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.entity.Availability;
+import com.commit.campus.repository.AvailabilityRepository;
+import com.commit.campus.repository.CampingRepository;
+import com.commit.campus.service.impl.AvailabilitySyncWriter;
+import com.commit.campus.service.impl.RedisInventoryServiceImpl;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.sync.RedisCommands;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RedisInventoryServiceTests {
+
+    private static final String[] KEYS = {"inventory:{1000}:3:2026-11-12", "inventory:{1000}:3:2026-11-13"};
+
+    @Mock
+    private RedisCommands<String, String> redisCommands;
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+
+    @Mock
+    private CampingRepository campingRepository;
+
+    @Mock
+    private AvailabilitySyncWriter availabilitySyncWriter;
+
+    private RedisInventoryServiceImpl inventoryService;
+    private LocalDate entryDate;
+
+    @BeforeEach
+    void setUp() {
+        inventoryService = new RedisInventoryServiceImpl(redisCommands, availabilityRepository, campingRepository, availabilitySyncWriter);
+        entryDate = LocalDate.of(2026, 11, 12);
+    }
+
+    @Test
+    void reserve_DB_반영을_넘기지_못하면_차감한_카운터를_되돌림() {
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.INTEGER), eq(KEYS), eq("1"))).thenReturn(1L, 2L);
+        doThrow(new TaskRejectedException("queue full"))
+                .when(availabilitySyncWriter).applyAsync(1000L, 3, entryDate, entryDate.plusDays(1), -1);
+
+        assertThrows(TaskRejectedException.class, () -> inventoryService.reserve(stay()));
+
+        // 차감 스크립트 + 되돌리기(+1)
+        verify(redisCommands, times(2)).evalsha(anyString(), eq(ScriptOutputType.INTEGER), eq(KEYS), eq("1"));
+    }
+
+    @Test
+    void release_카운터가_없는_날짜는_적재하지_않고_DB_반영에_맡김() {
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.INTEGER), eq(KEYS), eq("1"))).thenReturn(0L);
+
+        inventoryService.release(stay());
+
+        verify(redisCommands, times(1)).evalsha(anyString(), any(ScriptOutputType.class), any(String[].class), any(String[].class));
+        verifyNoInteractions(availabilityRepository, campingRepository);
+        verify(availabilitySyncWriter).applyAsync(1000L, 3, entryDate, entryDate.plusDays(1), 1);
+    }
+
+    @Test
+    void release_DB_반영을_넘기지_못하면_복구한_카운터를_되돌림() {
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.INTEGER), eq(KEYS), eq("1"))).thenReturn(2L);
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.INTEGER), eq(KEYS), eq("-1"))).thenReturn(2L);
+        doThrow(new TaskRejectedException("queue full"))
+                .when(availabilitySyncWriter).applyAsync(1000L, 3, entryDate, entryDate.plusDays(1), 1);
+
+        assertThrows(TaskRejectedException.class, () -> inventoryService.release(stay()));
+
+        verify(redisCommands).evalsha(anyString(), eq(ScriptOutputType.INTEGER), eq(KEYS), eq("-1"));
+    }
+
+    @Test
+    void reserve_DB_반영이_남아_있으면_이전_값으로_카운터를_적재하지_않음() {
+        String[] seedKeys = {KEYS[0], KEYS[1], "inventory:{1000}:pending"};
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.INTEGER), eq(KEYS), eq("1"))).thenReturn(-1L);
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.INTEGER), eq(seedKeys), any(String[].class))).thenReturn(0L);
+        when(availabilityRepository.findByCampIdAndDateBetween(1000L, entryDate, entryDate.plusDays(1)))
+                .thenReturn(List.of(
+                        Availability.builder().campId(1000L).date(entryDate).glampingSiteAvail(1).build(),
+                        Availability.builder().campId(1000L).date(entryDate.plusDays(1)).glampingSiteAvail(1).build()));
+
+        assertThrows(IllegalStateException.class, () -> inventoryService.reserve(stay()));
+
+        // 적재 스크립트가 대기 수 키를 함께 받아 거절하고, 카운터 차감과 DB 반영은 일어나지 않음
+        verify(redisCommands, times(3)).evalsha(anyString(), eq(ScriptOutputType.INTEGER), eq(seedKeys), any(String[].class));
+        verifyNoInteractions(availabilitySyncWriter);
+    }
+
+    @Test
+    void reserve_호출_트랜잭션이_롤백되면_차감을_되돌림() {
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.INTEGER), eq(KEYS), eq("1"))).thenReturn(1L, 2L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            inventoryService.reserve(stay());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // 차감 스크립트 + 되돌리기(+1), DB에도 차감 후 복구를 넘김
+        verify(redisCommands, times(2)).evalsha(anyString(), eq(ScriptOutputType.INTEGER), eq(KEYS), eq("1"));
+        verify(availabilitySyncWriter).applyAsync(1000L, 3, entryDate, entryDate.plusDays(1), -1);
+        verify(availabilitySyncWriter).applyAsync(1000L, 3, entryDate, entryDate.plusDays(1), 1);
+    }
+
+    @Test
+    void reserve_호출_트랜잭션이_커밋되면_되돌리지_않음() {
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.INTEGER), eq(KEYS), eq("1"))).thenReturn(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            inventoryService.reserve(stay());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(redisCommands, times(1)).evalsha(anyString(), eq(ScriptOutputType.INTEGER), eq(KEYS), eq("1"));
+        verify(availabilitySyncWriter, never()).applyAsync(anyLong(), anyInt(), any(), any(), eq(1));
+    }
+
+    private ReservationDTO stay() {
+        return ReservationDTO.builder()
+                .campId(1000L)
+                .campFacsType(3)
+                .entryDate(entryDate)
+                .leavingDate(entryDate.plusDays(1))
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.commit.campus.service;
+
+import com.commit.campus.dto.ReservationEventDTO;
+import com.commit.campus.dto.ReservationHistoryDTO;
+import com.commit.campus.dto.ReservationHistoryPageDTO;
+import com.commit.campus.repository.ReservationRepository;
+import com.commit.campus.service.impl.ReservationHistoryServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.lettuce.core.api.sync.RedisCommands;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationHistoryServiceTests {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private RedisCommands<String, String> redisCommands;
+
+    private ReservationHistoryServiceImpl reservationHistoryService;
+    private LocalDate entryDate;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        reservationHistoryService = new ReservationHistoryServiceImpl(reservationRepository, redisCommands, objectMapper);
+        entryDate = LocalDate.of(2026, 11, 12);
+    }
+
+    @Test
+    void getUserReservations_첫_페이지는_DB에서_읽어_캐시하고_다음_cursor_반환() {
+        when(reservationRepository.findHistoryByUserId(eq(7L), any(Pageable.class))).thenReturn(rows(3));
+
+        ReservationHistoryPageDTO page = reservationHistoryService.getUserReservations(7L, null, 2);
+
+        assertEquals(List.of(3L, 2L), page.getReservations().stream().map(ReservationHistoryDTO::getReservationId).toList());
+        assertNotNull(page.getNextCursor());
+        verify(redisCommands).setex(eq("reservation:history:7"), anyLong(), anyString());
+    }
+
+    @Test
+    void getUserReservations_캐시된_첫_페이지는_DB를_거치지_않음() {
+        ArgumentCaptor<String> cachedCaptor = ArgumentCaptor.forClass(String.class);
+        when(reservationRepository.findHistoryByUserId(eq(7L), any(Pageable.class))).thenReturn(rows(3));
+        reservationHistoryService.getUserReservations(7L, null, 20);
+        verify(redisCommands).setex(eq("reservation:history:7"), anyLong(), cachedCaptor.capture());
+        when(redisCommands.get("reservation:history:7")).thenReturn(cachedCaptor.getValue());
+
+        ReservationHistoryPageDTO page = reservationHistoryService.getUserReservations(7L, null, 20);
+
+        assertEquals(3, page.getReservations().size());
+        assertEquals(entryDate.plusDays(3), page.getReservations().get(0).getEntryDate());
+        // 전부 읽었으므로 다음 페이지 없음
+        assertNull(page.getNextCursor());
+        verify(reservationRepository, times(1)).findHistoryByUserId(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void getUserReservations_cursor가_있으면_마지막_행_이후부터_조회() {
+        when(reservationRepository.findHistoryByUserId(eq(7L), any(Pageable.class))).thenReturn(rows(3));
+        String nextCursor = reservationHistoryService.getUserReservations(7L, null, 2).getNextCursor();
+        when(reservationRepository.findHistoryByUserIdAfter(7L, entryDate.plusDays(2), 2L, PageRequest.ofSize(3)))
+                .thenReturn(rows(1));
+
+        ReservationHistoryPageDTO page = reservationHistoryService.getUserReservations(7L, nextCursor, 2);
+
+        assertEquals(1, page.getReservations().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getCampReservations_잘못된_cursor와_크기는_거부() {
+        assertThrows(IllegalArgumentException.class, () -> reservationHistoryService.getCampReservations(1000L, "not-a-cursor", 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> reservationHistoryService.getCampReservations(1000L, null, ReservationHistoryServiceImpl.MAX_PAGE_SIZE + 1));
+
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    void onReservationEvents_확정_취소된_사용자의_캐시_삭제() {
+        reservationHistoryService.onReservationEvents(List.of(event(7L), event(7L), event(8L), event(null)));
+
+        verify(redisCommands).del("reservation:history:7", "reservation:history:8");
+    }
+
+    // 입실일 최신순 (예약 ID n..1)
+    private List<ReservationHistoryDTO> rows(int count) {
+        return LongStream.rangeClosed(1, count)
+                .map(i -> count + 1 - i)
+                .mapToObj(id -> ReservationHistoryDTO.builder()
+                        .reservationId(id)
+                        .userId(7L)
+                        .campId(1000L)
+                        .entryDate(entryDate.plusDays(id))
+                        .leavingDate(entryDate.plusDays(id + 1))
+                        .reservationStatus("confirmation")
+                        .build())
+                .toList();
+    }
+
+    private ReservationEventDTO event(Long userId) {
+        return ReservationEventDTO.builder()
+                .reservationId(1L)
+                .reservationStatus("confirmation")
+                .userId(userId)
+                .build();
+    }
+}
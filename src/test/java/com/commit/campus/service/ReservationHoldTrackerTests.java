@@ -0,0 +1,124 @@
+package com.commit.campus.service;
+
+import com.commit.campus.common.redis.ReservationHoldCodec;
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.dto.ReservationHoldDTO;
+import com.commit.campus.service.impl.ReservationHoldTracker;
+import io.lettuce.core.Limit;
+import io.lettuce.core.Range;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationHoldTrackerTests {
+
+    @Mock
+    private RedisCommands<String, String> redisCommands;
+
+    @Mock
+    private RedisAsyncCommands<String, String> redisAsyncCommands;
+
+    @Mock
+    private ObjectProvider<ReservationHoldListener> listeners;
+
+    @Mock
+    private ReservationHoldListener listener;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReservationHoldTracker reservationHoldTracker;
+
+    private String expiredMember;
+    private String liveMember;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reservationHoldTracker = new ReservationHoldTracker(redisCommands, redisAsyncCommands, listeners, meterRegistry, 100);
+
+        ReservationDTO reservationDTO = ReservationDTO.builder()
+                .campId(1000L)
+                .campFacsType(3)
+                .entryDate(LocalDate.of(2026, 11, 1))
+                .leavingDate(LocalDate.of(2026, 11, 3))
+                .build();
+        expiredMember = ReservationHoldCodec.trackingMember(1L, reservationDTO);
+        liveMember = ReservationHoldCodec.trackingMember(2L, reservationDTO);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sweep_만료된_요청만_리스너_호출() {
+        when(redisCommands.zrangebyscore(eq(ReservationHoldTracker.HOLDS_KEY), any(Range.class), any(Limit.class)))
+                .thenReturn(List.of(expiredMember, liveMember));
+        when(redisCommands.exists("reservationInfo:1")).thenReturn(0L);
+        // 시계 차이로 아직 해시가 남아 있는 요청은 건너뜀
+        when(redisCommands.exists("reservationInfo:2")).thenReturn(1L);
+        when(redisCommands.zrem(ReservationHoldTracker.HOLDS_KEY, expiredMember)).thenReturn(1L);
+        when(redisCommands.zcard(ReservationHoldTracker.HOLDS_KEY)).thenReturn(1L);
+        when(listeners.orderedStream()).thenReturn(Stream.of(listener));
+
+        reservationHoldTracker.sweep();
+
+        ArgumentCaptor<ReservationHoldDTO> holdCaptor = ArgumentCaptor.forClass(ReservationHoldDTO.class);
+        verify(listener).onHoldExpired(holdCaptor.capture());
+        assertEquals(1L, holdCaptor.getValue().getReservationId());
+        assertEquals(1000L, holdCaptor.getValue().getCampId());
+        assertEquals(LocalDate.of(2026, 11, 3), holdCaptor.getValue().getLeavingDate());
+        verify(redisCommands, never()).zrem(ReservationHoldTracker.HOLDS_KEY, liveMember);
+        assertEquals(1.0, meterRegistry.get("reservation.hold.expired").counter().count());
+        assertEquals(1.0, meterRegistry.get("reservation.hold.live").gauge().value());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sweep_다른_서버가_먼저_처리한_요청은_건너뜀() {
+        when(redisCommands.zrangebyscore(eq(ReservationHoldTracker.HOLDS_KEY), any(Range.class), any(Limit.class)))
+                .thenReturn(List.of(expiredMember));
+        when(redisCommands.exists("reservationInfo:1")).thenReturn(0L);
+        when(redisCommands.zrem(ReservationHoldTracker.HOLDS_KEY, expiredMember)).thenReturn(0L);
+        when(redisCommands.zcard(ReservationHoldTracker.HOLDS_KEY)).thenReturn(0L);
+
+        reservationHoldTracker.sweep();
+
+        verify(listeners, never()).orderedStream();
+        assertEquals(0.0, meterRegistry.get("reservation.hold.expired").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sweep_해시가_남은_멤버로_배치가_차도_그_뒤의_만료_요청까지_처리() {
+        ReservationHoldTracker smallBatchTracker = new ReservationHoldTracker(redisCommands, redisAsyncCommands, listeners, meterRegistry, 1);
+        // 첫 배치는 아직 해시가 남은 요청뿐이지만 멈추지 않고 그 뒤(offset 1)를 읽는다
+        when(redisCommands.zrangebyscore(eq(ReservationHoldTracker.HOLDS_KEY), any(Range.class), any(Limit.class)))
+                .thenReturn(List.of(liveMember), List.of(expiredMember), List.of());
+        when(redisCommands.exists("reservationInfo:2")).thenReturn(1L);
+        when(redisCommands.exists("reservationInfo:1")).thenReturn(0L);
+        when(redisCommands.zrem(ReservationHoldTracker.HOLDS_KEY, expiredMember)).thenReturn(1L);
+        when(redisCommands.zcard(ReservationHoldTracker.HOLDS_KEY)).thenReturn(1L);
+        when(listeners.orderedStream()).thenReturn(Stream.of(listener));
+
+        smallBatchTracker.sweep();
+
+        ArgumentCaptor<Limit> limitCaptor = ArgumentCaptor.forClass(Limit.class);
+        verify(redisCommands, times(3)).zrangebyscore(eq(ReservationHoldTracker.HOLDS_KEY), any(Range.class), limitCaptor.capture());
+        assertEquals(List.of(0L, 1L, 1L), limitCaptor.getAllValues().stream().map(Limit::getOffset).toList());
+        verify(listener).onHoldExpired(any(ReservationHoldDTO.class));
+        verify(redisCommands, never()).zrem(ReservationHoldTracker.HOLDS_KEY, liveMember);
+    }
+}
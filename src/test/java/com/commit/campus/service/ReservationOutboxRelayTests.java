@@ -0,0 +1,157 @@
+package com.commit.campus.service;
+
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.dto.ReservationEventDTO;
+import com.commit.campus.entity.ReservationOutbox;
+import com.commit.campus.repository.ReservationOutboxRepository;
+import com.commit.campus.service.impl.ReservationOutboxRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationOutboxRelayTests {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private ReservationOutboxRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    @Mock
+    private ObjectProvider<ReservationEventListener> listeners;
+
+    @Mock
+    private ReservationEventListener listener;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReservationOutboxRelay reservationOutboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reservationOutboxRelay = new ReservationOutboxRelay(outboxRepository, transactionManager, listeners, meterRegistry, BATCH_SIZE, Runnable::run);
+
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+        lenient().when(listeners.orderedStream()).thenAnswer(invocation -> Stream.of(listener));
+    }
+
+    @Test
+    void relay_가득_찬_배치는_다음_id부터_이어서_처리() {
+        when(outboxRepository.lockNextBatch(0L, BATCH_SIZE)).thenReturn(outboxes(1, 2));
+        when(outboxRepository.lockNextBatch(2L, BATCH_SIZE)).thenReturn(outboxes(3));
+
+        reservationOutboxRelay.relay();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReservationEventDTO>> eventsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(listener, times(2)).onReservationEvents(eventsCaptor.capture());
+        assertEquals(List.of(1L, 2L), eventsCaptor.getAllValues().get(0).stream().map(ReservationEventDTO::getOutboxId).toList());
+        assertEquals("confirmation", eventsCaptor.getAllValues().get(0).get(0).getReservationStatus());
+
+        verify(outboxRepository).deleteAllByOutboxIdIn(List.of(1L, 2L));
+        verify(outboxRepository).deleteAllByOutboxIdIn(List.of(3L));
+        verify(transactionManager, times(2)).commit(transactionStatus);
+        assertEquals(3.0, meterRegistry.counter("reservation.outbox.relayed").count());
+    }
+
+    @Test
+    void relay_리스너_실패시_삭제하지_않고_롤백() {
+        when(outboxRepository.lockNextBatch(0L, BATCH_SIZE)).thenReturn(outboxes(1));
+        doThrow(new IllegalStateException("redis down")).when(listener).onReservationEvents(anyList());
+
+        reservationOutboxRelay.relay();
+
+        verify(outboxRepository, never()).deleteAllByOutboxIdIn(anyList());
+        verify(transactionManager).rollback(transactionStatus);
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void record_즉시_전달에_성공하면_릴레이가_다시_보내지_않도록_삭제() {
+        when(outboxRepository.save(any(ReservationOutbox.class))).thenReturn(outboxes(5).get(0));
+
+        reservationOutboxRelay.record(reservation(), "confirmation", 7L, false);
+
+        verify(listener).onReservationEvents(anyList());
+        verify(outboxRepository).deleteAllByOutboxIdIn(List.of(5L));
+        verify(transactionManager).commit(transactionStatus);
+    }
+
+    @Test
+    void record_즉시_전달한_행은_정리_스레드에서_삭제() {
+        List<Runnable> cleanups = new ArrayList<>();
+        reservationOutboxRelay = new ReservationOutboxRelay(outboxRepository, transactionManager, listeners, meterRegistry, BATCH_SIZE, cleanups::add);
+        when(outboxRepository.save(any(ReservationOutbox.class))).thenReturn(outboxes(5).get(0));
+
+        reservationOutboxRelay.record(reservation(), "confirmation", 7L, false);
+
+        // 전달은 바로 하지만 삭제 트랜잭션은 호출 스레드에서 열지 않음
+        verify(listener).onReservationEvents(anyList());
+        verify(outboxRepository, never()).deleteAllByOutboxIdIn(anyList());
+        verifyNoInteractions(transactionManager);
+
+        cleanups.forEach(Runnable::run);
+        verify(outboxRepository).deleteAllByOutboxIdIn(List.of(5L));
+    }
+
+    @Test
+    void record_즉시_전달이_실패하면_릴레이에_맡기고_삭제하지_않음() {
+        when(outboxRepository.save(any(ReservationOutbox.class))).thenReturn(outboxes(5).get(0));
+        doThrow(new IllegalStateException("redis down")).when(listener).onReservationEvents(anyList());
+
+        reservationOutboxRelay.record(reservation(), "confirmation", 7L, false);
+
+        verify(outboxRepository, never()).deleteAllByOutboxIdIn(anyList());
+    }
+
+    private static ReservationDTO reservation() {
+        return ReservationDTO.builder()
+                .reservationId(105L)
+                .userId(1L)
+                .campId(1000L)
+                .campFacsType(3)
+                .entryDate(LocalDate.of(2026, 11, 1))
+                .leavingDate(LocalDate.of(2026, 11, 3))
+                .build();
+    }
+
+    private static List<ReservationOutbox> outboxes(long... outboxIds) {
+        return LongStream.of(outboxIds)
+                .mapToObj(outboxId -> ReservationOutbox.builder()
+                        .outboxId(outboxId)
+                        .reservationId(100L + outboxId)
+                        .reservationStatus("confirmation")
+                        .campId(1000L)
+                        .campFacsType(3)
+                        .entryDate(LocalDate.of(2026, 11, 1))
+                        .leavingDate(LocalDate.of(2026, 11, 3))
+                        .fenceToken(7L)
+                        .createdAt(LocalDateTime.now())
+                        .build())
+                .toList();
+    }
+}
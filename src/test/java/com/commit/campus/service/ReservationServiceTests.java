@@ -1,28 +1,43 @@
 package com.commit.campus.service;
 
+import com.commit.campus.common.exceptions.NotAuthorizedException;
+import com.commit.campus.common.id.SnowflakeIdGenerator;
+import com.commit.campus.common.lock.LockHandle;
+import com.commit.campus.common.lock.LockManager;
+import com.commit.campus.common.redis.ReservationHoldCodec;
 import com.commit.campus.dto.ReservationDTO;
-import com.commit.campus.entity.Camping;
+import com.commit.campus.entity.CampingFacilities;
 import com.commit.campus.entity.Reservation;
-import com.commit.campus.repository.AvailabilityRepository;
-import com.commit.campus.repository.CampingRepository;
 import com.commit.campus.repository.ReservationRepository;
+import com.commit.campus.service.impl.AvailabilityIndex;
+import com.commit.campus.service.impl.ReservationHoldTracker;
+import com.commit.campus.service.impl.ReservationOutboxRelay;
 import com.commit.campus.service.impl.ReservationServiceImpl;
+import com.commit.campus.service.impl.ReservationStreamWriter;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.async.RedisAsyncCommands;
 import io.lettuce.core.api.sync.RedisCommands;
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -34,23 +49,48 @@ public class ReservationServiceTests {
     private ReservationRepository reservationRepository;
 
     @Mock
-    private AvailabilityRepository availabilityRepository;
+    private RedisCommands<String, String> redisCommands;
 
     @Mock
-    private CampingRepository campingRepository;
+    private RedisAsyncCommands<String, String> redisAsyncCommands;
 
     @Mock
-    private RedisCommands<String, String> redisCommands;
+    private InventoryService inventoryService;
+
+    @Mock
+    private LockManager lockManager;
+
+    @Mock
+    private LockHandle lockHandle;
+
+    @Mock
+    private SnowflakeIdGenerator reservationIdGenerator;
+
+    @Mock
+    private ReservationHoldTracker reservationHoldTracker;
+
+    @Mock
+    private ReservationStreamWriter reservationStreamWriter;
+
+    @Mock
+    private ReservationOutboxRelay reservationOutboxRelay;
+
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    @Mock
+    private ReservationWaitlistService reservationWaitlistService;
 
-    @InjectMocks
     private ReservationServiceImpl reservationServiceImpl;
 
     @Captor
     private ArgumentCaptor<Reservation> reservationCaptor;
 
+    @Captor
+    private ArgumentCaptor<List<Reservation>> reservationsCaptor;
+
     private String reservationId;
     private String lockKey;
-    private String campLockKey;
     private String redisKey;
 
     private Map<String, String> reservationInfo;
@@ -61,37 +101,59 @@ public class ReservationServiceTests {
         reservationId = "1234567890";
         lockKey = "lock:reservation:" + reservationId;
         redisKey = "reservationInfo:" + reservationId;
-        campLockKey = "lock:camp:1000"; // 캠핑장 ID를 기반으로 한 락 키
-
-        reservationInfo = new HashMap<>();
-        reservationInfo.put("reservationId", reservationId);
-        reservationInfo.put("userId", "1");
-        reservationInfo.put("campId", "1000");
-        reservationInfo.put("campFacsId", "3");
-        reservationInfo.put("reservationDate", LocalDateTime.now().toString());
-        reservationInfo.put("entryDate", LocalDate.now().toString());
-        reservationInfo.put("leavingDate", LocalDate.now().plusDays(2).toString());
-        reservationInfo.put("reservationStatus", "pending");
-        reservationInfo.put("gearRentalStatus", "N");
-        reservationInfo.put("campFacsType", "3");
 
-        reservationDTO = new ReservationDTO();
-
-        Camping camping = new Camping();
-        camping.setCampId(1000L);
-        camping.setGeneralSiteCnt(10);
-        camping.setCarSiteCnt(5);
-        camping.setGlampingSiteCnt(2);
-        camping.setCaravanSiteCnt(3);
+        reservationDTO = ReservationDTO.builder()
+                .userId(1L)
+                .campId(1000L)
+                .campFacsId(3L)
+                .reservationDate(LocalDateTime.now())
+                .entryDate(LocalDate.now())
+                .leavingDate(LocalDate.now().plusDays(2))
+                .gearRentalStatus("N")
+                .campFacsType(3)
+                .build();
+
+        reservationInfo = new HashMap<>(ReservationHoldCodec.encode(Long.parseLong(reservationId), reservationDTO));
+        reservationInfo.put(ReservationHoldCodec.STATUS, "pending");
+
+
+        // 기본 재고 처리 방식(lock)의 빈 이름으로 등록
+        reservationServiceImpl = new ReservationServiceImpl(reservationRepository, redisCommands, redisAsyncCommands,
+                Map.of("lockInventory", inventoryService), lockManager, reservationHoldTracker, reservationStreamWriter, reservationOutboxRelay,
+                availabilityIndex, reservationIdGenerator, reservationWaitlistService);
+    }
 
-        lenient().when(campingRepository.findById(1000L)).thenReturn(Optional.of(camping));
+    @Test
+    @SuppressWarnings("unchecked")
+    void createReservation_해시와_TTL을_한_번에_저장() throws Exception {
+        RedisFuture<Long> hsetFuture = mock(RedisFuture.class);
+        RedisFuture<Boolean> expireFuture = mock(RedisFuture.class);
+        RedisFuture<Long> trackFuture = mock(RedisFuture.class);
+        when(redisAsyncCommands.hset(anyString(), anyMap())).thenReturn(hsetFuture);
+        when(redisAsyncCommands.expire(anyString(), eq(7200L))).thenReturn(expireFuture);
+        when(hsetFuture.get(anyLong(), any(TimeUnit.class))).thenReturn(9L);
+        when(expireFuture.get(anyLong(), any(TimeUnit.class))).thenReturn(true);
+        when(expireFuture.toCompletableFuture()).thenReturn(CompletableFuture.completedFuture(true));
+        when(reservationHoldTracker.track(eq(Long.parseLong(reservationId)), eq(reservationDTO), eq(7200L))).thenReturn(trackFuture);
+        when(trackFuture.get(anyLong(), any(TimeUnit.class))).thenReturn(1L);
+        when(reservationIdGenerator.nextId()).thenReturn(Long.parseLong(reservationId));
+
+        String createdId = reservationServiceImpl.createReservation(reservationDTO);
+
+        assertEquals(reservationId, createdId);
+        verify(redisAsyncCommands).hset(eq(redisKey), argThat((Map<String, String> fields) ->
+                reservationId.equals(fields.get(ReservationHoldCodec.RESERVATION_ID))
+                        && "1000".equals(fields.get(ReservationHoldCodec.CAMP_ID))));
+        verify(redisAsyncCommands).expire(redisKey, 7200L);
+        verify(redisAsyncCommands, never()).del(anyString());
+        verifyNoInteractions(redisCommands);
     }
 
     @Test
     void confirmReservation_예약_확정_성공() {
 
-        when(redisCommands.set(eq(lockKey), eq("locked"), any())).thenReturn("OK");
-        when(redisCommands.set(eq(campLockKey), eq("locked"), any())).thenReturn("OK");
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(lockHandle.fencingToken()).thenReturn(7L);
         when(redisCommands.hgetall(redisKey)).thenReturn(reservationInfo);
 
         ReservationDTO confirmedReservation = reservationServiceImpl.confirmReservation(reservationId);
@@ -100,19 +162,108 @@ public class ReservationServiceTests {
         assertEquals(reservationId, confirmedReservation.getReservationId().toString());
         assertEquals("confirmation", confirmedReservation.getReservationStatus());
 
-        verify(redisCommands).hset(redisKey, "reservationStatus", "confirmation");
+        verify(inventoryService).reserve(confirmedReservation);
         verify(reservationRepository).save(reservationCaptor.capture());
         assertEquals("confirmation", reservationCaptor.getValue().getReservationStatus());
-        verify(redisCommands).del(lockKey);
-        verify(redisCommands).del(campLockKey);
+        assertEquals(7L, reservationCaptor.getValue().getFenceToken());
+        // Redis 상태 반영은 커밋 후 outbox 리스너가 처리
+        verify(reservationOutboxRelay).record(confirmedReservation, "confirmation", 7L, false);
+        verify(redisCommands, never()).hset(anyString(), anyString(), anyString());
+        verify(availabilityIndex).applyChange(1000L, 3, reservationDTO.getEntryDate(), reservationDTO.getLeavingDate(), -1);
+        verify(lockHandle).close();
+    }
+
+    @Test
+    void confirmReservation_재고_처리가_끝난_뒤에_첫_SQL_실행() {
+
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(lockHandle.fencingToken()).thenReturn(7L);
+        when(redisCommands.hgetall(redisKey)).thenReturn(reservationInfo);
+
+        ReservationDTO confirmedReservation = reservationServiceImpl.confirmReservation(reservationId);
+
+        // 커넥션은 첫 SQL에서 가져오므로, 재고 처리(optimistic/partitioned는 별도 커넥션 사용) 중에는 커넥션을 잡고 있지 않음
+        InOrder inOrder = inOrder(inventoryService, reservationRepository, reservationOutboxRelay);
+        inOrder.verify(inventoryService).reserve(confirmedReservation);
+        inOrder.verify(reservationRepository).save(any(Reservation.class));
+        inOrder.verify(reservationOutboxRelay).record(confirmedReservation, "confirmation", 7L, false);
+    }
+
+    @Test
+    void confirmReservation_stream_모드는_커밋_후_추가할_이벤트만_등록() {
+
+        ReflectionTestUtils.setField(reservationServiceImpl, "persistenceMode", "stream");
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(lockHandle.fencingToken()).thenReturn(7L);
+        when(redisCommands.hgetall(redisKey)).thenReturn(reservationInfo);
+
+        reservationServiceImpl.confirmReservation(reservationId);
+
+        verify(reservationStreamWriter).appendAfterCommit(argThat(events -> events.size() == 1
+                && "confirmation".equals(events.get(0).get(ReservationHoldCodec.STATUS))
+                && "7".equals(events.get(0).get("k"))));
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    void cancelReservation_stream_모드에서_확정되지_않은_예약은_찾을_수_없음() {
+
+        ReflectionTestUtils.setField(reservationServiceImpl, "persistenceMode", "stream");
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(lockHandle.fencingToken()).thenReturn(8L);
+        when(redisCommands.hgetall(redisKey)).thenReturn(reservationInfo);
+        when(reservationRepository.existsById(Long.valueOf(reservationId))).thenReturn(false);
+
+        // sync 모드와 같이 거부하고 취소 이벤트를 남기지 않음
+        assertThrows(EntityNotFoundException.class, () -> reservationServiceImpl.cancelReservation(reservationId));
+
+        verify(reservationStreamWriter, never()).appendAfterCommit(any());
+        verify(reservationOutboxRelay, never()).record(any(), any(), anyLong(), anyBoolean());
+        verify(lockHandle).close();
+    }
+
+    @Test
+    void cancelReservation_stream_모드에서_확정된_예약은_저장_전이어도_취소_이벤트_등록() {
+
+        ReflectionTestUtils.setField(reservationServiceImpl, "persistenceMode", "stream");
+        reservationInfo.put(ReservationHoldCodec.STATUS, "confirmation");
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(lockHandle.fencingToken()).thenReturn(8L);
+        when(redisCommands.hgetall(redisKey)).thenReturn(reservationInfo);
+
+        reservationServiceImpl.cancelReservation(reservationId);
+
+        verify(reservationStreamWriter).appendAfterCommit(argThat(events -> events.size() == 1
+                && "cancelled".equals(events.get(0).get(ReservationHoldCodec.STATUS))
+                && "8".equals(events.get(0).get("k"))));
+        verify(reservationRepository, never()).updateStatusFenced(anyLong(), anyString(), any(), anyLong());
+        verify(inventoryService).release(any());
+    }
+
+    @Test
+    void confirmReservation_예약_마감_예외() {
+
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(redisCommands.hgetall(redisKey)).thenReturn(reservationInfo);
+        doThrow(new IllegalStateException("해당 캠핑장의 예약이 마감되었습니다.."))
+                .when(inventoryService).reserve(any());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+            reservationServiceImpl.confirmReservation(reservationId);
+        });
+
+        assertEquals("해당 캠핑장의 예약이 마감되었습니다..", exception.getMessage());
+
+        verify(reservationOutboxRelay, never()).record(any(), any(), anyLong(), anyBoolean());
+        verify(reservationRepository, never()).save(any());
+        verify(lockHandle).close();
     }
 
     @Test
     void confirmReservation_예약_존재_예외() {
 
-        reservationInfo.put("reservationStatus", "confirmation");
-        when(redisCommands.set(eq(lockKey), eq("locked"), any())).thenReturn("OK");
-        when(redisCommands.set(eq(campLockKey), eq("locked"), any())).thenReturn("OK");
+        reservationInfo.put(ReservationHoldCodec.STATUS, "confirmation");
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
         when(redisCommands.hgetall(redisKey)).thenReturn(reservationInfo);
 
         // Act & Assert
@@ -122,16 +273,14 @@ public class ReservationServiceTests {
 
         assertEquals("이미 확정된 예약입니다: " + reservationId, exception.getMessage());
 
-        verify(redisCommands).del(lockKey);
-        verify(redisCommands).del(campLockKey);
+        verify(lockHandle).close();
     }
 
     @Test
     void confirmReservation_예약_취소_예외() {
         // Arrange
-        reservationInfo.put("reservationStatus", "cancelled");
-        when(redisCommands.set(eq(lockKey), eq("locked"), any())).thenReturn("OK");
-        when(redisCommands.set(eq(campLockKey), eq("locked"), any())).thenReturn("OK");
+        reservationInfo.put(ReservationHoldCodec.STATUS, "cancelled");
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
         when(redisCommands.hgetall(redisKey)).thenReturn(reservationInfo);
 
         // Act & Assert
@@ -141,14 +290,13 @@ public class ReservationServiceTests {
 
         assertEquals("이미 취소된 예약입니다.", exception.getMessage());
 
-        verify(redisCommands).del(lockKey);
-        verify(redisCommands).del(campLockKey);
+        verify(lockHandle).close();
     }
 
     @Test
     void confirmReservation_만료된_예약_예외() {
         // Arrange
-        when(redisCommands.set(eq(lockKey), eq("locked"), any())).thenReturn("OK");
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
         when(redisCommands.hgetall(redisKey)).thenReturn(new HashMap<>());
 
         // Act & Assert
@@ -158,14 +306,13 @@ public class ReservationServiceTests {
 
         assertEquals("이미 만료되었거나 존재하지 않는 예약입니다.", exception.getMessage());
 
-        verify(redisCommands).del(lockKey);
-        // 여기서는 campLockKey가 설정되지 않으므로 확인할 필요가 없습니다.
+        verify(lockHandle).close();
     }
 
     @Test
     void confirmReservation_동시_요청_실패() {
         // Arrange
-        when(redisCommands.set(eq(lockKey), eq("locked"), any())).thenReturn(null);
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.empty());
 
         // Act & Assert
         ConcurrentModificationException exception = assertThrows(ConcurrentModificationException.class, () -> {
@@ -175,32 +322,114 @@ public class ReservationServiceTests {
         assertEquals("해당 예약은 현재 처리 중입니다. 잠시 후 다시 시도해 주세요.", exception.getMessage());
     }
 
+    @Test
+    void confirmReservation_저장_실패시_재고_복구() {
+
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(redisCommands.hgetall(redisKey)).thenReturn(reservationInfo);
+        when(reservationRepository.save(any())).thenThrow(new IllegalStateException("db error"));
+
+        assertThrows(IllegalStateException.class, () -> reservationServiceImpl.confirmReservation(reservationId));
+
+        verify(inventoryService).reserve(any());
+        verify(inventoryService).release(any());
+        verify(lockHandle).close();
+    }
+
     @Test
     void cancelReservation_예약_취소_성공() {
         // Arrange
-        reservationInfo.put("reservationStatus", "pending");
-        when(redisCommands.set(eq(lockKey), eq("locked"), any())).thenReturn("OK");
-        when(redisCommands.set(eq(campLockKey), eq("locked"), any())).thenReturn("OK");
+        reservationInfo.put(ReservationHoldCodec.STATUS, "confirmation");
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
         when(redisCommands.hgetall(redisKey)).thenReturn(reservationInfo);
-        when(reservationRepository.findById(Long.valueOf(reservationId))).thenReturn(Optional.of(Reservation.builder().reservationId(Long.valueOf(reservationId)).build()));
+        when(lockHandle.fencingToken()).thenReturn(8L);
+        when(reservationRepository.updateStatusFenced(eq(Long.valueOf(reservationId)), eq("cancelled"), any(), eq(8L))).thenReturn(1);
 
         // Act
         reservationServiceImpl.cancelReservation(reservationId);
 
         // Assert
-        verify(redisCommands).hset(redisKey, "reservationStatus", "cancelled");
-        verify(reservationRepository).save(reservationCaptor.capture());
-        assertEquals("cancelled", reservationCaptor.getValue().getReservationStatus());
-        verify(redisCommands).del(lockKey);
-        verify(redisCommands).del(campLockKey);
+        verify(reservationOutboxRelay).record(any(), eq("cancelled"), eq(8L), eq(false));
+        verify(inventoryService).release(any());
+        verify(availabilityIndex).applyChange(1000L, 3, reservationDTO.getEntryDate(), reservationDTO.getLeavingDate(), 1);
+        verify(reservationRepository).updateStatusFenced(eq(Long.valueOf(reservationId)), eq("cancelled"), any(), eq(8L));
+        verify(lockHandle).close();
+    }
+
+    @Test
+    void confirmReservation_대기열_제안은_재고_차감_안함() {
+        reservationInfo.remove(ReservationHoldCodec.STATUS);
+        reservationInfo.put(ReservationHoldCodec.WAITLIST_SOURCE, "999");
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(lockHandle.fencingToken()).thenReturn(7L);
+        when(redisCommands.hgetall(redisKey)).thenReturn(reservationInfo);
+
+        ReservationDTO confirmedReservation = reservationServiceImpl.confirmReservation(reservationId);
+
+        verify(inventoryService, never()).reserve(any());
+        verify(availabilityIndex, never()).applyChange(anyLong(), anyInt(), any(), any(), anyInt());
+        verify(reservationRepository).save(any());
+        verify(reservationOutboxRelay).record(confirmedReservation, "confirmation", 7L, true);
+    }
+
+    @Test
+    void cancelReservation_대기자가_있으면_좌석을_넘기고_재고_복구_안함() {
+        reservationInfo.put(ReservationHoldCodec.STATUS, "confirmation");
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(redisCommands.hgetall(redisKey)).thenReturn(reservationInfo);
+        when(lockHandle.fencingToken()).thenReturn(8L);
+        when(reservationRepository.updateStatusFenced(eq(Long.valueOf(reservationId)), eq("cancelled"), any(), eq(8L))).thenReturn(1);
+        when(reservationWaitlistService.hasWaiting(any())).thenReturn(true);
+
+        reservationServiceImpl.cancelReservation(reservationId);
+
+        verify(reservationOutboxRelay).record(any(), eq("cancelled"), eq(8L), eq(true));
+        verify(inventoryService, never()).release(any());
+        verify(availabilityIndex, never()).applyChange(anyLong(), anyInt(), any(), any(), anyInt());
+    }
+
+    @Test
+    void cancelReservation_확정_전_예약은_재고_복구_안함() {
+        // Arrange
+        reservationInfo.put(ReservationHoldCodec.STATUS, "pending");
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(redisCommands.hgetall(redisKey)).thenReturn(reservationInfo);
+        when(lockHandle.fencingToken()).thenReturn(8L);
+        when(reservationRepository.updateStatusFenced(eq(Long.valueOf(reservationId)), eq("cancelled"), any(), eq(8L))).thenReturn(1);
+
+        // Act
+        reservationServiceImpl.cancelReservation(reservationId);
+
+        // Assert
+        verify(reservationOutboxRelay).record(argThat(dto -> dto.getReservationId().equals(Long.valueOf(reservationId))), eq("cancelled"), eq(8L), eq(false));
+        verify(inventoryService, never()).release(any());
+        verify(reservationWaitlistService, never()).hasWaiting(any());
+    }
+
+    @Test
+    void cancelReservation_만료된_락의_늦은_쓰기_거부() {
+        // Arrange
+        reservationInfo.put(ReservationHoldCodec.STATUS, "confirmation");
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(lockHandle.fencingToken()).thenReturn(5L);
+        when(redisCommands.hgetall(redisKey)).thenReturn(reservationInfo);
+        // 더 큰 토큰으로 이미 변경됨
+        when(reservationRepository.updateStatusFenced(eq(Long.valueOf(reservationId)), eq("cancelled"), any(), eq(5L))).thenReturn(0);
+        when(reservationRepository.existsById(Long.valueOf(reservationId))).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(ConcurrentModificationException.class, () -> reservationServiceImpl.cancelReservation(reservationId));
+
+        verify(reservationOutboxRelay, never()).record(any(), any(), anyLong(), anyBoolean());
+        verify(inventoryService, never()).release(any());
+        verify(lockHandle).close();
     }
 
     @Test
     void cancelReservation_예약_취소_예외() {
         // Arrange
-        reservationInfo.put("reservationStatus", "cancelled");
-        when(redisCommands.set(eq(lockKey), eq("locked"), any())).thenReturn("OK");
-        when(redisCommands.set(eq(campLockKey), eq("locked"), any())).thenReturn("OK");
+        reservationInfo.put(ReservationHoldCodec.STATUS, "cancelled");
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
         when(redisCommands.hgetall(redisKey)).thenReturn(reservationInfo);
 
         // Act & Assert
@@ -210,7 +439,215 @@ public class ReservationServiceTests {
 
         assertEquals("이미 취소된 예약입니다.", exception.getMessage());
 
-        verify(redisCommands).del(lockKey);
-        verify(redisCommands).del(campLockKey);
+        verify(lockHandle).close();
+    }
+
+    @Test
+    void modifyReservation_추가된_날짜만_차감하고_빠진_날짜만_복구() {
+        // Arrange: [입실, 입실+2] → [입실+1, 입실+4]
+        LocalDate entryDate = reservationDTO.getEntryDate();
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(lockHandle.fencingToken()).thenReturn(7L);
+        when(reservationRepository.findById(Long.valueOf(reservationId))).thenReturn(Optional.of(confirmedReservation()));
+        when(reservationRepository.updateStayFenced(eq(Long.valueOf(reservationId)), eq("confirmation"), eq(3L),
+                eq(entryDate.plusDays(1)), eq(entryDate.plusDays(4)), eq("Y"), any(), eq(7L))).thenReturn(1);
+        ArgumentCaptor<ReservationDTO> reservedCaptor = ArgumentCaptor.forClass(ReservationDTO.class);
+        ArgumentCaptor<ReservationDTO> releasedCaptor = ArgumentCaptor.forClass(ReservationDTO.class);
+
+        // Act
+        ReservationDTO modified = reservationServiceImpl.modifyReservation(reservationId,
+                stayChange(3L, 3, entryDate.plusDays(1), entryDate.plusDays(4)));
+
+        // Assert
+        verify(inventoryService).reserve(reservedCaptor.capture());
+        assertEquals(entryDate.plusDays(3), reservedCaptor.getValue().getEntryDate());
+        assertEquals(entryDate.plusDays(4), reservedCaptor.getValue().getLeavingDate());
+        verify(inventoryService).release(releasedCaptor.capture());
+        assertEquals(entryDate, releasedCaptor.getValue().getEntryDate());
+        assertEquals(entryDate, releasedCaptor.getValue().getLeavingDate());
+
+        verify(reservationOutboxRelay).record(modified, "confirmation", 7L, false);
+        verify(availabilityIndex).applyChange(1000L, 3, entryDate.plusDays(3), entryDate.plusDays(4), -1);
+        verify(availabilityIndex).applyChange(1000L, 3, entryDate, entryDate, 1);
+        verify(lockHandle).close();
+    }
+
+    @Test
+    void modifyReservation_시설_유형이_바뀌면_새_기간_전체_차감_기존_기간_전체_복구() {
+        // Arrange
+        LocalDate entryDate = reservationDTO.getEntryDate();
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(lockHandle.fencingToken()).thenReturn(7L);
+        when(reservationRepository.findById(Long.valueOf(reservationId))).thenReturn(Optional.of(confirmedReservation()));
+        when(reservationRepository.updateStayFenced(any(), any(), anyLong(), any(), any(), any(), any(), anyLong())).thenReturn(1);
+        ArgumentCaptor<ReservationDTO> reservedCaptor = ArgumentCaptor.forClass(ReservationDTO.class);
+        ArgumentCaptor<ReservationDTO> releasedCaptor = ArgumentCaptor.forClass(ReservationDTO.class);
+
+        // Act
+        reservationServiceImpl.modifyReservation(reservationId, stayChange(4L, 5, entryDate, entryDate.plusDays(2)));
+
+        // Assert
+        verify(inventoryService).reserve(reservedCaptor.capture());
+        assertEquals(5, reservedCaptor.getValue().getCampFacsType());
+        assertEquals(entryDate, reservedCaptor.getValue().getEntryDate());
+        assertEquals(entryDate.plusDays(2), reservedCaptor.getValue().getLeavingDate());
+        verify(inventoryService).release(releasedCaptor.capture());
+        assertEquals(3, releasedCaptor.getValue().getCampFacsType());
+        assertEquals(entryDate, releasedCaptor.getValue().getEntryDate());
+        assertEquals(entryDate.plusDays(2), releasedCaptor.getValue().getLeavingDate());
+    }
+
+    @Test
+    void modifyReservation_추가된_날짜가_마감이면_차감한_구간을_복구하고_변경하지_않음() {
+        // Arrange: [입실, 입실+2] → [입실-2, 입실+4], 뒤쪽 구간이 마감
+        LocalDate entryDate = reservationDTO.getEntryDate();
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(reservationRepository.findById(Long.valueOf(reservationId))).thenReturn(Optional.of(confirmedReservation()));
+        doNothing().doThrow(new IllegalStateException("예약이 마감되었습니다.")).when(inventoryService).reserve(any());
+        ArgumentCaptor<ReservationDTO> releasedCaptor = ArgumentCaptor.forClass(ReservationDTO.class);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> reservationServiceImpl.modifyReservation(reservationId,
+                stayChange(3L, 3, entryDate.minusDays(2), entryDate.plusDays(4))));
+
+        verify(inventoryService).release(releasedCaptor.capture());
+        assertEquals(entryDate.minusDays(2), releasedCaptor.getValue().getEntryDate());
+        assertEquals(entryDate.minusDays(1), releasedCaptor.getValue().getLeavingDate());
+        verify(reservationRepository, never()).updateStayFenced(any(), any(), anyLong(), any(), any(), any(), any(), anyLong());
+        verify(reservationOutboxRelay, never()).record(any(), any(), anyLong(), anyBoolean());
+        verify(availabilityIndex, never()).applyChange(anyLong(), anyInt(), any(), any(), anyInt());
+        verify(lockHandle).close();
+    }
+
+    @Test
+    void modifyReservation_확정되지_않은_예약은_변경_불가() {
+        // Arrange
+        Reservation cancelled = confirmedReservation().toBuilder().reservationStatus("cancelled").build();
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(reservationRepository.findById(Long.valueOf(reservationId))).thenReturn(Optional.of(cancelled));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> reservationServiceImpl.modifyReservation(reservationId,
+                stayChange(3L, 3, reservationDTO.getEntryDate(), reservationDTO.getLeavingDate())));
+
+        verifyNoInteractions(inventoryService);
+        verify(lockHandle).close();
+    }
+
+    @Test
+    void modifyReservation_다른_사용자의_예약은_변경_불가() {
+        // Arrange: 예약 소유자는 1, 인증된 사용자는 2
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(reservationRepository.findById(Long.valueOf(reservationId))).thenReturn(Optional.of(confirmedReservation()));
+        ReservationDTO otherUserChange = stayChange(3L, 3, reservationDTO.getEntryDate(), reservationDTO.getLeavingDate()).toBuilder()
+                .userId(2L)
+                .build();
+
+        // Act & Assert
+        assertThrows(NotAuthorizedException.class, () -> reservationServiceImpl.modifyReservation(reservationId, otherUserChange));
+
+        verifyNoInteractions(inventoryService, reservationOutboxRelay);
+        verify(lockHandle).close();
+    }
+
+    @Test
+    void confirmGroupReservation_재고는_한_번에_차감하고_예약은_한_번에_저장() throws Exception {
+        // Arrange
+        String secondId = "1234567891";
+        Map<String, String> secondInfo = new HashMap<>(ReservationHoldCodec.encode(Long.parseLong(secondId), reservationDTO));
+        RedisFuture<Map<String, String>> firstFuture = completedFuture(reservationInfo);
+        RedisFuture<Map<String, String>> secondFuture = completedFuture(secondInfo);
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(lockManager.tryLock(List.of("lock:reservation:" + secondId))).thenReturn(Optional.of(lockHandle));
+        when(lockHandle.fencingToken()).thenReturn(5L);
+        when(redisAsyncCommands.hgetall(redisKey)).thenReturn(firstFuture);
+        when(redisAsyncCommands.hgetall("reservationInfo:" + secondId)).thenReturn(secondFuture);
+
+        // Act
+        List<ReservationDTO> confirmed = reservationServiceImpl.confirmGroupReservation(List.of(secondId, reservationId));
+
+        // Assert
+        assertEquals(2, confirmed.size());
+        verify(inventoryService).reserveAll(confirmed);
+        verify(inventoryService, never()).reserve(any());
+        verify(reservationRepository).upsertAll(reservationsCaptor.capture());
+        assertEquals(List.of(Long.parseLong(reservationId), Long.parseLong(secondId)),
+                reservationsCaptor.getValue().stream().map(Reservation::getReservationId).toList());
+        assertTrue(reservationsCaptor.getValue().stream().allMatch(reservation -> "confirmation".equals(reservation.getReservationStatus())));
+        verify(reservationRepository, never()).save(any());
+        verify(reservationOutboxRelay, times(2)).record(any(), eq("confirmation"), eq(5L), eq(false));
+        verify(lockHandle, times(2)).close();
+    }
+
+    @Test
+    void confirmGroupReservation_하나라도_마감이면_아무것도_저장하지_않음() throws Exception {
+        // Arrange
+        String secondId = "1234567891";
+        Map<String, String> secondInfo = new HashMap<>(ReservationHoldCodec.encode(Long.parseLong(secondId), reservationDTO));
+        RedisFuture<Map<String, String>> firstFuture = completedFuture(reservationInfo);
+        RedisFuture<Map<String, String>> secondFuture = completedFuture(secondInfo);
+        when(lockManager.tryLock(List.of(lockKey))).thenReturn(Optional.of(lockHandle));
+        when(lockManager.tryLock(List.of("lock:reservation:" + secondId))).thenReturn(Optional.of(lockHandle));
+        when(redisAsyncCommands.hgetall(redisKey)).thenReturn(firstFuture);
+        when(redisAsyncCommands.hgetall("reservationInfo:" + secondId)).thenReturn(secondFuture);
+        doThrow(new IllegalStateException("해당 캠핑장의 예약이 마감되었습니다..")).when(inventoryService).reserveAll(anyList());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> reservationServiceImpl.confirmGroupReservation(List.of(reservationId, secondId)));
+
+        verify(reservationRepository, never()).upsertAll(any());
+        verify(reservationOutboxRelay, never()).record(any(), any(), anyLong(), anyBoolean());
+        verify(availabilityIndex, never()).applyChange(anyLong(), anyInt(), any(), any(), anyInt());
+        verify(lockHandle, times(2)).close();
+    }
+
+    @Test
+    void createGroupReservation_최대_사이트_수를_넘으면_거부() {
+        List<ReservationDTO> reservationDTOs = Collections.nCopies(21, reservationDTO);
+
+        assertThrows(IllegalArgumentException.class, () -> reservationServiceImpl.createGroupReservation(reservationDTOs));
+
+        verifyNoInteractions(redisAsyncCommands, reservationIdGenerator);
+    }
+
+    // 확정된 예약: 시설 3(유형 3), [입실, 입실+2]
+    private Reservation confirmedReservation() {
+        CampingFacilities campingFacilities = new CampingFacilities();
+        campingFacilities.setCampFacsId(3L);
+        campingFacilities.setCampId(1000L);
+        campingFacilities.setFacsTypeId(3);
+
+        return Reservation.builder()
+                .reservationId(Long.parseLong(reservationId))
+                .userId(1L)
+                .campId(1000L)
+                .campFacsId(3L)
+                .reservationDate(reservationDTO.getReservationDate())
+                .entryDate(reservationDTO.getEntryDate())
+                .leavingDate(reservationDTO.getLeavingDate())
+                .reservationStatus("confirmation")
+                .gearRentalStatus("N")
+                .campingFacilities(campingFacilities)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> RedisFuture<T> completedFuture(T value) throws Exception {
+        RedisFuture<T> future = mock(RedisFuture.class);
+        when(future.get(anyLong(), any(TimeUnit.class))).thenReturn(value);
+        when(future.toCompletableFuture()).thenReturn(CompletableFuture.completedFuture(value));
+        return future;
+    }
+
+    private ReservationDTO stayChange(long campFacsId, int campFacsType, LocalDate entryDate, LocalDate leavingDate) {
+        return ReservationDTO.builder()
+                .userId(1L)
+                .campId(1000L)
+                .campFacsId(campFacsId)
+                .campFacsType(campFacsType)
+                .entryDate(entryDate)
+                .leavingDate(leavingDate)
+                .gearRentalStatus("Y")
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+package com.commit.campus.service;
+
+import com.commit.campus.common.redis.ReservationHoldCodec;
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.entity.Reservation;
+import com.commit.campus.repository.ReservationRepository;
+import com.commit.campus.service.impl.ReservationStreamConsumer;
+import com.commit.campus.service.impl.ReservationStreamWriter;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.api.sync.RedisCommands;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationStreamConsumerTests {
+
+    @Mock
+    private RedisClient redisClient;
+
+    @Mock
+    private RedisCommands<String, String> redisCommands;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private ReservationStreamConsumer reservationStreamConsumer;
+
+    @BeforeEach
+    void setUp() {
+        reservationStreamConsumer = new ReservationStreamConsumer(redisClient, redisCommands, reservationRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_배치_저장_후_ack() {
+        StreamMessage<String, String> confirmed = message("1-0", 10L, "confirmation", 3L);
+        StreamMessage<String, String> cancelled = message("1-1", 10L, "cancelled", 4L);
+
+        int processed = reservationStreamConsumer.flush(redisCommands, List.of(confirmed, cancelled));
+
+        assertEquals(2, processed);
+        ArgumentCaptor<List<Reservation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(reservationRepository).upsertAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals("confirmation", captor.getValue().get(0).getReservationStatus());
+        assertEquals(3L, captor.getValue().get(0).getFenceToken());
+        assertEquals("cancelled", captor.getValue().get(1).getReservationStatus());
+        assertNotNull(captor.getValue().get(1).getUpdatedAt());
+        verify(redisCommands).xack(ReservationStreamWriter.STREAM_KEY, ReservationStreamConsumer.GROUP_NAME, "1-0", "1-1");
+        verify(redisCommands).xdel(ReservationStreamWriter.STREAM_KEY, "1-0", "1-1");
+    }
+
+    @Test
+    void flush_저장_실패시_ack_안함() {
+        when(reservationRepository.upsertAll(any())).thenThrow(new IllegalStateException("db down"));
+
+        assertThrows(IllegalStateException.class,
+                () -> reservationStreamConsumer.flush(redisCommands, List.of(message("1-0", 10L, "confirmation", 3L))));
+
+        verify(redisCommands, never()).xack(anyString(), anyString(), any(String[].class));
+    }
+
+    @Test
+    void flush_잘못된_메시지는_dead_letter로_이동() {
+        StreamMessage<String, String> broken = new StreamMessage<>(ReservationStreamWriter.STREAM_KEY, "1-0", Map.of("x", "y"));
+
+        reservationStreamConsumer.flush(redisCommands, List.of(broken));
+
+        verify(redisCommands).xadd(ReservationStreamWriter.STREAM_KEY + ":dead", Map.of("x", "y"));
+        verify(reservationRepository).upsertAll(List.of());
+        verify(redisCommands).xack(ReservationStreamWriter.STREAM_KEY, ReservationStreamConsumer.GROUP_NAME, "1-0");
+    }
+
+    private static StreamMessage<String, String> message(String id, long reservationId, String status, long fencingToken) {
+        ReservationDTO reservationDTO = ReservationDTO.builder()
+                .userId(1L)
+                .campId(1000L)
+                .campFacsId(3L)
+                .campFacsType(3)
+                .reservationDate(LocalDateTime.of(2026, 10, 17, 10, 0))
+                .entryDate(LocalDate.of(2026, 11, 1))
+                .leavingDate(LocalDate.of(2026, 11, 3))
+                .gearRentalStatus("N")
+                .build();
+
+        Map<String, String> body = ReservationHoldCodec.encode(reservationId, reservationDTO);
+        body.put(ReservationHoldCodec.STATUS, status);
+        body.put("k", Long.toString(fencingToken));
+        body.put("w", Long.toString(System.currentTimeMillis()));
+        return new StreamMessage<>(ReservationStreamWriter.STREAM_KEY, id, body);
+    }
+}
@@ -0,0 +1,104 @@
+package com.commit.campus.service;
+
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.entity.Reservation;
+import com.commit.campus.repository.ReservationRepository;
+import com.commit.campus.service.impl.ReservationStreamWriter;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.api.sync.RedisCommands;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationStreamWriterTests {
+
+    @Mock
+    private RedisCommands<String, String> redisCommands;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<Reservation>> reservationsCaptor;
+
+    private ReservationStreamWriter reservationStreamWriter;
+
+    @BeforeEach
+    void setUp() {
+        reservationStreamWriter = new ReservationStreamWriter(redisCommands, reservationRepository, transactionManager);
+    }
+
+    @Test
+    void appendAfterCommit_커밋되기_전에는_스트림에_추가하지_않음() {
+        Map<String, String> event = ReservationStreamWriter.toEvent(reservation(10L, "confirmation"), 7L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            reservationStreamWriter.appendAfterCommit(List.of(event));
+
+            // 롤백되면 afterCommit이 호출되지 않으므로 이벤트가 남지 않음
+            verifyNoInteractions(redisCommands);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(redisCommands).xadd(ReservationStreamWriter.STREAM_KEY, event);
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    void appendAfterCommit_추가하지_못한_이벤트는_DB에_바로_저장() {
+        Map<String, String> appended = ReservationStreamWriter.toEvent(reservation(10L, "confirmation"), 7L);
+        Map<String, String> failed = ReservationStreamWriter.toEvent(reservation(11L, "cancelled"), 8L);
+        when(redisCommands.xadd(ReservationStreamWriter.STREAM_KEY, appended)).thenReturn("1-0");
+        when(redisCommands.xadd(ReservationStreamWriter.STREAM_KEY, failed)).thenThrow(new RedisConnectionException("redis down"));
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+        reservationStreamWriter.appendAfterCommit(List.of(appended, failed));
+
+        verify(reservationRepository).upsertAll(reservationsCaptor.capture());
+        assertEquals(1, reservationsCaptor.getValue().size());
+        Reservation reservation = reservationsCaptor.getValue().get(0);
+        assertEquals(11L, reservation.getReservationId());
+        assertEquals("cancelled", reservation.getReservationStatus());
+        assertEquals(8L, reservation.getFenceToken());
+    }
+
+    private static ReservationDTO reservation(long reservationId, String status) {
+        return ReservationDTO.builder()
+                .reservationId(reservationId)
+                .userId(1L)
+                .campId(1000L)
+                .campFacsId(3L)
+                .campFacsType(3)
+                .reservationDate(LocalDateTime.of(2026, 10, 17, 10, 0))
+                .entryDate(LocalDate.of(2026, 11, 1))
+                .leavingDate(LocalDate.of(2026, 11, 3))
+                .gearRentalStatus("N")
+                .reservationStatus(status)
+                .build();
+    }
+}
@@ -0,0 +1,241 @@
+package com.commit.campus.service;
+
+import com.commit.campus.common.id.SnowflakeIdGenerator;
+import com.commit.campus.common.lock.LockHandle;
+import com.commit.campus.common.lock.LockManager;
+import com.commit.campus.common.redis.ReservationHoldCodec;
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.dto.ReservationEventDTO;
+import com.commit.campus.dto.ReservationHoldDTO;
+import com.commit.campus.dto.WaitlistStatusDTO;
+import com.commit.campus.repository.ReservationRepository;
+import com.commit.campus.service.impl.AvailabilityIndex;
+import com.commit.campus.service.impl.ReservationHoldTracker;
+import com.commit.campus.service.impl.ReservationWaitlistServiceImpl;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationWaitlistServiceTests {
+
+    @Mock
+    private RedisCommands<String, String> redisCommands;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private LockManager lockManager;
+
+    @Mock
+    private LockHandle lockHandle;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    @Mock
+    private SnowflakeIdGenerator reservationIdGenerator;
+
+    private ReservationWaitlistServiceImpl reservationWaitlistService;
+
+    private LocalDate entryDate;
+    private LocalDate leavingDate;
+
+    @BeforeEach
+    void setUp() {
+        entryDate = LocalDate.now().plusDays(10);
+        leavingDate = entryDate.plusDays(2);
+
+        reservationWaitlistService = new ReservationWaitlistServiceImpl(redisCommands, Map.of("lockInventory", inventoryService),
+                lockManager, reservationRepository, availabilityIndex, reservationIdGenerator, new SimpleMeterRegistry(), "priority",
+                Set.of("ROLE_VIP"), 600);
+    }
+
+    @Test
+    void join_우선순위_role이면_앞_순번_점수() {
+        when(availabilityIndex.filterAvailable(List.of(1000L), 3, entryDate, leavingDate)).thenReturn(List.of());
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.MULTI), any(String[].class), any(String[].class)))
+                .thenReturn(List.of(WaitlistStatusDTO.WAITING, 1L, 1L))
+                .thenReturn(List.of(WaitlistStatusDTO.WAITING, 1L, 2L));
+
+        reservationWaitlistService.join(waitingRequest(1L), "ROLE_USER");
+        WaitlistStatusDTO status = reservationWaitlistService.join(waitingRequest(2L), "ROLE_VIP");
+
+        assertEquals(WaitlistStatusDTO.WAITING, status.getStatus());
+        assertEquals(1L, status.getPosition());
+        assertEquals(2L, status.getWaitingCount());
+
+        ArgumentCaptor<String[]> keysCaptor = ArgumentCaptor.forClass(String[].class);
+        ArgumentCaptor<String[]> argsCaptor = ArgumentCaptor.forClass(String[].class);
+        verify(redisCommands, times(2)).evalsha(anyString(), eq(ScriptOutputType.MULTI), keysCaptor.capture(), argsCaptor.capture());
+
+        String queueKey = "waitlist:1000:3:" + entryDate.toEpochDay() + ":" + leavingDate.toEpochDay();
+        assertEquals(queueKey, keysCaptor.getAllValues().get(0)[0]);
+        assertEquals("3", argsCaptor.getAllValues().get(0)[2]);
+        assertEquals("N", argsCaptor.getAllValues().get(0)[3]);
+        // 나중에 등록했어도 우선순위가 높으면 점수가 작아 먼저 꺼냄
+        assertTrue(Double.parseDouble(argsCaptor.getAllValues().get(1)[1]) < Double.parseDouble(argsCaptor.getAllValues().get(0)[1]));
+    }
+
+    @Test
+    void join_예약_가능한_기간은_거부() {
+        when(availabilityIndex.filterAvailable(List.of(1000L), 3, entryDate, leavingDate)).thenReturn(List.of(1000L));
+
+        assertThrows(IllegalStateException.class, () -> reservationWaitlistService.join(waitingRequest(1L), "ROLE_USER"));
+
+        verifyNoInteractions(redisCommands);
+    }
+
+    @Test
+    void onReservationEvents_좌석을_넘긴_취소는_맨_앞_대기자에게_제안() {
+        when(reservationIdGenerator.nextId()).thenReturn(555L);
+        when(redisCommands.zrange(queueKey(), 0, 0)).thenReturn(List.of("7"));
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.INTEGER), any(String[].class), any(String[].class)))
+                .thenReturn(1L);
+
+        reservationWaitlistService.onReservationEvents(List.of(cancelledEvent(true), cancelledEvent(false)));
+
+        ArgumentCaptor<String[]> keysCaptor = ArgumentCaptor.forClass(String[].class);
+        ArgumentCaptor<String[]> argsCaptor = ArgumentCaptor.forClass(String[].class);
+        verify(redisCommands).evalsha(anyString(), eq(ScriptOutputType.INTEGER), keysCaptor.capture(), argsCaptor.capture());
+
+        assertEquals("waitlist:transfer:42", keysCaptor.getValue()[2]);
+        assertEquals(ReservationHoldTracker.HOLDS_KEY, keysCaptor.getValue()[4]);
+        // 스크립트가 쓰는 예약 요청 해시와 맨 앞 대기자의 제안 키도 KEYS로 넘김
+        assertEquals("reservationInfo:555", keysCaptor.getValue()[5]);
+        assertEquals("waitlist:offer:1000:3:" + entryDate.toEpochDay() + ":" + leavingDate.toEpochDay() + ":7", keysCaptor.getValue()[6]);
+        assertEquals("555", argsCaptor.getValue()[0]);
+        assertEquals("7", argsCaptor.getValue()[8]);
+        assertEquals(ReservationHoldCodec.trackingMember(555L, 1000L, 3, entryDate, leavingDate), argsCaptor.getValue()[9]);
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    void onReservationEvents_맨_앞_대기자가_바뀌면_다시_조회해_제안() {
+        when(reservationIdGenerator.nextId()).thenReturn(555L);
+        when(redisCommands.zrange(queueKey(), 0, 0)).thenReturn(List.of("7"), List.of("8"));
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.INTEGER), any(String[].class), any(String[].class)))
+                .thenReturn(-2L, 1L);
+
+        reservationWaitlistService.onReservationEvents(List.of(cancelledEvent(true)));
+
+        ArgumentCaptor<String[]> keysCaptor = ArgumentCaptor.forClass(String[].class);
+        ArgumentCaptor<String[]> argsCaptor = ArgumentCaptor.forClass(String[].class);
+        verify(redisCommands, times(2)).evalsha(anyString(), eq(ScriptOutputType.INTEGER), keysCaptor.capture(), argsCaptor.capture());
+        assertTrue(keysCaptor.getAllValues().get(1)[6].endsWith(":8"));
+        assertEquals("8", argsCaptor.getAllValues().get(1)[8]);
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    void onReservationEvents_대기자가_모두_빠졌으면_재고_복구() {
+        when(reservationIdGenerator.nextId()).thenReturn(555L);
+        when(redisCommands.zrange(queueKey(), 0, 0)).thenReturn(List.of());
+        when(redisCommands.evalsha(anyString(), eq(ScriptOutputType.INTEGER), any(String[].class), any(String[].class)))
+                .thenReturn(0L);
+
+        reservationWaitlistService.onReservationEvents(List.of(cancelledEvent(true)));
+
+        verify(inventoryService).release(argThat(dto -> dto.getReservationId() == 42L && dto.getCampFacsType() == 3));
+        verify(availabilityIndex).applyChange(1000L, 3, entryDate, leavingDate, 1);
+        verify(redisCommands).setex("waitlist:transfer:42", 86400, "released");
+    }
+
+    @Test
+    void onHoldExpired_이미_확정된_제안은_넘기지_않음() {
+        when(redisCommands.sismember(ReservationWaitlistServiceImpl.OFFERED_HOLDS_KEY, "555")).thenReturn(true);
+        when(lockManager.tryLock(List.of("lock:reservation:555"))).thenReturn(Optional.of(lockHandle));
+        when(reservationRepository.existsById(555L)).thenReturn(true);
+
+        reservationWaitlistService.onHoldExpired(expiredOffer());
+
+        verify(redisCommands, never()).evalsha(anyString(), any(), any(String[].class), any(String[].class));
+        verify(redisCommands).srem(ReservationWaitlistServiceImpl.OFFERED_HOLDS_KEY, "555");
+        verify(lockHandle).close();
+    }
+
+    @Test
+    void onHoldExpired_락을_못_얻으면_만료_추적에_다시_등록() {
+        when(redisCommands.sismember(ReservationWaitlistServiceImpl.OFFERED_HOLDS_KEY, "555")).thenReturn(true);
+        when(lockManager.tryLock(List.of("lock:reservation:555"))).thenReturn(Optional.empty());
+
+        reservationWaitlistService.onHoldExpired(expiredOffer());
+
+        verify(redisCommands).zadd(eq(ReservationHoldTracker.HOLDS_KEY), anyDouble(),
+                eq(ReservationHoldCodec.trackingMember(555L, 1000L, 3, entryDate, leavingDate)));
+        verify(redisCommands, never()).srem(anyString(), any(String[].class));
+    }
+
+    @Test
+    void onHoldExpired_대기열_제안이_아니면_무시() {
+        when(redisCommands.sismember(ReservationWaitlistServiceImpl.OFFERED_HOLDS_KEY, "555")).thenReturn(false);
+
+        reservationWaitlistService.onHoldExpired(expiredOffer());
+
+        verifyNoInteractions(lockManager, reservationRepository, inventoryService);
+    }
+
+    private String queueKey() {
+        return "waitlist:1000:3:" + entryDate.toEpochDay() + ":" + leavingDate.toEpochDay();
+    }
+
+    private ReservationDTO waitingRequest(long userId) {
+        return ReservationDTO.builder()
+                .userId(userId)
+                .campId(1000L)
+                .campFacsId(3L)
+                .campFacsType(3)
+                .reservationDate(LocalDateTime.now())
+                .entryDate(entryDate)
+                .leavingDate(leavingDate)
+                .gearRentalStatus("N")
+                .build();
+    }
+
+    private ReservationEventDTO cancelledEvent(boolean waitlistSeat) {
+        return ReservationEventDTO.builder()
+                .outboxId(1L)
+                .reservationId(waitlistSeat ? 42L : 43L)
+                .reservationStatus("cancelled")
+                .campId(1000L)
+                .campFacsType(3)
+                .entryDate(entryDate)
+                .leavingDate(leavingDate)
+                .fenceToken(8L)
+                .waitlistSeat(waitlistSeat)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private ReservationHoldDTO expiredOffer() {
+        return ReservationHoldDTO.builder()
+                .reservationId(555L)
+                .campId(1000L)
+                .campFacsType(3)
+                .entryDate(entryDate)
+                .leavingDate(leavingDate)
+                .expiresAt(LocalDateTime.now())
+                .build();
+    }
+}
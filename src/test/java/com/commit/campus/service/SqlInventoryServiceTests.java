@@ -0,0 +1,80 @@
+package com.commit.campus.service;
+
+import com.commit.campus.dto.ReservationDTO;
+import com.commit.campus.repository.AvailabilityRepository;
+import com.commit.campus.service.impl.SqlInventoryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SqlInventoryServiceTests {
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+
+    private SqlInventoryServiceImpl inventoryService;
+    private LocalDate entryDate;
+
+    @BeforeEach
+    void setUp() {
+        inventoryService = new SqlInventoryServiceImpl(availabilityRepository);
+        entryDate = LocalDate.of(2026, 11, 12);
+    }
+
+    @Test
+    void reserveAll_같은_기간_사이트는_UPDATE_하나로_차감() {
+        when(availabilityRepository.changeStayAvail(1000L, 3, entryDate, entryDate.plusDays(1), -3)).thenReturn(2);
+
+        inventoryService.reserveAll(List.of(
+                stay(3, entryDate, entryDate.plusDays(1)),
+                stay(3, entryDate, entryDate.plusDays(1)),
+                stay(3, entryDate, entryDate.plusDays(1))));
+
+        verify(availabilityRepository, times(1)).changeStayAvail(anyLong(), anyInt(), any(), any(), anyInt());
+    }
+
+    @Test
+    void reserveAll_날짜별_변경량이_다르면_구간을_나눠_차감() {
+        when(availabilityRepository.changeStayAvail(eq(1000L), anyInt(), any(), any(), anyInt())).thenReturn(1);
+
+        // 유형 3: [12일, 14일] + [13일] → 12일 -1, 13일 -2, 14일 -1 / 유형 1: [12일]
+        inventoryService.reserveAll(List.of(
+                stay(3, entryDate, entryDate.plusDays(2)),
+                stay(3, entryDate.plusDays(1), entryDate.plusDays(1)),
+                stay(1, entryDate, entryDate)));
+
+        verify(availabilityRepository).changeStayAvail(1000L, 1, entryDate, entryDate, -1);
+        verify(availabilityRepository).changeStayAvail(1000L, 3, entryDate, entryDate, -1);
+        verify(availabilityRepository).changeStayAvail(1000L, 3, entryDate.plusDays(1), entryDate.plusDays(1), -2);
+        verify(availabilityRepository).changeStayAvail(1000L, 3, entryDate.plusDays(2), entryDate.plusDays(2), -1);
+    }
+
+    @Test
+    void reserveAll_남은_수량이_부족한_날짜가_있으면_전체_실패() {
+        // 이틀 중 하루만 2개 이상 남음
+        when(availabilityRepository.changeStayAvail(1000L, 3, entryDate, entryDate.plusDays(1), -2)).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> inventoryService.reserveAll(List.of(
+                stay(3, entryDate, entryDate.plusDays(1)),
+                stay(3, entryDate, entryDate.plusDays(1)))));
+    }
+
+    private ReservationDTO stay(int campFacsType, LocalDate entryDate, LocalDate leavingDate) {
+        return ReservationDTO.builder()
+                .campId(1000L)
+                .campFacsType(campFacsType)
+                .entryDate(entryDate)
+                .leavingDate(leavingDate)
+                .build();
+    }
+}